@@ -19,6 +19,7 @@ package org.apache.logging.log4j.util;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * <em>Consider this class private.</em> Determines the caller's class.
@@ -102,6 +103,20 @@ public final class StackLocator {
                 .orElse(null);
     }
 
+    /**
+     * Finds the stack frame of the caller of the logger, which is converted to a stack trace element later.
+     * @since 2.24.0
+     */
+    public Supplier<StackTraceElement> captureLocation(final String fqcnOfLogger) {
+        return STACK_WALKER
+                .walk(s -> s.dropWhile(f ->
+                                !f.getClassName().equals(fqcnOfLogger)) // drop the top frames until we reach the logger
+                        .dropWhile(f -> f.getClassName().equals(fqcnOfLogger)) // drop the logger frames
+                        .findFirst())
+                .<Supplier<StackTraceElement>>map(frame -> frame::toStackTraceElement)
+                .orElse(null);
+    }
+
     public StackTraceElement getStackTraceElement(final int depth) {
         return STACK_WALKER
                 .walk(s -> s.skip(depth).findFirst())
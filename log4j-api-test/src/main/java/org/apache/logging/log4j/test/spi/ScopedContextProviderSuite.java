@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collections;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
@@ -175,4 +176,45 @@ public abstract class ScopedContextProviderSuite {
         });
         assertThat(returnVal).isEqualTo(1);
     }
+
+    protected static void testNestedScopes(final ScopedContextProvider scopedContext) {
+        where(scopedContext, "key1", "value1").where("key2", "value2").run(() -> where(scopedContext, "key1", "inner")
+                .where("key1", "innermost")
+                .run(() -> {
+                    assertThat(scopedContext.getValue("key1")).isEqualTo("innermost");
+                    assertThat(scopedContext.getValue("key2")).isEqualTo("value2");
+                    scopedContext
+                            .newScopedContext(Collections.singletonMap("key2", null))
+                            .run(() -> {
+                                assertThat(scopedContext.getValue("key1")).isEqualTo("innermost");
+                                assertThat(scopedContext.getContextMap()).doesNotContainKey("key2");
+                            });
+                    assertThat(scopedContext.getValue("key2")).isEqualTo("value2");
+                }));
+        assertThat(scopedContext.getContextMap()).isEmpty();
+    }
+
+    protected static void testWrap(final ScopedContextProvider scopedContext) throws Exception {
+        final ExecutorService executorService =
+                new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(5));
+        try {
+            final Runnable unscoped = () -> {};
+            assertThat(scopedContext.wrap(unscoped)).isSameAs(unscoped);
+            final Future<Object> future = where(scopedContext, "key1", "Log4j2").call(() -> {
+                final Future<?> runnable = executorService.submit(scopedContext.wrap(() -> {
+                    assertThat(scopedContext.getValue("key1")).isEqualTo("Log4j2");
+                }));
+                runnable.get();
+                return executorService.submit(scopedContext.wrap(() -> scopedContext.getValue("key1")));
+            });
+            assertThat(future.get()).isEqualTo("Log4j2");
+            // the context is removed from the worker thread
+            assertThat(executorService
+                            .submit(() -> scopedContext.getValue("key1"))
+                            .get())
+                    .isNull();
+        } finally {
+            executorService.shutdown();
+        }
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.logging.log4j;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -26,8 +27,11 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -240,4 +244,39 @@ public class ScopedContextTest {
             executorService.shutdown();
         }
     }
+
+    @Test
+    public void testWrappedExecutorService() throws Exception {
+        ExecutorService executorService = ScopedContext.wrap(Executors.newSingleThreadExecutor());
+        try {
+            final Future<Object> future = ScopedContext.callWhere(
+                    "key1", "Log4j2", () -> executorService.submit(() -> ScopedContext.get("key1")));
+            assertThat(future.get(), equalTo("Log4j2"));
+            assertThat(executorService.submit(() -> ScopedContext.get("key1")).get(), nullValue());
+            assertThat(ScopedContext.wrap(executorService), sameInstance(executorService));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testCompletableFuture() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            final Executor executor = ScopedContext.wrap((Executor) executorService::execute);
+            final long id = Thread.currentThread().getId();
+            final CompletableFuture<String> future =
+                    ScopedContext.callWhere("key1", "Log4j2", () -> CompletableFuture.supplyAsync(
+                                    () -> (String) ScopedContext.get("key1"), executor)
+                            .thenApplyAsync(
+                                    value -> {
+                                        assertNotEquals(Thread.currentThread().getId(), id);
+                                        return value + ScopedContext.get("key1");
+                                    },
+                                    executor));
+            assertThat(future.get(), equalTo("Log4j2Log4j2"));
+        } finally {
+            executorService.shutdown();
+        }
+    }
 }
@@ -20,9 +20,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
 import java.util.List;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogBuilder;
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.apache.logging.log4j.test.ListStatusListener;
 import org.apache.logging.log4j.test.TestLogger;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
 import org.junit.jupiter.api.Test;
 
 public class DefaultLogBuilderTest {
@@ -44,4 +48,27 @@ public class DefaultLogBuilderTest {
                 .hasSize(2)
                 .containsExactly(" DEBUG Hello LogBuilder!", " INFO Hello LogBuilder!");
     }
+
+    @Test
+    public void testPrimitiveArguments() {
+        logger1.getEntries().clear();
+        logger1.atInfo().arg(1).arg(2L).arg(3.5).arg(true).log("Values: {}, {}, {}, {}");
+        logger1.atInfo().log("No arguments: {}");
+        logger1.atInfo().arg('x').arg("mixed").log("Arguments {} and {}");
+        assertThat(logger1.getEntries())
+                .containsExactly(
+                        " INFO Values: 1, 2, 3.5, true", " INFO No arguments: {}", " INFO Arguments x and mixed");
+    }
+
+    @Test
+    @UsingStatusListener
+    public void testIgnoredArguments(final ListStatusListener listener) {
+        logger1.getEntries().clear();
+        logger1.atInfo().arg(1).log("Explicit: {}", 2);
+        logger1.atInfo().arg(3).log(new ObjectMessage("Message"));
+        logger1.atInfo().log("No arguments: {}");
+        assertThat(logger1.getEntries())
+                .containsExactly(" INFO Explicit: 2", " INFO Message", " INFO No arguments: {}");
+        assertThat(listener.findStatusData(Level.WARN)).hasSize(2);
+    }
 }
@@ -77,6 +77,38 @@ class ParameterFormatterTest {
         }
     }
 
+    @Test
+    void pattern_analysis_should_be_cached_on_second_miss() {
+        final String pattern = new String("cached {} pattern {} with \\{} escapes");
+        final String equalPattern = new String(pattern);
+        final MessagePatternAnalysis expected = ParameterFormatter.analyzePattern(pattern, -1);
+
+        assertThat(ParameterFormatter.getCachedPatternAnalysis(pattern)).isNull();
+        final MessagePatternAnalysis analysis = ParameterFormatter.getCachedPatternAnalysis(pattern);
+        assertThat(analysis).isNotNull();
+        assertThat(analysis.placeholderCount).isEqualTo(expected.placeholderCount);
+        assertThat(analysis.placeholderCharIndices).startsWith(7, 18);
+        assertThat(analysis.escapedCharFound).isTrue();
+        assertThat(ParameterFormatter.getCachedPatternAnalysis(pattern)).isSameAs(analysis);
+        assertThat(ParameterFormatter.getCachedPatternAnalysis(equalPattern)).isSameAs(analysis);
+        assertThat(ParameterFormatter.getCachedPatternAnalysis(null)).isNull();
+    }
+
+    @Test
+    void cached_pattern_analysis_should_format_any_argument_count() {
+        final String pattern = "cached {} {} {}";
+        ParameterFormatter.getCachedPatternAnalysis(pattern);
+        final MessagePatternAnalysis analysis = ParameterFormatter.getCachedPatternAnalysis(pattern);
+        assertThat(analysis).isNotNull();
+
+        final StringBuilder buffer = new StringBuilder();
+        ParameterFormatter.formatMessage(buffer, pattern, new Object[] {"a", "b", "c"}, 3, analysis);
+        assertThat(buffer).hasToString("cached a b c");
+        buffer.setLength(0);
+        ParameterFormatter.formatMessage(buffer, pattern, new Object[] {"a", new Exception()}, 1, analysis);
+        assertThat(buffer).hasToString("cached a {} {}");
+    }
+
     @ParameterizedTest
     @CsvSource({"2,pan {} {},a,pan a {}", "3,pan {}{}{},a b,pan ab{}", "1,pan {},a b c,pan a"})
     void format_should_warn_on_insufficient_args(
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class ReusableArgumentsMessageTest {
+
+    @Test
+    void formats_like_parameterized_message() {
+        final Object[] args = {true, 'c', 42, 1234567890123L, 1.5f, 12345.12345, null, new int[] {1, 2}, "str"};
+        final String pattern = "{} {} {} {} {} {} {} {} {}";
+        final ReusableArgumentsMessage message = new ReusableArgumentsMessage()
+                .add(true)
+                .add('c')
+                .add(42)
+                .add(1234567890123L)
+                .add(1.5f)
+                .add(12345.12345)
+                .add((Object) null)
+                .add(new int[] {1, 2})
+                .add("str")
+                .setFormat(pattern);
+
+        final ParameterizedMessage expected = new ParameterizedMessage(pattern, args);
+        assertThat(message.getFormattedMessage())
+                .isEqualTo(expected.getFormattedMessage())
+                .isEqualTo("true c 42 1234567890123 1.5 12345.12345 null [1, 2] str");
+        assertThat(message.getParameters()).isEqualTo(args);
+        assertThat(message.memento().getFormattedMessage()).isEqualTo(expected.getFormattedMessage());
+    }
+
+    @Test
+    void handles_escapes_and_unbalanced_placeholders() {
+        final ReusableArgumentsMessage message = new ReusableArgumentsMessage();
+
+        message.add(1).add(2).setFormat("\\{} {} and {}");
+        assertThat(message.getFormattedMessage()).isEqualTo("{} 1 and 2");
+
+        message.clear();
+        message.add(1).setFormat("{} and {}");
+        assertThat(message.getFormattedMessage()).isEqualTo("1 and {}");
+
+        message.clear();
+        message.add(1).add(2).setFormat("only {}");
+        assertThat(message.getFormattedMessage()).isEqualTo("only 1");
+    }
+
+    @Test
+    void grows_beyond_initial_capacity() {
+        final ReusableArgumentsMessage message = new ReusableArgumentsMessage();
+        final StringBuilder pattern = new StringBuilder();
+        final Object[] args = new Object[25];
+        for (int i = 0; i < args.length; i++) {
+            message.add((long) i);
+            args[i] = (long) i;
+            pattern.append("{},");
+        }
+        message.setFormat(pattern.toString());
+
+        assertThat(message.getArgumentCount()).isEqualTo(args.length);
+        assertThat(message.getFormattedMessage())
+                .isEqualTo(Arrays.toString(args).replaceAll("[\\[\\] ]", "") + ',');
+    }
+
+    @Test
+    void does_not_expose_parameters_to_log_events() {
+        final ReusableArgumentsMessage message = new ReusableArgumentsMessage();
+        message.add(1).add("two").setFormat("{} {}");
+        final Object[] replacement = new Object[10];
+
+        assertThat(message.swapParameters(replacement)).isSameAs(replacement);
+        assertThat(message.getParameterCount()).isZero();
+        assertThat(message.getThrowable()).isNull();
+
+        message.clear();
+        assertThat(message.getArgumentCount()).isZero();
+        assertThat(message.getFormat()).isNull();
+    }
+}
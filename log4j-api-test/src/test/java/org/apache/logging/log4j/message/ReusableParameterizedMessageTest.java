@@ -75,6 +75,26 @@ public class ReusableParameterizedMessageTest {
         assertEquals("Test message a null c null null null", result);
     }
 
+    @Test
+    public void testReusedPatternsWithOtherArgumentCounts() {
+        final ReusableParameterizedMessage msg = new ReusableParameterizedMessage();
+        final String[] patterns = new String[20];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = "Pattern " + i + " {} {}\\{} {}";
+        }
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < patterns.length; i++) {
+                assertEquals(
+                        "Pattern " + i + " a b{} c",
+                        set(msg, patterns[i], "a", "b", "c").getFormattedMessage());
+                assertEquals(
+                        "Pattern " + i + " a {}{} {}",
+                        set(msg, patterns[i], "a").getFormattedMessage());
+                msg.clear();
+            }
+        }
+    }
+
     @Test
     public void testFormatStringArgsIgnoresSuperfluousArgs() {
         final String testMsg = "Test message {}{} {}";
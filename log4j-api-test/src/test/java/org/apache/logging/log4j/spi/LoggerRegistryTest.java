@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.spi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.message.MessageFactory;
+import org.apache.logging.log4j.message.ParameterizedMessageFactory;
+import org.apache.logging.log4j.message.ReusableMessageFactory;
+import org.apache.logging.log4j.test.TestLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class LoggerRegistryTest {
+
+    static Stream<LoggerRegistry.MapFactory<TestLogger>> mapFactories() {
+        return Stream.of(
+                new LoggerRegistry.ConcurrentMapFactory<>(),
+                new LoggerRegistry.WeakMapFactory<>(),
+                // a subclass uses the maps created by the factory
+                new LoggerRegistry.ConcurrentMapFactory<TestLogger>() {});
+    }
+
+    @ParameterizedTest
+    @MethodSource("mapFactories")
+    void loggers_should_be_keyed_by_name_and_message_factory(final LoggerRegistry.MapFactory<TestLogger> mapFactory) {
+        final LoggerRegistry<TestLogger> registry = new LoggerRegistry<>(mapFactory);
+        final MessageFactory reusable = new ReusableMessageFactory();
+        final TestLogger logger = new TestLogger("a");
+        final TestLogger reusableLogger = new TestLogger("a", reusable);
+
+        assertThat(registry.getLogger("a")).isNull();
+        assertThat(registry.hasLogger("a")).isFalse();
+        registry.putIfAbsent("a", null, logger);
+        registry.putIfAbsent("a", reusable, reusableLogger);
+        registry.putIfAbsent("a", null, new TestLogger("a"));
+
+        assertThat(registry.getLogger("a")).isSameAs(logger);
+        assertThat(registry.getLogger("a", ParameterizedMessageFactory.INSTANCE))
+                .isSameAs(logger);
+        assertThat(registry.getLogger("a", reusable)).isSameAs(reusableLogger);
+        assertThat(registry.hasLogger("a", ReusableMessageFactory.class)).isTrue();
+        assertThat(registry.hasLogger("b", reusable)).isFalse();
+        assertThat(registry.getLoggers()).containsExactlyInAnyOrder(logger, reusableLogger);
+    }
+
+    @ParameterizedTest
+    @MethodSource("mapFactories")
+    void many_loggers_should_be_found(final LoggerRegistry.MapFactory<TestLogger> mapFactory) {
+        final LoggerRegistry<TestLogger> registry = new LoggerRegistry<>(mapFactory);
+        final List<TestLogger> loggers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            final TestLogger logger = new TestLogger("logger" + i);
+            loggers.add(logger);
+            registry.putIfAbsent(logger.getName(), null, logger);
+        }
+
+        for (final TestLogger logger : loggers) {
+            assertThat(registry.getLogger(logger.getName())).isSameAs(logger);
+        }
+        assertThat(registry.getLoggers()).hasSize(loggers.size());
+    }
+
+    @Test
+    void concurrent_lookups_should_find_a_single_logger() throws Exception {
+        final LoggerRegistry<TestLogger> registry = new LoggerRegistry<>();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<List<TestLogger>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    final List<TestLogger> found = new ArrayList<>();
+                    for (int i = 0; i < 1000; i++) {
+                        final String name = "logger" + i;
+                        TestLogger logger = registry.getLogger(name);
+                        if (logger == null) {
+                            registry.putIfAbsent(name, null, new TestLogger(name));
+                            logger = registry.getLogger(name);
+                        }
+                        found.add(logger);
+                    }
+                    return found;
+                }));
+            }
+            start.countDown();
+            final List<TestLogger> expected = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (final Future<List<TestLogger>> future : futures) {
+                final List<TestLogger> found = future.get(10, TimeUnit.SECONDS);
+                for (int i = 0; i < found.size(); i++) {
+                    assertThat(found.get(i)).isNotNull().isSameAs(expected.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(registry.getLoggers()).hasSize(1000);
+    }
+
+    @Test
+    void weak_registry_should_keep_loggers() throws InterruptedException {
+        final LoggerRegistry<TestLogger> registry = new LoggerRegistry<>(new LoggerRegistry.WeakMapFactory<>());
+        registry.putIfAbsent("kept", null, new TestLogger("kept"));
+
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(registry.getLogger("kept")).isNotNull();
+        assertThat(registry.getLoggers()).hasSize(1);
+    }
+}
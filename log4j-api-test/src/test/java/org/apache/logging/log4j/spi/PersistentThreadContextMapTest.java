@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.spi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PersistentThreadContextMapTest {
+
+    // "Aa" and "BB" have the same hash code, and so do all the strings made of them
+    private static final String[] COLLIDING_KEYS = {"AaAa", "AaBB", "BBAa", "BBBB"};
+
+    private final PersistentThreadContextMap contextMap = new PersistentThreadContextMap();
+
+    @AfterEach
+    void tearDown() {
+        contextMap.clear();
+    }
+
+    @Test
+    void putGetRemove() {
+        assertThat(contextMap.isEmpty()).isTrue();
+        assertThat(contextMap.get("key")).isNull();
+
+        contextMap.put("key", "value");
+        contextMap.putValue("object", 42);
+        contextMap.put("nullValue", null);
+
+        assertThat(contextMap.get("key")).isEqualTo("value");
+        assertThat(contextMap.<Integer>getValue("object")).isEqualTo(42);
+        assertThat(contextMap.containsKey("nullValue")).isTrue();
+        assertThat(contextMap.getReadOnlyContextData().size()).isEqualTo(3);
+        assertThat(contextMap.getCopy())
+                .containsEntry("key", "value")
+                .containsEntry("object", "42")
+                .containsEntry("nullValue", null)
+                .hasSize(3);
+
+        contextMap.remove("key");
+        contextMap.remove("unknown");
+        assertThat(contextMap.containsKey("key")).isFalse();
+        assertThat(contextMap.getReadOnlyContextData().size()).isEqualTo(2);
+
+        contextMap.clear();
+        assertThat(contextMap.isEmpty()).isTrue();
+        assertThat(contextMap.getImmutableMapOrNull()).isNull();
+    }
+
+    @Test
+    void snapshotsAreImmutable() {
+        contextMap.put("a", "1");
+        final StringMap snapshot = contextMap.getReadOnlyContextData();
+
+        contextMap.put("a", "2");
+        contextMap.put("b", "3");
+        contextMap.remove("a");
+
+        assertThat(snapshot.isFrozen()).isTrue();
+        assertThat(snapshot.toMap()).containsOnly(entry("a", "1"));
+        assertThat(contextMap.getCopy()).containsOnly(entry("b", "3"));
+        assertThatThrownBy(() -> snapshot.putValue("c", "4")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.remove("a")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(snapshot::clear).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void unchangedMapIsNotCopied() {
+        contextMap.put("a", "1");
+        final StringMap snapshot = contextMap.getReadOnlyContextData();
+
+        contextMap.put("a", "1");
+        contextMap.remove("b");
+
+        assertThat(contextMap.getReadOnlyContextData()).isSameAs(snapshot);
+    }
+
+    @Test
+    void collidingKeys() {
+        for (final String key : COLLIDING_KEYS) {
+            contextMap.put(key, key.toLowerCase(Locale.ROOT));
+        }
+        contextMap.put(null, "nullKey");
+        for (final String key : COLLIDING_KEYS) {
+            assertThat(contextMap.get(key)).isEqualTo(key.toLowerCase(Locale.ROOT));
+        }
+        assertThat(contextMap.get(null)).isEqualTo("nullKey");
+
+        contextMap.remove("AaBB");
+        contextMap.remove("BBBB");
+        contextMap.remove("AaAa");
+        assertThat(contextMap.getCopy())
+                .hasSize(2)
+                .containsEntry("BBAa", "bbaa")
+                .containsEntry(null, "nullKey");
+    }
+
+    @Test
+    void behavesLikeHashMap() {
+        final Random random = new Random(42);
+        final Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            final String key = randomKey(random);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                contextMap.remove(key);
+            } else {
+                final String value = Integer.toString(i);
+                expected.put(key, value);
+                contextMap.put(key, value);
+            }
+            if (i % 1000 == 0) {
+                assertThat(contextMap.getCopy()).isEqualTo(expected);
+            }
+        }
+        assertThat(contextMap.getCopy()).isEqualTo(expected);
+        assertThat(contextMap.getReadOnlyContextData().size()).isEqualTo(expected.size());
+
+        for (final String key : expected.keySet()) {
+            assertThat(contextMap.get(key)).isEqualTo(expected.get(key));
+            contextMap.remove(key);
+        }
+        assertThat(contextMap.getReadOnlyContextData().isEmpty()).isTrue();
+    }
+
+    private static String randomKey(final Random random) {
+        if (random.nextInt(10) == 0) {
+            return COLLIDING_KEYS[random.nextInt(COLLIDING_KEYS.length)];
+        }
+        return "key" + random.nextInt(5000);
+    }
+
+    @Test
+    void equalsAndHashCodeIgnoreInsertionOrder() {
+        final PersistentThreadContextMap other = new PersistentThreadContextMap();
+        for (int i = 0; i < 100; i++) {
+            contextMap.put("key" + i, "value" + i);
+            other.put("key" + (99 - i), "value" + (99 - i));
+        }
+        contextMap.put("extra", "value");
+        contextMap.remove("extra");
+
+        final StringMap snapshot = contextMap.getReadOnlyContextData();
+        final StringMap otherSnapshot = other.getReadOnlyContextData();
+        assertThat(snapshot).isEqualTo(otherSnapshot).hasSameHashCodeAs(otherSnapshot);
+
+        other.put("key0", "changed");
+        assertThat(snapshot).isNotEqualTo(other.getReadOnlyContextData());
+        other.clear();
+    }
+
+    @Test
+    void serializesAsSortedArrayStringMap() throws Exception {
+        contextMap.put("b", "2");
+        contextMap.put("a", "1");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(contextMap.getReadOnlyContextData());
+        }
+        final Object deserialized;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = in.readObject();
+        }
+
+        assertThat(deserialized).isInstanceOf(SortedArrayStringMap.class);
+        assertThat(((StringMap) deserialized).toMap()).isEqualTo(contextMap.getCopy());
+    }
+}
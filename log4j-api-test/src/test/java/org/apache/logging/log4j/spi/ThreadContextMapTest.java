@@ -35,7 +35,8 @@ class ThreadContextMapTest {
         return Stream.of(
                 new DefaultThreadContextMap(),
                 new CopyOnWriteSortedArrayThreadContextMap(),
-                new GarbageFreeSortedArrayThreadContextMap());
+                new GarbageFreeSortedArrayThreadContextMap(),
+                new PersistentThreadContextMap());
     }
 
     static Stream<ThreadContextMap> inheritableMaps() {
@@ -45,7 +46,8 @@ class ThreadContextMapTest {
         return Stream.of(
                 new DefaultThreadContextMap(true, util),
                 new CopyOnWriteSortedArrayThreadContextMap(util),
-                new GarbageFreeSortedArrayThreadContextMap(util));
+                new GarbageFreeSortedArrayThreadContextMap(util),
+                new PersistentThreadContextMap(util));
     }
 
     @ParameterizedTest
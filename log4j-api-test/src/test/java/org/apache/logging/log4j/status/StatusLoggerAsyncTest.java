@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.ParameterizedNoReferenceMessageFactory;
+import org.junit.jupiter.api.Test;
+
+class StatusLoggerAsyncTest {
+
+    @Test
+    void repeated_events_should_be_merged() throws Exception {
+        final BlockingListener listener = new BlockingListener();
+        final StatusLogger logger = createLogger(4, listener);
+
+        logger.error("first");
+        listener.awaitBlocked();
+        for (int i = 0; i < 5; i++) {
+            logger.error("repeated");
+        }
+        logger.error("other");
+        listener.unblock();
+
+        assertThat(listener.take(4))
+                .containsExactly("first", "repeated", "The previous status event was repeated 4 times", "other");
+    }
+
+    @Test
+    void events_should_be_dropped_when_the_queue_is_full() throws Exception {
+        final BlockingListener listener = new BlockingListener();
+        final StatusLogger logger = createLogger(2, listener);
+
+        logger.error("first");
+        listener.awaitBlocked();
+        logger.error("a");
+        logger.error("b");
+        logger.error("c");
+        logger.error("d");
+        listener.unblock();
+
+        assertThat(listener.take(4))
+                .containsExactly(
+                        "first", "a", "2 status events were dropped, since the queue of 2 events was full", "b");
+    }
+
+    @Test
+    void events_should_be_buffered_by_the_background_thread() throws Exception {
+        final BlockingListener listener = new BlockingListener();
+        final StatusLogger logger = createLogger(4, listener);
+        listener.unblock();
+
+        logger.error("foo");
+        logger.error("bar");
+
+        assertThat(listener.take(2)).containsExactly("foo", "bar");
+        assertThat(logger.getStatusData())
+                .extracting(statusData -> statusData.getMessage().getFormattedMessage())
+                .containsExactly("foo", "bar");
+        assertThat(logger.getStatusData().get(0).getThreadName())
+                .isEqualTo(Thread.currentThread().getName());
+    }
+
+    private static StatusLogger createLogger(final int asyncQueueSize, final StatusListener listener) {
+        final Properties properties = new Properties();
+        properties.put(StatusLogger.ASYNC_QUEUE_SIZE, "" + asyncQueueSize);
+        properties.put(StatusLogger.MAX_STATUS_ENTRIES, "10");
+        final StatusLogger.Config config = new StatusLogger.Config(properties);
+        assertThat(config.asyncQueueSize).isEqualTo(asyncQueueSize);
+        final StatusConsoleListener fallbackListener =
+                new StatusConsoleListener(Level.ERROR, new PrintStream(new ByteArrayOutputStream()));
+        final StatusLogger logger = new StatusLogger(
+                StatusLoggerAsyncTest.class.getSimpleName(),
+                ParameterizedNoReferenceMessageFactory.INSTANCE,
+                config,
+                fallbackListener);
+        logger.registerListener(listener);
+        return logger;
+    }
+
+    /**
+     * A listener blocking the notifying thread until {@link #unblock()} is called.
+     */
+    private static final class BlockingListener implements StatusListener {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        private final CountDownLatch unblocked = new CountDownLatch(1);
+
+        private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+        @Override
+        public void log(final StatusData data) {
+            blocked.countDown();
+            try {
+                unblocked.await();
+            } catch (final InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(data.getMessage().getFormattedMessage());
+        }
+
+        @Override
+        public Level getStatusLevel() {
+            return Level.ALL;
+        }
+
+        @Override
+        public void close() {}
+
+        private void awaitBlocked() throws InterruptedException {
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        private void unblock() {
+            unblocked.countDown();
+        }
+
+        private List<String> take(final int count) throws InterruptedException {
+            final List<String> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                final String message = messages.poll(5, TimeUnit.SECONDS);
+                assertThat(message).isNotNull();
+                taken.add(message);
+            }
+            return taken;
+        }
+    }
+}
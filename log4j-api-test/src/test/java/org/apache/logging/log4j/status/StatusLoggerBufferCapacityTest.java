@@ -19,7 +19,11 @@ package org.apache.logging.log4j.status;
 import static org.apache.logging.log4j.status.StatusLogger.DEFAULT_FALLBACK_LISTENER_BUFFER_CAPACITY;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.util.Properties;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.ParameterizedNoReferenceMessageFactory;
 import org.junit.jupiter.api.Test;
 import uk.org.webcompere.systemstubs.SystemStubs;
 
@@ -57,4 +61,32 @@ class StatusLoggerBufferCapacityTest {
         // Verify the buffer capacity
         assertThat(statusLoggerConfig.bufferCapacity).isEqualTo(DEFAULT_FALLBACK_LISTENER_BUFFER_CAPACITY);
     }
+
+    @Test
+    void buffer_should_keep_the_most_recent_entries() {
+
+        // Create a `StatusLogger` with a small buffer
+        final Properties statusLoggerConfigProperties = new Properties();
+        statusLoggerConfigProperties.put(StatusLogger.MAX_STATUS_ENTRIES, "3");
+        final StatusLogger.Config statusLoggerConfig = new StatusLogger.Config(statusLoggerConfigProperties);
+        final StatusLogger statusLogger = new StatusLogger(
+                StatusLoggerBufferCapacityTest.class.getSimpleName(),
+                ParameterizedNoReferenceMessageFactory.INSTANCE,
+                statusLoggerConfig,
+                new StatusConsoleListener(Level.ERROR, new PrintStream(new ByteArrayOutputStream())));
+
+        // Overflow the buffer
+        for (int i = 0; i < 5; i++) {
+            statusLogger.error("message {}", i);
+        }
+
+        // Verify the buffered entries
+        assertThat(statusLogger.getStatusData())
+                .extracting(statusData -> statusData.getMessage().getFormattedMessage())
+                .containsExactly("message 2", "message 3", "message 4");
+
+        // Verify clearing the buffer
+        statusLogger.clear();
+        assertThat(statusLogger.getStatusData()).isEmpty();
+    }
 }
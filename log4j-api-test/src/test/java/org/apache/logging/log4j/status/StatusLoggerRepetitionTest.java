@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.MessageFactory;
+import org.apache.logging.log4j.message.ParameterizedNoReferenceMessageFactory;
+import org.apache.logging.log4j.message.ReusableMessageFactory;
+import org.junit.jupiter.api.Test;
+
+class StatusLoggerRepetitionTest {
+
+    private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+    @Test
+    void repeated_events_should_not_be_counted_synchronously() throws InterruptedException {
+        final StatusLogger logger = createLogger(0, ParameterizedNoReferenceMessageFactory.INSTANCE);
+
+        for (int i = 0; i < 3; i++) {
+            logger.error("repeated {}", "value");
+        }
+
+        assertThat(take(3)).containsExactly("repeated value", "repeated value", "repeated value");
+    }
+
+    @Test
+    void repeated_events_should_be_reported_before_the_next_event() throws InterruptedException {
+        final StatusLogger logger = createLogger(4, ParameterizedNoReferenceMessageFactory.INSTANCE);
+
+        logger.error("first");
+        for (int i = 0; i < 5; i++) {
+            logger.error("repeated {}", "value");
+        }
+        logger.warn("repeated {}", "value");
+        logger.warn("repeated {}", "other");
+
+        assertThat(take(5))
+                .containsExactly(
+                        "first",
+                        "repeated value",
+                        "The previous status event was repeated 4 times",
+                        "repeated value",
+                        "repeated other");
+    }
+
+    @Test
+    void repeated_events_should_be_reported_after_a_delay() throws InterruptedException {
+        final StatusLogger logger = createLogger(4, ParameterizedNoReferenceMessageFactory.INSTANCE);
+
+        for (int i = 0; i < 3; i++) {
+            logger.error("repeated");
+        }
+
+        assertThat(take(2)).containsExactly("repeated", "The previous status event was repeated 2 times");
+    }
+
+    @Test
+    void repeated_events_should_be_reported_on_reset() throws InterruptedException {
+        final StatusLogger logger = createLogger(4, ParameterizedNoReferenceMessageFactory.INSTANCE);
+
+        logger.error("repeated");
+        assertThat(take(1)).containsExactly("repeated");
+        logger.error("repeated");
+        logger.reset();
+
+        assertThat(take(1)).containsExactly("The previous status event was repeated 1 times");
+    }
+
+    @Test
+    void reusable_messages_should_be_compared_by_formatted_message() throws InterruptedException {
+        final StatusLogger logger = createLogger(4, ReusableMessageFactory.INSTANCE);
+
+        logger.error("{} and {}", "a", "b");
+        logger.error("{} and {}", "a", "b");
+        logger.error("{} and {}", "a", "c");
+        logger.error("{} and {}", "a", "c");
+        logger.error("{} and {}", "a", "c");
+        final Exception exception = new IllegalStateException();
+        logger.error("{} and {}", "a", exception);
+        logger.error("{} and {}", "a", exception);
+        logger.error("last");
+
+        assertThat(take(7))
+                .containsExactly(
+                        "a and b",
+                        "The previous status event was repeated 1 times",
+                        "a and c",
+                        "The previous status event was repeated 2 times",
+                        "a and java.lang.IllegalStateException",
+                        "The previous status event was repeated 1 times",
+                        "last");
+    }
+
+    private StatusLogger createLogger(final int asyncQueueSize, final MessageFactory messageFactory) {
+        final Properties properties = new Properties();
+        properties.put(StatusLogger.ASYNC_QUEUE_SIZE, "" + asyncQueueSize);
+        properties.put(StatusLogger.MAX_STATUS_ENTRIES, "10");
+        final StatusLogger.Config config = new StatusLogger.Config(properties);
+        final StatusConsoleListener fallbackListener =
+                new StatusConsoleListener(Level.ERROR, new PrintStream(new ByteArrayOutputStream()));
+        final StatusLogger logger = new StatusLogger(
+                StatusLoggerRepetitionTest.class.getSimpleName(), messageFactory, config, fallbackListener);
+        logger.registerListener(new StatusListener() {
+
+            @Override
+            public void log(final StatusData data) {
+                messages.add(data.getMessage().getFormattedMessage());
+            }
+
+            @Override
+            public Level getStatusLevel() {
+                return Level.ALL;
+            }
+
+            @Override
+            public void close() {}
+        });
+        return logger;
+    }
+
+    private List<String> take(final int count) throws InterruptedException {
+        final List<String> taken = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final String message = messages.poll(5, TimeUnit.SECONDS);
+            assertThat(message).isNotNull();
+            taken.add(message);
+        }
+        return taken;
+    }
+}
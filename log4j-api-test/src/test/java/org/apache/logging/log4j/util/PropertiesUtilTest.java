@@ -32,6 +32,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -231,4 +232,82 @@ public class PropertiesUtilTest {
         final PropertiesUtil util = new PropertiesUtil(props);
         assertEquals(correct, util.getStringProperty(correct));
     }
+
+    @Test
+    public void testCachesValuesUntilSourceSignalsChange() {
+        final MapPropertySource source = new MapPropertySource(-200, 0L);
+        source.properties.put("log4j2.cachedProperty", "first");
+        final PropertiesUtil util = new PropertiesUtil(source);
+        assertEquals("first", util.getStringProperty("log4j2.cachedProperty"));
+        assertNull(util.getStringProperty("log4j2.missingProperty"));
+        final int lookups = source.lookups;
+
+        source.properties.put("log4j2.cachedProperty", "second");
+        source.properties.put("log4j2.missingProperty", "found");
+        assertEquals("first", util.getStringProperty("log4j2.cachedProperty"));
+        assertNull(util.getStringProperty("log4j2.missingProperty"));
+        assertEquals(lookups, source.lookups);
+
+        source.modificationCount++;
+        assertEquals("second", util.getStringProperty("log4j2.cachedProperty"));
+        assertEquals("found", util.getStringProperty("log4j2.missingProperty"));
+    }
+
+    @Test
+    public void testQueriesSourcesWithoutModificationCount() {
+        final MapPropertySource source = new MapPropertySource(-200, -1L);
+        final PropertiesUtil util = new PropertiesUtil(source);
+        assertNull(util.getStringProperty("log4j2.liveProperty"));
+
+        source.properties.put("log4j2.liveProperty", "value");
+        assertEquals("value", util.getStringProperty("log4j2.liveProperty"));
+    }
+
+    @Test
+    public void testAddedSourceOverridesResolvedValues() {
+        final MapPropertySource source = new MapPropertySource(-200, 0L);
+        source.properties.put("log4j2.overriddenProperty", "low");
+        final PropertiesUtil util = new PropertiesUtil(source);
+        assertEquals("low", util.getStringProperty("log4j2.overriddenProperty"));
+
+        final MapPropertySource added = new MapPropertySource(-300, 0L);
+        added.properties.put("log4j2.overriddenProperty", "high");
+        util.addPropertySource(added);
+        assertEquals("high", util.getStringProperty("log4j2.overriddenProperty"));
+    }
+
+    private static final class MapPropertySource implements PropertySource {
+
+        private final Map<String, String> properties = new HashMap<>();
+        private final int priority;
+        private long modificationCount;
+        private int lookups;
+
+        private MapPropertySource(final int priority, final long modificationCount) {
+            this.priority = priority;
+            this.modificationCount = modificationCount;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public String getProperty(final String key) {
+            lookups++;
+            return properties.get(key);
+        }
+
+        @Override
+        public boolean containsProperty(final String key) {
+            lookups++;
+            return properties.containsKey(key);
+        }
+
+        @Override
+        public long getModificationCount() {
+            return modificationCount;
+        }
+    }
 }
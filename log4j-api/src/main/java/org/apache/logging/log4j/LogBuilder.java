@@ -63,6 +63,95 @@ public interface LogBuilder {
         return this;
     }
 
+    /**
+     * Adds a {@code boolean} argument for the message passed to {@link #log(String)}. Interface default method does nothing.
+     * @param value The argument.
+     * @return The LogBuilder.
+     * @see #arg(int)
+     * @since 2.24.0
+     */
+    default LogBuilder arg(final boolean value) {
+        return this;
+    }
+
+    /**
+     * Adds a {@code char} argument for the message passed to {@link #log(String)}. Interface default method does nothing.
+     * @param value The argument.
+     * @return The LogBuilder.
+     * @see #arg(int)
+     * @since 2.24.0
+     */
+    default LogBuilder arg(final char value) {
+        return this;
+    }
+
+    /**
+     * Adds an {@code int} argument for the message passed to {@link #log(String)}. Interface default method does nothing.
+     * <p>
+     * The arguments replace, in order, the {@code {}} placeholders of the message passed to {@link #log(String)}.
+     * Primitive arguments are not boxed: {@code logger.atInfo().arg(count).arg(elapsed).log("{} items in {} ms")}
+     * does not allocate on garbage-free configurations.
+     * </p>
+     * <p>
+     * The message passed to {@link #log(String)} is always formatted with the {@code {}} placeholders of
+     * {@link org.apache.logging.log4j.message.ParameterizedMessage}, regardless of the
+     * {@link org.apache.logging.log4j.message.MessageFactory} of the logger.
+     * The arguments are only used by {@link #log(String)}: the other {@code log} methods, e.g. {@link #log()},
+     * {@link #log(String, Object...)}, {@link #log(Supplier)} or {@link #log(Message)}, ignore them and a warning is
+     * logged by the {@link org.apache.logging.log4j.status.StatusLogger}.
+     * </p>
+     * @param value The argument.
+     * @return The LogBuilder.
+     * @since 2.24.0
+     */
+    default LogBuilder arg(final int value) {
+        return this;
+    }
+
+    /**
+     * Adds a {@code long} argument for the message passed to {@link #log(String)}. Interface default method does nothing.
+     * @param value The argument.
+     * @return The LogBuilder.
+     * @see #arg(int)
+     * @since 2.24.0
+     */
+    default LogBuilder arg(final long value) {
+        return this;
+    }
+
+    /**
+     * Adds a {@code float} argument for the message passed to {@link #log(String)}. Interface default method does nothing.
+     * @param value The argument.
+     * @return The LogBuilder.
+     * @see #arg(int)
+     * @since 2.24.0
+     */
+    default LogBuilder arg(final float value) {
+        return this;
+    }
+
+    /**
+     * Adds a {@code double} argument for the message passed to {@link #log(String)}. Interface default method does nothing.
+     * @param value The argument.
+     * @return The LogBuilder.
+     * @see #arg(int)
+     * @since 2.24.0
+     */
+    default LogBuilder arg(final double value) {
+        return this;
+    }
+
+    /**
+     * Adds an {@code Object} argument for the message passed to {@link #log(String)}. Interface default method does nothing.
+     * @param value The argument.
+     * @return The LogBuilder.
+     * @see #arg(int)
+     * @since 2.24.0
+     */
+    default LogBuilder arg(final Object value) {
+        return this;
+    }
+
     /**
      * Causes all the data collected to be logged along with the message. Interface default method does nothing.
      * @param message The message to log.
@@ -71,6 +160,9 @@ public interface LogBuilder {
 
     /**
      * Causes all the data collected to be logged along with the message. Interface default method does nothing.
+     * <p>
+     * The arguments added by the {@code arg} methods, if any, replace the placeholders of the message.
+     * </p>
      * @param message The message to log.
      */
     default void log(final String message) {}
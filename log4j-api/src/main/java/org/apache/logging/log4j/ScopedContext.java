@@ -16,10 +16,17 @@
  */
 package org.apache.logging.log4j;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.spi.ScopedContextProvider;
 import org.apache.logging.log4j.util.ProviderUtil;
@@ -44,6 +51,12 @@ import org.apache.logging.log4j.util.ProviderUtil;
  * run or call methods directly to it. The ScopedContext performs no error handling other than to ensure the
  * ThreadContext and ScopedContext are cleaned up from the executed Thread.
  * </p>
+ * <p>
+ * Tasks can also capture the current ScopedContext with the {@code wrap} methods, and an {@link Executor} or
+ * {@link ExecutorService} can be wrapped to propagate the ScopedContext of the submitting thread to all its tasks,
+ * including the stages of a {@link java.util.concurrent.CompletableFuture} run by the {@code *Async} methods
+ * taking an executor. The ScopedContext is immutable and is passed to the executing thread by reference.
+ * </p>
  * @since 2.24.0
  */
 public final class ScopedContext {
@@ -169,6 +182,53 @@ public final class ScopedContext {
         return provider.getString(key);
     }
 
+    /**
+     * Wraps a task so that it runs with the ScopedContext of the current thread, in whatever thread it is run.
+     * @param task the Runnable to wrap.
+     * @return a Runnable, or {@code task} itself if there is no current ScopedContext.
+     */
+    public static Runnable wrap(final Runnable task) {
+        return provider.wrap(task);
+    }
+
+    /**
+     * Wraps a task so that it is called with the ScopedContext of the current thread, in whatever thread it is
+     * called.
+     * @param task the Callable to wrap.
+     * @return a Callable, or {@code task} itself if there is no current ScopedContext.
+     */
+    public static <R> Callable<R> wrap(final Callable<R> task) {
+        return provider.wrap(task);
+    }
+
+    /**
+     * Wraps an Executor so that the tasks it executes run with the ScopedContext of the thread submitting them.
+     * <p>
+     * The returned Executor can be passed to the {@code *Async} methods of
+     * {@link java.util.concurrent.CompletableFuture}.
+     * </p>
+     * @param executor the Executor to wrap.
+     * @return an Executor propagating the ScopedContext.
+     */
+    public static Executor wrap(final Executor executor) {
+        if (executor instanceof ExecutorService) {
+            return wrap((ExecutorService) executor);
+        }
+        return executor instanceof ScopedContextExecutor ? executor : new ScopedContextExecutor(executor);
+    }
+
+    /**
+     * Wraps an ExecutorService so that the tasks it executes run with the ScopedContext of the thread submitting
+     * them.
+     * @param executorService the ExecutorService to wrap.
+     * @return an ExecutorService propagating the ScopedContext.
+     */
+    public static ExecutorService wrap(final ExecutorService executorService) {
+        return executorService instanceof ScopedContextExecutorService
+                ? executorService
+                : new ScopedContextExecutorService(executorService);
+    }
+
     /**
      * A holder of scoped context data.
      */
@@ -293,4 +353,103 @@ public final class ScopedContext {
          */
         <R> Callable<R> wrap(Callable<R> task);
     }
+
+    private static final class ScopedContextExecutor implements Executor {
+        private final Executor executor;
+
+        private ScopedContextExecutor(final Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            executor.execute(wrap(command));
+        }
+    }
+
+    private static final class ScopedContextExecutorService implements ExecutorService {
+        private final ExecutorService executorService;
+
+        private ScopedContextExecutorService(final ExecutorService executorService) {
+            this.executorService = executorService;
+        }
+
+        private static <T> List<Callable<T>> wrapAll(final Collection<? extends Callable<T>> tasks) {
+            final List<Callable<T>> wrapped = new ArrayList<>(tasks.size());
+            for (final Callable<T> task : tasks) {
+                wrapped.add(wrap(task));
+            }
+            return wrapped;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            executorService.execute(wrap(command));
+        }
+
+        @Override
+        public <T> Future<T> submit(final Callable<T> task) {
+            return executorService.submit(wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(final Runnable task, final T result) {
+            return executorService.submit(wrap(task), result);
+        }
+
+        @Override
+        public Future<?> submit(final Runnable task) {
+            return executorService.submit(wrap(task));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks)
+                throws InterruptedException {
+            return executorService.invokeAll(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(
+                final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit)
+                throws InterruptedException {
+            return executorService.invokeAll(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(final Collection<? extends Callable<T>> tasks)
+                throws InterruptedException, ExecutionException {
+            return executorService.invokeAny(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> T invokeAny(final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return executorService.invokeAny(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            executorService.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executorService.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executorService.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executorService.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return executorService.awaitTermination(timeout, unit);
+        }
+    }
 }
@@ -23,6 +23,7 @@ import org.apache.logging.log4j.LogBuilder;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableArgumentsMessage;
 import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.spi.ExtendedLogger;
 import org.apache.logging.log4j.status.StatusLogger;
@@ -47,6 +48,7 @@ public class DefaultLogBuilder implements BridgeAware, LogBuilder {
     private volatile boolean inUse;
     private long threadId;
     private String fqcn = FQCN;
+    private ReusableArgumentsMessage arguments;
 
     public DefaultLogBuilder(final ExtendedLogger logger, final Level level) {
         this.logger = logger;
@@ -75,6 +77,9 @@ public class DefaultLogBuilder implements BridgeAware, LogBuilder {
         this.marker = null;
         this.throwable = null;
         this.location = null;
+        if (arguments != null) {
+            arguments.clear();
+        }
         this.inUse = true;
         return this;
     }
@@ -103,6 +108,55 @@ public class DefaultLogBuilder implements BridgeAware, LogBuilder {
         return this;
     }
 
+    @Override
+    public LogBuilder arg(final boolean value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final char value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final int value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final long value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final float value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final double value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final Object value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    private ReusableArgumentsMessage getArguments() {
+        if (arguments == null) {
+            arguments = new ReusableArgumentsMessage();
+        }
+        return arguments;
+    }
+
     public boolean isInUse() {
         return inUse;
     }
@@ -133,7 +187,13 @@ public class DefaultLogBuilder implements BridgeAware, LogBuilder {
 
     @Override
     public void log(String message) {
-        if (isValid() && isEnabled(message)) {
+        if (arguments != null && arguments.getArgumentCount() > 0) {
+            try {
+                log(arguments.setFormat(message));
+            } finally {
+                arguments.clear();
+            }
+        } else if (isValid() && isEnabled(message)) {
             logMessage(logger.getMessageFactory().newMessage(message));
         }
     }
@@ -267,6 +327,12 @@ public class DefaultLogBuilder implements BridgeAware, LogBuilder {
     }
 
     private void logMessage(Message message) {
+        if (arguments != null && message != arguments && arguments.getArgumentCount() > 0) {
+            LOGGER.warn(
+                    "Arguments added with LogBuilder.arg() were ignored, since the message was not logged with LogBuilder.log(String): {}",
+                    message.getFormat());
+            arguments.clear();
+        }
         try {
             logger.logMessage(level, marker, fqcn, location, message, throwable);
         } finally {
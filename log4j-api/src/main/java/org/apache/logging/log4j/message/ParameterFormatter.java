@@ -69,8 +69,60 @@ final class ParameterFormatter {
 
     private static final Logger STATUS_LOGGER = StatusLogger.getLogger();
 
+    /**
+     * The number of entries of the {@link #getCachedPatternAnalysis(String) pattern analysis cache}, a power of two.
+     */
+    private static final int PATTERN_CACHE_SIZE = 1024;
+
+    /**
+     * The pattern analysis cache, indexed by the hash code of the patterns.
+     * <p>
+     * The entries are immutable, so that they can be read and replaced without locks.
+     * </p>
+     */
+    private static final CachedPatternAnalysis[] PATTERN_CACHE = new CachedPatternAnalysis[PATTERN_CACHE_SIZE];
+
+    /**
+     * The hash codes of the patterns that last missed the cache, per entry.
+     * <p>
+     * A pattern is only cached when it misses twice in a row, so that patterns built at runtime and logged once do not
+     * evict the constant ones.
+     * </p>
+     */
+    private static final int[] PATTERN_CACHE_MISSES = new int[PATTERN_CACHE_SIZE];
+
     private ParameterFormatter() {}
 
+    /**
+     * Returns the cached analysis of the given message pattern.
+     * <p>
+     * The returned analysis stores the indices of all the placeholders of the pattern, whatever the number of
+     * arguments, and must not be modified.
+     * </p>
+     *
+     * @param pattern a message pattern
+     * @return the analysis of the pattern, or {@code null} if the pattern is not cached
+     */
+    static MessagePatternAnalysis getCachedPatternAnalysis(final String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        final int hash = pattern.hashCode();
+        final int index = (hash ^ (hash >>> 16)) & (PATTERN_CACHE_SIZE - 1);
+        final CachedPatternAnalysis cached = PATTERN_CACHE[index];
+        // Most patterns are constants, check their identity first
+        if (cached != null && (cached.pattern == pattern || (cached.hash == hash && cached.pattern.equals(pattern)))) {
+            return cached.analysis;
+        }
+        if (PATTERN_CACHE_MISSES[index] != hash) {
+            PATTERN_CACHE_MISSES[index] = hash;
+            return null;
+        }
+        final MessagePatternAnalysis analysis = analyzePattern(pattern, -1);
+        PATTERN_CACHE[index] = new CachedPatternAnalysis(pattern, hash, analysis);
+        return analysis;
+    }
+
     /**
      * Analyzes – finds argument placeholder (i.e., {@literal "{}"}) occurrences, etc. – the given message pattern.
      * <p>
@@ -208,6 +260,24 @@ final class ParameterFormatter {
         }
     }
 
+    /**
+     * An immutable entry of the pattern analysis cache.
+     */
+    private static final class CachedPatternAnalysis {
+
+        private final String pattern;
+
+        private final int hash;
+
+        private final MessagePatternAnalysis analysis;
+
+        private CachedPatternAnalysis(final String pattern, final int hash, final MessagePatternAnalysis analysis) {
+            this.pattern = pattern;
+            this.hash = hash;
+            this.analysis = analysis;
+        }
+    }
+
     /**
      * Format the given pattern using provided arguments.
      *
@@ -310,7 +380,7 @@ final class ParameterFormatter {
         copyMessagePatternContainingEscapes(buffer, pattern, precedingTextStartIndex, pattern.length());
     }
 
-    private static void copyMessagePatternContainingEscapes(
+    static void copyMessagePatternContainingEscapes(
             final StringBuilder buffer, final String pattern, final int startIndex, final int endIndex) {
         boolean escaped = false;
         int i = startIndex;
@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.message;
 
 import static org.apache.logging.log4j.message.ParameterFormatter.analyzePattern;
+import static org.apache.logging.log4j.message.ParameterFormatter.getCachedPatternAnalysis;
 import static org.apache.logging.log4j.util.StringBuilders.trimToMaxSize;
 
 import com.google.errorprone.annotations.InlineMe;
@@ -139,7 +140,9 @@ public class ParameterizedMessage implements Message, StringBuilderFormattable {
     public ParameterizedMessage(final String pattern, final Object[] args, final Throwable throwable) {
         this.args = args;
         this.pattern = pattern;
-        this.patternAnalysis = analyzePattern(pattern, args != null ? args.length : 0);
+        final MessagePatternAnalysis cachedAnalysis = getCachedPatternAnalysis(pattern);
+        this.patternAnalysis =
+                cachedAnalysis != null ? cachedAnalysis : analyzePattern(pattern, args != null ? args.length : 0);
         this.throwable = determineThrowable(throwable, this.args, patternAnalysis);
     }
 
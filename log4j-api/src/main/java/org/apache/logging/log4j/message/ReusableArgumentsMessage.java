@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.message;
+
+import java.util.Arrays;
+import org.apache.logging.log4j.message.ParameterFormatter.MessagePatternAnalysis;
+import org.apache.logging.log4j.util.Constants;
+import org.apache.logging.log4j.util.PerformanceSensitive;
+import org.apache.logging.log4j.util.StringBuilders;
+
+/**
+ * Mutable parameterized message whose arguments are added one by one, storing primitive arguments without boxing them.
+ * <p>
+ * The arguments replace the {@code {}} placeholders of the message pattern like in {@link ParameterizedMessage}, but
+ * primitive values are kept in primitive slots and appended straight into the formatting buffer. Hence, logging
+ * {@code int}, {@code long}, {@code double}, etc. values does not allocate, unlike boxing them or using
+ * {@link org.apache.logging.log4j.util.Unbox}.
+ * </p>
+ * <p>
+ * For the same reason, the arguments are not exposed as {@link #swapParameters(Object[]) parameters} to the log events:
+ * {@link #getParameterCount()} returns zero and only {@link #getParameters()} boxes them on demand.
+ * </p>
+ *
+ * @see org.apache.logging.log4j.LogBuilder#arg(int)
+ * @since 2.24.0
+ */
+@PerformanceSensitive("allocation")
+public class ReusableArgumentsMessage implements ReusableMessage, Clearable {
+
+    private static final long serialVersionUID = 4213735916519349377L;
+
+    private static final int INITIAL_CAPACITY = 10;
+
+    private static final byte OBJECT = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte CHAR = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+
+    private transient String messagePattern;
+    private transient MessagePatternAnalysis patternAnalysis;
+    private final transient MessagePatternAnalysis uncachedPatternAnalysis = new MessagePatternAnalysis();
+    private final transient StringBuilder formatBuffer = new StringBuilder(Constants.MAX_REUSABLE_MESSAGE_SIZE);
+    private transient byte[] types = new byte[INITIAL_CAPACITY];
+    // The values of primitive arguments, floating-point ones as raw bits
+    private transient long[] primitives = new long[INITIAL_CAPACITY];
+    private transient Object[] objects = new Object[INITIAL_CAPACITY];
+    private transient int argCount;
+
+    /**
+     * Creates a reusable message without any argument.
+     */
+    public ReusableArgumentsMessage() {}
+
+    /**
+     * Sets the message pattern, whose placeholders will be replaced by the arguments added so far.
+     *
+     * @param messagePattern a message pattern
+     * @return this message
+     */
+    public ReusableArgumentsMessage setFormat(final String messagePattern) {
+        this.messagePattern = messagePattern;
+        final MessagePatternAnalysis cachedAnalysis = ParameterFormatter.getCachedPatternAnalysis(messagePattern);
+        if (cachedAnalysis != null) {
+            patternAnalysis = cachedAnalysis;
+        } else {
+            ParameterFormatter.analyzePattern(messagePattern, -1, uncachedPatternAnalysis);
+            patternAnalysis = uncachedPatternAnalysis;
+        }
+        return this;
+    }
+
+    /**
+     * Adds a {@code boolean} argument.
+     *
+     * @param value an argument
+     * @return this message
+     */
+    public ReusableArgumentsMessage add(final boolean value) {
+        return addPrimitive(BOOLEAN, value ? 1L : 0L);
+    }
+
+    /**
+     * Adds a {@code char} argument.
+     *
+     * @param value an argument
+     * @return this message
+     */
+    public ReusableArgumentsMessage add(final char value) {
+        return addPrimitive(CHAR, value);
+    }
+
+    /**
+     * Adds an {@code int} argument.
+     *
+     * @param value an argument
+     * @return this message
+     */
+    public ReusableArgumentsMessage add(final int value) {
+        return addPrimitive(INT, value);
+    }
+
+    /**
+     * Adds a {@code long} argument.
+     *
+     * @param value an argument
+     * @return this message
+     */
+    public ReusableArgumentsMessage add(final long value) {
+        return addPrimitive(LONG, value);
+    }
+
+    /**
+     * Adds a {@code float} argument.
+     *
+     * @param value an argument
+     * @return this message
+     */
+    public ReusableArgumentsMessage add(final float value) {
+        return addPrimitive(FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Adds a {@code double} argument.
+     *
+     * @param value an argument
+     * @return this message
+     */
+    public ReusableArgumentsMessage add(final double value) {
+        return addPrimitive(DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Adds an argument formatted like the parameters of {@link ParameterizedMessage}.
+     *
+     * @param value an argument
+     * @return this message
+     */
+    public ReusableArgumentsMessage add(final Object value) {
+        ensureCapacity();
+        types[argCount] = OBJECT;
+        objects[argCount++] = value;
+        return this;
+    }
+
+    private ReusableArgumentsMessage addPrimitive(final byte type, final long value) {
+        ensureCapacity();
+        types[argCount] = type;
+        primitives[argCount++] = value;
+        return this;
+    }
+
+    private void ensureCapacity() {
+        if (argCount == types.length) {
+            final int newCapacity = argCount * 2;
+            types = Arrays.copyOf(types, newCapacity);
+            primitives = Arrays.copyOf(primitives, newCapacity);
+            objects = Arrays.copyOf(objects, newCapacity);
+        }
+    }
+
+    /**
+     * Returns the number of arguments added so far.
+     *
+     * @return the number of arguments
+     */
+    public int getArgumentCount() {
+        return argCount;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        try {
+            formatTo(formatBuffer);
+            return formatBuffer.toString();
+        } finally {
+            StringBuilders.trimToMaxSize(formatBuffer, Constants.MAX_REUSABLE_MESSAGE_SIZE);
+            formatBuffer.setLength(0);
+        }
+    }
+
+    @Override
+    public void formatTo(final StringBuilder buffer) {
+        if (messagePattern == null || patternAnalysis.placeholderCount == 0) {
+            buffer.append(messagePattern);
+            return;
+        }
+        int precedingTextStartIndex = 0;
+        final int argLimit = Math.min(patternAnalysis.placeholderCount, argCount);
+        for (int argIndex = 0; argIndex < argLimit; argIndex++) {
+            final int placeholderCharIndex = patternAnalysis.placeholderCharIndices[argIndex];
+            appendPattern(buffer, precedingTextStartIndex, placeholderCharIndex);
+            appendArgument(buffer, argIndex);
+            precedingTextStartIndex = placeholderCharIndex + 2;
+        }
+        appendPattern(buffer, precedingTextStartIndex, messagePattern.length());
+    }
+
+    private void appendPattern(final StringBuilder buffer, final int startIndex, final int endIndex) {
+        if (patternAnalysis.escapedCharFound) {
+            ParameterFormatter.copyMessagePatternContainingEscapes(buffer, messagePattern, startIndex, endIndex);
+        } else {
+            buffer.append(messagePattern, startIndex, endIndex);
+        }
+    }
+
+    private void appendArgument(final StringBuilder buffer, final int argIndex) {
+        final long value = primitives[argIndex];
+        switch (types[argIndex]) {
+            case BOOLEAN:
+                buffer.append(value != 0L);
+                break;
+            case CHAR:
+                buffer.append((char) value);
+                break;
+            case INT:
+            case LONG:
+                buffer.append(value);
+                break;
+            case FLOAT:
+                buffer.append(Float.intBitsToFloat((int) value));
+                break;
+            case DOUBLE:
+                buffer.append(Double.longBitsToDouble(value));
+                break;
+            default:
+                ParameterFormatter.recursiveDeepToString(objects[argIndex], buffer);
+        }
+    }
+
+    @Override
+    public String getFormat() {
+        return messagePattern;
+    }
+
+    /**
+     * Returns the arguments, boxing the primitive ones.
+     *
+     * @return a new array containing the arguments
+     */
+    @Override
+    public Object[] getParameters() {
+        final Object[] parameters = new Object[argCount];
+        for (int argIndex = 0; argIndex < argCount; argIndex++) {
+            parameters[argIndex] = getParameter(argIndex);
+        }
+        return parameters;
+    }
+
+    private Object getParameter(final int argIndex) {
+        final long value = primitives[argIndex];
+        switch (types[argIndex]) {
+            case BOOLEAN:
+                return value != 0L;
+            case CHAR:
+                return (char) value;
+            case INT:
+                return (int) value;
+            case LONG:
+                return value;
+            case FLOAT:
+                return Float.intBitsToFloat((int) value);
+            case DOUBLE:
+                return Double.longBitsToDouble(value);
+            default:
+                return objects[argIndex];
+        }
+    }
+
+    /**
+     * Always returns {@code null}, use {@link org.apache.logging.log4j.LogBuilder#withThrowable(Throwable)} instead.
+     *
+     * @return {@code null}
+     */
+    @Override
+    public Throwable getThrowable() {
+        return null;
+    }
+
+    /**
+     * Returns the specified array untouched, since the arguments are not exposed as parameters.
+     *
+     * @param emptyReplacement the parameter array to return
+     * @return the specified array
+     */
+    @Override
+    public Object[] swapParameters(final Object[] emptyReplacement) {
+        return emptyReplacement;
+    }
+
+    /**
+     * Always returns zero, since the arguments are not exposed as parameters.
+     *
+     * @return zero
+     */
+    @Override
+    public short getParameterCount() {
+        return 0;
+    }
+
+    @Override
+    public Message memento() {
+        return new ParameterizedMessage(messagePattern, getParameters());
+    }
+
+    @Override
+    public void clear() {
+        messagePattern = null;
+        patternAnalysis = null;
+        Arrays.fill(objects, 0, argCount, null);
+        argCount = 0;
+    }
+
+    @Override
+    public String toString() {
+        // Avoid formatting arguments!
+        // It can cause recursion, which can become pretty unpleasant while troubleshooting.
+        return "ReusableArgumentsMessage[messagePattern=" + messagePattern + ", argCount=" + argCount + ']';
+    }
+
+    private Object writeReplace() {
+        return memento();
+    }
+}
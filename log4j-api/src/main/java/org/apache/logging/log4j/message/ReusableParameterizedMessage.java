@@ -34,10 +34,15 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
 public class ReusableParameterizedMessage implements ReusableMessage, ParameterVisitable, Clearable {
 
     private static final int MAX_PARAMS = 10;
+    private static final int PATTERN_CACHE_SIZE = 8;
     private static final long serialVersionUID = 7800075879295123856L;
 
     private String messagePattern;
-    private final MessagePatternAnalysis patternAnalysis = new MessagePatternAnalysis();
+    // The analyses of the last patterns, preallocated to stay garbage-free
+    private final transient String[] cachedPatterns = new String[PATTERN_CACHE_SIZE];
+    private final transient MessagePatternAnalysis[] cachedAnalyses = createPatternAnalyses();
+    private transient int patternIndex;
+    private transient MessagePatternAnalysis patternAnalysis;
     private final StringBuilder formatBuffer = new StringBuilder(Constants.MAX_REUSABLE_MESSAGE_SIZE);
     private int argCount;
     private transient Object[] varargs;
@@ -50,6 +55,15 @@ public class ReusableParameterizedMessage implements ReusableMessage, ParameterV
      */
     public ReusableParameterizedMessage() {}
 
+    private static MessagePatternAnalysis[] createPatternAnalyses() {
+        final MessagePatternAnalysis[] analyses = new MessagePatternAnalysis[PATTERN_CACHE_SIZE];
+        for (int i = 0; i < PATTERN_CACHE_SIZE; i++) {
+            analyses[i] = new MessagePatternAnalysis();
+            analyses[i].placeholderCharIndices = new int[MAX_PARAMS];
+        }
+        return analyses;
+    }
+
     private Object[] getTrimmedParams() {
         return varargs == null ? Arrays.copyOf(params, argCount) : varargs;
     }
@@ -121,10 +135,21 @@ public class ReusableParameterizedMessage implements ReusableMessage, ParameterV
         this.varargs = null;
         this.messagePattern = messagePattern;
         this.argCount = argCount;
-        ParameterFormatter.analyzePattern(messagePattern, argCount, patternAnalysis);
+        analyzePattern(messagePattern);
         this.throwable = determineThrowable(args, argCount, patternAnalysis.placeholderCount);
     }
 
+    private void analyzePattern(final String messagePattern) {
+        patternIndex = messagePattern != null ? messagePattern.hashCode() & (PATTERN_CACHE_SIZE - 1) : 0;
+        patternAnalysis = cachedAnalyses[patternIndex];
+        final String cachedPattern = cachedPatterns[patternIndex];
+        if (messagePattern == null || (cachedPattern != messagePattern && !messagePattern.equals(cachedPattern))) {
+            // All the placeholders are stored, since the pattern may be reused with more arguments
+            ParameterFormatter.analyzePattern(messagePattern, -1, patternAnalysis);
+            cachedPatterns[patternIndex] = messagePattern;
+        }
+    }
+
     private static Throwable determineThrowable(final Object[] args, final int argCount, final int placeholderCount) {
         if (placeholderCount < argCount) {
             final Object lastArg = args[argCount - 1];
@@ -379,9 +404,11 @@ public class ReusableParameterizedMessage implements ReusableMessage, ParameterV
         throwable = null;
         // Cut down on the memory usage after an analysis with an excessive argument count
         final int placeholderCharIndicesMaxLength = 16;
-        if (patternAnalysis.placeholderCharIndices != null
+        if (patternAnalysis != null
+                && patternAnalysis.placeholderCharIndices != null
                 && patternAnalysis.placeholderCharIndices.length > placeholderCharIndicesMaxLength) {
             patternAnalysis.placeholderCharIndices = new int[placeholderCharIndicesMaxLength];
+            cachedPatterns[patternIndex] = null;
         }
     }
 
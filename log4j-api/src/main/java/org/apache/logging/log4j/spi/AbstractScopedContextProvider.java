@@ -29,6 +29,7 @@ import org.apache.logging.log4j.ScopedContext;
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.StringMap;
+import org.apache.logging.log4j.util.TriConsumer;
 
 /**
  * An implementation of {@link ScopedContextProvider} that uses the simplest implementation.
@@ -38,6 +39,9 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
 
     public static final Logger LOGGER = StatusLogger.getLogger();
 
+    private static final TriConsumer<String, Object, StringMap> PUT_STRING_VALUE =
+            (key, value, map) -> map.putValue(key, value.toString());
+
     /**
      * Returns an immutable Instance.
      * @return The current context Instance.
@@ -55,13 +59,50 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
      */
     protected abstract void removeScopedContext();
 
+    /**
+     * Runs a task with the given context bound to the current thread.
+     * <p>
+     *     The default implementation uses {@link #addScopedContext} and {@link #removeScopedContext}. Implementations
+     *     that can restore the previous context with a simple swap, or that bind the context by other means,
+     *     should override this method and {@link #callWithContext}.
+     * </p>
+     * @param context The ScopeContext.
+     * @param task The task to run.
+     */
+    protected void runWithContext(final MapInstance context, final Runnable task) {
+        addScopedContext(context);
+        try {
+            task.run();
+        } finally {
+            removeScopedContext();
+        }
+    }
+
+    /**
+     * Calls a task with the given context bound to the current thread.
+     * @param context The ScopeContext.
+     * @param task The task to call.
+     * @return The return value of the task.
+     * @see #runWithContext
+     */
+    protected <R> R callWithContext(final MapInstance context, final Callable<R> task) throws Exception {
+        addScopedContext(context);
+        try {
+            return task.call();
+        } finally {
+            removeScopedContext();
+        }
+    }
+
+    private MapInstance getCurrentContext() {
+        final Optional<Instance> context = getContext();
+        return context.isPresent() ? (MapInstance) context.get() : null;
+    }
+
     @Override
     public Map<String, Object> getContextMap() {
-        final Optional<Instance> context = getContext();
-        if (context.isPresent()) {
-            return ((MapInstance) context.get()).contextMap;
-        }
-        return Collections.emptyMap();
+        final MapInstance context = getCurrentContext();
+        return context != null ? context.getContextMap() : Collections.emptyMap();
     }
 
     /**
@@ -71,7 +112,8 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
      */
     @Override
     public Object getValue(final String key) {
-        return getContextMap().get(key);
+        final MapInstance context = getCurrentContext();
+        return context != null ? context.contextData.getValue(key) : null;
     }
 
     /**
@@ -91,15 +133,35 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
      */
     @Override
     public void addContextMapTo(final StringMap map) {
-        final Optional<Instance> context = getContext();
-        if (context.isPresent()) {
-            final Map<String, ?> contextMap = ((MapInstance) context.get()).contextMap;
-            if (contextMap != null && !contextMap.isEmpty()) {
-                contextMap.forEach((key, value) -> map.putValue(key, value.toString()));
-            }
+        final MapInstance context = getCurrentContext();
+        if (context != null) {
+            context.contextData.forEach(PUT_STRING_VALUE, map);
         }
     }
 
+    /**
+     * Wraps a task so that it runs with the scoped context of the current thread, which is captured by reference.
+     * @param task the Runnable task to perform.
+     * @return a Runnable, {@code task} itself if there is no current context.
+     */
+    @Override
+    public Runnable wrap(final Runnable task) {
+        final MapInstance context = getCurrentContext();
+        return context != null ? context.wrap(task) : task;
+    }
+
+    /**
+     * Wraps a task so that it is called with the scoped context of the current thread, which is captured by
+     * reference.
+     * @param task the Callable task to perform.
+     * @return a Callable, {@code task} itself if there is no current context.
+     */
+    @Override
+    public <R> Callable<R> wrap(final Callable<R> task) {
+        final MapInstance context = getCurrentContext();
+        return context != null ? context.wrap(task) : task;
+    }
+
     @Override
     public ScopedContext.Instance newScopedContext() {
         return getContext().isPresent() ? getContext().get() : null;
@@ -128,17 +190,7 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
      */
     @Override
     public ScopedContext.Instance newScopedContext(final Map<String, ?> map) {
-        final Map<String, Object> objectMap = new HashMap<>(getContextMap());
-        if (map != null && !map.isEmpty()) {
-            map.forEach((key, value) -> {
-                if (value == null || (value instanceof String && ((String) value).isEmpty())) {
-                    objectMap.remove(key);
-                } else {
-                    objectMap.put(key, value);
-                }
-            });
-        }
-        return newMapInstance(null, objectMap, false);
+        return newMapInstance(null, map, false);
     }
 
     /**
@@ -161,31 +213,56 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
         return new Instance(this, instance, withThreadContext);
     }
 
+    /**
+     * Creates a MapInstance with the data of the current context, the Key/Value pairs of {@code instance} and its
+     * parents up to the first MapInstance, and the entries of {@code map}.
+     * <p>
+     *     The data of the current context is shared, not copied.
+     * </p>
+     * @param instance the Instance to convert or {@code null}.
+     * @param map additional data, where a {@code null} or empty value removes the key, may be {@code null}.
+     * @param withThreadContext true if the ThreadContext should be included.
+     * @return the MapInstance constructed.
+     */
     protected MapInstance newMapInstance(
-            final Instance instance, final Map<String, Object> map, final Boolean withThreadContext) {
-        final Map<String, Object> objectMap = new HashMap<>(getContextMap());
-        Instance parent = instance;
-        while (parent != null && !(parent instanceof MapInstance)) {
-            if (parent instanceof KeyValueInstance) {
-                objectMap.put(((KeyValueInstance) parent).key, ((KeyValueInstance) parent).value);
+            final Instance instance, final Map<String, ?> map, final Boolean withThreadContext) {
+        final MapInstance current = getCurrentContext();
+        PersistentStringMap contextData =
+                addKeyValues(current != null ? current.contextData : PersistentStringMap.EMPTY, instance);
+        if (map != null) {
+            for (final Map.Entry<String, ?> entry : map.entrySet()) {
+                final Object value = entry.getValue();
+                contextData =
+                        isEmpty(value) ? contextData.without(entry.getKey()) : contextData.with(entry.getKey(), value);
             }
-            parent = parent.getParent();
         }
-        map.forEach((key, value) -> {
-            if (value == null || (value instanceof String && ((String) value).isEmpty())) {
-                objectMap.remove(key);
-            } else {
-                objectMap.put(key, value);
-            }
-        });
-        return new MapInstance(this, instance, (MapInstance) getContext().orElse(null), objectMap, withThreadContext);
+        return new MapInstance(this, instance, current, contextData, withThreadContext);
+    }
+
+    /**
+     * Adds the Key/Value pairs of an Instance and its parents up to the first MapInstance, the closest pairs last.
+     */
+    private static PersistentStringMap addKeyValues(final PersistentStringMap contextData, final Instance instance) {
+        if (instance == null || instance instanceof MapInstance) {
+            return contextData;
+        }
+        final PersistentStringMap parentData = addKeyValues(contextData, instance.getParent());
+        if (instance instanceof KeyValueInstance) {
+            final KeyValueInstance keyValue = (KeyValueInstance) instance;
+            return parentData.with(keyValue.key, keyValue.value);
+        }
+        return parentData;
+    }
+
+    private static boolean isEmpty(final Object value) {
+        return value == null || (value instanceof String && ((String) value).isEmpty());
     }
 
     /**
      * When an Instance is created it may contain a Key/Value pair from a Where method. When a run method is
-     * called a Map will be created and all the Key/Value pairs from parent instances will be added to
-     * it along with all the keys from the first Instance encountered that contains a Map. In this
-     * way we avoid continually copying Maps in order to add a single Key/Value pair.
+     * called a MapInstance will be created and all the Key/Value pairs from parent instances will be added to
+     * the immutable data of the current MapInstance. The data of the MapInstances is structurally shared, so that
+     * neither adding a single Key/Value pair nor passing a MapInstance to another thread copies it.
      */
     protected static class Instance implements ScopedContext.Instance {
 
@@ -250,6 +327,12 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
             return obj != null ? provider.newKeyValueInstance(this, key, obj, this.withThreadContext) : this;
         }
 
+        private MapInstance toMapInstance() {
+            return this instanceof MapInstance
+                    ? (MapInstance) this
+                    : provider.newMapInstance(this, null, this.withThreadContext);
+        }
+
         /**
          * Executes a code block that includes all the key/value pairs added to the ScopedContext on a different Thread.
          *
@@ -262,7 +345,7 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
         public Future<Void> runWhere(String key, Object value, ExecutorService executorService, Runnable task) {
             Map<String, String> map = this.withThreadContext ? ThreadContext.getContext() : null;
             Instance instance = addObject(key, value);
-            final MapInstance context = provider.newMapInstance(instance, new HashMap<>(), this.withThreadContext);
+            final MapInstance context = provider.newMapInstance(instance, null, this.withThreadContext);
             return executorService.submit(new Runner(context, map, ThreadContext.getImmutableStack(), task), null);
         }
 
@@ -293,7 +376,7 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
             Map<String, String> map = this.withThreadContext ? ThreadContext.getContext() : null;
             ThreadContext.ContextStack stack = withThreadContext ? ThreadContext.getImmutableStack() : null;
             Instance instance = addObject(key, value);
-            final MapInstance context = provider.newMapInstance(instance, new HashMap<>(), this.withThreadContext);
+            final MapInstance context = provider.newMapInstance(instance, null, this.withThreadContext);
             return executorService.submit(new Caller<>(context, map, stack, task));
         }
 
@@ -318,9 +401,7 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
          */
         @Override
         public void run(final Runnable task) {
-            final MapInstance context = this instanceof MapInstance
-                    ? (MapInstance) this
-                    : provider.newMapInstance(this, new HashMap<>(), this.withThreadContext);
+            final MapInstance context = toMapInstance();
             new Runner(context, null, null, task).run();
         }
 
@@ -333,9 +414,7 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
         @Override
         public Future<Void> run(final ExecutorService executorService, final Runnable task) {
             Map<String, String> map = this.withThreadContext ? ThreadContext.getContext() : null;
-            final MapInstance context = this instanceof MapInstance
-                    ? (MapInstance) this
-                    : provider.newMapInstance(this, new HashMap<>(), this.withThreadContext);
+            final MapInstance context = toMapInstance();
             return executorService.submit(new Runner(context, map, ThreadContext.getImmutableStack(), task), null);
         }
 
@@ -347,9 +426,7 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
          */
         @Override
         public <R> R call(final Callable<R> task) throws Exception {
-            final MapInstance context = this instanceof MapInstance
-                    ? (MapInstance) this
-                    : provider.newMapInstance(this, new HashMap<>(), this.withThreadContext);
+            final MapInstance context = toMapInstance();
             return new Caller<>(context, null, null, task).call();
         }
 
@@ -363,9 +440,7 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
         public <R> Future<R> call(final ExecutorService executorService, final Callable<R> task) {
             Map<String, String> map = this.withThreadContext ? ThreadContext.getContext() : null;
             ThreadContext.ContextStack stack = withThreadContext ? ThreadContext.getImmutableStack() : null;
-            final MapInstance context = this instanceof MapInstance
-                    ? (MapInstance) this
-                    : provider.newMapInstance(this, new HashMap<>(), this.withThreadContext);
+            final MapInstance context = toMapInstance();
             return executorService.submit(new Caller<>(context, map, stack, task));
         }
 
@@ -379,9 +454,7 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
         public Runnable wrap(Runnable task) {
             Map<String, String> map = this.withThreadContext ? ThreadContext.getContext() : null;
             ThreadContext.ContextStack stack = withThreadContext ? ThreadContext.getImmutableStack() : null;
-            final MapInstance context = this instanceof MapInstance
-                    ? (MapInstance) this
-                    : provider.newMapInstance(this, new HashMap<>(), this.withThreadContext);
+            final MapInstance context = toMapInstance();
             return new Runner(context, map, stack, task);
         }
 
@@ -395,16 +468,15 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
         public <R> Callable<R> wrap(Callable<R> task) {
             Map<String, String> map = this.withThreadContext ? ThreadContext.getContext() : null;
             ThreadContext.ContextStack stack = withThreadContext ? ThreadContext.getImmutableStack() : null;
-            final MapInstance context = this instanceof MapInstance
-                    ? (MapInstance) this
-                    : provider.newMapInstance(this, new HashMap<>(), this.withThreadContext);
+            final MapInstance context = toMapInstance();
             return new Caller<>(context, map, stack, task);
         }
     }
 
     protected static class MapInstance extends Instance {
-        private final Map<String, Object> contextMap;
+        private final PersistentStringMap contextData;
         private final MapInstance previous;
+        private Map<String, Object> contextMap;
 
         public MapInstance(
                 final AbstractScopedContextProvider provider,
@@ -412,14 +484,53 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
                 final MapInstance previous,
                 final Map<String, Object> map,
                 Boolean withThreadContext) {
+            this(provider, parent, previous, toContextData(map), withThreadContext);
+        }
+
+        private MapInstance(
+                final AbstractScopedContextProvider provider,
+                final Instance parent,
+                final MapInstance previous,
+                final PersistentStringMap contextData,
+                final Boolean withThreadContext) {
             super(provider, parent, withThreadContext);
-            this.contextMap = map;
+            this.contextData = contextData;
             this.previous = previous;
         }
 
+        private static PersistentStringMap toContextData(final Map<String, Object> map) {
+            PersistentStringMap contextData = PersistentStringMap.EMPTY;
+            if (map != null) {
+                for (final Map.Entry<String, Object> entry : map.entrySet()) {
+                    contextData = contextData.with(entry.getKey(), entry.getValue());
+                }
+            }
+            return contextData;
+        }
+
         public MapInstance getPrevious() {
             return previous;
         }
+
+        /**
+         * Returns the data of this context as a Map, which is only created on demand.
+         * @return an unmodifiable Map.
+         */
+        public Map<String, Object> getContextMap() {
+            Map<String, Object> map = contextMap;
+            if (map == null) {
+                if (contextData.isEmpty()) {
+                    map = Collections.emptyMap();
+                } else {
+                    final Map<String, Object> copy = new HashMap<>(contextData.size() * 4 / 3 + 1);
+                    contextData.forEach(copy::put);
+                    map = Collections.unmodifiableMap(copy);
+                }
+                // benign race, the map is safely published by the final field of the unmodifiable wrapper
+                contextMap = map;
+            }
+            return map;
+        }
     }
 
     /**
@@ -442,10 +553,9 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
     }
 
     protected abstract static class AbstractWorker {
-        private final Map<String, Object> contextMap = new HashMap<>();
         private final Map<String, String> threadContextMap;
         private final ThreadContext.ContextStack contextStack;
-        private final MapInstance context;
+        protected final MapInstance context;
 
         protected AbstractWorker(
                 final MapInstance context,
@@ -456,7 +566,11 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
             this.contextStack = contextStack;
         }
 
-        protected void setupContext() {
+        /**
+         * Sets up the ThreadContext captured with the ScopedContext, the ScopedContext itself is bound by
+         * {@link AbstractScopedContextProvider#runWithContext} or {@link AbstractScopedContextProvider#callWithContext}.
+         */
+        protected void setupThreadContext() {
             if (threadContextMap != null) {
                 ThreadContext.clearMap();
                 ThreadContext.putAll(threadContextMap);
@@ -465,11 +579,9 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
                 ThreadContext.clearStack();
                 ThreadContext.setStack(contextStack);
             }
-            context.getProvider().addScopedContext(context);
         }
 
-        protected void restoreContext() {
-            context.getProvider().removeScopedContext();
+        protected void restoreThreadContext() {
             if (threadContextMap != null) {
                 ThreadContext.clearMap();
             }
@@ -493,11 +605,11 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
 
         @Override
         public void run() {
-            setupContext();
+            setupThreadContext();
             try {
-                op.run();
+                context.getProvider().runWithContext(context, op);
             } finally {
-                restoreContext();
+                restoreThreadContext();
             }
         }
     }
@@ -516,11 +628,11 @@ public abstract class AbstractScopedContextProvider implements ScopedContextProv
 
         @Override
         public R call() throws Exception {
-            setupContext();
+            setupThreadContext();
             try {
-                return op.call();
+                return context.getProvider().callWithContext(context, op);
             } finally {
-                restoreContext();
+                restoreThreadContext();
             }
         }
     }
@@ -23,15 +23,22 @@ import java.util.Objects;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.apache.logging.log4j.message.MessageFactory;
 
 /**
  * Convenience class to be used by {@code LoggerContext} implementations.
+ * <p>
+ * With the {@link ConcurrentMapFactory} and {@link WeakMapFactory} map factories, the loggers are stored in a single
+ * hash table keyed by their name and message factory, which is read without locks. Other map factories are used to
+ * create nested maps of the loggers, keyed by message factory and name.
+ * </p>
  */
 public class LoggerRegistry<T extends ExtendedLogger> {
     private static final String DEFAULT_FACTORY_KEY = AbstractLogger.DEFAULT_MESSAGE_FACTORY_CLASS.getName();
     private final MapFactory<T> factory;
     private final Map<String, Map<String, T>> map;
+    private final LoggerIndex<T> index;
 
     /**
      * Interface to control the data structure used by the registry to store the Loggers.
@@ -93,7 +100,14 @@ public class LoggerRegistry<T extends ExtendedLogger> {
 
     public LoggerRegistry(final MapFactory<T> factory) {
         this.factory = Objects.requireNonNull(factory, "factory");
-        this.map = factory.createOuterMap();
+        if (factory.getClass() == ConcurrentMapFactory.class || factory.getClass() == WeakMapFactory.class) {
+            // a WeakHashMap never released its loggers, since they reference their name: the index keeps them too
+            this.map = null;
+            this.index = new LoggerIndex<>();
+        } else {
+            this.map = factory.createOuterMap();
+            this.index = null;
+        }
     }
 
     private static String factoryClassKey(final Class<? extends MessageFactory> messageFactoryClass) {
@@ -112,7 +126,7 @@ public class LoggerRegistry<T extends ExtendedLogger> {
      * @return The logger with the specified name.
      */
     public T getLogger(final String name) {
-        return getOrCreateInnerMap(DEFAULT_FACTORY_KEY).get(name);
+        return getLogger(name, DEFAULT_FACTORY_KEY);
     }
 
     /**
@@ -123,7 +137,13 @@ public class LoggerRegistry<T extends ExtendedLogger> {
      * @return The logger with the specified name.
      */
     public T getLogger(final String name, final MessageFactory messageFactory) {
-        return getOrCreateInnerMap(factoryKey(messageFactory)).get(name);
+        return getLogger(name, factoryKey(messageFactory));
+    }
+
+    private T getLogger(final String name, final String factoryKey) {
+        return index != null
+                ? index.get(name, factoryKey)
+                : getOrCreateInnerMap(factoryKey).get(name);
     }
 
     public Collection<T> getLoggers() {
@@ -131,6 +151,9 @@ public class LoggerRegistry<T extends ExtendedLogger> {
     }
 
     public Collection<T> getLoggers(final Collection<T> destination) {
+        if (index != null) {
+            return index.getLoggers(destination);
+        }
         for (final Map<String, T> inner : map.values()) {
             destination.addAll(inner.values());
         }
@@ -152,7 +175,7 @@ public class LoggerRegistry<T extends ExtendedLogger> {
      * @return true if the Logger exists, false otherwise.
      */
     public boolean hasLogger(final String name) {
-        return getOrCreateInnerMap(DEFAULT_FACTORY_KEY).containsKey(name);
+        return hasLogger(name, DEFAULT_FACTORY_KEY);
     }
 
     /**
@@ -163,7 +186,7 @@ public class LoggerRegistry<T extends ExtendedLogger> {
      * @since 2.5
      */
     public boolean hasLogger(final String name, final MessageFactory messageFactory) {
-        return getOrCreateInnerMap(factoryKey(messageFactory)).containsKey(name);
+        return hasLogger(name, factoryKey(messageFactory));
     }
 
     /**
@@ -174,10 +197,143 @@ public class LoggerRegistry<T extends ExtendedLogger> {
      * @since 2.5
      */
     public boolean hasLogger(final String name, final Class<? extends MessageFactory> messageFactoryClass) {
-        return getOrCreateInnerMap(factoryClassKey(messageFactoryClass)).containsKey(name);
+        return hasLogger(name, factoryClassKey(messageFactoryClass));
     }
 
+    private boolean hasLogger(final String name, final String factoryKey) {
+        return index != null
+                ? index.get(name, factoryKey) != null
+                : getOrCreateInnerMap(factoryKey).containsKey(name);
+    }
+
+    /**
+     * Registers a logger, unless a logger with the same name and message factory is already registered.
+     *
+     * @param name The name of the logger.
+     * @param messageFactory The message factory of the logger.
+     * @param logger The logger to register.
+     */
     public void putIfAbsent(final String name, final MessageFactory messageFactory, final T logger) {
-        factory.putIfAbsent(getOrCreateInnerMap(factoryKey(messageFactory)), name, logger);
+        if (index != null) {
+            index.putIfAbsent(name, factoryKey(messageFactory), logger);
+        } else {
+            factory.putIfAbsent(getOrCreateInnerMap(factoryKey(messageFactory)), name, logger);
+        }
+    }
+
+    /**
+     * An open addressing hash table of loggers, keyed by their name and message factory key.
+     * <p>
+     * Lookups probe the current table without locks and always find an empty slot before wrapping around, since the
+     * table is kept at most half full. Updates are serialized: they either set an empty slot of the table or publish a
+     * new table. The entries are immutable.
+     * </p>
+     */
+    private static final class LoggerIndex<T extends ExtendedLogger> {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private volatile AtomicReferenceArray<Entry<T>> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+        /**
+         * The number of non-empty slots of the table, guarded by {@code this}.
+         */
+        private int size;
+
+        private static int hash(final String name, final String factoryKey) {
+            final int hash = 31 * name.hashCode() + factoryKey.hashCode();
+            return hash ^ (hash >>> 16);
+        }
+
+        T get(final String name, final String factoryKey) {
+            final int hash = hash(name, factoryKey);
+            final AtomicReferenceArray<Entry<T>> table = this.table;
+            final int mask = table.length() - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                final Entry<T> entry = table.get(i);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.matches(hash, name, factoryKey)) {
+                    return entry.logger;
+                }
+            }
+        }
+
+        synchronized void putIfAbsent(final String name, final String factoryKey, final T logger) {
+            final int hash = hash(name, factoryKey);
+            AtomicReferenceArray<Entry<T>> table = this.table;
+            int mask = table.length() - 1;
+            int i = hash & mask;
+            for (Entry<T> entry; (entry = table.get(i)) != null; i = (i + 1) & mask) {
+                if (entry.matches(hash, name, factoryKey)) {
+                    return;
+                }
+            }
+            if (2 * (size + 1) > table.length()) {
+                table = rehash(table);
+                mask = table.length() - 1;
+                i = hash & mask;
+                while (table.get(i) != null) {
+                    i = (i + 1) & mask;
+                }
+            }
+            table.set(i, new Entry<>(hash, name, factoryKey, logger));
+            size++;
+        }
+
+        /**
+         * Publishes a new table with the entries of the given one, twice as large.
+         */
+        private AtomicReferenceArray<Entry<T>> rehash(final AtomicReferenceArray<Entry<T>> table) {
+            final int capacity = 2 * table.length();
+            final AtomicReferenceArray<Entry<T>> newTable = new AtomicReferenceArray<>(capacity);
+            final int mask = capacity - 1;
+            for (int i = 0; i < table.length(); i++) {
+                final Entry<T> entry = table.get(i);
+                if (entry != null) {
+                    int j = entry.hash & mask;
+                    while (newTable.get(j) != null) {
+                        j = (j + 1) & mask;
+                    }
+                    newTable.lazySet(j, entry);
+                }
+            }
+            this.table = newTable;
+            return newTable;
+        }
+
+        Collection<T> getLoggers(final Collection<T> destination) {
+            final AtomicReferenceArray<Entry<T>> table = this.table;
+            for (int i = 0; i < table.length(); i++) {
+                final Entry<T> entry = table.get(i);
+                if (entry != null) {
+                    destination.add(entry.logger);
+                }
+            }
+            return destination;
+        }
+    }
+
+    private static final class Entry<T extends ExtendedLogger> {
+
+        private final int hash;
+
+        private final String name;
+
+        private final String factoryKey;
+
+        private final T logger;
+
+        private Entry(final int hash, final String name, final String factoryKey, final T logger) {
+            this.hash = hash;
+            this.name = name;
+            this.factoryKey = factoryKey;
+            this.logger = logger;
+        }
+
+        private boolean matches(final int hash, final String name, final String factoryKey) {
+            return this.hash == hash && this.name.equals(name) && this.factoryKey.equals(factoryKey);
+        }
     }
 }
@@ -0,0 +1,530 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.spi;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.logging.log4j.util.BiConsumer;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.apache.logging.log4j.util.TriConsumer;
+
+/**
+ * An always frozen {@link StringMap} backed by a compressed hash array mapped trie, whose modifications return a new
+ * map sharing the unmodified nodes.
+ * <p>
+ * The iteration order depends on the hash codes of the keys.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+final class PersistentStringMap implements StringMap {
+
+    private static final long serialVersionUID = 1L;
+
+    static final PersistentStringMap EMPTY = new PersistentStringMap(BitmapIndexedNode.EMPTY, 0);
+
+    private static final String FROZEN = "Frozen collection cannot be modified";
+
+    private static final TriConsumer<String, Object, BiConsumer<String, Object>> BI_CONSUMER_ADAPTER =
+            (key, value, action) -> action.accept(key, value);
+
+    private static final TriConsumer<String, Object, Map<String, String>> PUT_STRING_VALUE =
+            (key, value, map) -> map.put(key, value == null ? null : String.valueOf(value));
+
+    private final Node root;
+    private final int size;
+
+    private PersistentStringMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns a map with the given mapping added or replaced.
+     *
+     * @param key the key of the mapping
+     * @param value the value of the mapping
+     * @return a map containing the mapping, {@code this} if it already did
+     */
+    PersistentStringMap with(final String key, final Object value) {
+        final int hash = hash(key);
+        final Object oldValue = root.get(key, hash, 0);
+        if (oldValue == value) {
+            return this;
+        }
+        return new PersistentStringMap(root.put(key, value, hash, 0), oldValue == Node.NOT_FOUND ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the mapping of the given key.
+     *
+     * @param key the key of the mapping
+     * @return a map without the mapping, {@code this} if it did not contain it
+     */
+    PersistentStringMap without(final String key) {
+        final int hash = hash(key);
+        if (root.get(key, hash, 0) == Node.NOT_FOUND) {
+            return this;
+        }
+        return size == 1 ? EMPTY : new PersistentStringMap(root.remove(key, hash, 0), size - 1);
+    }
+
+    private static int hash(final String key) {
+        final int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public Map<String, String> toMap() {
+        final Map<String, String> result = new HashMap<>(size);
+        forEach(PUT_STRING_VALUE, result);
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        return size > 0 && root.get(key, hash(key), 0) != Node.NOT_FOUND;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> void forEach(final BiConsumer<String, ? super V> action) {
+        forEach(BI_CONSUMER_ADAPTER, (BiConsumer<String, Object>) action);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V, S> void forEach(final TriConsumer<String, ? super V, S> action, final S state) {
+        root.forEach((TriConsumer<String, Object, S>) action, state);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> V getValue(final String key) {
+        if (size == 0) {
+            return null;
+        }
+        final Object value = root.get(key, hash(key), 0);
+        return value == Node.NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException(FROZEN);
+    }
+
+    @Override
+    public void freeze() {
+        // always frozen
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+
+    @Override
+    public void putAll(final ReadOnlyStringMap source) {
+        throw new UnsupportedOperationException(FROZEN);
+    }
+
+    @Override
+    public void putValue(final String key, final Object value) {
+        throw new UnsupportedOperationException(FROZEN);
+    }
+
+    @Override
+    public void remove(final String key) {
+        throw new UnsupportedOperationException(FROZEN);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof PersistentStringMap)) {
+            return false;
+        }
+        final PersistentStringMap other = (PersistentStringMap) obj;
+        return size == other.size && root.containedIn(other);
+    }
+
+    @Override
+    public int hashCode() {
+        // independent of the shape of the trie
+        final int[] result = new int[1];
+        root.forEach((key, value, state) -> state[0] += Objects.hashCode(key) ^ Objects.hashCode(value), result);
+        return result[0];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(256).append('{');
+        root.forEach(
+                (key, value, builder) -> {
+                    if (builder.length() > 1) {
+                        builder.append(", ");
+                    }
+                    builder.append(key).append('=').append(value == this ? "(this map)" : value);
+                },
+                sb);
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Serializes a copy of this map, the nodes of the trie are an implementation detail.
+     */
+    private Object writeReplace() {
+        final SortedArrayStringMap copy = new SortedArrayStringMap(this);
+        copy.freeze();
+        return copy;
+    }
+
+    /**
+     * A node of the trie, each level consumes 5 bits of the hash of the keys.
+     */
+    private abstract static class Node implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        static final Object NOT_FOUND = new Object();
+
+        /**
+         * @return the value mapped to {@code key}, {@link #NOT_FOUND} if there is none
+         */
+        abstract Object get(String key, int hash, int shift);
+
+        abstract Node put(String key, Object value, int hash, int shift);
+
+        /**
+         * Removes a key known to be present.
+         */
+        abstract Node remove(String key, int hash, int shift);
+
+        abstract <S> void forEach(TriConsumer<String, Object, S> action, S state);
+
+        /**
+         * @return {@code true} if all the mappings of this node are in {@code map}
+         */
+        abstract boolean containedIn(PersistentStringMap map);
+
+        /**
+         * @return {@code true} if this node contains a single mapping, that its parent can inline
+         */
+        abstract boolean hasSingleEntry();
+
+        abstract String getKey(int index);
+
+        abstract Object getValue(int index);
+
+        static boolean containedIn(final Object[] keysAndValues, final int length, final PersistentStringMap map) {
+            for (int i = 0; i < length; i += 2) {
+                final String key = (String) keysAndValues[i];
+                final Object value = map.root.get(key, PersistentStringMap.hash(key), 0);
+                if (value == NOT_FOUND || !Objects.equals(value, keysAndValues[i + 1])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A node of the trie storing the mappings and the sub-nodes of up to 32 hash fragments.
+     * <p>
+     * The content array contains the keys and values of the mappings, in the order of their bits in
+     * {@code dataMap}, followed by the sub-nodes, in the reverse order of their bits in {@code nodeMap}.
+     * </p>
+     */
+    private static final class BitmapIndexedNode extends Node {
+
+        private static final long serialVersionUID = 1L;
+
+        static final BitmapIndexedNode EMPTY = new BitmapIndexedNode(0, 0, new Object[0]);
+
+        private final int dataMap;
+        private final int nodeMap;
+        private final Object[] content;
+
+        BitmapIndexedNode(final int dataMap, final int nodeMap, final Object[] content) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        private static int bit(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & 0x1f);
+        }
+
+        private static int index(final int bitmap, final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private Node nodeAt(final int bit) {
+            return (Node) content[content.length - 1 - index(nodeMap, bit)];
+        }
+
+        @Override
+        Object get(final String key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                final int index = 2 * index(dataMap, bit);
+                return Objects.equals(key, content[index]) ? content[index + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return nodeAt(bit).get(key, hash, shift + 5);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node put(final String key, final Object value, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                final int index = 2 * index(dataMap, bit);
+                final String currentKey = (String) content[index];
+                if (Objects.equals(key, currentKey)) {
+                    final Object[] newContent = content.clone();
+                    newContent[index + 1] = value;
+                    return new BitmapIndexedNode(dataMap, nodeMap, newContent);
+                }
+                final Node node = merge(
+                        currentKey,
+                        content[index + 1],
+                        PersistentStringMap.hash(currentKey),
+                        key,
+                        value,
+                        hash,
+                        shift + 5);
+                return migrateFromDataToNode(bit, index, node);
+            }
+            if ((nodeMap & bit) != 0) {
+                final int index = content.length - 1 - index(nodeMap, bit);
+                final Object[] newContent = content.clone();
+                newContent[index] = ((Node) content[index]).put(key, value, hash, shift + 5);
+                return new BitmapIndexedNode(dataMap, nodeMap, newContent);
+            }
+            final int index = 2 * index(dataMap, bit);
+            final Object[] newContent = new Object[content.length + 2];
+            System.arraycopy(content, 0, newContent, 0, index);
+            newContent[index] = key;
+            newContent[index + 1] = value;
+            System.arraycopy(content, index, newContent, index + 2, content.length - index);
+            return new BitmapIndexedNode(dataMap | bit, nodeMap, newContent);
+        }
+
+        @Override
+        Node remove(final String key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                final int index = 2 * index(dataMap, bit);
+                final Object[] newContent = new Object[content.length - 2];
+                System.arraycopy(content, 0, newContent, 0, index);
+                System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+                return new BitmapIndexedNode(dataMap ^ bit, nodeMap, newContent);
+            }
+            final int index = content.length - 1 - index(nodeMap, bit);
+            final Node node = ((Node) content[index]).remove(key, hash, shift + 5);
+            if (node.hasSingleEntry()) {
+                return migrateFromNodeToData(bit, index, node.getKey(0), node.getValue(0));
+            }
+            final Object[] newContent = content.clone();
+            newContent[index] = node;
+            return new BitmapIndexedNode(dataMap, nodeMap, newContent);
+        }
+
+        private Node migrateFromDataToNode(final int bit, final int dataIndex, final Node node) {
+            final int nodeIndex = content.length - 2 - index(nodeMap, bit);
+            final Object[] newContent = new Object[content.length - 1];
+            System.arraycopy(content, 0, newContent, 0, dataIndex);
+            System.arraycopy(content, dataIndex + 2, newContent, dataIndex, nodeIndex - dataIndex);
+            newContent[nodeIndex] = node;
+            System.arraycopy(content, nodeIndex + 2, newContent, nodeIndex + 1, content.length - nodeIndex - 2);
+            return new BitmapIndexedNode(dataMap ^ bit, nodeMap | bit, newContent);
+        }
+
+        private Node migrateFromNodeToData(final int bit, final int nodeIndex, final String key, final Object value) {
+            final int dataIndex = 2 * index(dataMap, bit);
+            final Object[] newContent = new Object[content.length + 1];
+            System.arraycopy(content, 0, newContent, 0, dataIndex);
+            newContent[dataIndex] = key;
+            newContent[dataIndex + 1] = value;
+            System.arraycopy(content, dataIndex, newContent, dataIndex + 2, nodeIndex - dataIndex);
+            System.arraycopy(content, nodeIndex + 1, newContent, nodeIndex + 2, content.length - nodeIndex - 1);
+            return new BitmapIndexedNode(dataMap | bit, nodeMap ^ bit, newContent);
+        }
+
+        private static Node merge(
+                final String key1,
+                final Object value1,
+                final int hash1,
+                final String key2,
+                final Object value2,
+                final int hash2,
+                final int shift) {
+            if (shift >= 32) {
+                return new CollisionNode(new Object[] {key1, value1, key2, value2});
+            }
+            final int bit1 = bit(hash1, shift);
+            final int bit2 = bit(hash2, shift);
+            if (bit1 == bit2) {
+                final Node node = merge(key1, value1, hash1, key2, value2, hash2, shift + 5);
+                return new BitmapIndexedNode(0, bit1, new Object[] {node});
+            }
+            final Object[] content = Integer.compareUnsigned(bit1, bit2) < 0
+                    ? new Object[] {key1, value1, key2, value2}
+                    : new Object[] {key2, value2, key1, value1};
+            return new BitmapIndexedNode(bit1 | bit2, 0, content);
+        }
+
+        @Override
+        <S> void forEach(final TriConsumer<String, Object, S> action, final S state) {
+            final int dataLength = 2 * Integer.bitCount(dataMap);
+            for (int i = 0; i < dataLength; i += 2) {
+                action.accept((String) content[i], content[i + 1], state);
+            }
+            for (int i = dataLength; i < content.length; i++) {
+                ((Node) content[i]).forEach(action, state);
+            }
+        }
+
+        @Override
+        boolean containedIn(final PersistentStringMap map) {
+            final int dataLength = 2 * Integer.bitCount(dataMap);
+            if (!containedIn(content, dataLength, map)) {
+                return false;
+            }
+            for (int i = dataLength; i < content.length; i++) {
+                if (!((Node) content[i]).containedIn(map)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        boolean hasSingleEntry() {
+            return nodeMap == 0 && Integer.bitCount(dataMap) == 1;
+        }
+
+        @Override
+        String getKey(final int index) {
+            return (String) content[2 * index];
+        }
+
+        @Override
+        Object getValue(final int index) {
+            return content[2 * index + 1];
+        }
+    }
+
+    /**
+     * A node of the trie storing the mappings of keys with the same hash.
+     */
+    private static final class CollisionNode extends Node {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] keysAndValues;
+
+        CollisionNode(final Object[] keysAndValues) {
+            this.keysAndValues = keysAndValues;
+        }
+
+        private int indexOf(final String key) {
+            for (int i = 0; i < keysAndValues.length; i += 2) {
+                if (Objects.equals(key, keysAndValues[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object get(final String key, final int hash, final int shift) {
+            final int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : keysAndValues[index + 1];
+        }
+
+        @Override
+        Node put(final String key, final Object value, final int hash, final int shift) {
+            final int index = indexOf(key);
+            final Object[] newKeysAndValues;
+            if (index < 0) {
+                newKeysAndValues = Arrays.copyOf(keysAndValues, keysAndValues.length + 2);
+                newKeysAndValues[keysAndValues.length] = key;
+                newKeysAndValues[keysAndValues.length + 1] = value;
+            } else {
+                newKeysAndValues = keysAndValues.clone();
+                newKeysAndValues[index + 1] = value;
+            }
+            return new CollisionNode(newKeysAndValues);
+        }
+
+        @Override
+        Node remove(final String key, final int hash, final int shift) {
+            final int index = indexOf(key);
+            final Object[] newKeysAndValues = new Object[keysAndValues.length - 2];
+            System.arraycopy(keysAndValues, 0, newKeysAndValues, 0, index);
+            System.arraycopy(keysAndValues, index + 2, newKeysAndValues, index, keysAndValues.length - index - 2);
+            return new CollisionNode(newKeysAndValues);
+        }
+
+        @Override
+        <S> void forEach(final TriConsumer<String, Object, S> action, final S state) {
+            for (int i = 0; i < keysAndValues.length; i += 2) {
+                action.accept((String) keysAndValues[i], keysAndValues[i + 1], state);
+            }
+        }
+
+        @Override
+        boolean containedIn(final PersistentStringMap map) {
+            return containedIn(keysAndValues, keysAndValues.length, map);
+        }
+
+        @Override
+        boolean hasSingleEntry() {
+            return keysAndValues.length == 2;
+        }
+
+        @Override
+        String getKey(final int index) {
+            return (String) keysAndValues[2 * index];
+        }
+
+        @Override
+        Object getValue(final int index) {
+            return keysAndValues[2 * index + 1];
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.spi;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.StringMap;
+
+/**
+ * Implementation of the {@code ThreadContextMap} interface backed by a persistent hash array mapped trie.
+ * <p>
+ * Like {@link CopyOnWriteSortedArrayThreadContextMap}, each instance of the data structure is an immutable snapshot
+ * of the ThreadContext that can safely be passed off to other threads. A modification however only copies the
+ * nodes on the path to the modified key, instead of the whole map: {@code put} and {@code remove} cost
+ * {@code O(log32(n))} regardless of the number of keys, while taking a snapshot is free.
+ * </p>
+ * <p>
+ * The iteration order of the snapshots depends on the hash codes of the keys.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+class PersistentThreadContextMap implements ReadOnlyThreadContextMap, ObjectThreadContextMap, CopyOnWrite {
+
+    /**
+     * Property name ({@value} ) for selecting {@code InheritableThreadLocal} (value "true") or plain
+     * {@code ThreadLocal} (value is not "true") in the implementation.
+     */
+    public static final String INHERITABLE_MAP = "isThreadContextMapInheritable";
+
+    private final ThreadLocal<PersistentStringMap> localMap;
+
+    public PersistentThreadContextMap() {
+        this(PropertiesUtil.getProperties());
+    }
+
+    PersistentThreadContextMap(final PropertiesUtil properties) {
+        // the snapshots are immutable, a child thread can share the snapshot of its parent
+        localMap = properties.getBooleanProperty(INHERITABLE_MAP)
+                ? new InheritableThreadLocal<PersistentStringMap>()
+                : new ThreadLocal<PersistentStringMap>();
+    }
+
+    private PersistentStringMap getMap() {
+        final PersistentStringMap map = localMap.get();
+        return map == null ? PersistentStringMap.EMPTY : map;
+    }
+
+    @Override
+    public void put(final String key, final String value) {
+        putValue(key, value);
+    }
+
+    @Override
+    public void putValue(final String key, final Object value) {
+        localMap.set(getMap().with(key, value));
+    }
+
+    @Override
+    public void putAll(final Map<String, String> values) {
+        putAllValues(values);
+    }
+
+    @Override
+    public <V> void putAllValues(final Map<String, V> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        PersistentStringMap map = getMap();
+        for (final Map.Entry<String, V> entry : values.entrySet()) {
+            map = map.with(entry.getKey(), entry.getValue());
+        }
+        localMap.set(map);
+    }
+
+    @Override
+    public String get(final String key) {
+        return (String) getValue(key);
+    }
+
+    @Override
+    public <V> V getValue(final String key) {
+        final PersistentStringMap map = localMap.get();
+        return map == null ? null : map.<V>getValue(key);
+    }
+
+    @Override
+    public void remove(final String key) {
+        final PersistentStringMap map = localMap.get();
+        if (map != null) {
+            localMap.set(map.without(key));
+        }
+    }
+
+    @Override
+    public void removeAll(final Iterable<String> keys) {
+        PersistentStringMap map = localMap.get();
+        if (map != null) {
+            for (final String key : keys) {
+                map = map.without(key);
+            }
+            localMap.set(map);
+        }
+    }
+
+    @Override
+    public void clear() {
+        localMap.remove();
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        final PersistentStringMap map = localMap.get();
+        return map != null && map.containsKey(key);
+    }
+
+    @Override
+    public Map<String, String> getCopy() {
+        return getMap().toMap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StringMap getReadOnlyContextData() {
+        return getMap();
+    }
+
+    @Override
+    public Map<String, String> getImmutableMapOrNull() {
+        final PersistentStringMap map = localMap.get();
+        return map == null ? null : Collections.unmodifiableMap(map.toMap());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        final PersistentStringMap map = localMap.get();
+        return map == null || map.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return getMap().toString();
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        final PersistentStringMap map = this.localMap.get();
+        result = prime * result + ((map == null) ? 0 : map.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!(obj instanceof ThreadContextMap)) {
+            return false;
+        }
+        final ThreadContextMap other = (ThreadContextMap) obj;
+        final Map<String, String> map = this.getImmutableMapOrNull();
+        final Map<String, String> otherMap = other.getImmutableMapOrNull();
+        return Objects.equals(map, otherMap);
+    }
+}
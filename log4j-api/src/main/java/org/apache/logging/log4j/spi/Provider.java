@@ -115,6 +115,21 @@ public class Provider {
      */
     protected static final String GARBAGE_FREE_CONTEXT_MAP = "GarbageFree";
 
+    /**
+     * Constant used to select a copy-on-write implementation of {@link ThreadContextMap} backed by a persistent
+     * hash trie.
+     * <p>
+     *     Modifications of this implementation only copy the path to the modified key, while the snapshots of the
+     *     map can be shared with log events without copying.
+     * </p>
+     * <p>
+     *     <strong>Warning:</strong> the value of this constant does not point to a concrete class name.
+     * </p>
+     * @see #getThreadContextMap
+     * @since 2.24.0
+     */
+    protected static final String PERSISTENT_CONTEXT_MAP = "Persistent";
+
     // Property keys relevant for context map selection
     private static final String DISABLE_CONTEXT_MAP = "log4j2.disableThreadContextMap";
     private static final String DISABLE_THREAD_CONTEXT = "log4j2.disableThreadContext";
@@ -302,7 +317,8 @@ public class Provider {
      *         <li>{@link #NO_OP_CONTEXT_MAP},</li>
      *         <li>{@link #WEB_APP_CONTEXT_MAP},</li>
      *         <li>{@link #COPY_ON_WRITE_CONTEXT_MAP},</li>
-     *         <li>{@link #GARBAGE_FREE_CONTEXT_MAP}.</li>
+     *         <li>{@link #GARBAGE_FREE_CONTEXT_MAP},</li>
+     *         <li>{@link #PERSISTENT_CONTEXT_MAP}.</li>
      *     </ol>
      * </p>
      * @return the class name of a ThreadContextMap implementation
@@ -413,6 +429,9 @@ public class Provider {
                 case COPY_ON_WRITE_CONTEXT_MAP:
                 case "org.apache.logging.log4j.spi.CopyOnWriteSortedArrayThreadContextMap":
                     return new CopyOnWriteSortedArrayThreadContextMap();
+                case PERSISTENT_CONTEXT_MAP:
+                case "org.apache.logging.log4j.spi.PersistentThreadContextMap":
+                    return new PersistentThreadContextMap();
             }
         }
         LOGGER.warn("Falling back to {}", NoOpThreadContextMap.class.getName());
@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.spi;
 
 import java.util.Map;
+import java.util.concurrent.Callable;
 import org.apache.logging.log4j.ScopedContext;
 import org.apache.logging.log4j.spi.internal.DefaultScopedContextProvider;
 import org.apache.logging.log4j.util.StringMap;
@@ -27,8 +28,15 @@ import org.apache.logging.log4j.util.StringMap;
  */
 public interface ScopedContextProvider {
 
+    /**
+     * Returns the simplest implementation, which uses a {@code ThreadLocal}, or a {@code java.lang.ScopedValue} if
+     * {@link ScopedValueScopedContextProvider#isEnabled() enabled}.
+     * @return A ScopedContextProvider.
+     */
     static ScopedContextProvider simple() {
-        return DefaultScopedContextProvider.INSTANCE;
+        return ScopedValueScopedContextProvider.isEnabled()
+                ? ScopedValueScopedContextProvider.getInstance()
+                : DefaultScopedContextProvider.INSTANCE;
     }
 
     /**
@@ -85,4 +93,29 @@ public interface ScopedContextProvider {
      * @return A new instance of a scoped context.
      */
     ScopedContext.Instance newScopedContext(boolean withThreadContext);
+
+    /**
+     * Wraps a task so that it runs with the current context data, in whatever thread it is run.
+     * <p>
+     *     Implementations should capture the current context by reference, so that propagating it to another thread
+     *     does not copy it. The default implementation copies the current context data.
+     * </p>
+     * @param task The task to wrap.
+     * @return A Runnable running {@code task} with the current context data.
+     */
+    default Runnable wrap(final Runnable task) {
+        final Map<String, ?> contextMap = getContextMap();
+        return contextMap.isEmpty() ? task : () -> newScopedContext(contextMap).run(task);
+    }
+
+    /**
+     * Wraps a task so that it is called with the current context data, in whatever thread it is called.
+     * @param task The task to wrap.
+     * @return A Callable calling {@code task} with the current context data.
+     * @see #wrap(Runnable)
+     */
+    default <R> Callable<R> wrap(final Callable<R> task) {
+        final Map<String, ?> contextMap = getContextMap();
+        return contextMap.isEmpty() ? task : () -> newScopedContext(contextMap).call(task);
+    }
 }
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * An implementation of {@link ScopedContextProvider} that binds the context to a {@code java.lang.ScopedValue}
+ * instead of a {@code ThreadLocal}.
+ * <p>
+ *     Binding a {@code ScopedValue} is cheap, also in virtual threads, and its bindings are inherited by the threads
+ *     forked in a {@code StructuredTaskScope}. This provider can only be used on runtimes where
+ *     {@code ScopedValue} is available, see {@link #isSupported()}. It is only used by default if the
+ *     {@value #ENABLED_PROPERTY} property is {@code true}, see {@link #isEnabled()}.
+ * </p>
+ * <p>
+ *     All the instances of this class share the same {@code ScopedValue}.
+ * </p>
+ * @since 2.24.0
+ */
+public class ScopedValueScopedContextProvider extends AbstractScopedContextProvider {
+
+    /**
+     * The property that enables this provider, {@code false} by default.
+     * <p>
+     *     {@code ScopedValue} is a preview feature of Java 21 to 24, so this provider is never used unless it is
+     *     enabled.
+     * </p>
+     */
+    public static final String ENABLED_PROPERTY = "log4j2.enableScopedValue";
+
+    /**
+     * Indicates if the runtime supports {@code java.lang.ScopedValue}.
+     * @return true if this provider can be used.
+     */
+    public static boolean isSupported() {
+        return ScopedValueHandles.SCOPED_VALUE != null;
+    }
+
+    /**
+     * Indicates if this provider is enabled by the {@value #ENABLED_PROPERTY} property and supported by the runtime.
+     * <p>
+     *     The runtime is only probed if the property is {@code true}.
+     * </p>
+     * @return true if this provider should be used by default.
+     */
+    public static boolean isEnabled() {
+        return PropertiesUtil.getProperties().getBooleanProperty(ENABLED_PROPERTY) && isSupported();
+    }
+
+    /**
+     * Returns the shared instance of this provider.
+     * @return the shared instance or {@code null} if the runtime does not support {@code java.lang.ScopedValue}.
+     */
+    static ScopedContextProvider getInstance() {
+        return ScopedValueHandles.INSTANCE;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the runtime does not support {@code java.lang.ScopedValue}.
+     */
+    public ScopedValueScopedContextProvider() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("java.lang.ScopedValue is not supported by this runtime");
+        }
+    }
+
+    @Override
+    protected Optional<Instance> getContext() {
+        try {
+            return (boolean) ScopedValueHandles.IS_BOUND.invokeExact(ScopedValueHandles.SCOPED_VALUE)
+                    ? Optional.of(
+                            (Instance) (Object) ScopedValueHandles.GET.invokeExact(ScopedValueHandles.SCOPED_VALUE))
+                    : Optional.empty();
+        } catch (final Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * Not supported, a ScopedValue can only be bound for the execution of a task.
+     * <p>
+     *     This method is never called, since this provider overrides {@link #runWithContext} and
+     *     {@link #callWithContext}.
+     * </p>
+     */
+    @Override
+    protected void addScopedContext(final MapInstance context) {
+        throw new UnsupportedOperationException("A ScopedValue can only be bound for the execution of a task");
+    }
+
+    /**
+     * Not supported, a ScopedValue can only be bound for the execution of a task.
+     */
+    @Override
+    protected void removeScopedContext() {
+        throw new UnsupportedOperationException("A ScopedValue can only be bound for the execution of a task");
+    }
+
+    @Override
+    protected void runWithContext(final MapInstance context, final Runnable task) {
+        try {
+            ScopedValueHandles.RUN.invokeExact(
+                    (Object) ScopedValueHandles.WHERE.invokeExact(ScopedValueHandles.SCOPED_VALUE, (Object) context),
+                    task);
+        } catch (final Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    @Override
+    protected <R> R callWithContext(final MapInstance context, final Callable<R> task) throws Exception {
+        final CallableRunner<R> runner = new CallableRunner<>(task);
+        runWithContext(context, runner);
+        if (runner.exception != null) {
+            throw runner.exception;
+        }
+        return runner.result;
+    }
+
+    private static RuntimeException propagate(final Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+
+    /**
+     * Adapts a Callable to {@code Carrier.run()}, which is the only binding method common to all the Java versions
+     * with ScopedValue.
+     */
+    private static final class CallableRunner<R> implements Runnable {
+        private final Callable<R> task;
+        private R result;
+        private Exception exception;
+
+        private CallableRunner(final Callable<R> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result = task.call();
+            } catch (final Exception e) {
+                exception = e;
+            }
+        }
+    }
+
+    /**
+     * The method handles of {@code java.lang.ScopedValue}, looked up when this provider is first used.
+     */
+    private static final class ScopedValueHandles {
+
+        private static final MethodHandle WHERE;
+        private static final MethodHandle RUN;
+        private static final MethodHandle IS_BOUND;
+        private static final MethodHandle GET;
+        private static final Object SCOPED_VALUE;
+        private static final ScopedContextProvider INSTANCE;
+
+        static {
+            MethodHandle where = null;
+            MethodHandle run = null;
+            MethodHandle isBound = null;
+            MethodHandle get = null;
+            Object scopedValue = null;
+            try {
+                final Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+                final Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                final MethodHandle newInstance = lookup.findStatic(
+                                scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass))
+                        .asType(MethodType.methodType(Object.class));
+                where = lookup.findStatic(
+                                scopedValueClass,
+                                "where",
+                                MethodType.methodType(carrierClass, scopedValueClass, Object.class))
+                        .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+                run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class))
+                        .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+                isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class))
+                        .asType(MethodType.methodType(boolean.class, Object.class));
+                get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class))
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                scopedValue = (Object) newInstance.invokeExact();
+                // fails if ScopedValue is a preview feature that is not enabled
+                final Object carrier = (Object) where.invokeExact(scopedValue, (Object) Boolean.TRUE);
+                run.invokeExact(carrier, (Runnable) () -> {});
+            } catch (final Throwable e) {
+                AbstractScopedContextProvider.LOGGER.debug("java.lang.ScopedValue is not supported: {}", e.toString());
+                scopedValue = null;
+            }
+            WHERE = where;
+            RUN = run;
+            IS_BOUND = isBound;
+            GET = get;
+            SCOPED_VALUE = scopedValue;
+            INSTANCE = scopedValue != null ? new ScopedValueScopedContextProvider() : null;
+        }
+    }
+}
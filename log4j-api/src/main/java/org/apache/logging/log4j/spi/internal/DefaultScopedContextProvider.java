@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.spi.internal;
 
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import org.apache.logging.log4j.spi.AbstractScopedContextProvider;
 import org.apache.logging.log4j.spi.ScopedContextProvider;
 
@@ -61,4 +62,39 @@ public class DefaultScopedContextProvider extends AbstractScopedContextProvider
             scopedContext.remove();
         }
     }
+
+    /**
+     * Binds the context by swapping the value of the thread local, and restores the previous value afterwards.
+     * @param context The ScopeContext.
+     * @param task The task to run.
+     */
+    @Override
+    protected void runWithContext(final MapInstance context, final Runnable task) {
+        final MapInstance previous = scopedContext.get();
+        scopedContext.set(context);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    @Override
+    protected <R> R callWithContext(final MapInstance context, final Callable<R> task) throws Exception {
+        final MapInstance previous = scopedContext.get();
+        scopedContext.set(context);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private void restore(final MapInstance previous) {
+        if (previous != null) {
+            scopedContext.set(previous);
+        } else {
+            scopedContext.remove();
+        }
+    }
 }
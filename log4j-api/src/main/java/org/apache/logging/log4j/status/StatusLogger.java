@@ -27,23 +27,26 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.MessageFactory;
 import org.apache.logging.log4j.message.ParameterizedNoReferenceMessageFactory;
+import org.apache.logging.log4j.message.ReusableMessage;
 import org.apache.logging.log4j.spi.AbstractLogger;
 import org.apache.logging.log4j.util.Constants;
 
@@ -119,11 +122,25 @@ import org.apache.logging.log4j.util.Constants;
  *     <td>A {@link java.time.format.DateTimeFormatter} pattern to format the created {@link StatusData}.</td>
  * </tr>
  * <tr>
+ *     <td><code>{@value ASYNC_QUEUE_SIZE}</code></td>
+ *     <td>0</td>
+ *     <td>
+ *         The number of events that can wait for a background thread to notify the listeners.<br/>
+ *         When zero, listeners are notified synchronously by the thread logging the event.
+ *         Otherwise, events are stored in a fixed-size queue allocated once, and events that do not fit in a full queue are dropped and reported.
+ *         Consecutive repetitions of an event are also counted instead of being queued.
+ *     </td>
+ * </tr>
+ * <tr>
  *     <td><code>{@value #DEBUG_PROPERTY_NAME}</code></td>
  *     <td>false</td>
  *     <td>The debug mode toggle.</td>
  * </tr>
  * </table>
+ * <p>
+ * When the listeners are notified asynchronously, consecutive repetitions of an event, which only differ by their caller, thread, and time, are counted instead of being queued.
+ * Their number is reported before the next different event, at most one second after the last repetition, and when the status logger is reset or cleared.
+ * </p>
  * <h2>Debug mode</h3>
  * <p>
  * When the {@value Constants#LOG4J2_DEBUG} system property is present, any level-related filtering will be skipped and all events will be notified to listeners.
@@ -202,6 +219,26 @@ public class StatusLogger extends AbstractLogger {
      */
     static final String STATUS_DATE_FORMAT_ZONE = "log4j2.StatusLogger.dateFormatZone";
 
+    /**
+     * The name of the system property that can be configured with the number of events waiting for the listeners to be notified on a background thread.
+     * <p>
+     * When zero (the default), listeners are notified synchronously by the thread logging the event.
+     * </p>
+     *
+     * @since 2.24.0
+     */
+    public static final String ASYNC_QUEUE_SIZE = "log4j2.StatusLogger.asyncQueueSize";
+
+    /**
+     * The default asynchronous queue size, i.e., synchronous notification.
+     * <p>
+     * This constant is intended for tests.
+     * </p>
+     *
+     * @see #ASYNC_QUEUE_SIZE
+     */
+    static final int DEFAULT_ASYNC_QUEUE_SIZE = 0;
+
     /**
      * The name of the file to be searched in the classpath to read properties from.
      *
@@ -223,6 +260,9 @@ public class StatusLogger extends AbstractLogger {
         // Visible for tests
         final int bufferCapacity;
 
+        // Visible for tests
+        final int asyncQueueSize;
+
         // Visible for tests
         @Nullable
         final Level fallbackListenerLevel;
@@ -246,6 +286,7 @@ public class StatusLogger extends AbstractLogger {
                         "was expecting a positive `bufferCapacity`, found: " + bufferCapacity);
             }
             this.bufferCapacity = bufferCapacity;
+            this.asyncQueueSize = DEFAULT_ASYNC_QUEUE_SIZE;
             // Public ctor intentionally doesn't set `fallbackListenerLevel`.
             // Because, if public ctor is used, it means user is programmatically creating a `Config` instance.
             // Hence, they will use the public `StatusLogger` ctor too.
@@ -276,6 +317,7 @@ public class StatusLogger extends AbstractLogger {
         private Config(final Map<String, Object> normalizedProperties) {
             this.debugEnabled = readDebugEnabled(normalizedProperties);
             this.bufferCapacity = readBufferCapacity(normalizedProperties);
+            this.asyncQueueSize = readAsyncQueueSize(normalizedProperties);
             this.fallbackListenerLevel = readFallbackListenerLevel(normalizedProperties);
             this.instantFormatter = readInstantFormatter(normalizedProperties);
         }
@@ -321,6 +363,33 @@ public class StatusLogger extends AbstractLogger {
             return effectiveCapacity;
         }
 
+        private static int readAsyncQueueSize(final Map<String, Object> normalizedProperties) {
+            final String propertyName = ASYNC_QUEUE_SIZE;
+            final String sizeString = PropertiesUtilsDouble.readProperty(normalizedProperties, propertyName);
+            final int defaultSize = DEFAULT_ASYNC_QUEUE_SIZE;
+            int effectiveSize = defaultSize;
+            if (sizeString != null) {
+                try {
+                    final int size = Integer.parseInt(sizeString);
+                    if (size < 0) {
+                        final String message =
+                                String.format("was expecting a positive asynchronous queue size, found: %d", size);
+                        throw new IllegalArgumentException(message);
+                    }
+                    effectiveSize = size;
+                } catch (final Exception error) {
+                    final String message = String.format(
+                            "Failed reading the asynchronous queue size from the `%s` property: `%s`. Falling back to the default: %d.",
+                            propertyName, sizeString, defaultSize);
+                    final IllegalArgumentException extendedError = new IllegalArgumentException(message, error);
+                    // There is no logging system at this stage.
+                    // There is nothing we can do but simply dumping the failure.
+                    extendedError.printStackTrace(System.err);
+                }
+            }
+            return effectiveSize;
+        }
+
         private static Level readFallbackListenerLevel(final Map<String, Object> normalizedProperties) {
             final String propertyName = DEFAULT_STATUS_LISTENER_LEVEL;
             final String level = PropertiesUtilsDouble.readProperty(normalizedProperties, propertyName);
@@ -517,7 +586,10 @@ public class StatusLogger extends AbstractLogger {
 
     private final transient Lock listenerWriteLock = listenerLock.writeLock();
 
-    private final Queue<StatusData> buffer = new ConcurrentLinkedQueue<>();
+    private final transient StatusDataBuffer buffer;
+
+    @Nullable
+    private final transient StatusDataDispatcher dispatcher;
 
     /**
      * Constructs the default instance.
@@ -553,6 +625,8 @@ public class StatusLogger extends AbstractLogger {
         this.config = requireNonNull(config, "config");
         this.fallbackListener = requireNonNull(fallbackListener, "fallbackListener");
         this.listeners = new ArrayList<>();
+        this.buffer = new StatusDataBuffer(config.bufferCapacity);
+        this.dispatcher = config.asyncQueueSize > 0 ? new StatusDataDispatcher(config.asyncQueueSize) : null;
     }
 
     /**
@@ -658,6 +732,9 @@ public class StatusLogger extends AbstractLogger {
      * Clears the event buffer, removes the <em>registered</em> (not the fallback one!) listeners, and resets the fallback listener.
      */
     public void reset() {
+        if (dispatcher != null) {
+            dispatcher.reportRepetitions();
+        }
         listenerWriteLock.lock();
         try {
             final Iterator<StatusListener> listenerIterator = listeners.iterator();
@@ -670,6 +747,9 @@ public class StatusLogger extends AbstractLogger {
             listenerWriteLock.unlock();
         }
         fallbackListener.close();
+        if (dispatcher != null) {
+            dispatcher.clear();
+        }
         buffer.clear();
     }
 
@@ -695,8 +775,8 @@ public class StatusLogger extends AbstractLogger {
     public List<StatusData> getStatusData() {
         // Wrapping the buffer clone with an unmodifiable list.
         // By disallowing modifications, we make it clear to the user that mutations will not get propagated.
-        // `Collections.unmodifiableList(new ArrayList<>(...))` should be replaced with `List.of()` in Java 9+.
-        return Collections.unmodifiableList(new ArrayList<>(buffer));
+        // `Collections.unmodifiableList(...)` should be replaced with `List.of()` in Java 9+.
+        return Collections.unmodifiableList(buffer.toList());
     }
 
     /**
@@ -706,6 +786,9 @@ public class StatusLogger extends AbstractLogger {
      */
     @Deprecated
     public void clear() {
+        if (dispatcher != null) {
+            dispatcher.reportRepetitions();
+        }
         buffer.clear();
     }
 
@@ -737,8 +820,12 @@ public class StatusLogger extends AbstractLogger {
             final Message message,
             final Throwable throwable) {
         try {
+            if (dispatcher != null) {
+                dispatcher.offer(fqcn, level, message, throwable);
+                return;
+            }
             final StatusData statusData = createStatusData(fqcn, level, message, throwable);
-            buffer(statusData);
+            buffer.add(statusData);
             notifyListeners(statusData);
         } catch (final Exception error) {
             // We are at the lowest level of the system.
@@ -747,16 +834,6 @@ public class StatusLogger extends AbstractLogger {
         }
     }
 
-    private void buffer(final StatusData statusData) {
-        if (config.bufferCapacity == 0) {
-            return;
-        }
-        buffer.add(statusData);
-        while (buffer.size() >= config.bufferCapacity) {
-            buffer.remove();
-        }
-    }
-
     private void notifyListeners(final StatusData statusData) {
         final boolean foundListeners;
         listenerReadLock.lock();
@@ -788,6 +865,12 @@ public class StatusLogger extends AbstractLogger {
         return new StatusData(caller, level, message, throwable, null, config.instantFormatter, instant);
     }
 
+    private StatusData createRepetitionData(final Level level, final long repetitions) {
+        final Message message =
+                getMessageFactory().newMessage("The previous status event was repeated {} times", repetitions);
+        return new StatusData(null, level, message, null, null, config.instantFormatter, Instant.now());
+    }
+
     @Nullable
     private static StackTraceElement getStackTraceElement(@Nullable final String fqcn) {
         if (fqcn == null) {
@@ -809,6 +892,416 @@ public class StatusLogger extends AbstractLogger {
         return null;
     }
 
+    /**
+     * A ring of the most recent events, allocated once.
+     * <p>
+     * Once full, adding an event overwrites the oldest one.
+     * </p>
+     */
+    private static final class StatusDataBuffer {
+
+        private final StatusData[] entries;
+
+        private int start;
+
+        private int size;
+
+        private StatusDataBuffer(final int capacity) {
+            this.entries = new StatusData[capacity];
+        }
+
+        private void add(final StatusData statusData) {
+            if (entries.length == 0) {
+                return;
+            }
+            synchronized (this) {
+                entries[(start + size) % entries.length] = statusData;
+                if (size < entries.length) {
+                    size++;
+                } else {
+                    start = (start + 1) % entries.length;
+                }
+            }
+        }
+
+        private synchronized List<StatusData> toList() {
+            final List<StatusData> list = new ArrayList<>(size);
+            for (int index = 0; index < size; index++) {
+                list.add(entries[(start + index) % entries.length]);
+            }
+            return list;
+        }
+
+        private synchronized void clear() {
+            Arrays.fill(entries, null);
+            start = 0;
+            size = 0;
+        }
+    }
+
+    /**
+     * An event waiting for the listeners to be notified.
+     * <p>
+     * Instances are allocated once and recycled.
+     * </p>
+     */
+    private static final class PendingStatusData {
+
+        @Nullable
+        private StackTraceElement caller;
+
+        @Nullable
+        private Level level;
+
+        @Nullable
+        private Message message;
+
+        @Nullable
+        private Throwable throwable;
+
+        @Nullable
+        private String threadName;
+
+        private long timeMillis;
+
+        /**
+         * The level of the previous event, if it was repeated.
+         */
+        @Nullable
+        private Level repeatedLevel;
+
+        /**
+         * The number of repetitions of the previous event, to be reported before this one.
+         */
+        private long repetitions;
+
+        private void set(
+                @Nullable final StackTraceElement caller,
+                final Level level,
+                final Message message,
+                @Nullable final Throwable throwable,
+                final String threadName,
+                final long timeMillis,
+                @Nullable final Level repeatedLevel,
+                final long repetitions) {
+            this.caller = caller;
+            this.level = level;
+            this.message = message;
+            this.throwable = throwable;
+            this.threadName = threadName;
+            this.timeMillis = timeMillis;
+            this.repeatedLevel = repeatedLevel;
+            this.repetitions = repetitions;
+        }
+
+        private void moveTo(final PendingStatusData target) {
+            target.caller = caller;
+            target.level = level;
+            target.message = message;
+            target.throwable = throwable;
+            target.threadName = threadName;
+            target.timeMillis = timeMillis;
+            target.repeatedLevel = repeatedLevel;
+            target.repetitions = repetitions;
+            clear();
+        }
+
+        private void clear() {
+            caller = null;
+            level = null;
+            message = null;
+            throwable = null;
+            threadName = null;
+            repeatedLevel = null;
+            repetitions = 0;
+        }
+    }
+
+    /**
+     * The last queued event, used to count its consecutive repetitions.
+     * <p>
+     * Events are compared by level, formatted message, and throwable class name and message.
+     * Only strings are retained, so that the parameters of the messages can be garbage collected.
+     * </p>
+     */
+    private static final class RepetitionCounter {
+
+        @Nullable
+        private Level level;
+
+        @Nullable
+        private String formattedMessage;
+
+        @Nullable
+        private String throwableClassName;
+
+        @Nullable
+        private String throwableMessage;
+
+        private long count;
+
+        /**
+         * Counts the given event as a repetition of the last one, if they only differ by their caller, thread, and time.
+         *
+         * @return {@code true}, if the event is a repetition of the last one; {@code false}, otherwise
+         */
+        private boolean countRepetition(
+                final Level level, final String formattedMessage, @Nullable final Throwable throwable) {
+            final boolean repeated = this.level == level
+                    && formattedMessage.equals(this.formattedMessage)
+                    && Objects.equals(throwableClassName, getThrowableClassName(throwable))
+                    && (throwable == null || Objects.equals(throwableMessage, throwable.getMessage()));
+            if (repeated) {
+                count++;
+            }
+            return repeated;
+        }
+
+        /**
+         * Makes the given event the last one.
+         *
+         * @return the number of unreported repetitions of the previous last event
+         */
+        private long reset(final Level level, final String formattedMessage, @Nullable final Throwable throwable) {
+            final long repetitions = count;
+            this.level = level;
+            this.formattedMessage = formattedMessage;
+            this.throwableClassName = getThrowableClassName(throwable);
+            this.throwableMessage = throwable != null ? throwable.getMessage() : null;
+            this.count = 0;
+            return repetitions;
+        }
+
+        /**
+         * Returns the number of unreported repetitions, and keeps counting the repetitions of the last event from zero.
+         */
+        private long takeCount() {
+            final long repetitions = count;
+            count = 0;
+            return repetitions;
+        }
+
+        private void clear() {
+            level = null;
+            formattedMessage = null;
+            throwableClassName = null;
+            throwableMessage = null;
+            count = 0;
+        }
+
+        @Nullable
+        private static String getThrowableClassName(@Nullable final Throwable throwable) {
+            return throwable != null ? throwable.getClass().getName() : null;
+        }
+    }
+
+    /**
+     * Notifies the listeners on a background thread.
+     * <p>
+     * Events are stored in a fixed-size queue of {@link PendingStatusData}, hence logging an event neither allocates nor waits for the listeners.
+     * Repetitions of the last event are counted without walking the stack and reported before the next different event,
+     * or after {@link #REPETITION_REPORT_DELAY_NANOS} without events.
+     * If the queue is full, the event is dropped and the number of dropped events is reported later on.
+     * </p>
+     */
+    private final class StatusDataDispatcher implements Runnable {
+
+        private static final long REPETITION_REPORT_DELAY_NANOS = 1_000_000_000L;
+
+        private final Lock lock = new ReentrantLock();
+
+        private final Condition notEmpty = lock.newCondition();
+
+        private final PendingStatusData[] entries;
+
+        private int start;
+
+        private int size;
+
+        private long droppedCount;
+
+        private final RepetitionCounter lastEvent = new RepetitionCounter();
+
+        @Nullable
+        private Thread thread;
+
+        private StatusDataDispatcher(final int capacity) {
+            this.entries = new PendingStatusData[capacity];
+            for (int index = 0; index < capacity; index++) {
+                entries[index] = new PendingStatusData();
+            }
+        }
+
+        private void offer(
+                @Nullable final String fqcn,
+                final Level level,
+                final Message message,
+                @Nullable final Throwable throwable) {
+            // User code might be called to format the message, hence it is done outside the lock
+            final String formattedMessage = String.valueOf(message.getFormattedMessage());
+            final Level repeatedLevel;
+            final long repetitions;
+            lock.lock();
+            try {
+                if (lastEvent.countRepetition(level, formattedMessage, throwable)) {
+                    if (lastEvent.count == 1) {
+                        // Wakes up the dispatcher thread to report the repetitions later on
+                        notEmpty.signal();
+                    }
+                    return;
+                }
+                repeatedLevel = lastEvent.level;
+                repetitions = lastEvent.reset(level, formattedMessage, throwable);
+            } finally {
+                lock.unlock();
+            }
+            // Walking the stack is the expensive part, hence it is done outside the lock
+            final Message immutableMessage =
+                    message instanceof ReusableMessage ? ((ReusableMessage) message).memento() : message;
+            final StackTraceElement caller = getStackTraceElement(fqcn);
+            final String threadName = Thread.currentThread().getName();
+            final long timeMillis = System.currentTimeMillis();
+            lock.lock();
+            try {
+                if (size == entries.length) {
+                    // The dispatcher thread is busy with the queued events and will report the dropped ones
+                    droppedCount += 1 + repetitions;
+                    return;
+                }
+                entries[(start + size) % entries.length].set(
+                        caller, level, immutableMessage, throwable, threadName, timeMillis, repeatedLevel, repetitions);
+                size++;
+                startThreadIfNecessary();
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void startThreadIfNecessary() {
+            if (thread == null) {
+                final Thread newThread = new Thread(this, "Log4j2-StatusLogger");
+                newThread.setDaemon(true);
+                newThread.start();
+                thread = newThread;
+            }
+        }
+
+        /**
+         * Notifies the listeners of the unreported repetitions of the last event, if any.
+         */
+        private void reportRepetitions() {
+            final Level repeatedLevel;
+            final long repetitions;
+            lock.lock();
+            try {
+                repeatedLevel = lastEvent.level;
+                repetitions = lastEvent.takeCount();
+            } finally {
+                lock.unlock();
+            }
+            if (repetitions > 0) {
+                dispatch(createRepetitionData(requireNonNull(repeatedLevel), repetitions));
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                for (final PendingStatusData entry : entries) {
+                    entry.clear();
+                }
+                lastEvent.clear();
+                start = 0;
+                size = 0;
+                droppedCount = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            final PendingStatusData current = new PendingStatusData();
+            while (true) {
+                final long dropped;
+                Level repeatedLevel = null;
+                long repetitions = 0;
+                lock.lock();
+                try {
+                    long delayNanos = REPETITION_REPORT_DELAY_NANOS;
+                    while (size == 0 && droppedCount == 0) {
+                        if (lastEvent.count == 0) {
+                            notEmpty.await();
+                            delayNanos = REPETITION_REPORT_DELAY_NANOS;
+                        } else if (delayNanos > 0) {
+                            delayNanos = notEmpty.awaitNanos(delayNanos);
+                        } else {
+                            // No different event came in time to report the repetitions of the last one
+                            repeatedLevel = lastEvent.level;
+                            repetitions = lastEvent.takeCount();
+                            break;
+                        }
+                    }
+                    if (size > 0) {
+                        entries[start].moveTo(current);
+                        start = (start + 1) % entries.length;
+                        size--;
+                    }
+                    dropped = droppedCount;
+                    droppedCount = 0;
+                } catch (final InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                if (repetitions > 0) {
+                    dispatch(createRepetitionData(requireNonNull(repeatedLevel), repetitions));
+                }
+                if (current.level != null) {
+                    dispatch(current);
+                    current.clear();
+                }
+                if (dropped > 0) {
+                    final Message message = getMessageFactory()
+                            .newMessage(
+                                    "{} status events were dropped, since the queue of {} events was full",
+                                    dropped,
+                                    entries.length);
+                    dispatch(new StatusData(
+                            null, Level.WARN, message, null, null, config.instantFormatter, Instant.now()));
+                }
+            }
+        }
+
+        private void dispatch(final PendingStatusData pending) {
+            if (pending.repetitions > 0) {
+                dispatch(createRepetitionData(requireNonNull(pending.repeatedLevel), pending.repetitions));
+            }
+            dispatch(new StatusData(
+                    pending.caller,
+                    requireNonNull(pending.level),
+                    requireNonNull(pending.message),
+                    pending.throwable,
+                    pending.threadName,
+                    config.instantFormatter,
+                    Instant.ofEpochMilli(pending.timeMillis)));
+        }
+
+        @SuppressFBWarnings("INFORMATION_EXPOSURE_THROUGH_AN_ERROR_MESSAGE")
+        private void dispatch(final StatusData statusData) {
+            try {
+                buffer.add(statusData);
+                notifyListeners(statusData);
+            } catch (final Exception error) {
+                // We are at the lowest level of the system.
+                // Hence, there is nothing better we can do but dumping the failure.
+                error.printStackTrace(System.err);
+            }
+        }
+    }
+
     @Override
     public boolean isEnabled(final Level level, final Marker marker, final String message, final Throwable throwable) {
         return isEnabled(level, marker);
@@ -123,4 +123,15 @@ public class EnvironmentPropertySource implements PropertySource {
             return PropertySource.super.containsProperty(key);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The environment variables of a process do not change.
+     * </p>
+     */
+    @Override
+    public long getModificationCount() {
+        return 0L;
+    }
 }
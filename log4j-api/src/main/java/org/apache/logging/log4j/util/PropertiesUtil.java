@@ -27,6 +27,8 @@ import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -483,18 +485,17 @@ public final class PropertiesUtil {
      * Legacy: the original property name as defined in the source pre-2.10.0.
      * <p>
      * Tokenized: loose matching based on word boundaries.
+     * <p>
+     * The lookups are resolved against an immutable {@link Snapshot} of the sources, which is rebuilt when a source is
+     * added, when {@link #reload()} is called or when a source signals a change of its properties.
      *
      * @since 2.10.0
      */
     private static final class Environment {
 
         private final Set<PropertySource> sources = new ConcurrentSkipListSet<>(new PropertySource.Comparator());
-        /**
-         * Maps a key to its value or the value of its normalization in the lowest priority source that contains it.
-         */
-        private final Map<String, String> literal = new ConcurrentHashMap<>();
 
-        private final Map<List<CharSequence>, String> tokenized = new ConcurrentHashMap<>();
+        private volatile Snapshot snapshot;
 
         private Environment(final PropertySource propertySource) {
             final PropertySource sysProps = new PropertyFilePropertySource(LOG4J_SYSTEM_PROPERTIES_FILE_NAME, false);
@@ -527,19 +528,85 @@ public final class PropertiesUtil {
          */
         public void addPropertySource(final PropertySource propertySource) {
             sources.add(propertySource);
+            reload();
         }
 
         private synchronized void reload() {
-            literal.clear();
-            tokenized.clear();
+            snapshot = new Snapshot(sources.toArray(new PropertySource[0]));
+        }
+
+        /**
+         * Returns the current snapshot, which is rebuilt if a source signaled a change.
+         */
+        private Snapshot getSnapshot() {
+            final Snapshot current = snapshot;
+            if (!current.isStale()) {
+                return current;
+            }
+            synchronized (this) {
+                if (snapshot == current) {
+                    reload();
+                }
+                return snapshot;
+            }
+        }
+
+        private String get(final String key) {
+            return getSnapshot().get(key);
+        }
+
+        private boolean containsKey(final String key) {
+            final Snapshot current = getSnapshot();
+            final List<CharSequence> tokens = PropertySource.Util.tokenize(key);
+            return current.literal.containsKey(key)
+                    || current.tokenized.containsKey(tokens)
+                    || Arrays.stream(current.sources).anyMatch(s -> {
+                        final CharSequence normalizedKey = s.getNormalForm(tokens);
+                        return s.containsProperty(key)
+                                || (normalizedKey != null && s.containsProperty(normalizedKey.toString()));
+                    });
+        }
+    }
+
+    /**
+     * The properties resolved from the sources of an {@link Environment}.
+     * <p>
+     * The values of the sources with a non-negative {@link PropertySource#getModificationCount() modification count}
+     * are resolved once per key, the other sources are queried on each lookup, with their key names precomputed.
+     * The snapshot is replaced as soon as a modification count changes.
+     * </p>
+     */
+    private static final class Snapshot {
+
+        private final PropertySource[] sources;
+
+        private final long[] modificationCounts;
+
+        /**
+         * Maps a key to its value or the value of its normalization in the lowest priority source that contains it.
+         */
+        private final Map<String, String> literal = new HashMap<>();
+
+        private final Map<List<CharSequence>, String> tokenized = new HashMap<>();
+
+        private final Map<String, Resolution> resolutions = new ConcurrentHashMap<>();
+
+        private Snapshot(final PropertySource[] sources) {
+            this.sources = sources;
+            this.modificationCounts = new long[sources.length];
+            for (int i = 0; i < sources.length; i++) {
+                modificationCounts[i] = sources[i].getModificationCount();
+            }
             // 1. Collects all property keys from enumerable sources.
             final Set<String> keys = new HashSet<>();
-            sources.stream().map(PropertySource::getPropertyNames).forEach(keys::addAll);
+            for (final PropertySource source : sources) {
+                keys.addAll(source.getPropertyNames());
+            }
             // 2. Fills the property caches. Sources with higher priority values don't override the previous ones.
             keys.stream().filter(Strings::isNotBlank).forEach(key -> {
                 final List<CharSequence> tokens = PropertySource.Util.tokenize(key);
                 final boolean hasTokens = !tokens.isEmpty();
-                sources.forEach(source -> {
+                for (final PropertySource source : sources) {
                     if (source.containsProperty(key)) {
                         final String value = source.getProperty(key);
                         if (hasTokens) {
@@ -554,39 +621,85 @@ public final class PropertiesUtil {
                             literal.putIfAbsent(key, source.getProperty(key));
                         }
                     }
-                });
+                }
             });
         }
 
+        private boolean isStale() {
+            for (int i = 0; i < sources.length; i++) {
+                if (modificationCounts[i] >= 0 && sources[i].getModificationCount() != modificationCounts[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         private String get(final String key) {
+            Resolution resolution = resolutions.get(key);
+            if (resolution == null) {
+                // Not `computeIfAbsent`, the sources are foreign code
+                final Resolution resolved = resolve(key);
+                final Resolution previous = resolutions.putIfAbsent(key, resolved);
+                resolution = previous != null ? previous : resolved;
+            }
+            return resolution.get(key);
+        }
+
+        private Resolution resolve(final String key) {
             if (literal.containsKey(key)) {
-                return literal.get(key);
+                return new Resolution(Collections.emptyList(), Collections.emptyList(), literal.get(key));
             }
             final List<CharSequence> tokens = PropertySource.Util.tokenize(key);
             final boolean hasTokens = !tokens.isEmpty();
-            for (final PropertySource source : sources) {
-                if (hasTokens) {
-                    final String normalKey = Objects.toString(source.getNormalForm(tokens), null);
-                    if (normalKey != null && source.containsProperty(normalKey)) {
-                        return source.getProperty(normalKey);
-                    }
+            final List<PropertySource> liveSources = new ArrayList<>();
+            final List<String> liveNormalKeys = new ArrayList<>();
+            for (int i = 0; i < sources.length; i++) {
+                final PropertySource source = sources[i];
+                final String normalKey = hasTokens ? Objects.toString(source.getNormalForm(tokens), null) : null;
+                if (modificationCounts[i] < 0) {
+                    liveSources.add(source);
+                    liveNormalKeys.add(normalKey);
+                } else if (normalKey != null && source.containsProperty(normalKey)) {
+                    return new Resolution(liveSources, liveNormalKeys, source.getProperty(normalKey));
+                } else if (source.containsProperty(key)) {
+                    return new Resolution(liveSources, liveNormalKeys, source.getProperty(key));
+                }
+            }
+            return new Resolution(liveSources, liveNormalKeys, tokenized.get(tokens));
+        }
+    }
+
+    /**
+     * The resolution of a key: the sources that must be queried on each lookup, in priority order, and the value
+     * resolved from the other sources.
+     */
+    private static final class Resolution {
+
+        private final PropertySource[] liveSources;
+
+        private final String[] liveNormalKeys;
+
+        private final String value;
+
+        private Resolution(
+                final List<PropertySource> liveSources, final List<String> liveNormalKeys, final String value) {
+            this.liveSources = liveSources.toArray(new PropertySource[0]);
+            this.liveNormalKeys = liveNormalKeys.toArray(new String[0]);
+            this.value = value;
+        }
+
+        private String get(final String key) {
+            for (int i = 0; i < liveSources.length; i++) {
+                final PropertySource source = liveSources[i];
+                final String normalKey = liveNormalKeys[i];
+                if (normalKey != null && source.containsProperty(normalKey)) {
+                    return source.getProperty(normalKey);
                 }
                 if (source.containsProperty(key)) {
                     return source.getProperty(key);
                 }
             }
-            return tokenized.get(tokens);
-        }
-
-        private boolean containsKey(final String key) {
-            final List<CharSequence> tokens = PropertySource.Util.tokenize(key);
-            return literal.containsKey(key)
-                    || tokenized.containsKey(tokens)
-                    || sources.stream().anyMatch(s -> {
-                        final CharSequence normalizedKey = s.getNormalForm(tokens);
-                        return s.containsProperty(key)
-                                || (normalizedKey != null && s.containsProperty(normalizedKey.toString()));
-                    });
+            return value;
         }
     }
 
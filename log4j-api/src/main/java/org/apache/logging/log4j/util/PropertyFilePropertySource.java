@@ -55,4 +55,15 @@ public class PropertyFilePropertySource extends PropertiesPropertySource {
         }
         return props;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The property files are only read once.
+     * </p>
+     */
+    @Override
+    public long getModificationCount() {
+        return 0L;
+    }
 }
@@ -92,6 +92,20 @@ public interface PropertySource {
         return false;
     }
 
+    /**
+     * Returns a counter that changes whenever the properties of this source change.
+     * <p>
+     * {@link PropertiesUtil} caches the values it resolves from the sources that return a non-negative counter, until
+     * the counter of one of them changes. Sources that cannot detect their changes return a negative value and are
+     * queried on each lookup, which is the default.
+     * </p>
+     * @return a modification counter or a negative value.
+     * @since 2.24.0
+     */
+    default long getModificationCount() {
+        return -1L;
+    }
+
     /**
      * Comparator for ordering PropertySource instances by priority.
      *
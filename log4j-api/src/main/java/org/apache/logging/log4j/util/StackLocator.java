@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.status.StatusLogger;
 
@@ -227,7 +228,25 @@ public final class StackLocator {
             return null;
         }
         // LOG4J2-1029 new Throwable().getStackTrace is faster than Thread.currentThread().getStackTrace().
-        final StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+        return calcLocation(fqcnOfLogger, new Throwable().getStackTrace());
+    }
+
+    /**
+     * Captures the stack of the current thread, to compute the location of the caller of the logger later.
+     * <p>
+     * The stack trace elements of a {@link Throwable} are only created when they are requested.
+     * </p>
+     * @since 2.24.0
+     */
+    public Supplier<StackTraceElement> captureLocation(final String fqcnOfLogger) {
+        if (fqcnOfLogger == null) {
+            return null;
+        }
+        final Throwable throwable = new Throwable();
+        return () -> calcLocation(fqcnOfLogger, throwable.getStackTrace());
+    }
+
+    private static StackTraceElement calcLocation(final String fqcnOfLogger, final StackTraceElement[] stackTrace) {
         boolean found = false;
         for (int i = 0; i < stackTrace.length; i++) {
             final String className = stackTrace[i].getClassName();
@@ -19,6 +19,7 @@ package org.apache.logging.log4j.util;
 import java.util.Deque;
 import java.util.NoSuchElementException;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.status.StatusLogger;
 
 /**
@@ -126,4 +127,28 @@ public final class StackLocatorUtil {
             return null;
         }
     }
+
+    /**
+     * Captures the location of the caller of a logger, without creating its {@link StackTraceElement}.
+     * <p>
+     * The returned supplier computes the same location as {@link #calcLocation(String)} and can be called from another
+     * thread. On Java 9 and later it holds the {@code StackWalker.StackFrame} of the caller, on Java 8 the backtrace of
+     * a {@link Throwable}.
+     * </p>
+     *
+     * @param fqcnOfLogger the fully qualified class name of the logger
+     * @return a supplier of the location, or {@code null} if the location cannot be found
+     * @since 2.24.0
+     */
+    public static Supplier<StackTraceElement> captureLocation(final String fqcnOfLogger) {
+        try {
+            return stackLocator.captureLocation(fqcnOfLogger);
+        } catch (NoSuchElementException ex) {
+            if (!errorLogged) {
+                errorLogged = true;
+                StatusLogger.getLogger().warn("Unable to locate stack trace element for {}", fqcnOfLogger, ex);
+            }
+            return null;
+        }
+    }
 }
@@ -72,6 +72,8 @@ public enum GcFreeLoggingTestUtil {
         logger.error("Test parameterized message {}", "param");
         logger.error(new StringMapMessage().with("eventId", "Login")); // initialize GelfLayout's messageStringBuilder
         singleLoggingIteration(logger, myCharSeq, mapMessage);
+        // message patterns are only cached once seen twice
+        singleLoggingIteration(logger, myCharSeq, mapMessage);
         for (int i = 0; i < 256; i++) {
             logger.debug("ensure all ringbuffer slots have been used once"); // allocate MutableLogEvent.messageText
         }
@@ -163,6 +165,14 @@ public enum GcFreeLoggingTestUtil {
         logger.info("Test parameterized message {}{}{}", "param", "param2", "abc");
         logger.info(MarkerManager.getMarker("test"), "Test parameterized message {}{}{}", "param", "param2", "abc");
         logger.info(mapMessage); // LOG4J2-1683
+        logger.atInfo()
+                .arg(true)
+                .arg('c')
+                .arg(123456)
+                .arg(1234567890123L)
+                .arg(1.5f)
+                .arg(12345.12345)
+                .log("Test primitive arguments {} {} {} {} {} {}");
 
         logger.isEnabled(Level.WARN);
         logger.isEnabled(Level.WARN, MarkerManager.getMarker("test"));
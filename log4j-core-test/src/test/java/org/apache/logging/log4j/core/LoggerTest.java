@@ -544,6 +544,22 @@ public class LoggerTest {
         assertNotSame(newConfig, oldConfig, "Reconfiguration failed");
     }
 
+    @Test
+    public void testGlobalFilterChangesLevelCheck(final LoggerContext context) {
+        Configurator.setLevel(logger.getName(), Level.INFO);
+        assertFalse(logger.isDebugEnabled());
+        final Filter filter = org.apache.logging.log4j.core.filter.ThresholdFilter.createFilter(
+                Level.DEBUG, Filter.Result.ACCEPT, Filter.Result.NEUTRAL);
+        context.addFilter(filter);
+        assertTrue(logger.isDebugEnabled());
+        logger.debug("Accepted by the global filter");
+        assertEventCount(app.getEvents(), 1);
+        context.removeFilter(filter);
+        assertFalse(logger.isDebugEnabled());
+        ((Logger) logger).setLevel(Level.DEBUG);
+        assertTrue(logger.isDebugEnabled());
+    }
+
     @Test
     public void testSuppressedThrowable(final LoggerContext context) {
         final org.apache.logging.log4j.Logger testLogger = context.getLogger("org.apache.logging.log4j.nothrown");
@@ -32,6 +32,7 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
 import org.apache.logging.log4j.core.net.MimeMessageBuilder;
 import org.apache.logging.log4j.core.net.SmtpManager;
 import org.apache.logging.log4j.core.test.AvailablePortFinder;
@@ -177,4 +178,108 @@ public class SmtpAppenderTest {
         assertFalse(body2.contains("Error with exception"));
         assertTrue(body2.contains("Error message #2"));
     }
+
+    @Test
+    public void testDigestRateLimit() {
+        final int smtpPort = AvailablePortFinder.getNextAvailable();
+        final SmtpAppender appender = SmtpAppender.newBuilder()
+                .setName("Digest")
+                .setTo("to@example.com")
+                .setFrom("from@example.com")
+                .setSubject("Digest %m")
+                .setSmtpHost(HOST)
+                .setSmtpPort(smtpPort)
+                .setBufferSize(10)
+                .setDigest(true)
+                .setMaxEmailsPerMinute(1)
+                .build();
+        assertNotNull(appender);
+        final SmtpManager manager = (SmtpManager) appender.getManager();
+        assertTrue(manager.isDigest());
+        appender.start();
+
+        final LoggerContext context = LoggerContext.getContext();
+        final Logger root = context.getLogger("SMTPAppenderDigestTest");
+        root.addAppender(appender);
+        root.setAdditive(false);
+        root.setLevel(Level.DEBUG);
+
+        final SimpleSmtpServer server = SimpleSmtpServer.start(smtpPort);
+        try {
+            root.debug("Debug message #1");
+            root.error("Error message #1");
+            // Refused by the rate limit, kept for the next message
+            root.debug("Debug message #2");
+            root.error("Error message #2");
+            assertEquals(1, manager.getSuppressedEmailCount());
+
+            root.removeAppender(appender);
+            // Stopping the appender sends the pending digest
+            appender.stop();
+        } finally {
+            server.stop();
+        }
+        assertEquals(2, server.getReceivedEmailSize());
+        final Iterator<SmtpMessage> messages = server.getReceivedEmail();
+
+        final SmtpMessage email = messages.next();
+        assertEquals("Digest Error message #1", email.getHeaderValue("Subject"));
+        final String body = email.getBody();
+        assertTrue(body.contains("Debug message #1"));
+        assertTrue(body.contains("Error message #1"));
+        assertFalse(body.contains("Error message #2"));
+
+        final SmtpMessage email2 = messages.next();
+        assertEquals("Digest Error message #2", email2.getHeaderValue("Subject"));
+        final String body2 = email2.getBody();
+        assertFalse(body2.contains("Error message #1"));
+        assertTrue(body2.contains("Debug message #2"));
+        assertTrue(body2.contains("Error message #2"));
+    }
+
+    @Test
+    public void testDigestWindow() throws InterruptedException {
+        final int smtpPort = AvailablePortFinder.getNextAvailable();
+        final SmtpAppender appender = SmtpAppender.newBuilder()
+                .setName("DigestWindow")
+                .setTo("to@example.com")
+                .setFrom("from@example.com")
+                .setSubject("Window %m")
+                .setSmtpHost(HOST)
+                .setSmtpPort(smtpPort)
+                .setDigest(true)
+                .setDigestWindowMillis(100)
+                .setConfiguration(new DefaultConfiguration())
+                .build();
+        assertNotNull(appender);
+        appender.start();
+
+        final LoggerContext context = LoggerContext.getContext();
+        final Logger root = context.getLogger("SMTPAppenderDigestWindowTest");
+        root.addAppender(appender);
+        root.setAdditive(false);
+        root.setLevel(Level.DEBUG);
+
+        final SimpleSmtpServer server = SimpleSmtpServer.start(smtpPort);
+        try {
+            root.error("Error message #1");
+            root.error("Error message #2");
+            root.error("Error message #3");
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (server.getReceivedEmailSize() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            root.removeAppender(appender);
+            appender.stop();
+        } finally {
+            server.stop();
+        }
+        assertEquals(1, server.getReceivedEmailSize());
+        final SmtpMessage email = server.getReceivedEmail().next();
+        assertEquals("Window Error message #1", email.getHeaderValue("Subject"));
+        final String body = email.getBody();
+        assertTrue(body.contains("Error message #1"));
+        assertTrue(body.contains("Error message #2"));
+        assertTrue(body.contains("Error message #3"));
+    }
 }
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.mom.jeromq;
+
+import static org.awaitility.Awaitility.waitAtMost;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.zeromq.SocketType;
+import org.zeromq.ZMQ;
+
+/**
+ * Tests batching in {@link JeroMqAppender} over the in-process transport.
+ */
+@Tag("zeromq")
+@Timeout(value = 20, unit = TimeUnit.SECONDS)
+@LoggerContextSource(value = "JeroMqAppenderBatchingTest.xml", timeout = 60)
+public class JeroMqAppenderBatchingTest {
+
+    private static final int RECEIVE_TIMEOUT_MS = 100;
+
+    @Test
+    public void testMultipart(@Named("Multipart") final JeroMqAppender appender, final LoggerContext ctx) {
+        final Logger logger = ctx.getLogger("Multipart");
+        try (final ZMQ.Socket subscriber = subscribe("inproc://multipart", logger, 3)) {
+            appender.resetSendRcs();
+            logger.info("Hello");
+            logger.info("Again");
+            logger.info("World");
+            final List<String> frames = toStrings(receiveMessage(subscriber));
+            assertEquals(Arrays.asList("Hello", "Again", "World"), frames);
+            assertEquals(3, appender.getSendRcTrue());
+            assertEquals(0, appender.getSendRcFalse());
+        }
+    }
+
+    @Test
+    public void testLengthPrefixed(@Named("LengthPrefixed") final JeroMqAppender appender, final LoggerContext ctx) {
+        final Logger logger = ctx.getLogger("LengthPrefixed");
+        try (final ZMQ.Socket subscriber = subscribe("inproc://length-prefixed", logger, 3)) {
+            logger.info("Hello");
+            logger.info("Again");
+            logger.info("World!");
+            final List<byte[]> message = receiveMessage(subscriber);
+            assertNotNull(message);
+            assertEquals(1, message.size());
+            final ByteBuffer buffer = ByteBuffer.wrap(message.get(0));
+            final List<String> events = new ArrayList<>();
+            while (buffer.hasRemaining()) {
+                final byte[] event = new byte[buffer.getInt()];
+                buffer.get(event);
+                events.add(new String(event, StandardCharsets.UTF_8));
+            }
+            assertEquals(Arrays.asList("Hello", "Again", "World!"), events);
+        }
+    }
+
+    @Test
+    public void testLinger(final LoggerContext ctx) {
+        final Logger logger = ctx.getLogger("Linger");
+        try (final ZMQ.Socket subscriber = subscribe("inproc://linger", logger, 1)) {
+            logger.info("Hello");
+            // The batch is far from full, it is published by the linger task
+            final List<byte[]> message = receiveMessage(subscriber);
+            assertNotNull(message);
+            assertArrayEquals(new String[] {"Hello"}, toStrings(message).toArray());
+        }
+    }
+
+    @Test
+    public void testFlushPublishesPendingBatch(
+            @Named("Multipart") final JeroMqAppender appender, final LoggerContext ctx) {
+        final Logger logger = ctx.getLogger("Multipart");
+        try (final ZMQ.Socket subscriber = subscribe("inproc://multipart", logger, 3)) {
+            appender.resetSendRcs();
+            logger.info("Hello");
+            assertNull(receiveMessage(subscriber), "Batch published before reaching its size");
+            assertEquals(0, appender.getSendRcTrue(), "Buffered event counted as sent");
+            appender.getManager().flush();
+            assertEquals(Collections.singletonList("Hello"), toStrings(receiveMessage(subscriber)));
+            assertEquals(1, appender.getSendRcTrue());
+        }
+    }
+
+    @Test
+    public void testBufferDoesNotGrow(@Named("Bounded") final JeroMqAppender appender, final LoggerContext ctx) {
+        final Logger logger = ctx.getLogger("Bounded");
+        try (final ZMQ.Socket subscriber = subscribe("inproc://bounded", logger, 10)) {
+            appender.getManager().flush();
+            while (receiveMessage(subscriber) != null) {
+                // empty
+            }
+            appender.resetSendRcs();
+            final String large = "The quick brown fox jumps over the lazy dog";
+            logger.info("0123456789");
+            // Does not fit in the remaining space: the first event is published
+            logger.info("abcdefghij");
+            assertEquals(Collections.singletonList("0123456789"), toStrings(receiveMessage(subscriber)));
+            // Larger than the whole buffer: published on its own, after the pending event
+            logger.info(large);
+            assertEquals(Collections.singletonList("abcdefghij"), toStrings(receiveMessage(subscriber)));
+            assertEquals(Collections.singletonList(large), toStrings(receiveMessage(subscriber)));
+            assertEquals(16, appender.getManager().getBatchBufferCapacity());
+            assertEquals(3, appender.getSendRcTrue());
+            assertEquals(0, appender.getSendRcFalse());
+        }
+    }
+
+    /**
+     * Connects a subscriber and publishes probe batches until the subscription reaches the publisher.
+     */
+    private static ZMQ.Socket subscribe(final String endpoint, final Logger logger, final int batchSize) {
+        final ZMQ.Socket subscriber = JeroMqManager.getContext().socket(SocketType.SUB);
+        subscriber.setReceiveTimeOut(RECEIVE_TIMEOUT_MS);
+        subscriber.connect(endpoint);
+        subscriber.subscribe(ZMQ.SUBSCRIPTION_ALL);
+        waitAtMost(Duration.ofSeconds(5)).until(() -> {
+            for (int i = 0; i < batchSize; i++) {
+                logger.info("probe");
+            }
+            return receiveMessage(subscriber) != null;
+        });
+        // Discard the probes still in flight
+        while (receiveMessage(subscriber) != null) {
+            // empty
+        }
+        return subscriber;
+    }
+
+    private static List<byte[]> receiveMessage(final ZMQ.Socket subscriber) {
+        final byte[] first = subscriber.recv();
+        if (first == null) {
+            return null;
+        }
+        final List<byte[]> frames = new ArrayList<>();
+        frames.add(first);
+        while (subscriber.hasReceiveMore()) {
+            frames.add(subscriber.recv());
+        }
+        return frames;
+    }
+
+    private static List<String> toStrings(final List<byte[]> frames) {
+        assertNotNull(frames);
+        final List<String> strings = new ArrayList<>(frames.size());
+        for (final byte[] frame : frames) {
+            strings.add(new String(frame, StandardCharsets.UTF_8));
+        }
+        return strings;
+    }
+}
@@ -91,7 +91,8 @@ public abstract class AbstractAsyncThreadContextTestBase {
     protected enum ContextImpl {
         WEBAPP,
         GARBAGE_FREE,
-        COPY_ON_WRITE;
+        COPY_ON_WRITE,
+        PERSISTENT;
 
         void init() {
             final String PACKAGE = "org.apache.logging.log4j.spi.";
@@ -107,6 +108,8 @@ public abstract class AbstractAsyncThreadContextTestBase {
                     return "GarbageFreeSortedArrayThreadContextMap";
                 case COPY_ON_WRITE:
                     return "CopyOnWriteSortedArrayThreadContextMap";
+                case PERSISTENT:
+                    return "PersistentThreadContextMap";
             }
             throw new IllegalStateException("Unknown state " + this);
         }
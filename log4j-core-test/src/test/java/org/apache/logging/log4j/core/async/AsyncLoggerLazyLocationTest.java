@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.apache.logging.log4j.core.test.CoreLoggerContexts;
+import org.apache.logging.log4j.core.test.categories.AsyncLoggers;
+import org.apache.logging.log4j.core.util.Constants;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the location computed by the background thread with {@code log4j2.asyncLoggerLazyLocation}.
+ */
+@Category(AsyncLoggers.class)
+public class AsyncLoggerLazyLocationTest {
+
+    private static final String LAZY_LOCATION_PROPERTY = "log4j2.asyncLoggerLazyLocation";
+
+    @BeforeClass
+    public static void beforeClass() {
+        final File file = new File("target", "AsyncLoggerLazyLocationTest.log");
+        file.delete();
+
+        System.setProperty(LAZY_LOCATION_PROPERTY, "true");
+        System.setProperty(Constants.LOG4J_CONTEXT_SELECTOR, AsyncLoggerContextSelector.class.getName());
+        System.setProperty(ConfigurationFactory.CONFIGURATION_FILE_PROPERTY, "AsyncLoggerLazyLocationTest.xml");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        System.clearProperty(LAZY_LOCATION_PROPERTY);
+        System.clearProperty(Constants.LOG4J_CONTEXT_SELECTOR);
+        System.clearProperty(ConfigurationFactory.CONFIGURATION_FILE_PROPERTY);
+    }
+
+    @Test
+    public void testAsyncLogWritesLocationToLog() throws Exception {
+        final File file = new File("target", "AsyncLoggerLazyLocationTest.log");
+        final Logger log = LogManager.getLogger("com.foo.Bar");
+        final String msg = "Async logger msg with lazy location";
+        final int line = new Throwable().getStackTrace()[0].getLineNumber() + 1;
+        log.info(msg);
+        log.atInfo().log(msg);
+        CoreLoggerContexts.stopLoggerContext(false, file); // stop async thread
+
+        final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        file.delete();
+        assertEquals(2, lines.size());
+        final String location = AsyncLoggerLazyLocationTest.class.getName()
+                + ".testAsyncLogWritesLocationToLog(AsyncLoggerLazyLocationTest.java:";
+        assertTrue(lines.get(0), lines.get(0).contains(location + line + ")"));
+        assertTrue(lines.get(0), lines.get(0).contains(msg));
+        assertTrue(lines.get(1), lines.get(1).contains(location + (line + 1) + ")"));
+    }
+}
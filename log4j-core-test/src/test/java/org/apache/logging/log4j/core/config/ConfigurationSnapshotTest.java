@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.apache.logging.log4j.core.filter.ThresholdFilter;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConfigurationSnapshotTest {
+
+    private static final String CONFIG = "<Configuration name='SnapshotTest' status='off'>"
+            + "<Properties><Property name='level'>INFO</Property></Properties>"
+            + "<Appenders><List name='List'><ThresholdFilter level='${level}'/></List></Appenders>"
+            + "<Loggers><Root level='debug'><AppenderRef ref='List'/></Root></Loggers>"
+            + "</Configuration>";
+
+    @TempDir
+    Path directory;
+
+    private LoggerContext loggerContext;
+
+    @BeforeEach
+    public void setUp() {
+        loggerContext = new LoggerContext("ConfigurationSnapshotTest");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    private static ConfigurationSource createSource(final String content) throws IOException {
+        return new ConfigurationSource(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void parse(final ConfigurationSnapshot snapshot, final ConfigurationSource source) {
+        final XmlConfiguration configuration = new XmlConfiguration(loggerContext, source);
+        snapshot.attach(configuration);
+        configuration.initialize();
+    }
+
+    @Test
+    public void testSnapshotSavedAndLoaded() throws Exception {
+        final ConfigurationSource source = createSource(CONFIG);
+        final ConfigurationSnapshot snapshot = ConfigurationSnapshot.forSource(source, directory);
+        assertNotNull(snapshot);
+        assertNull(snapshot.load(loggerContext, source));
+        parse(snapshot, source);
+        assertTrue(Files.isRegularFile(snapshot.getFile()));
+
+        final Configuration configuration = snapshot.load(loggerContext, source.resetInputStream());
+        assertInstanceOf(SnapshotConfiguration.class, configuration);
+        loggerContext.start(configuration);
+        assertEquals("SnapshotTest", configuration.getName());
+        assertEquals(Level.DEBUG, configuration.getRootLogger().getLevel());
+        final ListAppender appender = configuration.getAppender("List");
+        assertNotNull(appender);
+        assertInstanceOf(ThresholdFilter.class, appender.getFilter());
+        assertEquals(Level.INFO, ((ThresholdFilter) appender.getFilter()).getLevel());
+
+        loggerContext.getLogger("test").debug("filtered");
+        loggerContext.getLogger("test").info("logged");
+        assertEquals(1, appender.getEvents().size());
+        assertEquals("logged", appender.getEvents().get(0).getMessage().getFormattedMessage());
+    }
+
+    @Test
+    public void testSnapshotDependsOnContent() throws Exception {
+        final ConfigurationSnapshot snapshot = ConfigurationSnapshot.forSource(createSource(CONFIG), directory);
+        final ConfigurationSnapshot other =
+                ConfigurationSnapshot.forSource(createSource(CONFIG.replace("debug", "warn")), directory);
+        assertNotNull(snapshot);
+        assertNotNull(other);
+        assertNotEquals(snapshot.getFile(), other.getFile());
+        assertEquals(
+                snapshot.getFile(),
+                ConfigurationSnapshot.forSource(createSource(CONFIG), directory).getFile());
+    }
+
+    @Test
+    public void testInvalidSnapshotIgnored() throws Exception {
+        final ConfigurationSource source = createSource(CONFIG);
+        final ConfigurationSnapshot snapshot = ConfigurationSnapshot.forSource(source, directory);
+        assertNotNull(snapshot);
+        Files.write(snapshot.getFile(), new byte[] {1, 2, 3});
+        assertNull(snapshot.load(loggerContext, source));
+        parse(snapshot, source);
+        assertNotNull(snapshot.load(loggerContext, source.resetInputStream()));
+    }
+
+    @Test
+    public void testFileSourceStreamClosed() throws Exception {
+        final Path file = directory.resolve("log4j2.xml");
+        Files.write(file, CONFIG.getBytes(StandardCharsets.UTF_8));
+        final AtomicBoolean closed = new AtomicBoolean();
+        final InputStream stream = new FilterInputStream(Files.newInputStream(file)) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+        final ConfigurationSnapshot snapshot =
+                ConfigurationSnapshot.forSource(new ConfigurationSource(stream, file.toFile()), directory);
+        assertNotNull(snapshot);
+        assertTrue(closed.get(), "The input stream of the source was not closed");
+
+        final ConfigurationSource source = snapshot.getSource();
+        assertEquals(file.toFile(), source.getFile());
+        parse(snapshot, source);
+        assertTrue(Files.isRegularFile(snapshot.getFile()));
+        // reconfiguration reads the file again
+        Files.write(file, CONFIG.replace("debug", "warn").getBytes(StandardCharsets.UTF_8));
+        final XmlConfiguration reread = new XmlConfiguration(loggerContext, source.resetInputStream());
+        reread.initialize();
+        assertEquals(Level.WARN, reread.getRootLogger().getLevel());
+    }
+
+    @Test
+    public void testEmptyConfigurationNotSaved() throws Exception {
+        final ConfigurationSource source = createSource("<Configuration status='off'/>");
+        final ConfigurationSnapshot snapshot = ConfigurationSnapshot.forSource(source, directory);
+        assertNotNull(snapshot);
+        parse(snapshot, source);
+        assertFalse(Files.exists(snapshot.getFile()));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SetTestProperty(key = ConfigurationDiff.INCREMENTAL_RECONFIGURATION_PROPERTY, value = "true")
+public class IncrementalReconfigurationTest {
+
+    private static final String CONFIG = "<Configuration name='IncrementalTest' status='off'>"
+            + "<Properties><Property name='prefix'>A</Property></Properties>"
+            + "<Appenders>"
+            + "<List name='First'><PatternLayout pattern='${prefix} %m'/></List>"
+            + "<List name='Second'><ThresholdFilter level='INFO'/></List>"
+            + "<Async name='Async'><AppenderRef ref='First'/></Async>"
+            + "</Appenders>"
+            + "<Loggers><Logger name='test' level='debug'/>"
+            + "<Root level='info'><AppenderRef ref='First'/><AppenderRef ref='Second'/></Root></Loggers>"
+            + "</Configuration>";
+
+    private LoggerContext loggerContext;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        loggerContext = new LoggerContext("IncrementalReconfigurationTest");
+        loggerContext.start(createConfiguration(CONFIG));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    private Configuration createConfiguration(final String content) throws IOException {
+        return new XmlConfiguration(
+                loggerContext,
+                new ConfigurationSource(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testUnchangedAppendersReused() throws Exception {
+        final Configuration previous = loggerContext.getConfiguration();
+        final ListAppender first = previous.getAppender("First");
+        final ListAppender second = previous.getAppender("Second");
+        final Appender async = previous.getAppender("Async");
+
+        loggerContext.setConfiguration(createConfiguration(CONFIG.replace("level='debug'", "level='warn'")));
+        final Configuration configuration = loggerContext.getConfiguration();
+        assertSame(first, configuration.getAppender("First"));
+        assertSame(second, configuration.getAppender("Second"));
+        assertTrue(first.isStarted());
+        assertTrue(second.isStarted());
+        // appenders referring to other appenders are always created again
+        assertNotSame(async, configuration.getAppender("Async"));
+        assertFalse(async.isStarted());
+        assertEquals(Level.WARN, configuration.getLoggerConfig("test").getLevel());
+
+        loggerContext.getLogger("test").info("filtered");
+        loggerContext.getLogger("test").warn("logged");
+        assertEquals(1, first.getMessages().size());
+        assertEquals("A logged", first.getMessages().get(0));
+    }
+
+    @Test
+    public void testChangedAppenderCreatedAgain() throws Exception {
+        final Configuration previous = loggerContext.getConfiguration();
+        final ListAppender first = previous.getAppender("First");
+        final ListAppender second = previous.getAppender("Second");
+
+        loggerContext.setConfiguration(createConfiguration(CONFIG.replace("'INFO'", "'WARN'")));
+        final Configuration configuration = loggerContext.getConfiguration();
+        assertSame(first, configuration.getAppender("First"));
+        final ListAppender newSecond = configuration.getAppender("Second");
+        assertNotNull(newSecond);
+        assertNotSame(second, newSecond);
+        assertFalse(second.isStarted());
+        assertTrue(newSecond.isStarted());
+    }
+
+    @Test
+    public void testChangedPropertiesCreateAllAppenders() throws Exception {
+        final Configuration previous = loggerContext.getConfiguration();
+        final ListAppender first = previous.getAppender("First");
+        final ListAppender second = previous.getAppender("Second");
+
+        loggerContext.setConfiguration(createConfiguration(CONFIG.replace(">A<", ">B<")));
+        final Configuration configuration = loggerContext.getConfiguration();
+        assertNotSame(first, configuration.getAppender("First"));
+        assertNotSame(second, configuration.getAppender("Second"));
+        assertFalse(first.isStarted());
+        assertFalse(second.isStarted());
+
+        loggerContext.getLogger("test").info("logged");
+        assertEquals(
+                "B logged",
+                ((ListAppender) configuration.getAppender("First"))
+                        .getMessages()
+                        .get(0));
+    }
+
+    @Test
+    public void testReusedAppendersStoppedWithContext() throws Exception {
+        loggerContext.setConfiguration(createConfiguration(CONFIG.replace("level='debug'", "level='warn'")));
+        final ListAppender first = loggerContext.getConfiguration().getAppender("First");
+        loggerContext.stop();
+        assertFalse(first.isStarted());
+    }
+
+    @Test
+    @SetTestProperty(key = ConfigurationDiff.INCREMENTAL_RECONFIGURATION_PROPERTY, value = "false")
+    public void testDisabled() throws Exception {
+        final ListAppender first = loggerContext.getConfiguration().getAppender("First");
+
+        loggerContext.setConfiguration(createConfiguration(CONFIG));
+        assertNotSame(first, loggerContext.getConfiguration().getAppender("First"));
+        assertFalse(first.isStarted());
+    }
+}
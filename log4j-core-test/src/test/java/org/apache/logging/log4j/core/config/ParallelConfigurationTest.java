@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SetTestProperty(key = ParallelNodeBuilder.PARALLEL_CONFIGURATION_PROPERTY, value = "true")
+@SetTestProperty(key = ParallelNodeBuilder.PARALLELISM_PROPERTY, value = "4")
+public class ParallelConfigurationTest {
+
+    private static final String CONFIG = "<Configuration name='ParallelTest' status='off'>"
+            + "<Appenders>"
+            + "<Slow name='First'/>"
+            + "<Async name='Async'><AppenderRef ref='List'/></Async>"
+            + "<Slow name='Second'/>"
+            + "<Slow name='Third'/>"
+            + "<Failover name='Failover' primary='First'><Failovers><AppenderRef ref='List'/></Failovers></Failover>"
+            + "<Slow name='Fourth'/>"
+            + "<List name='List'><PatternLayout pattern='%m'/></List>"
+            + "</Appenders>"
+            + "<Loggers><Root level='info'><AppenderRef ref='Async'/><AppenderRef ref='Failover'/></Root></Loggers>"
+            + "</Configuration>";
+
+    private LoggerContext loggerContext;
+
+    @BeforeEach
+    public void setUp() {
+        SlowAppender.THREADS.clear();
+        loggerContext = new LoggerContext("ParallelConfigurationTest");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    private Configuration createConfiguration(final String content) throws IOException {
+        return new XmlConfiguration(
+                loggerContext,
+                new ConfigurationSource(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testAppendersCreatedInParallel() throws Exception {
+        loggerContext.start(createConfiguration(CONFIG));
+        final Configuration configuration = loggerContext.getConfiguration();
+
+        assertEquals(
+                new HashSet<>(Arrays.asList("First", "Async", "Second", "Third", "Failover", "Fourth", "List")),
+                configuration.getAppenders().keySet());
+        for (final Appender appender : configuration.getAppenders().values()) {
+            assertTrue(appender.isStarted(), appender.getName());
+        }
+        assertTrue(SlowAppender.THREADS.size() > 1, SlowAppender.THREADS.toString());
+        for (final String thread : SlowAppender.THREADS) {
+            assertTrue(thread.contains("-Configuration-"), thread);
+        }
+
+        loggerContext.getLogger(ParallelConfigurationTest.class).info("Hello");
+        final ListAppender list = configuration.getAppender("List");
+        assertEquals(Collections.singletonList("Hello"), list.getMessages(1, 10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailureReported() throws Exception {
+        final String config = CONFIG.replace("<Slow name='Third'/>", "<Slow name='Third' fail='true'/>");
+        loggerContext.start(createConfiguration(config));
+        final Configuration configuration = loggerContext.getConfiguration();
+
+        // as in sequential mode, the failed appender is skipped
+        assertEquals(null, configuration.getAppenders().get("Third"));
+        assertNotNull(configuration.getAppender("Fourth"));
+    }
+
+    @Test
+    public void testSortByDependencies() {
+        final Node first = createNode("First");
+        final Node async = createNode("Async");
+        async.getChildren().add(createRef(async, "List"));
+        final Node failover = createNode("Failover");
+        failover.getAttributes().put("primary", "First");
+        final Node failovers = new Node(failover, "Failovers", null);
+        failovers.getChildren().add(createRef(failovers, "Async"));
+        failover.getChildren().add(failovers);
+        final Node list = createNode("List");
+
+        final List<List<Node>> levels =
+                ParallelNodeBuilder.sortByDependencies(Arrays.asList(first, async, failover, list));
+
+        assertEquals(
+                Arrays.asList(Arrays.asList(first, list), Collections.singletonList(async), Arrays.asList(failover)),
+                levels);
+    }
+
+    @Test
+    public void testSortByDependenciesWithCycle() {
+        final Node first = createNode("First");
+        first.getChildren().add(createRef(first, "Second"));
+        final Node second = createNode("Second");
+        second.getChildren().add(createRef(second, "First"));
+        final Node third = createNode("Third");
+        third.getChildren().add(createRef(third, "Third"));
+
+        final List<List<Node>> levels = ParallelNodeBuilder.sortByDependencies(Arrays.asList(first, second, third));
+
+        assertEquals(
+                Arrays.asList(
+                        Collections.singletonList(third),
+                        Collections.singletonList(first),
+                        Collections.singletonList(second)),
+                levels);
+    }
+
+    @Test
+    public void testErrorsPropagated() {
+        final List<Node> nodes = Arrays.asList(createNode("First"), createNode("Second"), createNode("Third"));
+        final IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> ParallelNodeBuilder.createAll(nodes, node -> {
+                    throw new IllegalStateException(node.getAttributes().get("name"));
+                }));
+        assertEquals("First", exception.getMessage());
+    }
+
+    private static Node createNode(final String name) {
+        final Node node = new Node(null, name, null);
+        node.getAttributes().put("name", name);
+        return node;
+    }
+
+    private static Node createRef(final Node parent, final String ref) {
+        final Node node = new Node(parent, "AppenderRef", null);
+        node.getAttributes().put("ref", ref);
+        return node;
+    }
+
+    /**
+     * An appender that takes some time to create, like appenders that open files or connections.
+     */
+    @Plugin(name = "Slow", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+    public static final class SlowAppender extends AbstractAppender {
+
+        static final Set<String> THREADS = ConcurrentHashMap.newKeySet();
+
+        private SlowAppender(final String name) {
+            super(name, null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @PluginFactory
+        public static SlowAppender createAppender(
+                @PluginAttribute("name") final String name, @PluginAttribute("fail") final boolean fail)
+                throws InterruptedException {
+            THREADS.add(Thread.currentThread().getName());
+            Thread.sleep(100);
+            if (fail) {
+                throw new IllegalStateException("Cannot create " + name);
+            }
+            return new SlowAppender(name);
+        }
+
+        @Override
+        public void append(final LogEvent event) {}
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.json.JsonConfiguration;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.apache.logging.log4j.core.config.yaml.YamlConfiguration;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.test.TestProperties;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
+import org.apache.logging.log4j.test.junit.UsingTestProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Checks that the streaming parsers create the same nodes as the DOM and tree parsers, for the configuration files
+ * of the tests.
+ */
+@UsingTestProperties
+@UsingStatusListener
+public class StreamingConfigurationParserTest {
+
+    private static TestProperties props;
+
+    private LoggerContext loggerContext;
+
+    @BeforeEach
+    public void setUp() {
+        loggerContext = new LoggerContext("StreamingConfigurationParserTest");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    static Stream<Path> configurationFiles() throws IOException, URISyntaxException {
+        final Path resources = Paths.get(StreamingConfigurationParserTest.class
+                        .getResource("/log4j-test1.xml")
+                        .toURI())
+                .getParent();
+        final List<Path> files;
+        try (final Stream<Path> paths = Files.walk(resources)) {
+            files = paths.filter(path -> getFormat(path) != null).sorted().collect(Collectors.toList());
+        }
+        assertTrue(files.size() > 100, "Too few configuration files in " + resources);
+        return files.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurationFiles")
+    public void testSameNodes(final Path file) throws IOException {
+        final byte[] content = Files.readAllBytes(file);
+        final String format = getFormat(file);
+
+        props.setProperty(ConfigurationFactory.STREAMING_PARSER_PROPERTY, false);
+        final Node expected = parse(format, content, file);
+        props.setProperty(ConfigurationFactory.STREAMING_PARSER_PROPERTY, true);
+        final Node actual = parse(format, content, file);
+
+        assertNodeEquals(expected, actual, file.getFileName().toString());
+    }
+
+    @Test
+    public void testXmlFeatures() throws IOException {
+        final String config = "<?xml version='1.0' encoding='UTF-8'?>"
+                + "<Configuration xmlns='http://logging.apache.org/log4j/2.0/config' strict='true' name='Features'>"
+                + "<!-- comment -->"
+                + "<Properties><Property name='a'> x <![CDATA[<y>]]> &amp; &#x7A; </Property></Properties>"
+                + "<Appenders><Appender type='List' name='List' xml:base='ignored'><Layout type='PatternLayout'>"
+                + "<Pattern>%m</Pattern></Layout></Appender></Appenders>"
+                + "<Loggers><Root level='info'><AppenderRef ref='List'/></Root></Loggers>"
+                + "</Configuration>";
+        final byte[] content = config.getBytes(StandardCharsets.UTF_8);
+        final Path file = Paths.get("features.xml");
+
+        props.setProperty(ConfigurationFactory.STREAMING_PARSER_PROPERTY, false);
+        final Node expected = parse("xml", content, file);
+        props.setProperty(ConfigurationFactory.STREAMING_PARSER_PROPERTY, true);
+        final Node actual = parse("xml", content, file);
+
+        assertNodeEquals(expected, actual, "features.xml");
+        final Node property = actual.getChildren().get(0).getChildren().get(0);
+        assertEquals("x <y> & z", property.getValue());
+        final Node appender = actual.getChildren().get(1).getChildren().get(0);
+        assertEquals("List", appender.getName());
+        assertNull(appender.getAttributes().get("type"));
+    }
+
+    @Test
+    public void testJsonFeatures() throws IOException {
+        final String config = "{ \"configuration\": { \"name\": \"Features\", \"status\": \"off\","
+                + " \"properties\": { \"property\": [ { \"name\": \"int\", \"value\": 10 },"
+                + " { \"name\": \"double\", \"value\": 1.5e3 }, { \"name\": \"bool\", \"value\": true } ] },"
+                + " \"appenders\": { \"appender\": [ { \"type\": \"List\", \"name\": \"List\","
+                + " \"PatternLayout\": { \"pattern\": \"%m\" } } ] },"
+                + " \"loggers\": { \"root\": { \"level\": \"info\", \"AppenderRef\": [ { \"ref\": \"List\" } ] } } } }";
+        final byte[] content = config.getBytes(StandardCharsets.UTF_8);
+        final Path file = Paths.get("features.json");
+
+        props.setProperty(ConfigurationFactory.STREAMING_PARSER_PROPERTY, false);
+        final Node expected = parse("json", content, file);
+        props.setProperty(ConfigurationFactory.STREAMING_PARSER_PROPERTY, true);
+        final Node actual = parse("json", content, file);
+
+        assertNodeEquals(expected, actual, "features.json");
+        assertEquals("Features", actual.getAttributes().get("name"));
+        final Node appender = actual.getChildren().get(1).getChildren().get(0);
+        assertEquals("appender", appender.getName());
+        assertEquals(ListAppender.class, appender.getType().getPluginClass());
+    }
+
+    private static String getFormat(final Path path) {
+        final String name = path.getFileName().toString();
+        if (name.endsWith(".xml")) {
+            return "xml";
+        }
+        if (name.endsWith(".json") || name.endsWith(".jsn")) {
+            return "json";
+        }
+        if (name.endsWith(".yaml") || name.endsWith(".yml")) {
+            return "yaml";
+        }
+        return null;
+    }
+
+    private Node parse(final String format, final byte[] content, final Path file) throws IOException {
+        final ConfigurationSource source = new ConfigurationSource(
+                new ByteArrayInputStream(content), file.toAbsolutePath().toFile());
+        final AbstractConfiguration configuration;
+        switch (format) {
+            case "xml":
+                configuration = new TestXmlConfiguration(loggerContext, source);
+                break;
+            case "json":
+                configuration = new TestJsonConfiguration(loggerContext, source);
+                break;
+            default:
+                configuration = new TestYamlConfiguration(loggerContext, source);
+        }
+        try {
+            configuration.setup();
+        } catch (final RuntimeException e) {
+            // e.g. files that are not configurations, for both parsers
+        }
+        return configuration.getRootNode();
+    }
+
+    private static void assertNodeEquals(final Node expected, final Node actual, final String path) {
+        assertEquals(expected.getName(), actual.getName(), path);
+        assertEquals(getPluginClass(expected.getType()), getPluginClass(actual.getType()), path);
+        assertEquals(expected.getAttributes(), actual.getAttributes(), path);
+        assertEquals(expected.getValue(), actual.getValue(), path);
+        assertEquals(expected.getChildren().size(), actual.getChildren().size(), path);
+        for (int i = 0; i < expected.getChildren().size(); i++) {
+            final Node child = expected.getChildren().get(i);
+            assertEquals(actual, actual.getChildren().get(i).getParent(), path);
+            assertNodeEquals(child, actual.getChildren().get(i), path + '/' + child.getName());
+        }
+    }
+
+    private static Class<?> getPluginClass(final PluginType<?> type) {
+        return type != null ? type.getPluginClass() : null;
+    }
+
+    private static final class TestXmlConfiguration extends XmlConfiguration {
+
+        TestXmlConfiguration(final LoggerContext loggerContext, final ConfigurationSource source) {
+            super(loggerContext, source);
+            pluginManager.collectPlugins(pluginPackages);
+        }
+    }
+
+    private static final class TestJsonConfiguration extends JsonConfiguration {
+
+        TestJsonConfiguration(final LoggerContext loggerContext, final ConfigurationSource source) {
+            super(loggerContext, source);
+            pluginManager.collectPlugins(pluginPackages);
+        }
+    }
+
+    private static final class TestYamlConfiguration extends YamlConfiguration {
+
+        TestYamlConfiguration(final LoggerContext loggerContext, final ConfigurationSource source) {
+            super(loggerContext, source);
+            pluginManager.collectPlugins(pluginPackages);
+        }
+    }
+}
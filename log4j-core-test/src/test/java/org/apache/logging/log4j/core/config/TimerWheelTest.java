@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TimerWheelTest {
+
+    private TimerWheel timerWheel;
+
+    @BeforeEach
+    public void setUp() {
+        timerWheel = new TimerWheel(
+                2,
+                Log4jThreadFactory.createDaemonThreadFactory("TimerWheelTest"),
+                Log4jThreadFactory.createDaemonThreadFactory("TimerWheelTestWorker"));
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        timerWheel.shutdown();
+        assertTrue(timerWheel.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTasksRunInDeadlineOrder() throws Exception {
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(3);
+        final long start = System.nanoTime();
+        for (final int delay : new int[] {300, 100, 200}) {
+            timerWheel.schedule(
+                    () -> {
+                        order.add(delay);
+                        latch.countDown();
+                    },
+                    delay,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(Arrays.asList(100, 200, 300), order);
+    }
+
+    @Test
+    public void testNeverRunsEarly() throws Exception {
+        final ScheduledFuture<Long> future = timerWheel.schedule(System::nanoTime, 50, TimeUnit.MILLISECONDS);
+        final long scheduled = System.nanoTime();
+
+        final long ran = future.get(5, TimeUnit.SECONDS);
+
+        assertTrue(ran - scheduled >= TimeUnit.MILLISECONDS.toNanos(50) - TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testDeadlinesBeyondOneRevolution() throws Exception {
+        // the task shares a bucket with the ticks of the next revolution
+        final long delay = TimerWheel.TICK_MILLIS * (TimerWheel.WHEEL_SIZE + 3);
+        final ScheduledFuture<Long> later = timerWheel.schedule(System::nanoTime, delay, TimeUnit.MILLISECONDS);
+        final ScheduledFuture<Long> sooner =
+                timerWheel.schedule(System::nanoTime, 3 * TimerWheel.TICK_MILLIS, TimeUnit.MILLISECONDS);
+        final long scheduled = System.nanoTime();
+
+        sooner.get(5, TimeUnit.SECONDS);
+        assertFalse(later.isDone());
+        final long ran = later.get(10, TimeUnit.SECONDS);
+
+        assertTrue(ran - scheduled >= TimeUnit.MILLISECONDS.toNanos(delay) - TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final ScheduledFuture<?> cancelled = timerWheel.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+        final ScheduledFuture<?> kept = timerWheel.schedule(runs::incrementAndGet, 200, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel(false));
+        kept.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, runs.get());
+        assertTrue(cancelled.isCancelled());
+        assertTrue(timerWheel.getScheduledTasks().isEmpty());
+    }
+
+    @Test
+    public void testFixedRateAndFixedDelay() throws Exception {
+        final CountDownLatch rate = new CountDownLatch(5);
+        final CountDownLatch delay = new CountDownLatch(5);
+        final ScheduledFuture<?> rateFuture =
+                timerWheel.scheduleAtFixedRate(rate::countDown, 0, 20, TimeUnit.MILLISECONDS);
+        final ScheduledFuture<?> delayFuture =
+                timerWheel.scheduleWithFixedDelay(delay::countDown, 10, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(rate.await(5, TimeUnit.SECONDS));
+        assertTrue(delay.await(5, TimeUnit.SECONDS));
+
+        rateFuture.cancel(false);
+        delayFuture.cancel(false);
+        assertTrue(timerWheel.getScheduledTasks().isEmpty());
+    }
+
+    @Test
+    public void testShutdownCancelsScheduledTasks() {
+        final ScheduledFuture<?> future = timerWheel.schedule(() -> {}, 1, TimeUnit.HOURS);
+        final ScheduledFuture<?> periodic = timerWheel.scheduleAtFixedRate(() -> {}, 1, 1, TimeUnit.HOURS);
+
+        timerWheel.shutdown();
+
+        assertTrue(future.isCancelled());
+        assertTrue(periodic.isCancelled());
+        assertThrows(RejectedExecutionException.class, () -> timerWheel.schedule(() -> {}, 1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testManyTasks() throws Exception {
+        final int count = 10_000;
+        final CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            timerWheel.schedule(latch::countDown, i % 1000, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(timerWheel.getScheduledTasks().isEmpty());
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.plugins.processor;
+
+import static org.apache.logging.log4j.util.Strings.toRootLowerCase;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.core.config.plugins.util.PluginManager;
+import org.apache.logging.log4j.core.config.plugins.util.PluginRegistry;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PluginIndexTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testIndexMatchesCacheFile() throws IOException {
+        final Enumeration<URL> resources =
+                PluginProcessor.class.getClassLoader().getResources(PluginProcessor.PLUGIN_CACHE_FILE);
+        int count = 0;
+        while (resources.hasMoreElements()) {
+            final URL url = resources.nextElement();
+            final PluginCache cache = new PluginCache();
+            cache.loadCacheFiles(Collections.enumeration(Collections.singletonList(url)));
+            final PluginIndex index = PluginIndex.forCacheFile(url);
+
+            assertEquals(cache.getAllCategories().keySet(), index.getCategories());
+            for (final Map.Entry<String, Map<String, PluginEntry>> category :
+                    cache.getAllCategories().entrySet()) {
+                assertEntriesEqual(category.getValue(), index.getCategory(category.getKey()));
+            }
+            count++;
+        }
+        assertTrue(count > 0);
+    }
+
+    @Test
+    public void testIndexWrittenByProcessor() throws Exception {
+        final URL cacheFile = PluginIndexTest.class.getClassLoader().getResource(PluginProcessor.PLUGIN_CACHE_FILE);
+        final URL indexFile = new URL(cacheFile, "Log4j2Plugins.idx");
+        final PluginCache cache = new PluginCache();
+        cache.loadCacheFiles(Collections.enumeration(Collections.singletonList(cacheFile)));
+        final byte[] content = Files.readAllBytes(Paths.get(cacheFile.toURI()));
+
+        final PluginIndex index = PluginIndex.load(indexFile);
+
+        assertTrue(index.matches(content));
+        assertEquals(cache.getAllCategories().keySet(), index.getCategories());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final PluginCache cache = new PluginCache();
+        addEntry(cache, "Core", "Alpha", "com.example.Alpha", true, false);
+        addEntry(cache, "Core", "Beta", "com.example.Beta", false, true);
+        addEntry(cache, "Core", "Alias", "com.example.Beta", false, true);
+        addEntry(cache, "Lookup", "Ünïcödé", "com.example.Lookup", true, true);
+        final Path cacheFile = writeCacheFiles(cache, true);
+
+        final PluginIndex index = PluginIndex.forCacheFile(cacheFile.toUri().toURL());
+
+        assertEquals(cache.getAllCategories().keySet(), index.getCategories());
+        assertEntriesEqual(cache.getCategory("core"), index.getCategory("core"));
+        assertEntriesEqual(cache.getCategory("lookup"), index.getCategory("lookup"));
+        assertNull(index.getCategory("missing"));
+    }
+
+    @Test
+    public void testCacheFileWithoutIndex() throws IOException {
+        final PluginCache cache = new PluginCache();
+        addEntry(cache, "Core", "Alpha", "com.example.Alpha", true, false);
+        final Path cacheFile = writeCacheFiles(cache, false);
+
+        final PluginIndex index = PluginIndex.forCacheFile(cacheFile.toUri().toURL());
+
+        assertEntriesEqual(cache.getCategory("core"), index.getCategory("core"));
+    }
+
+    @Test
+    public void testStaleIndexIgnored() throws IOException {
+        final PluginCache cache = new PluginCache();
+        addEntry(cache, "Core", "Alpha", "com.example.Alpha", true, false);
+        final Path cacheFile = writeCacheFiles(cache, true);
+        // e.g. a shading plugin merged the cache files, but not the indexes
+        final PluginCache merged = new PluginCache();
+        addEntry(merged, "Core", "Alpha", "com.example.Alpha", true, false);
+        addEntry(merged, "Core", "Beta", "com.example.Beta", true, false);
+        try (final OutputStream out = Files.newOutputStream(cacheFile)) {
+            merged.writeCache(out);
+        }
+
+        final PluginIndex index = PluginIndex.forCacheFile(cacheFile.toUri().toURL());
+
+        assertEntriesEqual(merged.getCategory("core"), index.getCategory("core"));
+    }
+
+    @Test
+    public void testMissingPluginClassesSkipped() throws IOException {
+        final PluginCache cache = new PluginCache();
+        addEntry(cache, "IndexTest", "Available", PluginIndexTest.class.getName(), false, false);
+        addEntry(cache, "IndexTest", "Missing", "com.example.Missing", false, false);
+        addEntry(cache, "IndexOther", "Other", "com.example.Other", false, false);
+        writeCacheFiles(cache, true);
+        final PluginRegistry registry = PluginRegistry.getInstance();
+        final long bundleId = Long.MIN_VALUE;
+        try (final URLClassLoader loader =
+                new URLClassLoader(new URL[] {folder.toUri().toURL()}, PluginIndexTest.class.getClassLoader())) {
+            final Map<String, List<PluginType<?>>> plugins = registry.loadFromBundle(bundleId, loader);
+            assertTrue(plugins.keySet().containsAll(Arrays.asList("indextest", "indexother")));
+
+            final List<PluginType<?>> types = plugins.get("indextest");
+            assertEquals(1, types.size());
+            assertEquals("available", types.get(0).getKey());
+            assertEquals(PluginIndexTest.class, types.get(0).getPluginClass());
+
+            final PluginManager manager = new PluginManager("IndexTest");
+            manager.collectPlugins();
+            assertNotNull(manager.getPluginType("Available"));
+            assertNull(manager.getPluginType("Missing"));
+            assertEquals(
+                    Collections.singleton("available"), manager.getPlugins().keySet());
+        } finally {
+            registry.clearBundlePlugins(bundleId);
+        }
+    }
+
+    private Path writeCacheFiles(final PluginCache cache, final boolean writeIndex) throws IOException {
+        final Path cacheFile = folder.resolve(PluginProcessor.PLUGIN_CACHE_FILE);
+        Files.createDirectories(cacheFile.getParent());
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        cache.writeCache(content);
+        Files.write(cacheFile, content.toByteArray());
+        if (writeIndex) {
+            try (final OutputStream out = Files.newOutputStream(folder.resolve(PluginProcessor.PLUGIN_INDEX_FILE))) {
+                PluginIndex.write(cache, content.toByteArray(), out);
+            }
+        }
+        return cacheFile;
+    }
+
+    private static void addEntry(
+            final PluginCache cache,
+            final String category,
+            final String name,
+            final String className,
+            final boolean printable,
+            final boolean defer) {
+        final PluginEntry entry = new PluginEntry();
+        entry.setKey(toRootLowerCase(name));
+        entry.setName(name);
+        entry.setClassName(className);
+        entry.setPrintable(printable);
+        entry.setDefer(defer);
+        entry.setCategory(category);
+        cache.getCategory(category).put(entry.getKey(), entry);
+    }
+
+    private static void assertEntriesEqual(
+            final Map<String, PluginEntry> expected, final Map<String, PluginEntry> actual) {
+        assertNotNull(actual);
+        assertEquals(expected.keySet(), actual.keySet());
+        for (final PluginEntry entry : expected.values()) {
+            final PluginEntry other = actual.get(entry.getKey());
+            assertEquals(entry.getKey(), other.getKey());
+            assertEquals(entry.getName(), other.getName());
+            assertEquals(entry.getClassName(), other.getClassName());
+            assertEquals(entry.isPrintable(), other.isPrintable());
+            assertEquals(entry.isDefer(), other.isDefer());
+            assertFalse(other.getCategory().isEmpty());
+        }
+    }
+}
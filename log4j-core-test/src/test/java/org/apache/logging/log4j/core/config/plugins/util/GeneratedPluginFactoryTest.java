@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.plugins.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor;
+import org.apache.logging.log4j.core.test.Compiler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compiles plugins with {@link PluginProcessor} and checks that they are created by the generated factories.
+ */
+public class GeneratedPluginFactoryTest {
+
+    private static final String GREETING = "package example;\n"
+            + "import org.apache.logging.log4j.Level;\n"
+            + "import org.apache.logging.log4j.core.config.plugins.*;\n"
+            + "import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;\n"
+            + "@Plugin(name = \"Greeting\", category = \"Core\", printObject = true)\n"
+            + "public final class Greeting {\n"
+            + "    public final String name;\n"
+            + "    public final int count;\n"
+            + "    public final Level level;\n"
+            + "    private Greeting(String name, int count, Level level) {\n"
+            + "        this.name = name; this.count = count; this.level = level;\n"
+            + "    }\n"
+            + "    @PluginBuilderFactory\n"
+            + "    public static Builder newBuilder() { return new Builder(); }\n"
+            + "    public static final class Builder implements org.apache.logging.log4j.core.util.Builder<Greeting> {\n"
+            + "        @PluginBuilderAttribute @Required(message = \"No name provided\") String name;\n"
+            + "        @PluginBuilderAttribute(\"times\") @PluginAliases(\"repeat\") int count = 1;\n"
+            + "        @PluginBuilderAttribute Level level = Level.INFO;\n"
+            + "        public String getName() { return name; }\n"
+            + "        public Builder setName(String name) { this.name = name; return this; }\n"
+            + "        public Builder setLevel(Level level) { this.level = level; return this; }\n"
+            + "        @Override public Greeting build() { return new Greeting(name, count, level); }\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String FAREWELL = "package example;\n"
+            + "import org.apache.logging.log4j.core.config.plugins.*;\n"
+            + "@Plugin(name = \"Farewell\", category = \"Core\")\n"
+            + "public final class Farewell {\n"
+            + "    public final String text;\n"
+            + "    public final long delay;\n"
+            + "    public final Greeting[] greetings;\n"
+            + "    private Farewell(String text, long delay, Greeting[] greetings) {\n"
+            + "        this.text = text; this.delay = delay; this.greetings = greetings;\n"
+            + "    }\n"
+            + "    @PluginFactory\n"
+            + "    public static Farewell create(\n"
+            + "            @PluginAttribute(value = \"text\", defaultString = \"${sys:farewell.text}\") String text,\n"
+            + "            @PluginAttribute(value = \"delay\", defaultLong = 5L) long delay,\n"
+            + "            @PluginElement(\"Greetings\") Greeting[] greetings) {\n"
+            + "        return new Farewell(text, delay, greetings);\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String PRIVATE_FIELD = "package example;\n"
+            + "import org.apache.logging.log4j.core.config.plugins.*;\n"
+            + "@Plugin(name = \"Shout\", category = \"Core\")\n"
+            + "public final class Shout {\n"
+            + "    public final String text;\n"
+            + "    private Shout(String text) { this.text = text; }\n"
+            + "    @PluginBuilderFactory\n"
+            + "    public static Builder newBuilder() { return new Builder(); }\n"
+            + "    public static final class Builder implements org.apache.logging.log4j.core.util.Builder<Shout> {\n"
+            + "        @PluginBuilderAttribute private String text;\n"
+            + "        public Builder setText(String text) { this.text = text.toUpperCase(); return this; }\n"
+            + "        @Override public Shout build() { return new Shout(text); }\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String CUSTOM_CONSTRAINT = "package example;\n"
+            + "import org.apache.logging.log4j.core.config.plugins.*;\n"
+            + "import org.apache.logging.log4j.core.config.plugins.validation.constraints.ValidPort;\n"
+            + "@Plugin(name = \"Endpoint\", category = \"Core\")\n"
+            + "public final class Endpoint {\n"
+            + "    @PluginFactory\n"
+            + "    public static Endpoint create(@PluginAttribute(\"port\") @ValidPort int port) {\n"
+            + "        return new Endpoint();\n"
+            + "    }\n"
+            + "}\n";
+
+    @TempDir
+    static Path directory;
+
+    private static URLClassLoader classLoader;
+
+    private final Configuration configuration = new DefaultConfiguration();
+
+    @BeforeAll
+    public static void compilePlugins() throws IOException {
+        final Path sources = Files.createDirectories(directory.resolve("src/example"));
+        final Path classes = Files.createDirectories(directory.resolve("classes"));
+        final File greeting = write(sources.resolve("Greeting.java"), GREETING);
+        final File farewell = write(sources.resolve("Farewell.java"), FAREWELL);
+        final File shout = write(sources.resolve("Shout.java"), PRIVATE_FIELD);
+        final File endpoint = write(sources.resolve("Endpoint.java"), CUSTOM_CONSTRAINT);
+        Compiler.compile(
+                Arrays.asList(greeting, farewell, shout, endpoint),
+                "-d",
+                classes.toString(),
+                "-s",
+                sources.toString(),
+                "-cp",
+                System.getProperty("java.class.path"),
+                "-processor",
+                PluginProcessor.class.getName());
+        classLoader = new URLClassLoader(
+                new URL[] {classes.toUri().toURL()}, GeneratedPluginFactoryTest.class.getClassLoader());
+    }
+
+    @AfterAll
+    public static void closeClassLoader() throws IOException {
+        classLoader.close();
+    }
+
+    private static File write(final Path path, final String source) throws IOException {
+        return Files.write(path, source.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+
+    private static PluginType<?> createType(final String className, final String name) throws Exception {
+        final PluginEntry entry = new PluginEntry();
+        entry.setKey(name.toLowerCase());
+        entry.setClassName(className);
+        entry.setName(name);
+        entry.setCategory(Node.CATEGORY);
+        return new PluginType<>(entry, classLoader.loadClass(className), name);
+    }
+
+    private Object build(final Node node) {
+        return new PluginBuilder(node.getType())
+                .withConfiguration(configuration)
+                .withConfigurationNode(node)
+                .build();
+    }
+
+    private static Object field(final Object object, final String name) throws Exception {
+        return object.getClass().getField(name).get(object);
+    }
+
+    @Test
+    public void testBuilderFactoryGenerated() throws Exception {
+        final PluginType<?> type = createType("example.Greeting", "Greeting");
+        assertNotNull(type.getGeneratedFactory());
+
+        final Node node = new Node(null, "Greeting", type);
+        node.getAttributes().put("name", "world");
+        node.getAttributes().put("repeat", "3");
+        node.getAttributes().put("level", "debug");
+        final Object greeting = build(node);
+        assertNotNull(greeting);
+        assertEquals("world", field(greeting, "name"));
+        assertEquals(3, field(greeting, "count"));
+        assertEquals(Level.DEBUG, field(greeting, "level"));
+        assertTrue(node.getAttributes().isEmpty());
+    }
+
+    @Test
+    public void testBuilderDefaultsAndConstraints() throws Exception {
+        final PluginType<?> type = createType("example.Greeting", "Greeting");
+        final Node node = new Node(null, "Greeting", type);
+        assertNull(build(node), "missing required attribute");
+
+        node.getAttributes().put("name", "world");
+        final Object greeting = build(node);
+        assertEquals(1, field(greeting, "count"));
+        assertEquals(Level.INFO, field(greeting, "level"));
+    }
+
+    @Test
+    public void testFactoryMethodGenerated() throws Exception {
+        System.setProperty("farewell.text", "bye");
+        try {
+            final PluginType<?> type = createType("example.Farewell", "Farewell");
+            assertNotNull(type.getGeneratedFactory());
+            final PluginType<?> greetingType = createType("example.Greeting", "Greeting");
+
+            final Node node = new Node(null, "Farewell", type);
+            for (final String name : new String[] {"first", "second"}) {
+                final Node child = new Node(node, "Greeting", greetingType);
+                child.getAttributes().put("name", name);
+                child.setObject(build(child));
+                node.getChildren().add(child);
+            }
+            final Object farewell = build(node);
+            assertNotNull(farewell);
+            assertEquals("bye", field(farewell, "text"));
+            assertEquals(5L, field(farewell, "delay"));
+            final Object[] greetings = (Object[]) field(farewell, "greetings");
+            assertEquals(2, greetings.length);
+            assertEquals("second", field(greetings[1], "name"));
+            assertTrue(node.getChildren().isEmpty());
+        } finally {
+            System.clearProperty("farewell.text");
+        }
+    }
+
+    @Test
+    public void testPrivateBuilderFieldUsesReflection() throws Exception {
+        final PluginType<?> type = createType("example.Shout", "Shout");
+        assertNull(type.getGeneratedFactory());
+        final Node node = new Node(null, "Shout", type);
+        node.getAttributes().put("text", "hello");
+        // the field is assigned directly, the setter is not called
+        assertEquals("hello", field(build(node), "text"));
+    }
+
+    @Test
+    public void testUnsupportedConstraintUsesReflection() throws Exception {
+        final PluginType<?> type = createType("example.Endpoint", "Endpoint");
+        assertNull(type.getGeneratedFactory());
+        final Node node = new Node(null, "Endpoint", type);
+        node.getAttributes().put("port", "8080");
+        assertNotNull(build(node));
+    }
+}
@@ -17,10 +17,19 @@
 package org.apache.logging.log4j.core.filter;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.junit.jupiter.api.Test;
 
 public class CompositeFilterTest {
@@ -45,4 +54,98 @@ public class CompositeFilterTest {
         final CompositeFilter concat2 = singleA.addFilter(singleB.addFilter(singleC));
         assertArrayEquals(expected, concat2.getFiltersArray());
     }
+
+    private static final Marker AUDIT = MarkerManager.getMarker("AUDIT");
+
+    private static LogEvent event(final Level level, final Marker marker) {
+        return Log4jLogEvent.newBuilder() //
+                .setLevel(level) //
+                .setMarker(marker) //
+                .setMessage(new SimpleMessage("Test")) //
+                .build();
+    }
+
+    private static Result sequential(final Filter[] filters, final LogEvent event) {
+        for (final Filter filter : filters) {
+            final Result result = filter.filter(event);
+            if (result == Result.ACCEPT || result == Result.DENY) {
+                return result;
+            }
+        }
+        return Result.NEUTRAL;
+    }
+
+    private static final class CountingFilter extends AbstractFilter {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Result filter(final LogEvent event) {
+            count.incrementAndGet();
+            return Result.NEUTRAL;
+        }
+    }
+
+    @Test
+    public void testLevelFilterShortCircuit() {
+        final CountingFilter counting = new CountingFilter();
+        final CompositeFilter filter = CompositeFilter.createFilters(
+                new Filter[] {ThresholdFilter.createFilter(Level.INFO, Result.NEUTRAL, Result.DENY), counting});
+        assertSame(Result.DENY, filter.filter(event(Level.DEBUG, null)));
+        assertEquals(0, counting.count.get());
+        assertSame(Result.NEUTRAL, filter.filter(event(Level.INFO, null)));
+        assertEquals(1, counting.count.get());
+    }
+
+    @Test
+    public void testStatefulFilterIsNotSkipped() {
+        final CountingFilter counting = new CountingFilter();
+        final CompositeFilter filter = CompositeFilter.createFilters(
+                new Filter[] {counting, ThresholdFilter.createFilter(Level.INFO, Result.NEUTRAL, Result.DENY)});
+        assertSame(Result.DENY, filter.filter(event(Level.DEBUG, null)));
+        assertEquals(1, counting.count.get());
+    }
+
+    @Test
+    public void testSameResultAsSequentialInvocation() throws Exception {
+        final Level custom = Level.forName("COMPOSITE_FILTER_TEST", 450);
+        final Filter[][] stacks = {
+            {
+                MarkerFilter.createFilter("AUDIT", Result.ACCEPT, Result.NEUTRAL),
+                ThresholdFilter.createFilter(Level.INFO, Result.NEUTRAL, Result.DENY)
+            },
+            {
+                RegexFilter.createFilter("Test", null, false, Result.NEUTRAL, Result.DENY),
+                ThresholdFilter.createFilter(Level.WARN, Result.NEUTRAL, Result.DENY),
+                MarkerFilter.createFilter("AUDIT", Result.DENY, Result.NEUTRAL)
+            },
+            {
+                LevelMatchFilter.newBuilder()
+                        .setLevel(Level.ERROR)
+                        .setOnMatch(Result.ACCEPT)
+                        .setOnMismatch(Result.NEUTRAL)
+                        .build(),
+                MarkerFilter.createFilter("AUDIT", Result.NEUTRAL, Result.DENY),
+                LevelRangeFilter.createFilter(Level.ERROR, Level.DEBUG, Result.NEUTRAL, Result.DENY),
+                ThresholdFilter.createFilter(custom, Result.ACCEPT, Result.NEUTRAL)
+            }
+        };
+        final Level[] levels = {
+            Level.OFF, Level.FATAL, Level.ERROR, Level.WARN, Level.INFO, custom, Level.DEBUG, Level.TRACE, Level.ALL
+        };
+        for (final Filter[] stack : stacks) {
+            final CompositeFilter filter = CompositeFilter.createFilters(stack);
+            for (final Level level : levels) {
+                for (final Marker marker : new Marker[] {null, AUDIT}) {
+                    final LogEvent event = event(level, marker);
+                    final Result expected = sequential(stack, event);
+                    assertSame(expected, filter.filter(event), () -> filter + " " + level + " " + marker);
+                    assertSame(
+                            expected,
+                            filter.filter(null, level, marker, new SimpleMessage("Test"), null),
+                            () -> filter + " " + level + " " + marker);
+                }
+            }
+        }
+    }
 }
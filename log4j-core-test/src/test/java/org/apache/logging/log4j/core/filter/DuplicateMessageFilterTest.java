@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+public class DuplicateMessageFilterTest {
+
+    private static final String TEMPLATE = "Repeated {}";
+
+    @Test
+    public void testSuppression() throws Exception {
+        final DuplicateMessageFilter filter = DuplicateMessageFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setWindowMillis(100)
+                .build();
+        final List<LogEvent> summaries = new ArrayList<>();
+        filter.setEventConsumer(summaries::add);
+        filter.start();
+        assertSame(Filter.Result.NEUTRAL, filter.filter(null, Level.INFO, null, TEMPLATE, 0));
+        for (int i = 1; i < 10; i++) {
+            assertSame(Filter.Result.DENY, filter.filter(null, Level.INFO, null, TEMPLATE, i));
+        }
+        assertEquals(9, filter.getSuppressedCount("", TEMPLATE));
+        // other templates and more specific levels are not suppressed
+        assertSame(Filter.Result.NEUTRAL, filter.filter(null, Level.INFO, null, "Other {}", 1));
+        assertSame(Filter.Result.NEUTRAL, filter.filter(null, Level.ERROR, null, TEMPLATE, 1));
+        assertTrue(summaries.isEmpty());
+
+        Thread.sleep(150);
+        // the next repetition opens a new window and logs the summary of the previous one
+        assertSame(Filter.Result.NEUTRAL, filter.filter(null, Level.INFO, null, TEMPLATE, 10));
+        assertEquals(1, summaries.size());
+        assertEquals(
+                "Suppressed 9 occurrences of: Repeated {}",
+                summaries.get(0).getMessage().getFormattedMessage());
+        assertSame(Level.INFO, summaries.get(0).getLevel());
+
+        assertSame(Filter.Result.DENY, filter.filter(null, Level.INFO, null, TEMPLATE, 11));
+        filter.stop();
+        assertEquals(2, summaries.size());
+        assertEquals(
+                "Suppressed 1 occurrences of: Repeated {}",
+                summaries.get(1).getMessage().getFormattedMessage());
+    }
+
+    private static void assertSummarized(final Logger logger, final ListAppender app) {
+        for (int i = 0; i < 20; i++) {
+            logger.info(TEMPLATE, i);
+        }
+        assertEquals(1, app.getEvents().size());
+        Awaitility.waitAtMost(5, TimeUnit.SECONDS).until(() -> app.getEvents().size() >= 2);
+        final List<LogEvent> events = app.getEvents();
+        assertEquals(2, events.size());
+        assertEquals("Repeated 0", events.get(0).getMessage().getFormattedMessage());
+        assertEquals(
+                "Suppressed 19 occurrences of: Repeated {}",
+                events.get(1).getMessage().getFormattedMessage());
+        assertEquals(logger.getName(), events.get(1).getLoggerName());
+    }
+
+    @Test
+    @LoggerContextSource("log4j-duplicate.xml")
+    public void testAppenderLevel(final LoggerContext context, @Named("AppenderLevel") final ListAppender app) {
+        assertSummarized(context.getLogger("appender"), app);
+    }
+
+    @Test
+    @LoggerContextSource("log4j-duplicate.xml")
+    public void testLoggerLevel(final LoggerContext context, @Named("LoggerLevel") final ListAppender app) {
+        assertSummarized(context.getLogger("logger.child"), app);
+    }
+
+    @Test
+    @LoggerContextSource("log4j-duplicate-context.xml")
+    public void testContextLevel(final LoggerContext context, @Named("List") final ListAppender app) {
+        assertSummarized(context.getLogger("context"), app);
+    }
+}
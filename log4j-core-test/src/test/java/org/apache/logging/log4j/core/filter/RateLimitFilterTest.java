@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.test.junit.UsingThreadContextMap;
+import org.junit.jupiter.api.Test;
+
+public class RateLimitFilterTest {
+
+    private static RateLimitFilter.Builder builder() {
+        // a rate low enough for no token to be regained during the test
+        return RateLimitFilter.newBuilder().setLevel(Level.INFO).setRate(0.001f).setMaxBurst(3);
+    }
+
+    @Test
+    public void testMarkerKey() {
+        final RateLimitFilter filter =
+                builder().setKey(RateLimitFilter.Key.MARKER).build();
+        int first = 0;
+        int second = 0;
+        int none = 0;
+        for (int i = 0; i < 10; i++) {
+            if (filter.filter(null, Level.INFO, MarkerManager.getMarker("FIRST"), "Test {}", i)
+                    == Filter.Result.NEUTRAL) {
+                first++;
+            }
+            if (filter.filter(null, Level.DEBUG, MarkerManager.getMarker("SECOND"), "Test {}", i)
+                    == Filter.Result.NEUTRAL) {
+                second++;
+            }
+            if (filter.filter(null, Level.INFO, null, "Test {}", i) == Filter.Result.NEUTRAL) {
+                none++;
+            }
+        }
+        assertEquals(3, first);
+        assertEquals(3, second);
+        assertEquals(10, none);
+        // more specific levels are not limited
+        assertSame(
+                Filter.Result.NEUTRAL,
+                filter.filter(null, Level.ERROR, MarkerManager.getMarker("FIRST"), "Test {}", 1));
+        filter.clear();
+        assertSame(
+                Filter.Result.NEUTRAL, filter.filter(null, Level.INFO, MarkerManager.getMarker("FIRST"), "Test {}", 1));
+    }
+
+    @Test
+    @UsingThreadContextMap
+    public void testContextKey() {
+        assertNull(builder().setKey(RateLimitFilter.Key.CONTEXT).build());
+        final RateLimitFilter filter = builder()
+                .setKey(RateLimitFilter.Key.CONTEXT)
+                .setContextKey("user")
+                .build();
+        int alice = 0;
+        int bob = 0;
+        for (int i = 0; i < 10; i++) {
+            ThreadContext.put("user", "alice");
+            if (filter.filter(null, Level.INFO, null, "Test {}", i) == Filter.Result.NEUTRAL) {
+                alice++;
+            }
+            ThreadContext.put("user", "bob");
+            if (filter.filter(null, Level.INFO, null, "Test {}", i) == Filter.Result.NEUTRAL) {
+                bob++;
+            }
+        }
+        assertEquals(3, alice);
+        assertEquals(3, bob);
+    }
+
+    @Test
+    @LoggerContextSource("log4j-ratelimit.xml")
+    public void testLoggerKey(final LoggerContext context, @Named("List") final ListAppender app) {
+        final RateLimitFilter filter = (RateLimitFilter) app.getFilter();
+        assertNotNull(filter);
+        final Logger first = context.getLogger("org.example.First");
+        final Logger second = context.getLogger("org.example.Second");
+        for (int i = 0; i < 10; i++) {
+            first.info("First {}", i);
+            second.info("Second {}", i);
+            first.error("Error {}", i);
+        }
+        assertEquals(3 + 3 + 10, app.getEvents().size());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+public class SamplingFilterTest {
+
+    @Test
+    public void testNoneAndAll() {
+        final SamplingFilter none =
+                SamplingFilter.newBuilder().setLevel(Level.INFO).setRate(0).build();
+        final SamplingFilter all =
+                SamplingFilter.newBuilder().setLevel(Level.INFO).setRate(1).build();
+        for (int i = 0; i < 1000; i++) {
+            assertSame(Filter.Result.DENY, none.filter(null, Level.INFO, null, "Test {}", i));
+            assertSame(Filter.Result.NEUTRAL, all.filter(null, Level.DEBUG, null, "Test {}", i));
+        }
+        // more specific levels are never sampled
+        assertSame(Filter.Result.NEUTRAL, none.filter(null, Level.WARN, null, "Test", null, null));
+    }
+
+    @Test
+    public void testFraction() {
+        final SamplingFilter filter =
+                SamplingFilter.newBuilder().setLevel(Level.INFO).setRate(0.25f).build();
+        final LogEvent event = Log4jLogEvent.newBuilder() //
+                .setLevel(Level.INFO) //
+                .setMessage(new SimpleMessage("Test")) //
+                .build();
+        int accepted = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.filter(event) == Filter.Result.NEUTRAL) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted > 23_000 && accepted < 27_000, "Unexpected number of accepted events " + accepted);
+    }
+}
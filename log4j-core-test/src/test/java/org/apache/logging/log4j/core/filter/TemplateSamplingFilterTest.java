@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.junit.jupiter.api.Test;
+
+public class TemplateSamplingFilterTest {
+
+    @Test
+    public void testFirstThenEvery() {
+        final TemplateSamplingFilter filter = TemplateSamplingFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setFirst(5)
+                .setEvery(10)
+                .build();
+        int accepted = 0;
+        for (int i = 0; i < 105; i++) {
+            if (filter.filter(null, Level.INFO, null, "Connection to {} failed", i) == Filter.Result.NEUTRAL) {
+                accepted++;
+            }
+        }
+        // 5 first, then events 6, 16, ..., 96
+        assertEquals(15, accepted);
+        // another template has its own count
+        assertSame(Filter.Result.NEUTRAL, filter.filter(null, Level.INFO, null, "Other {}", 1, 2));
+        // more specific levels are not counted
+        assertSame(Filter.Result.NEUTRAL, filter.filter(null, Level.ERROR, null, "Connection to {} failed", 1));
+        filter.clear();
+        assertSame(Filter.Result.NEUTRAL, filter.filter(null, Level.INFO, null, "Connection to {} failed", 1));
+    }
+
+    @Test
+    public void testEventTemplate() {
+        final TemplateSamplingFilter filter = TemplateSamplingFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setFirst(1)
+                .setEvery(1000)
+                .build();
+        final LogEvent first = Log4jLogEvent.newBuilder() //
+                .setLevel(Level.INFO) //
+                .setMessage(new ParameterizedMessage("Value {}", 1)) //
+                .build();
+        final LogEvent second = Log4jLogEvent.newBuilder() //
+                .setLevel(Level.INFO) //
+                .setMessage(new ParameterizedMessage("Value {}", 2)) //
+                .build();
+        assertSame(Filter.Result.NEUTRAL, filter.filter(first));
+        assertSame(Filter.Result.NEUTRAL, filter.filter(second));
+        assertSame(Filter.Result.DENY, filter.filter(first));
+    }
+}
@@ -59,6 +59,10 @@ public class ThreadContextDataInjectorTest {
                 "org.apache.logging.log4j.spi.GarbageFreeSortedArrayThreadContextMap",
                 "org.apache.logging.log4j.spi.GarbageFreeSortedArrayThreadContextMap"
             },
+            {
+                "org.apache.logging.log4j.spi.PersistentThreadContextMap",
+                "org.apache.logging.log4j.spi.PersistentThreadContextMap"
+            },
             {"org.apache.logging.log4j.spi.DefaultThreadContextMap", null}
         });
     }
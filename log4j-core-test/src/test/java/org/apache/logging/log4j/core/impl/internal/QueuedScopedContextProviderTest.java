@@ -54,4 +54,14 @@ class QueuedScopedContextProviderTest extends ScopedContextProviderSuite {
     void testThreadCall() throws Exception {
         testThreadCall(createProvider());
     }
+
+    @Test
+    void testNestedScopes() {
+        testNestedScopes(createProvider());
+    }
+
+    @Test
+    void testWrap() throws Exception {
+        testWrap(createProvider());
+    }
 }
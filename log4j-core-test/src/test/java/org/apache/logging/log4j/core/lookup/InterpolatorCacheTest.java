@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the cache of {@link Interpolator}.
+ */
+public class InterpolatorCacheTest {
+
+    private Interpolator interpolator;
+
+    private CountingLookup counting;
+
+    private StaticLookup staticLookup;
+
+    private TtlLookup ttlLookup;
+
+    @BeforeEach
+    public void setUp() {
+        interpolator = new Interpolator(new PropertiesLookup(Collections.singletonMap("missing", "default")));
+        counting = new CountingLookup();
+        staticLookup = new StaticLookup();
+        ttlLookup = new TtlLookup();
+        interpolator.getStrLookupMap().put("counting", counting);
+        interpolator.getStrLookupMap().put("static", staticLookup);
+        interpolator.getStrLookupMap().put("ttl", ttlLookup);
+    }
+
+    @Test
+    public void testUncachedLookup() {
+        for (int i = 1; i <= 3; i++) {
+            assertEquals("key-" + i, interpolator.lookup("counting:key"));
+        }
+        assertEquals(3, counting.count.get());
+    }
+
+    @Test
+    public void testStaticLookup() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("key-1", interpolator.lookup("static:key"));
+            assertEquals("key-1", interpolator.lookup(null, "static:key"));
+        }
+        assertEquals("other-2", interpolator.lookup("static:other"));
+        assertEquals(2, staticLookup.count.get());
+    }
+
+    @Test
+    public void testNullNotCached() {
+        assertEquals("default", interpolator.lookup("static:missing"));
+        assertEquals("default", interpolator.lookup("static:missing"));
+        assertEquals(2, staticLookup.count.get());
+    }
+
+    @Test
+    public void testTtlLookup() throws InterruptedException {
+        assertEquals("key-1", interpolator.lookup("ttl:key"));
+        assertEquals("key-1", interpolator.lookup("ttl:key"));
+        Thread.sleep(2 * TtlLookup.TTL_MILLIS);
+        assertEquals("key-2", interpolator.lookup("ttl:key"));
+    }
+
+    @Test
+    public void testCacheBounded() {
+        for (int i = 0; i < Interpolator.MAX_CACHE_SIZE; i++) {
+            interpolator.lookup("static:key" + i);
+        }
+        assertEquals("overflow-" + (Interpolator.MAX_CACHE_SIZE + 1), interpolator.lookup("static:overflow"));
+        assertEquals("overflow-" + (Interpolator.MAX_CACHE_SIZE + 2), interpolator.lookup("static:overflow"));
+        // already cached values are kept
+        assertEquals("key0-1", interpolator.lookup("static:key0"));
+    }
+
+    @Test
+    public void testCacheClearedOnReconfiguration() {
+        assertEquals("key-1", interpolator.lookup("static:key"));
+        interpolator.setConfiguration(new DefaultConfiguration());
+        assertEquals("key-2", interpolator.lookup("static:key"));
+    }
+
+    @Test
+    @SetTestProperty(key = Interpolator.RESOLVE_ONCE_LOOKUPS_PROPERTY, value = "other, COUNTING")
+    public void testResolveOnceLookups() {
+        setUp();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("key-1", interpolator.lookup("counting:key"));
+        }
+        assertEquals(1, counting.count.get());
+    }
+
+    @Test
+    @SetTestProperty(key = Interpolator.RESOLVE_ONCE_LOOKUPS_PROPERTY, value = "ctx")
+    public void testEventLookupsNotResolvedOnce() {
+        setUp();
+        assertEquals("one", interpolator.lookup(createEvent("one"), "ctx:key"));
+        assertEquals("two", interpolator.lookup(createEvent("two"), "ctx:key"));
+    }
+
+    @Test
+    @SetTestProperty(key = Interpolator.RESOLVE_ONCE_LOOKUPS_PROPERTY, value = "counting")
+    public void testResolveOnceLookupsNotCachedWithEvent() {
+        setUp();
+        assertEquals("key-1", interpolator.lookup(createEvent("one"), "counting:key"));
+        assertEquals("key-2", interpolator.lookup(createEvent("two"), "counting:key"));
+        assertEquals("key-3", interpolator.lookup("counting:key"));
+        assertEquals("key-3", interpolator.lookup("counting:key"));
+    }
+
+    private static LogEvent createEvent(final String value) {
+        final StringMap contextData = new SortedArrayStringMap();
+        contextData.putValue("key", value);
+        return Log4jLogEvent.newBuilder().setContextData(contextData).build();
+    }
+
+    private static class CountingLookup extends AbstractLookup {
+
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String lookup(final LogEvent event, final String key) {
+            final int value = count.incrementAndGet();
+            return key.startsWith("missing") ? null : key + "-" + value;
+        }
+    }
+
+    @CacheableLookup
+    private static final class StaticLookup extends CountingLookup {}
+
+    @CacheableLookup(ttlMillis = TtlLookup.TTL_MILLIS)
+    private static final class TtlLookup extends CountingLookup {
+
+        static final long TTL_MILLIS = 100;
+    }
+}
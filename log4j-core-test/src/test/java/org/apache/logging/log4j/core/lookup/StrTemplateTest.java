@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class StrTemplateTest {
+
+    private final Map<String, String> properties = new HashMap<>();
+
+    private StrSubstitutor substitutor;
+
+    @BeforeEach
+    public void setUp() {
+        properties.put("animal", "fox");
+        properties.put("target", "dog");
+        properties.put("name", "animal");
+        properties.put("recursive", "${animal} and ${target}");
+        properties.put("cyclic", "${cyclic}");
+        substitutor = new StrSubstitutor(new Interpolator(properties));
+        ThreadContext.put("key", "value");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadContext.clearMap();
+    }
+
+    private static LogEvent createEvent() {
+        final StringMap contextData = new SortedArrayStringMap();
+        contextData.putValue("key", "event value");
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName("StrTemplateTest")
+                .setMessage(new SimpleMessage("Hello"))
+                .setContextData(contextData)
+                .build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "",
+                "plain text",
+                "${animal}",
+                "The ${animal} jumped over the ${target}.",
+                "${animal}${target}",
+                "$${animal}",
+                "$$${animal}",
+                "The variable $${${name}} must be used.",
+                "${missing}",
+                "${missing:-default}",
+                "${missing:-}",
+                "${missing:-${animal}}",
+                "${${name}}",
+                "${${missing}:-x}",
+                "${recursive}",
+                "${cyclic}",
+                "${unterminated",
+                "${animal} ${unterminated",
+                "${ctx:key}-${ctx:missing:-none}",
+                "${lower:${animal}}",
+                "${upper:fox}",
+                "${java:version}",
+                "${unknown:animal}",
+                "${env:LOG4J_STR_TEMPLATE_TEST_MISSING:-env}",
+                "${main:\\--file:-default}",
+                "}${"
+            })
+    public void testSameResultAsReplace(final String source) {
+        final StrTemplate template = substitutor.compile(source);
+        assertEquals(source, template.getSource());
+        final LogEvent event = createEvent();
+        assertEquals(substitutor.replace(source), template.evaluate(null));
+        assertEquals(substitutor.replace(event, source), template.evaluate(event));
+        // a second time, after the values have been cached
+        assertEquals(substitutor.replace(event, source), template.evaluate(event));
+        final StringBuilder buf = new StringBuilder("prefix:");
+        template.appendTo(event, buf);
+        assertEquals("prefix:" + substitutor.replace(event, source), buf.toString());
+    }
+
+    @Test
+    public void testNullSource() {
+        assertNull(substitutor.compile(null));
+    }
+
+    @Test
+    public void testConstant() {
+        assertTrue(substitutor.compile("plain text").isConstant());
+        assertTrue(substitutor.compile("$${animal}").isConstant());
+        assertFalse(substitutor.compile("${animal}").isConstant());
+    }
+
+    @Test
+    public void testMutableValuesNotCached() {
+        final StrTemplate template = substitutor.compile("${animal}/${ctx:key}");
+        assertEquals("fox/value", template.evaluate(null));
+        properties.put("animal", "cat");
+        ThreadContext.put("key", "other");
+        assertEquals("cat/other", template.evaluate(null));
+    }
+
+    @Test
+    public void testCachedValuesClearedOnReconfiguration() {
+        final Interpolator interpolator = (Interpolator) substitutor.getVariableResolver();
+        interpolator.getStrLookupMap().put("static", new StaticLookup());
+        final StrTemplate template = substitutor.compile("${static:key}");
+        assertEquals("key-1", template.evaluate(null));
+        assertEquals("key-1", template.evaluate(null));
+        interpolator.setConfiguration(new DefaultConfiguration());
+        assertEquals("key-2", template.evaluate(null));
+    }
+
+    @Test
+    public void testVariableResolverChanged() {
+        final StrTemplate template = substitutor.compile("${animal}");
+        assertEquals("fox", template.evaluate(null));
+        final Map<String, String> other = new HashMap<>();
+        other.put("animal", "cat");
+        substitutor.setVariableResolver(new Interpolator(other));
+        assertEquals("cat", template.evaluate(null));
+    }
+
+    @Test
+    public void testCustomSubstitutor() {
+        final StrSubstitutor custom = new StrSubstitutor(new Interpolator(properties)) {
+            @Override
+            protected LookupResult resolveVariable(
+                    final LogEvent event,
+                    final String variableName,
+                    final StringBuilder buf,
+                    final int startPos,
+                    final int endPos) {
+                return new DefaultLookupResult(variableName.toUpperCase());
+            }
+        };
+        assertEquals("The ANIMAL", custom.compile("The ${animal}").evaluate(null));
+    }
+
+    @CacheableLookup
+    private static final class StaticLookup extends AbstractLookup {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String lookup(final LogEvent event, final String key) {
+            return key + "-" + count.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class DigestBufferTest {
+
+    private static void add(final DigestBuffer buffer, final String event) {
+        buffer.add(event.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String drain(final DigestBuffer buffer) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffer.drainTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testDrainInOrder() throws IOException {
+        final DigestBuffer buffer = new DigestBuffer(64, 10);
+        add(buffer, "one;");
+        add(buffer, "two;");
+        add(buffer, "three;");
+        assertEquals(3, buffer.size());
+        assertEquals("one;two;three;", drain(buffer));
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testDropsOldestWhenMaxEventsReached() throws IOException {
+        final DigestBuffer buffer = new DigestBuffer(64, 2);
+        add(buffer, "one;");
+        add(buffer, "two;");
+        add(buffer, "three;");
+        assertEquals("two;three;", drain(buffer));
+        assertEquals(1, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testDropsOldestWhenCapacityReached() throws IOException {
+        final DigestBuffer buffer = new DigestBuffer(10, 10);
+        add(buffer, "aaaa");
+        add(buffer, "bbbb");
+        add(buffer, "cccc");
+        assertEquals("bbbbcccc", drain(buffer));
+        assertEquals(1, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testWrapsAround() throws IOException {
+        final DigestBuffer buffer = new DigestBuffer(10, 10);
+        add(buffer, "aaaa");
+        add(buffer, "bbbb");
+        // Wraps past the end of the backing array
+        add(buffer, "cccccc");
+        add(buffer, "dd");
+        assertEquals("ccccccdd", drain(buffer));
+        add(buffer, "eeeeeeee");
+        assertEquals("eeeeeeee", drain(buffer));
+        assertEquals(2, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testTruncatesEventLargerThanCapacity() throws IOException {
+        final DigestBuffer buffer = new DigestBuffer(4, 10);
+        add(buffer, "aa");
+        add(buffer, "0123456789");
+        assertEquals("0123", drain(buffer));
+        assertEquals(1, buffer.getDroppedCount());
+    }
+}
@@ -17,11 +17,14 @@
 package org.apache.logging.log4j.core.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -171,4 +174,72 @@ public class CronExpressionTest {
         final Date expected = new GregorianCalendar(2015, 10, 1, 0, 0, 0).getTime();
         assertEquals(expected, fireDate, "Dates not equal.");
     }
+
+    @Test
+    public void testNoNextFireTime() throws Exception {
+        final CronExpression parser = new CronExpression("0 0 0 30 2 ? *");
+        assertNull(parser.getNextValidTimeAfter(new GregorianCalendar(2015, 10, 2).getTime()));
+    }
+
+    @Test
+    public void testDaylightSavingTime() throws Exception {
+        final CronExpression parser = new CronExpression("0 30 2 * * ?");
+        parser.setTimeZone(TimeZone.getTimeZone("Europe/Paris"));
+        final GregorianCalendar cal = new GregorianCalendar(parser.getTimeZone());
+        cal.clear();
+        cal.set(2024, Calendar.MARCH, 30, 12, 0, 0);
+        final Date fireDate = parser.getNextValidTimeAfter(cal.getTime());
+        // 2:30 does not exist on the 31st
+        cal.set(2024, Calendar.APRIL, 1, 2, 30, 0);
+        assertEquals(cal.getTime(), fireDate);
+    }
+
+    /**
+     * The next fire times computed with bit masks must be those of the Calendar based search.
+     */
+    @Test
+    public void testSameAsCalendarSearch() throws Exception {
+        final String[] expressions = {
+            "0 0 0 * * ?",
+            "0 0/5 * * * ?",
+            "*/7 * * * * ?",
+            "0 */15,12 7-11,13-17 * * ?",
+            "0 */15,12 7-11,13-17 ? * MON-FRI",
+            "0 30 2 * * ?",
+            "0 0 1-3 ? * SUN",
+            "0 0 12 29 2 ?",
+            "0 0 12 31 * ?",
+            "0 15 10 ? * 6#3",
+            "0 15 10 L * ?",
+            "0 15 10 L-2 * ?",
+            "0 15 10 15W * ?",
+            "0 15 10 LW * ?",
+            "0 15 10 ? * 6L",
+            "0 0 22-2 ? * FRI-MON",
+            "0 0 0 1 NOV-FEB ?",
+            "15 10 8 ? JAN,JUL 2,4 2030-2035"
+        };
+        final String[] timeZones = {"UTC", "Europe/Paris", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata"};
+        final Random random = new Random(42);
+        final long start = new GregorianCalendar(2000, 0, 1).getTimeInMillis();
+        final long end = new GregorianCalendar(2040, 0, 1).getTimeInMillis();
+        for (final String expression : expressions) {
+            for (final String timeZone : timeZones) {
+                final CronExpression parser = new CronExpression(expression);
+                parser.setTimeZone(TimeZone.getTimeZone(timeZone));
+                for (int i = 0; i < 200; i++) {
+                    Date date = new Date(start + (long) (random.nextDouble() * (end - start)));
+                    // follow a few successive fire times, as a scheduler does
+                    for (int j = 0; j < 5 && date != null; j++) {
+                        final Date expected = parser.getTimeAfterWithCalendar(date);
+                        assertEquals(
+                                expected,
+                                parser.getNextValidTimeAfter(date),
+                                expression + " in " + timeZone + " after " + date.getTime());
+                        date = expected;
+                    }
+                }
+            }
+        }
+    }
 }
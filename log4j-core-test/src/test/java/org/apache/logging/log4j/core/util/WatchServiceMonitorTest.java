@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that a {@link WatchManager} is notified through the {@link WatchServiceMonitor}, well before its polling
+ * interval.
+ */
+@DisabledOnOs(OS.MAC)
+@SetTestProperty(key = WatchServiceMonitor.ENABLE_WATCH_SERVICE_PROPERTY, value = "true")
+public class WatchServiceMonitorTest {
+
+    private static final int INTERVAL_SECONDS = 60;
+
+    @TempDir
+    Path directory;
+
+    private ConfigurationScheduler scheduler;
+
+    private WatchManager watchManager;
+
+    private final BlockingQueue<File> queue = new LinkedBlockingQueue<>();
+
+    private File file;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        file = directory.resolve("log4j2.xml").toFile();
+        Files.write(file.toPath(), "<Configuration/>".getBytes(StandardCharsets.UTF_8));
+        scheduler = new ConfigurationScheduler();
+        scheduler.incrementScheduledItems();
+        watchManager = new WatchManager(scheduler);
+        watchManager.setIntervalSeconds(INTERVAL_SECONDS);
+        watchManager.watchFile(file, queue::add);
+        scheduler.start();
+        watchManager.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        watchManager.stop();
+        scheduler.stop();
+    }
+
+    private void modify() throws Exception {
+        Files.write(file.toPath(), "<Configuration status='debug'/>".getBytes(StandardCharsets.UTF_8));
+        // make sure the modification time changes, even on file systems with a coarse resolution
+        assertTrue(file.setLastModified(file.lastModified() + 10_000));
+    }
+
+    @Test
+    public void testChangeDetected() throws Exception {
+        final WatchServiceMonitor monitor = WatchServiceMonitor.getInstance();
+        assertNotNull(monitor);
+        assertTrue(monitor.getDirectories().contains(directory.toAbsolutePath()));
+
+        modify();
+        assertNotNull(queue.poll(INTERVAL_SECONDS / 4, TimeUnit.SECONDS), "File change not detected");
+    }
+
+    @Test
+    public void testChangesDebounced() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            modify();
+        }
+        assertNotNull(queue.poll(INTERVAL_SECONDS / 4, TimeUnit.SECONDS), "File change not detected");
+        Thread.sleep(10 * WatchServiceMonitor.DEFAULT_DEBOUNCE_MILLIS);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testOtherFileIgnored() throws Exception {
+        Files.write(directory.resolve("other.txt"), new byte[] {1});
+        Thread.sleep(10 * WatchServiceMonitor.DEFAULT_DEBOUNCE_MILLIS);
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testUnregisteredOnStop() {
+        watchManager.stop();
+        assertFalse(WatchServiceMonitor.getInstance().getDirectories().contains(directory.toAbsolutePath()));
+    }
+}
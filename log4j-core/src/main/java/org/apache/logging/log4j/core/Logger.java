@@ -28,6 +28,7 @@ import java.util.Map;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogBuilder;
 import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LocationAwareReliabilityStrategy;
 import org.apache.logging.log4j.core.config.LoggerConfig;
@@ -71,6 +72,17 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
      */
     protected volatile PrivateConfig privateConfig;
 
+    /**
+     * The most specific level enabled by {@link #privateConfig}, if the configuration has no global filter, or
+     * {@link Integer#MAX_VALUE} otherwise.
+     * <p>
+     *     Allows {@code isEnabled} to reject disabled levels with a single volatile read.
+     *     Only an {@link AbstractConfiguration} updates its loggers when global filters are added or removed,
+     *     hence the fast path is disabled for other configurations.
+     * </p>
+     */
+    private volatile int fastPathIntLevel;
+
     // FIXME: ditto to the above
     private final LoggerContext context;
 
@@ -108,7 +120,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final FlowMessageFactory flowMessageFactory) {
         super(name, getEffectiveMessageFactory(messageFactory), getEffectiveFlowMessageFactory(flowMessageFactory));
         this.context = requireNonNull(context, "context");
-        this.privateConfig = new PrivateConfig(context.getConfiguration(), this);
+        setPrivateConfig(new PrivateConfig(context.getConfiguration(), this));
     }
 
     private static MessageFactory getEffectiveMessageFactory(final MessageFactory messageFactory) {
@@ -199,7 +211,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final Logger parent = getParent();
             actualLevel = parent != null ? parent.getLevel() : privateConfig.loggerConfigLevel;
         }
-        privateConfig = new PrivateConfig(privateConfig, actualLevel);
+        setPrivateConfig(new PrivateConfig(privateConfig, actualLevel));
     }
 
     /*
@@ -245,28 +257,28 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
 
     @Override
     public boolean isEnabled(final Level level, final Marker marker, final String message, final Throwable t) {
-        return privateConfig.filter(level, marker, message, t);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, t);
     }
 
     @Override
     public boolean isEnabled(final Level level, final Marker marker, final String message) {
-        return privateConfig.filter(level, marker, message);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message);
     }
 
     @Override
     public boolean isEnabled(final Level level, final Marker marker, final String message, final Object... params) {
-        return privateConfig.filter(level, marker, message, params);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, params);
     }
 
     @Override
     public boolean isEnabled(final Level level, final Marker marker, final String message, final Object p0) {
-        return privateConfig.filter(level, marker, message, p0);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, p0);
     }
 
     @Override
     public boolean isEnabled(
             final Level level, final Marker marker, final String message, final Object p0, final Object p1) {
-        return privateConfig.filter(level, marker, message, p0, p1);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, p0, p1);
     }
 
     @Override
@@ -277,7 +289,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final Object p0,
             final Object p1,
             final Object p2) {
-        return privateConfig.filter(level, marker, message, p0, p1, p2);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, p0, p1, p2);
     }
 
     @Override
@@ -289,7 +301,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final Object p1,
             final Object p2,
             final Object p3) {
-        return privateConfig.filter(level, marker, message, p0, p1, p2, p3);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, p0, p1, p2, p3);
     }
 
     @Override
@@ -302,7 +314,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final Object p2,
             final Object p3,
             final Object p4) {
-        return privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4);
     }
 
     @Override
@@ -316,7 +328,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final Object p3,
             final Object p4,
             final Object p5) {
-        return privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5);
     }
 
     @Override
@@ -331,7 +343,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final Object p4,
             final Object p5,
             final Object p6) {
-        return privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5, p6);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5, p6);
     }
 
     @Override
@@ -347,7 +359,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final Object p5,
             final Object p6,
             final Object p7) {
-        return privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7);
     }
 
     @Override
@@ -364,7 +376,7 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final Object p6,
             final Object p7,
             final Object p8) {
-        return privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8);
     }
 
     @Override
@@ -382,22 +394,23 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             final Object p7,
             final Object p8,
             final Object p9) {
-        return privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
+        return mayBeEnabled(level)
+                && privateConfig.filter(level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
     }
 
     @Override
     public boolean isEnabled(final Level level, final Marker marker, final CharSequence message, final Throwable t) {
-        return privateConfig.filter(level, marker, message, t);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, t);
     }
 
     @Override
     public boolean isEnabled(final Level level, final Marker marker, final Object message, final Throwable t) {
-        return privateConfig.filter(level, marker, message, t);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, t);
     }
 
     @Override
     public boolean isEnabled(final Level level, final Marker marker, final Message message, final Throwable t) {
-        return privateConfig.filter(level, marker, message, t);
+        return mayBeEnabled(level) && privateConfig.filter(level, marker, message, t);
     }
 
     /**
@@ -528,7 +541,23 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
      *            The new Configuration.
      */
     protected void updateConfiguration(final Configuration newConfig) {
-        this.privateConfig = new PrivateConfig(newConfig, this);
+        setPrivateConfig(new PrivateConfig(newConfig, this));
+    }
+
+    private void setPrivateConfig(final PrivateConfig config) {
+        // Disables the fast path first, so that no thread pairs the new configuration with the old threshold
+        this.fastPathIntLevel = Integer.MAX_VALUE;
+        this.privateConfig = config;
+        this.fastPathIntLevel = config.hasFilter() || !(config.config instanceof AbstractConfiguration)
+                ? Integer.MAX_VALUE
+                : config.intLevel;
+    }
+
+    /**
+     * Returns {@code false} if the level is disabled and no global filter can override this decision.
+     */
+    private boolean mayBeEnabled(final Level level) {
+        return level == null || level.intLevel() <= fastPathIntLevel;
     }
 
     /**
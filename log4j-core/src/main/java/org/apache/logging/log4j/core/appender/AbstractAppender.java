@@ -264,6 +264,24 @@ public abstract class AbstractAppender extends AbstractFilterable implements App
         handler.error(msg, t);
     }
 
+    /**
+     * Appends an event created by one of the filters of this appender, unless the appender is stopped.
+     *
+     * @param event The event created by the filter.
+     * @since 2.24.0
+     */
+    @Override
+    protected void logFilterEvent(final LogEvent event) {
+        if (isStopped()) {
+            return;
+        }
+        try {
+            append(event);
+        } catch (final RuntimeException e) {
+            error("An exception occurred appending a filter event", event, e);
+        }
+    }
+
     /**
      * Returns the ErrorHandler, if any.
      *
@@ -18,12 +18,16 @@ package org.apache.logging.log4j.core.appender;
 
 import java.io.Serializable;
 import java.util.ServiceLoader;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LoggingException;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
 import org.apache.logging.log4j.core.config.DefaultConfiguration;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
@@ -66,24 +70,43 @@ import org.apache.logging.log4j.util.Strings;
  * By default, an email message will be sent when an ERROR or higher severity
  * message is appended. This can be modified by setting a filter for the
  * appender.
+ *
+ * <p>
+ * In digest mode the buffered events are formatted when they are buffered and
+ * kept in a buffer of at most <b>DigestBufferSize</b> bytes. The triggering
+ * events received within <b>DigestWindowMillis</b> are sent in a single
+ * message and at most <b>MaxEmailsPerMinute</b> messages are sent per minute.
+ * </p>
  */
 @Plugin(name = "SMTP", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
 public final class SmtpAppender extends AbstractAppender {
 
     private static final int DEFAULT_BUFFER_SIZE = 512;
 
+    private static final int DEFAULT_DIGEST_BUFFER_SIZE = 256 * 1024;
+
     /** The SMTP Manager */
     private final MailManager manager;
 
+    private final ConfigurationScheduler scheduler;
+
+    private final long digestWindowMillis;
+
+    private ScheduledFuture<?> digestFuture;
+
     private SmtpAppender(
             final String name,
             final Filter filter,
             final Layout<? extends Serializable> layout,
             final MailManager manager,
             final boolean ignoreExceptions,
-            final Property[] properties) {
+            final Property[] properties,
+            final ConfigurationScheduler scheduler,
+            final long digestWindowMillis) {
         super(name, filter, layout, ignoreExceptions, properties);
         this.manager = manager;
+        this.scheduler = scheduler;
+        this.digestWindowMillis = digestWindowMillis;
     }
 
     public MailManager getManager() {
@@ -138,6 +161,18 @@ public final class SmtpAppender extends AbstractAppender {
         @PluginElement("SSL")
         private SslConfiguration sslConfiguration;
 
+        @PluginBuilderAttribute
+        private boolean digest;
+
+        @PluginBuilderAttribute
+        private int digestBufferSize = DEFAULT_DIGEST_BUFFER_SIZE;
+
+        @PluginBuilderAttribute
+        private long digestWindowMillis;
+
+        @PluginBuilderAttribute
+        private int maxEmailsPerMinute;
+
         /**
          * Comma-separated list of recipient email addresses.
          */
@@ -251,6 +286,45 @@ public final class SmtpAppender extends AbstractAppender {
             return this;
         }
 
+        /**
+         * Formats buffered events when they are buffered and coalesces triggering events into digest messages.
+         * Disabled by default.
+         * @since 2.24.0
+         */
+        public Builder setDigest(final boolean digest) {
+            this.digest = digest;
+            return this;
+        }
+
+        /**
+         * Maximum number of bytes of formatted events kept in digest mode. Defaults to
+         * {@value #DEFAULT_DIGEST_BUFFER_SIZE}.
+         * @since 2.24.0
+         */
+        public Builder setDigestBufferSize(final int digestBufferSize) {
+            this.digestBufferSize = digestBufferSize;
+            return this;
+        }
+
+        /**
+         * Time window in milliseconds in which triggering events are sent in a single message. Defaults to 0, which
+         * sends a message for each triggering event.
+         * @since 2.24.0
+         */
+        public Builder setDigestWindowMillis(final long digestWindowMillis) {
+            this.digestWindowMillis = digestWindowMillis;
+            return this;
+        }
+
+        /**
+         * Maximum number of messages sent per minute in digest mode. Defaults to 0, which means no limit.
+         * @since 2.24.0
+         */
+        public Builder setMaxEmailsPerMinute(final int maxEmailsPerMinute) {
+            this.maxEmailsPerMinute = maxEmailsPerMinute;
+            return this;
+        }
+
         /**
          * Specifies the layout used for the email message body. By default, this uses the
          * {@linkplain HtmlLayout#createDefaultLayout() default HTML layout}.
@@ -300,7 +374,11 @@ public final class SmtpAppender extends AbstractAppender {
                     smtpDebug,
                     bufferSize,
                     sslConfiguration,
-                    getFilter().toString());
+                    getFilter().toString(),
+                    digest,
+                    digestBufferSize,
+                    digestWindowMillis,
+                    maxEmailsPerMinute);
             final MailManagerFactory factory = ServiceLoaderUtil.safeStream(
                             MailManagerFactory.class,
                             ServiceLoader.load(
@@ -313,9 +391,21 @@ public final class SmtpAppender extends AbstractAppender {
                 LOGGER.error("Unabled to instantiate SmtpAppender named {}", getName());
                 return null;
             }
+            ConfigurationScheduler scheduler = null;
+            if (digest && digestWindowMillis > 0 && getConfiguration() != null) {
+                scheduler = getConfiguration().getScheduler();
+                scheduler.incrementScheduledItems();
+            }
 
             return new SmtpAppender(
-                    getName(), getFilter(), getLayout(), smtpManager, isIgnoreExceptions(), getPropertyArray());
+                    getName(),
+                    getFilter(),
+                    getLayout(),
+                    smtpManager,
+                    isIgnoreExceptions(),
+                    getPropertyArray(),
+                    scheduler,
+                    digestWindowMillis);
         }
     }
 
@@ -367,6 +457,37 @@ public final class SmtpAppender extends AbstractAppender {
                 .build();
     }
 
+    @Override
+    public void start() {
+        if (scheduler != null && manager instanceof SmtpManager) {
+            final SmtpManager smtpManager = (SmtpManager) manager;
+            digestFuture = scheduler.scheduleWithFixedDelay(
+                    () -> {
+                        try {
+                            smtpManager.sendDigest();
+                        } catch (final LoggingException e) {
+                            // already reported by the manager
+                        }
+                    },
+                    digestWindowMillis,
+                    digestWindowMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        super.start();
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        if (digestFuture != null) {
+            digestFuture.cancel(false);
+        }
+        boolean stopped = super.stop(timeout, timeUnit, false);
+        stopped &= manager.stop(timeout, timeUnit);
+        setStopped();
+        return stopped;
+    }
+
     /**
      * Capture all events in CyclicBuffer.
      * @param event The Log event.
@@ -376,7 +497,7 @@ public final class SmtpAppender extends AbstractAppender {
     public boolean isFiltered(final LogEvent event) {
         final boolean filtered = super.isFiltered(event);
         if (filtered) {
-            manager.add(event);
+            manager.add(getLayout(), event);
         }
         return filtered;
     }
@@ -19,16 +19,21 @@ package org.apache.logging.log4j.core.appender.mom.jeromq;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.appender.mom.jeromq.JeroMqManager.BatchMode;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
 import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
 import org.apache.logging.log4j.core.config.plugins.PluginElement;
 import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
@@ -40,6 +45,12 @@ import org.apache.logging.log4j.util.Strings;
  * <p>
  * Requires the JeroMQ jar (LGPL as of 0.3.5)
  * </p>
+ * <p>
+ * If {@code batchSize} is greater than one, events are encoded into a reusable buffer and published together, either
+ * as the frames of a multipart message or as a single frame of length-prefixed events. A batch is published when it
+ * holds {@code batchSize} events or {@code batchBufferSize} bytes, at the end of an asynchronous batch, or at the
+ * latest every {@code batchLingerMillis} milliseconds. The buffer never grows beyond {@code batchBufferSize} bytes.
+ * </p>
  */
 // TODO
 // Some methods are synchronized because a ZMQ.Socket is not thread-safe
@@ -56,8 +67,13 @@ public final class JeroMqAppender extends AbstractAppender {
 
     private static final int DEFAULT_SND_HWM = 1000;
 
+    private static final int DEFAULT_BATCH_LINGER_MILLIS = 100;
+
     private final JeroMqManager manager;
     private final List<String> endpoints;
+    private final long batchLingerMillis;
+    private final ConfigurationScheduler scheduler;
+    private ScheduledFuture<?> lingerFuture;
     private int sendRcFalse;
     private int sendRcTrue;
 
@@ -87,7 +103,12 @@ public final class JeroMqAppender extends AbstractAppender {
             final long tcpKeepAliveIdle,
             final long tcpKeepAliveInterval,
             final boolean xpubVerbose,
-            final Property[] properties) {
+            final Property[] properties,
+            final BatchMode batchMode,
+            final int batchSize,
+            final int batchBufferSize,
+            final long batchLingerMillis,
+            final ConfigurationScheduler scheduler) {
         super(name, filter, layout, ignoreExceptions, properties);
         this.manager = JeroMqManager.getJeroMqManager(
                 name,
@@ -111,8 +132,76 @@ public final class JeroMqAppender extends AbstractAppender {
                 tcpKeepAliveIdle,
                 tcpKeepAliveInterval,
                 xpubVerbose,
-                endpoints);
+                endpoints,
+                batchMode,
+                batchSize,
+                batchBufferSize);
         this.endpoints = endpoints;
+        this.batchLingerMillis = batchLingerMillis;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @deprecated Use the factory method with batching parameters.
+     */
+    @Deprecated
+    public static JeroMqAppender createAppender(
+            final String name,
+            final Layout<?> layout,
+            final Filter filter,
+            final Property[] properties,
+            final boolean ignoreExceptions,
+            final long affinity,
+            final long backlog,
+            final boolean delayAttachOnConnect,
+            final byte[] identity,
+            final boolean ipv4Only,
+            final long linger,
+            final long maxMsgSize,
+            final long rcvHwm,
+            final long receiveBufferSize,
+            final int receiveTimeOut,
+            final long reconnectIVL,
+            final long reconnectIVLMax,
+            final long sendBufferSize,
+            final int sendTimeOut,
+            final long sndHwm,
+            final int tcpKeepAlive,
+            final long tcpKeepAliveCount,
+            final long tcpKeepAliveIdle,
+            final long tcpKeepAliveInterval,
+            final boolean xpubVerbose) {
+        return createAppender(
+                name,
+                layout,
+                filter,
+                properties,
+                ignoreExceptions,
+                affinity,
+                backlog,
+                delayAttachOnConnect,
+                identity,
+                ipv4Only,
+                linger,
+                maxMsgSize,
+                rcvHwm,
+                receiveBufferSize,
+                receiveTimeOut,
+                reconnectIVL,
+                reconnectIVLMax,
+                sendBufferSize,
+                sendTimeOut,
+                sndHwm,
+                tcpKeepAlive,
+                tcpKeepAliveCount,
+                tcpKeepAliveIdle,
+                tcpKeepAliveInterval,
+                xpubVerbose,
+                BatchMode.MULTIPART,
+                0,
+                JeroMqManager.DEFAULT_BATCH_BUFFER_SIZE,
+                DEFAULT_BATCH_LINGER_MILLIS,
+                null);
     }
 
     // The ZMQ.Socket class has other set methods that we do not cover because
@@ -146,7 +235,15 @@ public final class JeroMqAppender extends AbstractAppender {
             @PluginAttribute(value = "tcpKeepAliveCount", defaultLong = -1) final long tcpKeepAliveCount,
             @PluginAttribute(value = "tcpKeepAliveIdle", defaultLong = -1) final long tcpKeepAliveIdle,
             @PluginAttribute(value = "tcpKeepAliveInterval", defaultLong = -1) final long tcpKeepAliveInterval,
-            @PluginAttribute(value = "xpubVerbose") final boolean xpubVerbose
+            @PluginAttribute(value = "xpubVerbose") final boolean xpubVerbose,
+            // Batching attributes
+            @PluginAttribute(value = "batchMode", defaultString = "MULTIPART") final BatchMode batchMode,
+            @PluginAttribute(value = "batchSize", defaultInt = 0) final int batchSize,
+            @PluginAttribute(value = "batchBufferSize", defaultInt = JeroMqManager.DEFAULT_BATCH_BUFFER_SIZE)
+                    final int batchBufferSize,
+            @PluginAttribute(value = "batchLingerMillis", defaultLong = DEFAULT_BATCH_LINGER_MILLIS)
+                    final long batchLingerMillis,
+            @PluginConfiguration final Configuration configuration
             // @formatter:on
             ) {
         if (layout == null) {
@@ -173,6 +270,11 @@ public final class JeroMqAppender extends AbstractAppender {
                 layout,
                 ignoreExceptions,
                 endpoints);
+        ConfigurationScheduler scheduler = null;
+        if (batchSize > 1 && batchLingerMillis > 0 && configuration != null) {
+            scheduler = configuration.getScheduler();
+            scheduler.incrementScheduledItems();
+        }
         return new JeroMqAppender(
                 name,
                 filter,
@@ -199,14 +301,36 @@ public final class JeroMqAppender extends AbstractAppender {
                 tcpKeepAliveIdle,
                 tcpKeepAliveInterval,
                 xpubVerbose,
-                null);
+                null,
+                batchMode,
+                batchSize,
+                batchBufferSize,
+                batchLingerMillis,
+                scheduler);
+    }
+
+    @Override
+    public void start() {
+        if (scheduler != null) {
+            lingerFuture = scheduler.scheduleWithFixedDelay(
+                    manager::flush, batchLingerMillis, batchLingerMillis, TimeUnit.MILLISECONDS);
+        }
+        super.start();
     }
 
     @Override
     public synchronized void append(final LogEvent event) {
         final Layout<? extends Serializable> layout = getLayout();
+        if (manager.isBatching()) {
+            // published events are counted by the manager, when the batch is actually sent
+            if (!manager.send(layout, event, event.isEndOfBatch())) {
+                sendRcFalse++;
+                LOGGER.error("Appender {} could not send batch {} to JeroMQ", getName(), sendRcFalse);
+            }
+            return;
+        }
         final byte[] formattedMessage = layout.toByteArray(event);
-        if (manager.send(getLayout().toByteArray(event))) {
+        if (manager.send(formattedMessage)) {
             sendRcTrue++;
         } else {
             sendRcFalse++;
@@ -218,6 +342,9 @@ public final class JeroMqAppender extends AbstractAppender {
     @Override
     public boolean stop(final long timeout, final TimeUnit timeUnit) {
         setStopping();
+        if (lingerFuture != null) {
+            lingerFuture.cancel(false);
+        }
         boolean stopped = super.stop(timeout, timeUnit, false);
         stopped &= manager.stop(timeout, timeUnit);
         setStopped();
@@ -231,12 +358,13 @@ public final class JeroMqAppender extends AbstractAppender {
 
     // not public, handy for testing
     int getSendRcTrue() {
-        return sendRcTrue;
+        return sendRcTrue + manager.getPublishedEventCount();
     }
 
     // not public, handy for testing
     void resetSendRcs() {
         sendRcTrue = sendRcFalse = 0;
+        manager.resetPublishedEventCount();
     }
 
     // not public, handy for testing
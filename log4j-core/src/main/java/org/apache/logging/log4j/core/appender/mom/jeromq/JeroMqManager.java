@@ -16,14 +16,20 @@
  */
 package org.apache.logging.log4j.core.appender.mom.jeromq;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AbstractManager;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
+import org.apache.logging.log4j.core.layout.Encoder;
 import org.apache.logging.log4j.core.util.Cancellable;
 import org.apache.logging.log4j.core.util.ShutdownCallbackRegistry;
 import org.apache.logging.log4j.util.PropertiesUtil;
@@ -52,6 +58,19 @@ public class JeroMqManager extends AbstractManager {
      */
     public static final String SYS_PROPERTY_IO_THREADS = "log4j.jeromq.ioThreads";
 
+    /**
+     * Default initial capacity in bytes of the reusable batch buffer.
+     */
+    public static final int DEFAULT_BATCH_BUFFER_SIZE = 64 * 1024;
+
+    private static final String INPROC_PREFIX = "inproc://";
+
+    private static final int INITIAL_UNBATCHED_BUFFER_SIZE = 256;
+
+    private static final int LENGTH_PREFIX_BYTES = Integer.BYTES;
+
+    private static final byte[] EMPTY_FRAME = new byte[0];
+
     private static final JeroMqManagerFactory FACTORY = new JeroMqManagerFactory();
     private static final ZContext CONTEXT;
 
@@ -74,8 +93,35 @@ public class JeroMqManager extends AbstractManager {
         }
     }
 
+    /**
+     * How a batch of events is framed on the wire.
+     *
+     * @since 2.24.0
+     */
+    public enum BatchMode {
+        /**
+         * Each event is a frame of a single multipart message.
+         */
+        MULTIPART,
+        /**
+         * The events are concatenated in a single frame, each one preceded by its length as a big-endian 32-bit
+         * integer.
+         */
+        LENGTH_PREFIXED
+    }
+
     private final ZMQ.Socket publisher;
     private final List<String> endpoints;
+    private final BatchMode batchMode;
+    private final int batchSize;
+    private final int batchBufferSize;
+    private final BatchDestination batchDestination;
+    private final int[] frameEnds;
+    private int batchCount;
+    // position in the batch buffer of the event being encoded
+    private int eventStart;
+    private boolean publishFailed;
+    private int publishedEventCount;
 
     private JeroMqManager(final String name, final JeroMqConfiguration config) {
         super(null, name);
@@ -108,6 +154,11 @@ public class JeroMqManager extends AbstractManager {
         final List<String> endpoints = new ArrayList<String>(config.endpoints.size());
         for (final String endpoint : config.endpoints) {
             publisher.bind(endpoint);
+            if (endpoint.startsWith(INPROC_PREFIX)) {
+                // The in-process transport does not report LISTENING events
+                endpoints.add(endpoint);
+                continue;
+            }
             // Retrieve the standardized list of endpoints,
             // this also converts port 0 to an ephemeral port.
             final ZEvent event = monitor.nextEvent();
@@ -115,6 +166,13 @@ public class JeroMqManager extends AbstractManager {
         }
         this.endpoints = Collections.unmodifiableList(endpoints);
         monitor.destroy();
+        this.batchMode = config.batchMode != null ? config.batchMode : BatchMode.MULTIPART;
+        this.batchSize = config.batchSize;
+        this.batchBufferSize = config.batchBufferSize > 0 ? config.batchBufferSize : DEFAULT_BATCH_BUFFER_SIZE;
+        this.batchDestination = isBatching()
+                ? new BatchDestination(batchBufferSize, true)
+                : new BatchDestination(INITIAL_UNBATCHED_BUFFER_SIZE, false);
+        this.frameEnds = isBatching() ? new int[batchSize] : null;
         LOGGER.debug("Created JeroMqManager with {}", config);
     }
 
@@ -122,8 +180,176 @@ public class JeroMqManager extends AbstractManager {
         return publisher.send(data);
     }
 
+    /**
+     * Tests whether this manager accumulates events into batches.
+     *
+     * @return {@code true} if the configured batch size is greater than one.
+     * @since 2.24.0
+     */
+    public boolean isBatching() {
+        return batchSize > 1;
+    }
+
+    /**
+     * Encodes the event into the reusable batch buffer and publishes the batch once it reaches the configured number
+     * of events or bytes.
+     * <p>
+     *     The batch buffer never grows beyond {@code batchBufferSize} bytes: if an event does not fit, the events
+     *     before it are published first. An event larger than the whole buffer is published on its own.
+     *     If batching is disabled the event is published immediately.
+     * </p>
+     *
+     * @param encoder the encoder (usually the layout) that serializes the event.
+     * @param event the event to publish.
+     * @param endOfBatch if {@code true} the batch is published even if it did not reach its high-water mark.
+     * @return {@code false} if ZeroMQ refused to send the batch.
+     * @since 2.24.0
+     */
+    public synchronized boolean send(final Encoder<LogEvent> encoder, final LogEvent event, final boolean endOfBatch) {
+        if (!isBatching()) {
+            encoder.encode(event, batchDestination);
+            return send(batchDestination.toByteArray());
+        }
+        eventStart = batchDestination.getByteBuffer().position();
+        publishFailed = false;
+        if (batchMode == BatchMode.LENGTH_PREFIXED) {
+            // Reserve room for the length, filled in once the event is encoded
+            batchDestination.reserve(LENGTH_PREFIX_BYTES);
+        }
+        encoder.encode(event, batchDestination);
+        if (batchDestination.overflow) {
+            // The event alone does not fit in the buffer, its partial content was discarded
+            batchDestination.clear();
+            return sendOversized(encoder, event) && !publishFailed;
+        }
+        final ByteBuffer encoded = batchDestination.getByteBuffer();
+        if (batchMode == BatchMode.LENGTH_PREFIXED) {
+            encoded.putInt(eventStart, encoded.position() - eventStart - LENGTH_PREFIX_BYTES);
+        }
+        frameEnds[batchCount++] = encoded.position();
+        if (endOfBatch || batchCount >= batchSize || encoded.position() >= batchBufferSize) {
+            return flush() && !publishFailed;
+        }
+        return !publishFailed;
+    }
+
+    /**
+     * Publishes the pending batch, if any.
+     *
+     * @return {@code false} if ZeroMQ refused to send the batch.
+     * @since 2.24.0
+     */
+    public synchronized boolean flush() {
+        if (batchCount == 0) {
+            return true;
+        }
+        return publish(batchDestination.getByteBuffer().position());
+    }
+
+    /**
+     * Publishes the complete events stored before {@code end} and moves the remaining bytes to the start of the
+     * buffer.
+     */
+    private boolean publish(final int end) {
+        // ZeroMQ retains the buffer until the I/O thread writes it, so the reusable buffer is copied once per batch.
+        final ByteBuffer buffer = batchDestination.getByteBuffer();
+        final int position = buffer.position();
+        ((Buffer) buffer).limit(end).position(0);
+        final ByteBuffer payload = ByteBuffer.allocate(end);
+        ((Buffer) payload.put(buffer)).flip();
+        ((Buffer) buffer).limit(position);
+        buffer.compact();
+        final int count = batchCount;
+        batchCount = 0;
+        final int published = batchMode == BatchMode.LENGTH_PREFIXED
+                ? (publisher.sendByteBuffer(payload, 0) >= 0 ? count : 0)
+                : publishFrames(payload, count);
+        publishedEventCount += published;
+        if (published < count) {
+            LOGGER.error("JeroMqManager {} failed to publish {} of {} events", getName(), count - published, count);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Publishes each event as a frame of a single multipart message.
+     *
+     * @return the number of events published.
+     */
+    private int publishFrames(final ByteBuffer payload, final int count) {
+        int frameStart = 0;
+        for (int i = 0; i < count; i++) {
+            ((Buffer) payload).limit(frameEnds[i]).position(frameStart);
+            final int flags = i < count - 1 ? ZMQ.SNDMORE : 0;
+            if (publisher.sendByteBuffer(payload.slice(), flags) < 0) {
+                if (i > 0) {
+                    // Terminates the multipart message, so that the next batch does not extend it
+                    publisher.send(EMPTY_FRAME, 0);
+                }
+                return i;
+            }
+            frameStart = frameEnds[i];
+        }
+        return count;
+    }
+
+    /**
+     * Publishes an event larger than the batch buffer in a message of its own.
+     */
+    private boolean sendOversized(final Encoder<LogEvent> encoder, final LogEvent event) {
+        final BatchDestination destination = new BatchDestination(2 * batchBufferSize, false);
+        if (batchMode == BatchMode.LENGTH_PREFIXED) {
+            destination.reserve(LENGTH_PREFIX_BYTES);
+        }
+        encoder.encode(event, destination);
+        final ByteBuffer encoded = destination.getByteBuffer();
+        if (batchMode == BatchMode.LENGTH_PREFIXED) {
+            encoded.putInt(0, encoded.position() - LENGTH_PREFIX_BYTES);
+        }
+        ((Buffer) encoded).flip();
+        if (publisher.sendByteBuffer(encoded, 0) >= 0) {
+            publishedEventCount++;
+            return true;
+        }
+        LOGGER.error("JeroMqManager {} failed to publish an event of {} bytes", getName(), encoded.limit());
+        return false;
+    }
+
+    /**
+     * Called when the event being encoded does not fit in the remaining space of the bounded batch buffer.
+     *
+     * @return {@code true} if space was freed by publishing the previous events of the batch.
+     */
+    private boolean makeRoom() {
+        if (eventStart == 0) {
+            return false;
+        }
+        publishFailed |= !publish(eventStart);
+        eventStart = 0;
+        return true;
+    }
+
+    // not public, handy for testing
+    synchronized int getBatchBufferCapacity() {
+        return batchDestination.getByteBuffer().capacity();
+    }
+
+    // not public, handy for testing
+    synchronized int getPublishedEventCount() {
+        return publishedEventCount;
+    }
+
+    // not public, handy for testing
+    synchronized void resetPublishedEventCount() {
+        publishedEventCount = 0;
+    }
+
     @Override
     protected boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        if (isBatching()) {
+            flush();
+        }
         publisher.close();
         return true;
     }
@@ -160,6 +386,68 @@ public class JeroMqManager extends AbstractManager {
             final long tcpKeepAliveInterval,
             final boolean xpubVerbose,
             final List<String> endpoints) {
+        return getJeroMqManager(
+                name,
+                affinity,
+                backlog,
+                delayAttachOnConnect,
+                identity,
+                ipv4Only,
+                linger,
+                maxMsgSize,
+                rcvHwm,
+                receiveBufferSize,
+                receiveTimeOut,
+                reconnectIVL,
+                reconnectIVLMax,
+                sendBufferSize,
+                sendTimeOut,
+                sndHwm,
+                tcpKeepAlive,
+                tcpKeepAliveCount,
+                tcpKeepAliveIdle,
+                tcpKeepAliveInterval,
+                xpubVerbose,
+                endpoints,
+                null,
+                0,
+                0);
+    }
+
+    /**
+     * Gets or creates a manager that optionally publishes events in batches.
+     *
+     * @param batchMode how batches are framed, defaults to {@link BatchMode#MULTIPART}.
+     * @param batchSize the maximum number of events in a batch; values less than 2 disable batching.
+     * @param batchBufferSize the number of bytes after which a batch is published.
+     * @since 2.24.0
+     */
+    public static JeroMqManager getJeroMqManager(
+            final String name,
+            final long affinity,
+            final long backlog,
+            final boolean delayAttachOnConnect,
+            final byte[] identity,
+            final boolean ipv4Only,
+            final long linger,
+            final long maxMsgSize,
+            final long rcvHwm,
+            final long receiveBufferSize,
+            final int receiveTimeOut,
+            final long reconnectIVL,
+            final long reconnectIVLMax,
+            final long sendBufferSize,
+            final int sendTimeOut,
+            final long sndHwm,
+            final int tcpKeepAlive,
+            final long tcpKeepAliveCount,
+            final long tcpKeepAliveIdle,
+            final long tcpKeepAliveInterval,
+            final boolean xpubVerbose,
+            final List<String> endpoints,
+            final BatchMode batchMode,
+            final int batchSize,
+            final int batchBufferSize) {
         return getManager(
                 name,
                 FACTORY,
@@ -184,7 +472,10 @@ public class JeroMqManager extends AbstractManager {
                         tcpKeepAliveIdle,
                         tcpKeepAliveInterval,
                         xpubVerbose,
-                        endpoints));
+                        endpoints,
+                        batchMode,
+                        batchSize,
+                        batchBufferSize));
     }
 
     public static ZMQ.Context getContext() {
@@ -217,6 +508,9 @@ public class JeroMqManager extends AbstractManager {
         private final long tcpKeepAliveInterval;
         private final boolean xpubVerbose;
         private final List<String> endpoints;
+        private final BatchMode batchMode;
+        private final int batchSize;
+        private final int batchBufferSize;
 
         private JeroMqConfiguration(
                 final long affinity,
@@ -239,7 +533,10 @@ public class JeroMqManager extends AbstractManager {
                 final long tcpKeepAliveIdle,
                 final long tcpKeepAliveInterval,
                 final boolean xpubVerbose,
-                final List<String> endpoints) {
+                final List<String> endpoints,
+                final BatchMode batchMode,
+                final int batchSize,
+                final int batchBufferSize) {
             this.affinity = affinity;
             this.backlog = backlog;
             this.delayAttachOnConnect = delayAttachOnConnect;
@@ -261,6 +558,9 @@ public class JeroMqManager extends AbstractManager {
             this.tcpKeepAliveInterval = tcpKeepAliveInterval;
             this.xpubVerbose = xpubVerbose;
             this.endpoints = endpoints;
+            this.batchMode = batchMode;
+            this.batchSize = batchSize;
+            this.batchBufferSize = batchBufferSize;
         }
 
         @Override
@@ -286,7 +586,81 @@ public class JeroMqManager extends AbstractManager {
                     + tcpKeepAliveIdle + ", tcpKeepAliveInterval="
                     + tcpKeepAliveInterval + ", xpubVerbose="
                     + xpubVerbose + ", endpoints="
-                    + endpoints + '}';
+                    + endpoints + ", batchMode="
+                    + batchMode + ", batchSize="
+                    + batchSize + ", batchBufferSize="
+                    + batchBufferSize + '}';
+        }
+    }
+
+    /**
+     * Heap buffer the layout encodes into.
+     * <p>
+     *     An unbounded destination grows instead of draining, so that its content is always contiguous. A bounded
+     *     destination publishes the complete events of the batch when it is full and discards the content of an
+     *     event that does not fit in the whole buffer.
+     * </p>
+     */
+    private final class BatchDestination implements ByteBufferDestination {
+
+        private final boolean bounded;
+        private ByteBuffer buffer;
+        private boolean overflow;
+
+        private BatchDestination(final int capacity, final boolean bounded) {
+            this.buffer = ByteBuffer.allocate(capacity);
+            this.bounded = bounded;
+        }
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public ByteBuffer drain(final ByteBuffer buf) {
+            if (bounded) {
+                if (overflow || !makeRoom()) {
+                    overflow = true;
+                    ((Buffer) buf).clear();
+                }
+                return buf;
+            }
+            final ByteBuffer larger = ByteBuffer.allocate(buf.capacity() * 2);
+            ((Buffer) buf).flip();
+            larger.put(buf);
+            buffer = larger;
+            return larger;
+        }
+
+        @Override
+        public void writeBytes(final ByteBuffer data) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+        }
+
+        @Override
+        public void writeBytes(final byte[] data, final int offset, final int length) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, offset, length, this);
+        }
+
+        private void reserve(final int length) {
+            while (buffer.remaining() < length) {
+                drain(buffer);
+            }
+            ((Buffer) buffer).position(buffer.position() + length);
+        }
+
+        private void clear() {
+            ((Buffer) buffer).clear();
+            overflow = false;
+        }
+
+        private byte[] toByteArray() {
+            final byte[] result = new byte[buffer.position()];
+            ((Buffer) buffer).flip();
+            buffer.get(result);
+            ((Buffer) buffer).clear();
+            return result;
         }
     }
 
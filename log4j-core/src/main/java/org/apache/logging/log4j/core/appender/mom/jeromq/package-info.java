@@ -21,7 +21,7 @@
  * @since 2.4
  */
 @Export
-@Version("2.21.0")
+@Version("2.24.0")
 package org.apache.logging.log4j.core.appender.mom.jeromq;
 
 import org.osgi.annotation.bundle.Export;
@@ -38,6 +38,7 @@ import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
 import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.lookup.StrTemplate;
 import org.apache.logging.log4j.core.script.AbstractScript;
 import org.apache.logging.log4j.core.script.ScriptManager;
 import org.apache.logging.log4j.core.script.ScriptRef;
@@ -160,6 +161,7 @@ public final class RoutingAppender extends AbstractAppender {
     private final PurgePolicy purgePolicy;
     private final AbstractScript defaultRouteScript;
     private final ConcurrentMap<Object, Object> scriptStaticVariables = new ConcurrentHashMap<>();
+    private final StrTemplate patternTemplate;
 
     private RoutingAppender(
             final String name,
@@ -180,6 +182,12 @@ public final class RoutingAppender extends AbstractAppender {
             this.purgePolicy.initialize(this);
         }
         this.defaultRouteScript = defaultRouteScript;
+        // the pattern is parsed once, unless it is computed by a script
+        final String pattern =
+                routes.getPatternScript() == null ? routes.getPattern(null, scriptStaticVariables) : null;
+        this.patternTemplate = pattern != null && configuration.getStrSubstitutor() != null
+                ? configuration.getStrSubstitutor().compile(pattern)
+                : null;
         Route defRoute = null;
         for (final Route route : routes.getRoutes()) {
             if (route.getKey() == null) {
@@ -246,10 +254,15 @@ public final class RoutingAppender extends AbstractAppender {
         if (rewritePolicy != null) {
             event = rewritePolicy.rewrite(event);
         }
-        final String pattern = routes.getPattern(event, scriptStaticVariables);
-        final String key = pattern != null
-                ? configuration.getStrSubstitutor().replace(event, pattern)
-                : defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+        final String key;
+        if (patternTemplate != null) {
+            key = patternTemplate.evaluate(event);
+        } else {
+            final String pattern = routes.getPattern(event, scriptStaticVariables);
+            key = pattern != null
+                    ? configuration.getStrSubstitutor().replace(event, pattern)
+                    : defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+        }
         final RouteAppenderControl control = getControl(key, event);
         if (control != null) {
             try {
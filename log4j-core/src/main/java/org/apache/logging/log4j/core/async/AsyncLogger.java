@@ -19,6 +19,7 @@ package org.apache.logging.log4j.core.async;
 import com.lmax.disruptor.EventTranslatorVararg;
 import com.lmax.disruptor.dsl.Disruptor;
 import java.util.List;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.ThreadContext;
@@ -30,7 +31,6 @@ import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.ReliabilityStrategy;
-import org.apache.logging.log4j.core.impl.ContextData;
 import org.apache.logging.log4j.core.impl.ContextDataFactory;
 import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
 import org.apache.logging.log4j.core.util.Clock;
@@ -129,6 +129,12 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         return result;
     }
 
+    @Override
+    protected boolean requiresLocation() {
+        // if computed lazily, the location is captured when the event is enqueued
+        return !DisruptorUtil.ASYNC_LOGGER_LAZY_LOCATION && super.requiresLocation();
+    }
+
     @Override
     public void logMessage(
             final String fqcn, final Level level, final Marker marker, final Message message, final Throwable thrown) {
@@ -326,6 +332,10 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
                 CLOCK, //
                 nanoClock //
                 );
+        if (location == null) {
+            // e.g. a LogBuilder without an explicit location
+            translator.setLocationSupplier(captureLocationIfRequested(fqcn));
+        }
     }
 
     private void initTranslator(
@@ -354,6 +364,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
                 CLOCK, //
                 nanoClock //
                 );
+        translator.setLocationSupplier(captureLocationIfRequested(fqcn));
     }
 
     private void initTranslatorThreadValues(final RingBufferLogEventTranslator translator) {
@@ -373,7 +384,21 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         // location: very expensive operation. LOG4J2-153:
         // Only include if "includeLocation=true" is specified,
         // exclude if not specified or if "false" was specified.
-        return includeLocation ? StackLocatorUtil.calcLocation(fqcn) : null;
+        return includeLocation && !DisruptorUtil.ASYNC_LOGGER_LAZY_LOCATION
+                ? StackLocatorUtil.calcLocation(fqcn)
+                : null;
+    }
+
+    /**
+     * Returns the captured caller location if requested and computed lazily, {@code null} otherwise.
+     *
+     * @param fqcn fully qualified caller name.
+     * @return a supplier of the caller location, computed by the background thread if needed.
+     */
+    private Supplier<StackTraceElement> captureLocationIfRequested(final String fqcn) {
+        return includeLocation && DisruptorUtil.ASYNC_LOGGER_LAZY_LOCATION
+                ? StackLocatorUtil.captureLocation(fqcn)
+                : null;
     }
 
     /**
@@ -401,14 +426,17 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         if (!isReused(message)) {
             InternalAsyncUtil.makeMessageImmutable(message);
         }
-        StackTraceElement location = null;
+        // the location or, if it is computed lazily, its supplier
+        Object location = null;
         // calls the translateTo method on this AsyncLogger
         if (!disruptor
                 .getRingBuffer()
                 .tryPublishEvent(
                         this,
                         this, // asyncLogger: 0
-                        (location = calcLocationIfRequested(fqcn)), // location: 1
+                        (location = DisruptorUtil.ASYNC_LOGGER_LAZY_LOCATION
+                                ? captureLocationIfRequested(fqcn)
+                                : calcLocationIfRequested(fqcn)), // location: 1
                         fqcn, // 2
                         level, // 3
                         marker, // 4
@@ -449,18 +477,21 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         if (!isReused(message)) {
             InternalAsyncUtil.makeMessageImmutable(message);
         }
+        // the location or, if it is computed lazily, its supplier
+        final Object callerLocation = location != null ? location : captureLocationIfRequested(fqcn);
         // calls the translateTo method on this AsyncLogger
         if (!disruptor
                 .getRingBuffer()
                 .tryPublishEvent(
-                        this, this, // asyncLogger: 0
-                        location, // location: 1
+                        this,
+                        this, // asyncLogger: 0
+                        callerLocation, // location: 1
                         fqcn, // 2
                         level, // 3
                         marker, // 4
                         message, // 5
                         thrown)) { // 6
-            handleRingBufferFull(location, fqcn, level, marker, message, thrown);
+            handleRingBufferFull(callerLocation, fqcn, level, marker, message, thrown);
         }
     }
 
@@ -470,10 +501,11 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
      * @see com.lmax.disruptor.EventTranslatorVararg#translateTo(java.lang.Object, long, java.lang.Object[])
      */
     @Override
+    @SuppressWarnings("unchecked")
     public void translateTo(final RingBufferLogEvent event, final long sequence, final Object... args) {
         // Implementation note: candidate for optimization: exceeds 35 bytecodes.
         final AsyncLogger asyncLogger = (AsyncLogger) args[0];
-        final StackTraceElement location = (StackTraceElement) args[1];
+        final Object location = args[1];
         final String fqcn = (String) args[2];
         final Level level = (Level) args[3];
         final Marker marker = (Marker) args[4];
@@ -485,11 +517,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
 
         final Thread currentThread = Thread.currentThread();
         final String threadName = THREAD_NAME_CACHING_STRATEGY.getThreadName();
-        if (CONTEXT_DATA_INJECTOR == null) {
-            ContextData.addAll((StringMap) event.getContextData());
-        } else {
-            CONTEXT_DATA_INJECTOR.injectContextData(null, (StringMap) event.getContextData());
-        }
+        event.captureContextData(CONTEXT_DATA_INJECTOR);
         event.setValues(
                 asyncLogger,
                 asyncLogger.getName(),
@@ -503,9 +531,12 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
                 currentThread.getId(),
                 threadName,
                 currentThread.getPriority(),
-                location,
+                location instanceof StackTraceElement ? (StackTraceElement) location : null,
                 CLOCK,
                 nanoClock);
+        if (location instanceof Supplier) {
+            event.setLocationSupplier((Supplier<StackTraceElement>) location);
+        }
     }
 
     /**
@@ -526,7 +557,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
     }
 
     private void handleRingBufferFull(
-            final StackTraceElement location,
+            final Object location,
             final String fqcn,
             final Level level,
             final Marker marker,
@@ -282,7 +282,7 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
     void enqueueLogMessageWhenQueueFull(
             final EventTranslatorVararg<RingBufferLogEvent> translator,
             final AsyncLogger asyncLogger,
-            final StackTraceElement location,
+            final Object location,
             final String fqcn,
             final Level level,
             final Marker marker,
@@ -50,6 +50,13 @@ final class DisruptorUtil {
     static final boolean ASYNC_CONFIG_SYNCHRONIZE_ENQUEUE_WHEN_QUEUE_FULL = PropertiesUtil.getProperties()
             .getBooleanProperty("AsyncLoggerConfig.SynchronizeEnqueueWhenQueueFull", true);
 
+    /**
+     * Captures the location of the caller of async loggers without computing it, the location is computed by the
+     * background thread if a layout requires it.
+     */
+    static final boolean ASYNC_LOGGER_LAZY_LOCATION =
+            PropertiesUtil.getProperties().getBooleanProperty("AsyncLogger.LazyLocation", false);
+
     static final int DISRUPTOR_MAJOR_VERSION =
             LoaderUtil.isClassAvailable("com.lmax.disruptor.SequenceReportingEventHandler") ? 3 : 4;
 
@@ -20,10 +20,13 @@ import com.lmax.disruptor.EventFactory;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.ThreadContext.ContextStack;
+import org.apache.logging.log4j.core.ContextDataInjector;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ContextData;
 import org.apache.logging.log4j.core.impl.ContextDataFactory;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.impl.MementoMessage;
@@ -88,6 +91,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
     private Marker marker;
     private String fqcn;
     private StackTraceElement location;
+    private Supplier<StackTraceElement> locationSupplier;
     private ContextStack contextStack;
 
     private transient AsyncLogger asyncLogger;
@@ -121,6 +125,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
         this.marker = aMarker;
         this.fqcn = theFqcn;
         this.location = aLocation;
+        this.locationSupplier = null;
         if (mutableContextData != null) {
             this.contextData = mutableContextData;
         }
@@ -365,6 +370,29 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
         this.contextData = contextData;
     }
 
+    /**
+     * Captures the context data of the current thread, by reference if it is an immutable snapshot.
+     *
+     * @param injector the configured injector or {@code null}
+     */
+    void captureContextData(final ContextDataInjector injector) {
+        if (injector == null) {
+            final StringMap snapshot = ContextData.getImmutableContextData();
+            if (snapshot != null) {
+                contextData = snapshot;
+                return;
+            }
+        }
+        if (contextData == null) { // a snapshot was released by clear()
+            contextData = ContextDataFactory.createContextData();
+        }
+        if (injector == null) {
+            ContextData.addAll(contextData);
+        } else {
+            injector.injectContextData(null, contextData);
+        }
+    }
+
     @Override
     public Map<String, String> getContextMap() {
         return contextData.toMap();
@@ -390,8 +418,20 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
         return threadPriority;
     }
 
+    /**
+     * Sets the captured location of the caller, computed by {@link #getSource()} if needed.
+     */
+    void setLocationSupplier(final Supplier<StackTraceElement> locationSupplier) {
+        this.location = null;
+        this.locationSupplier = locationSupplier;
+    }
+
     @Override
     public StackTraceElement getSource() {
+        if (locationSupplier != null) {
+            location = locationSupplier.get();
+            locationSupplier = null;
+        }
         return location;
     }
 
@@ -427,6 +467,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
         this.marker = null;
         this.fqcn = null;
         this.location = null;
+        this.locationSupplier = null;
         this.contextStack = null;
         this.asyncLogger = null;
     }
@@ -500,7 +541,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
                 .setMarker(marker) //
                 .setMessage(memento()) // ensure non-null & immutable
                 .setNanoTime(nanoTime) //
-                .setSource(location) //
+                .setSource(getSource()) //
                 .setThreadId(threadId) //
                 .setThreadName(threadName) //
                 .setThreadPriority(threadPriority) //
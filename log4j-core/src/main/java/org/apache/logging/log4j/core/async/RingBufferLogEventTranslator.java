@@ -17,17 +17,15 @@
 package org.apache.logging.log4j.core.async;
 
 import com.lmax.disruptor.EventTranslator;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.ThreadContext.ContextStack;
 import org.apache.logging.log4j.core.ContextDataInjector;
-import org.apache.logging.log4j.core.impl.ContextData;
 import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
 import org.apache.logging.log4j.core.util.Clock;
 import org.apache.logging.log4j.core.util.NanoClock;
 import org.apache.logging.log4j.message.Message;
-import org.apache.logging.log4j.util.ReadOnlyStringMap;
-import org.apache.logging.log4j.util.StringMap;
 
 /**
  * This class is responsible for writing elements that make up a log event into
@@ -50,6 +48,7 @@ public class RingBufferLogEventTranslator implements EventTranslator<RingBufferL
     private String threadName = Thread.currentThread().getName();
     private int threadPriority = Thread.currentThread().getPriority();
     private StackTraceElement location;
+    private Supplier<StackTraceElement> locationSupplier;
     private Clock clock;
     private NanoClock nanoClock;
 
@@ -57,14 +56,7 @@ public class RingBufferLogEventTranslator implements EventTranslator<RingBufferL
     @Override
     public void translateTo(final RingBufferLogEvent event, final long sequence) {
         try {
-            final ReadOnlyStringMap contextData = event.getContextData();
-            if (contextData != null) {
-                if (INJECTOR == null) {
-                    ContextData.addAll((StringMap) contextData);
-                } else {
-                    INJECTOR.injectContextData(null, (StringMap) contextData);
-                }
-            }
+            event.captureContextData(INJECTOR);
             event.setValues(
                     asyncLogger,
                     loggerName,
@@ -83,6 +75,9 @@ public class RingBufferLogEventTranslator implements EventTranslator<RingBufferL
                     location,
                     clock,
                     nanoClock);
+            if (locationSupplier != null) {
+                event.setLocationSupplier(locationSupplier);
+            }
         } finally {
             clear(); // clear the translator
         }
@@ -92,6 +87,7 @@ public class RingBufferLogEventTranslator implements EventTranslator<RingBufferL
      * Release references held by this object to allow objects to be garbage-collected.
      */
     void clear() {
+        locationSupplier = null;
         setBasicValues(
                 null, // asyncLogger
                 null, // loggerName
@@ -132,6 +128,13 @@ public class RingBufferLogEventTranslator implements EventTranslator<RingBufferL
         this.nanoClock = aNanoClock;
     }
 
+    /**
+     * Sets the captured location of the caller, used instead of the location if not {@code null}.
+     */
+    void setLocationSupplier(final Supplier<StackTraceElement> locationSupplier) {
+        this.locationSupplier = locationSupplier;
+    }
+
     public void updateThreadValues() {
         final Thread currentThread = Thread.currentThread();
         this.threadId = currentThread.getId();
@@ -146,6 +146,9 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     private AsyncWaitStrategyFactory asyncWaitStrategyFactory;
     private NanoClock nanoClock = new DummyNanoClock();
     private final WeakReference<LoggerContext> loggerContext;
+    private ConfigurationSnapshot snapshot;
+    private Node originalRootNode;
+    private Set<Appender> reusedAppenders = Collections.emptySet();
 
     /**
      * Constructor.
@@ -261,12 +264,24 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             }
         }
         setup();
+        if (snapshot != null) {
+            // saved before doConfigure() so that arbiters are evaluated again on every start
+            snapshot.save(rootNode);
+            snapshot = null;
+        }
         setupAdvertisement();
         doConfigure();
         setState(State.INITIALIZED);
         LOGGER.debug("Configuration {} initialized", this);
     }
 
+    /**
+     * Sets the snapshot to save once the configuration has been parsed.
+     */
+    void setSnapshot(final ConfigurationSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
     protected void initializeWatchers(
             final Reconfigurable reconfigurable,
             final ConfigurationSource configSource,
@@ -327,7 +342,9 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             alreadyStarted.add(logger);
         }
         for (final Appender appender : appenders.values()) {
-            appender.start();
+            if (!reusedAppenders.contains(appender)) {
+                appender.start();
+            }
         }
         if (!alreadyStarted.contains(root)) { // LOG4J2-392
             root.start(); // LOG4J2-336
@@ -336,6 +353,24 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         LOGGER.debug("Started configuration {} OK.", this);
     }
 
+    private Appender[] getAppendersToStop() {
+        final LoggerContext context = loggerContext.get();
+        final Configuration current = context != null ? context.getConfiguration() : null;
+        if (current == this || !(current instanceof AbstractConfiguration)) {
+            return appenders.values().toArray(Appender.EMPTY_ARRAY);
+        }
+        final Set<Appender> shared = new HashSet<>(((AbstractConfiguration) current).reusedAppenders);
+        shared.addAll(reusedAppenders);
+        shared.retainAll(current.getAppenders().values());
+        final List<Appender> result = new ArrayList<>(appenders.size());
+        for (final Appender appender : appenders.values()) {
+            if (!shared.contains(appender)) {
+                result.add(appender);
+            }
+        }
+        return result.toArray(Appender.EMPTY_ARRAY);
+    }
+
     private boolean hasAsyncLoggers() {
         if (root instanceof AsyncLoggerConfig) {
             return true;
@@ -402,7 +437,8 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         root.getReliabilityStrategy().beforeStopAppenders();
 
         // Stop the appenders in reverse order in case they still have activity.
-        final Appender[] array = appenders.values().toArray(Appender.EMPTY_ARRAY);
+        // Appenders shared with the current configuration of the context are left running.
+        final Appender[] array = getAppendersToStop();
         final List<Appender> async = getAsyncAppenders(array);
         if (!async.isEmpty()) {
             // LOG4J2-511, LOG4J2-392 stop AsyncAppenders first
@@ -650,6 +686,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     protected void doConfigure() {
         processConditionals(rootNode);
         preConfigure(rootNode);
+        final Map<Node, Appender> reusableAppenders = findReusableAppenders();
         configurationScheduler.start();
         // Find the "Properties" node first
         boolean hasProperties = false;
@@ -682,7 +719,13 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
                 // We already used this node
                 continue;
             }
-            createConfiguration(child, null);
+            if ((!reusableAppenders.isEmpty() || ParallelNodeBuilder.isEnabled())
+                    && "Appenders".equalsIgnoreCase(child.getName())
+                    && child.getType() != null) {
+                createAppenders(child, reusableAppenders);
+            } else {
+                createConfiguration(child, null);
+            }
             if (child.getObject() == null) {
                 continue;
             }
@@ -755,6 +798,52 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         setParents();
     }
 
+    /**
+     * Finds the appenders of the current configuration of the logger context that can be kept, if incremental
+     * reconfiguration is enabled.
+     */
+    private Map<Node, Appender> findReusableAppenders() {
+        if (!PropertiesUtil.getProperties()
+                .getBooleanProperty(ConfigurationDiff.INCREMENTAL_RECONFIGURATION_PROPERTY, false)) {
+            return Collections.emptyMap();
+        }
+        // the attributes of the nodes are consumed by the plugin builders
+        originalRootNode = new Node(rootNode);
+        final LoggerContext context = loggerContext.get();
+        final Configuration previous = context != null ? context.getConfiguration() : null;
+        if (previous == this
+                || !(previous instanceof AbstractConfiguration)
+                || !previous.isStarted()
+                || ((AbstractConfiguration) previous).originalRootNode == null) {
+            return Collections.emptyMap();
+        }
+        return ConfigurationDiff.findReusableAppenders(
+                ((AbstractConfiguration) previous).originalRootNode, previous.getAppenders(), rootNode);
+    }
+
+    private void createAppenders(final Node appendersNode, final Map<Node, Appender> reusableAppenders) {
+        final Set<Appender> reused = new HashSet<>();
+        final List<Node> toCreate = new ArrayList<>();
+        for (final Node child : appendersNode.getChildren()) {
+            final Appender appender = reusableAppenders.get(child);
+            if (appender != null) {
+                child.setObject(appender);
+                reused.add(appender);
+            } else {
+                toCreate.add(child);
+            }
+        }
+        if (ParallelNodeBuilder.isEnabled()) {
+            ParallelNodeBuilder.createAll(toCreate, node -> createConfiguration(node, null));
+        } else {
+            for (final Node child : toCreate) {
+                createConfiguration(child, null);
+            }
+        }
+        appendersNode.setObject(createPluginObject(appendersNode.getType(), appendersNode, null));
+        reusedAppenders = reused;
+    }
+
     public static Level getDefaultLevel() {
         final String levelName = PropertiesUtil.getProperties()
                 .getStringProperty(DefaultConfiguration.DEFAULT_LEVEL, Level.ERROR.name());
@@ -989,6 +1078,17 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         return Collections.unmodifiableList(customLevels);
     }
 
+    /**
+     * Logs an event created by one of the context-wide filters through the LoggerConfig of its logger.
+     *
+     * @param event The event created by the filter.
+     * @since 2.24.0
+     */
+    @Override
+    protected void logFilterEvent(final LogEvent event) {
+        getLoggerConfig(event.getLoggerName()).log(event);
+    }
+
     /**
      * Locates the appropriate LoggerConfig for a Logger name. This will remove tokens from the package name as
      * necessary or return the root LoggerConfig if no other matches were found.
@@ -1017,6 +1117,44 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         return loggerContext.get();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Loggers only consult the global filter if there is one, so adding the first filter to the active
+     *     configuration updates the loggers.
+     * </p>
+     */
+    @Override
+    public void addFilter(final Filter filter) {
+        final boolean hadFilter = hasFilter();
+        super.addFilter(filter);
+        if (!hadFilter && hasFilter()) {
+            updateLoggersIfActive();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Removing the last filter from the active configuration updates the loggers.
+     * </p>
+     */
+    @Override
+    public void removeFilter(final Filter filter) {
+        final boolean hadFilter = hasFilter();
+        super.removeFilter(filter);
+        if (hadFilter && !hasFilter()) {
+            updateLoggersIfActive();
+        }
+    }
+
+    private void updateLoggersIfActive() {
+        final LoggerContext ctx = getLoggerContext();
+        if (ctx != null && ctx.getConfiguration() == this) {
+            ctx.updateLoggers();
+        }
+    }
+
     /**
      * Returns the root Logger.
      *
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Compares the node tree of a new configuration with the one of the configuration it replaces, to find the appenders
+ * that can be kept as they are.
+ * <p>
+ * An appender is reused if its node, including all nested layouts, filters and policies, has not changed and if the
+ * top-level nodes it may depend on, such as properties, scripts and custom levels, have not changed either. Appenders
+ * that refer to other appenders or schedule tasks on the configuration are always created again.
+ * </p>
+ */
+final class ConfigurationDiff {
+
+    static final String INCREMENTAL_RECONFIGURATION_PROPERTY = "log4j2.incrementalReconfiguration";
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final String APPENDERS = "Appenders";
+
+    private static final String LOGGERS = "Loggers";
+
+    private static final String NAME = "name";
+
+    /**
+     * Plugins bound to the configuration that created them, by class name since some have optional dependencies.
+     */
+    private static final Set<String> NON_REUSABLE_PLUGINS = new HashSet<>(Arrays.asList(
+            "org.apache.logging.log4j.core.config.AppenderRef",
+            "org.apache.logging.log4j.core.appender.FailoverAppender",
+            "org.apache.logging.log4j.core.appender.ScriptAppenderSelector",
+            "org.apache.logging.log4j.core.appender.SmtpAppender",
+            "org.apache.logging.log4j.core.appender.mom.jeromq.JeroMqAppender",
+            "org.apache.logging.log4j.core.appender.rolling.CronTriggeringPolicy",
+            "org.apache.logging.log4j.core.appender.routing.RoutingAppender",
+            "org.apache.logging.log4j.core.appender.routing.IdlePurgePolicy",
+            "org.apache.logging.log4j.core.filter.DuplicateMessageFilter",
+            "org.apache.logging.log4j.core.filter.MutableThreadContextMapFilter"));
+
+    private ConfigurationDiff() {}
+
+    /**
+     * Finds the appenders of the previous configuration that can be used in place of the ones of the new node tree.
+     *
+     * @param previousRoot The node tree of the previous configuration, as it was before its plugins were created.
+     * @param previousAppenders The appenders of the previous configuration.
+     * @param root The node tree of the new configuration.
+     * @return The appender to reuse for each unchanged appender node of the new tree.
+     */
+    static Map<Node, Appender> findReusableAppenders(
+            final Node previousRoot, final Map<String, Appender> previousAppenders, final Node root) {
+        final Map<Node, Appender> reusable = new HashMap<>();
+        if (!isSameEnvironment(previousRoot, root)) {
+            LOGGER.debug("Configuration properties, scripts or custom levels changed, creating all appenders again");
+            return reusable;
+        }
+        final Node previousNode = findChild(previousRoot, APPENDERS);
+        final Node node = findChild(root, APPENDERS);
+        if (previousNode == null || node == null) {
+            return reusable;
+        }
+        final Map<String, Node> previousByName = new HashMap<>();
+        for (final Node child : previousNode.getChildren()) {
+            final String name = getName(child);
+            if (name != null) {
+                previousByName.put(name, child);
+            }
+        }
+        for (final Node child : node.getChildren()) {
+            final String name = getName(child);
+            final Node previous = name != null ? previousByName.get(name) : null;
+            final Appender appender = name != null ? previousAppenders.get(name) : null;
+            if (previous != null
+                    && appender != null
+                    && appender.isStarted()
+                    && isReusable(child)
+                    && isEqual(previous, child)) {
+                reusable.put(child, appender);
+            }
+        }
+        LOGGER.debug(
+                "Reusing {} of {} appenders",
+                reusable.size(),
+                node.getChildren().size());
+        return reusable;
+    }
+
+    /**
+     * Tests if the top-level nodes that appenders may depend on are the same in both trees.
+     */
+    private static boolean isSameEnvironment(final Node previousRoot, final Node root) {
+        final List<Node> previousChildren = previousRoot.getChildren();
+        final List<Node> children = root.getChildren();
+        int j = 0;
+        for (final Node child : children) {
+            if (isAppendersOrLoggers(child)) {
+                continue;
+            }
+            while (j < previousChildren.size() && isAppendersOrLoggers(previousChildren.get(j))) {
+                j++;
+            }
+            if (j == previousChildren.size() || !isEqual(previousChildren.get(j), child)) {
+                return false;
+            }
+            j++;
+        }
+        while (j < previousChildren.size()) {
+            if (!isAppendersOrLoggers(previousChildren.get(j++))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAppendersOrLoggers(final Node node) {
+        return APPENDERS.equalsIgnoreCase(node.getName()) || LOGGERS.equalsIgnoreCase(node.getName());
+    }
+
+    private static boolean isReusable(final Node node) {
+        final PluginType<?> type = node.getType();
+        if (type == null || NON_REUSABLE_PLUGINS.contains(type.getPluginClass().getName())) {
+            return false;
+        }
+        for (final Node child : node.getChildren()) {
+            if (!isReusable(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two node trees by name, plugin, attributes and value.
+     */
+    private static boolean isEqual(final Node first, final Node second) {
+        if (!Objects.equals(first.getName(), second.getName())
+                || getPluginClass(first) != getPluginClass(second)
+                || !Objects.equals(first.getValue(), second.getValue())
+                || !first.getAttributes().equals(second.getAttributes())) {
+            return false;
+        }
+        final List<Node> firstChildren = first.getChildren();
+        final List<Node> secondChildren = second.getChildren();
+        if (firstChildren.size() != secondChildren.size()) {
+            return false;
+        }
+        for (int i = 0; i < firstChildren.size(); i++) {
+            if (!isEqual(firstChildren.get(i), secondChildren.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> getPluginClass(final Node node) {
+        return node.getType() != null ? node.getType().getPluginClass() : null;
+    }
+
+    private static Node findChild(final Node node, final String name) {
+        for (final Node child : node.getChildren()) {
+            if (name.equalsIgnoreCase(child.getName())) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static String getName(final Node node) {
+        for (final Map.Entry<String, String> entry : node.getAttributes().entrySet()) {
+            if (NAME.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -92,6 +92,13 @@ public abstract class ConfigurationFactory extends ConfigurationBuilderFactory {
 
     public static final String AUTHORIZATION_PROVIDER = "authorizationProvider";
 
+    /**
+     * Allows the streaming parsers of the XML and JSON configurations to be disabled.
+     *
+     * @since 2.24.0
+     */
+    public static final String STREAMING_PARSER_PROPERTY = "log4j2.streamingConfigurationParser";
+
     /**
      * Plugin category used to inject a ConfigurationFactory {@link org.apache.logging.log4j.core.config.plugins.Plugin}
      * class.
@@ -503,7 +510,7 @@ public abstract class ConfigurationFactory extends ConfigurationBuilderFactory {
                     if (types != null) {
                         for (final String type : types) {
                             if (type.equals(ALL_TYPES) || configLocationStr.endsWith(type)) {
-                                final Configuration config = factory.getConfiguration(loggerContext, source);
+                                final Configuration config = getConfiguration(factory, loggerContext, source);
                                 if (config != null) {
                                     return config;
                                 }
@@ -541,13 +548,36 @@ public abstract class ConfigurationFactory extends ConfigurationBuilderFactory {
                                     configName,
                                     factory.getClass().getName());
                         }
-                        return factory.getConfiguration(loggerContext, source);
+                        return getConfiguration(factory, loggerContext, source);
                     }
                 }
             }
             return null;
         }
 
+        /**
+         * Creates the configuration of a source with the given factory, unless a snapshot of the source is available.
+         */
+        private static Configuration getConfiguration(
+                final ConfigurationFactory factory,
+                final LoggerContext loggerContext,
+                final ConfigurationSource source) {
+            final ConfigurationSnapshot snapshot = ConfigurationSnapshot.forSource(source);
+            if (snapshot == null) {
+                return factory.getConfiguration(loggerContext, source);
+            }
+            // the input stream of the original source has been consumed
+            final ConfigurationSource snapshotSource = snapshot.getSource();
+            Configuration config = snapshot.load(loggerContext, snapshotSource);
+            if (config == null) {
+                config = factory.getConfiguration(loggerContext, snapshotSource);
+                if (config != null) {
+                    snapshot.attach(config);
+                }
+            }
+            return config;
+        }
+
         @Override
         public String[] getSupportedTypes() {
             return null;
@@ -562,7 +592,7 @@ public abstract class ConfigurationFactory extends ConfigurationBuilderFactory {
                     if (types != null) {
                         for (final String type : types) {
                             if (type.equals(ALL_TYPES) || config != null && config.endsWith(type)) {
-                                final Configuration c = factory.getConfiguration(loggerContext, source);
+                                final Configuration c = getConfiguration(factory, loggerContext, source);
                                 if (c != null) {
                                     LOGGER.debug("Loaded configuration from {}", source);
                                     return c;
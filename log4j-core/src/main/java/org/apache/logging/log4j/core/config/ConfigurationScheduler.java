@@ -17,11 +17,8 @@
 package org.apache.logging.log4j.core.config;
 
 import java.util.Date;
-import java.util.Queue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.AbstractLifeCycle;
@@ -30,7 +27,11 @@ import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 import org.apache.logging.log4j.status.StatusLogger;
 
 /**
- *
+ * Runs the scheduled tasks of a configuration, such as cron triggered rollovers and the checks for configuration
+ * changes.
+ * <p>
+ * The tasks are kept in a timer wheel, so that scheduling and cancelling them does not depend on their number.
+ * </p>
  */
 public class ConfigurationScheduler extends AbstractLifeCycle {
 
@@ -38,7 +39,7 @@ public class ConfigurationScheduler extends AbstractLifeCycle {
     private static final String SIMPLE_NAME = "Log4j2 " + ConfigurationScheduler.class.getSimpleName();
     private static final int MAX_SCHEDULED_ITEMS = 5;
 
-    private volatile ScheduledExecutorService executorService;
+    private volatile TimerWheel executorService;
     private int scheduledItems = 0;
     private final String name;
 
@@ -85,7 +86,7 @@ public class ConfigurationScheduler extends AbstractLifeCycle {
     /**
      * Increment the number of threads in the pool.
      */
-    public void incrementScheduledItems() {
+    public synchronized void incrementScheduledItems() {
         if (isExecutorServiceSet()) {
             LOGGER.error("{} attempted to increment scheduled items after start", name);
         } else {
@@ -96,7 +97,7 @@ public class ConfigurationScheduler extends AbstractLifeCycle {
     /**
      * Decrement the number of threads in the pool
      */
-    public void decrementScheduledItems() {
+    public synchronized void decrementScheduledItems() {
         if (!isStarted() && scheduledItems > 0) {
             --scheduledItems;
         }
@@ -191,18 +192,17 @@ public class ConfigurationScheduler extends AbstractLifeCycle {
         return fireDate.getTime() - new Date().getTime();
     }
 
-    private ScheduledExecutorService getExecutorService() {
+    private TimerWheel getExecutorService() {
         if (executorService == null) {
             synchronized (this) {
                 if (executorService == null) {
                     if (scheduledItems > 0) {
                         LOGGER.debug("{} starting {} threads", name, scheduledItems);
                         scheduledItems = Math.min(scheduledItems, MAX_SCHEDULED_ITEMS);
-                        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
-                                scheduledItems, Log4jThreadFactory.createDaemonThreadFactory("Scheduled"));
-                        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
-                        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
-                        this.executorService = executor;
+                        this.executorService = new TimerWheel(
+                                scheduledItems,
+                                Log4jThreadFactory.createDaemonThreadFactory("SchedulerTimer"),
+                                Log4jThreadFactory.createDaemonThreadFactory("Scheduled"));
 
                     } else {
                         LOGGER.debug("{}: No scheduled items", name);
@@ -267,9 +267,8 @@ public class ConfigurationScheduler extends AbstractLifeCycle {
         sb.append(name);
         sb.append(", [");
         if (executorService != null) {
-            final Queue<Runnable> queue = ((ScheduledThreadPoolExecutor) executorService).getQueue();
             boolean first = true;
-            for (final Runnable runnable : queue) {
+            for (final Runnable runnable : executorService.getScheduledTasks()) {
                 if (!first) {
                     sb.append(", ");
                 }
@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.Version;
+import org.apache.logging.log4j.core.config.json.JsonConfiguration;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.apache.logging.log4j.core.util.Loader;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * A snapshot of a parsed configuration: the {@link Node} tree and the plugin bound to each node.
+ * <p>
+ * Snapshots are stored in the directory given by the {@value #SNAPSHOT_DIRECTORY_PROPERTY} property. A snapshot is
+ * identified by a hash of the Log4j version, the location and content of the configuration source and the class path,
+ * so that it is not used once any of them changes. Loading a snapshot skips parsing the configuration file; the
+ * plugins are still created from the nodes, so lookups are resolved as usual.
+ * </p>
+ */
+final class ConfigurationSnapshot {
+
+    static final String SNAPSHOT_DIRECTORY_PROPERTY = "log4j2.configurationSnapshotDirectory";
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final int MAGIC = 0x4C344A53;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String FILE_SUFFIX = ".snapshot";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Path file;
+
+    private final String key;
+
+    private final ConfigurationSource source;
+
+    private ConfigurationSnapshot(final Path file, final String key, final ConfigurationSource source) {
+        this.file = file;
+        this.key = key;
+        this.source = source;
+    }
+
+    /**
+     * Returns the snapshot of a configuration source, if snapshots are enabled.
+     * <p>
+     *     The input stream of the source is read and closed: the configuration must be created from
+     *     {@link #getSource()} instead.
+     * </p>
+     *
+     * @param source The configuration source.
+     * @return The snapshot, which may not exist yet, or {@code null} if snapshots are disabled or the content of the
+     * source is not available.
+     */
+    static ConfigurationSnapshot forSource(final ConfigurationSource source) {
+        final String directory = PropertiesUtil.getProperties().getStringProperty(SNAPSHOT_DIRECTORY_PROPERTY);
+        return directory != null ? forSource(source, Paths.get(directory)) : null;
+    }
+
+    static ConfigurationSnapshot forSource(final ConfigurationSource source, final Path directory) {
+        try {
+            final byte[] data = source.getData();
+            final byte[] content = data != null ? data : readContent(source);
+            if (content == null) {
+                return null;
+            }
+            final String key = computeKey(source, content);
+            final ConfigurationSource copy = data != null ? source : copySource(source, content);
+            return new ConfigurationSnapshot(directory.resolve(key + FILE_SUFFIX), key, copy);
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            LOGGER.warn("Unable to compute the snapshot key of {}", source, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns a source equivalent to the one the snapshot was computed from, whose input stream has not been read.
+     */
+    ConfigurationSource getSource() {
+        return source;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Lets the configuration save a snapshot once it has been parsed, if its kind of configuration is supported.
+     *
+     * @param configuration The configuration created from the source of this snapshot.
+     */
+    void attach(final Configuration configuration) {
+        if (configuration instanceof XmlConfiguration || configuration instanceof JsonConfiguration) {
+            ((AbstractConfiguration) configuration).setSnapshot(this);
+        }
+    }
+
+    /**
+     * Creates a configuration from the snapshot.
+     *
+     * @param loggerContext The logger context.
+     * @param source The source the snapshot was taken from.
+     * @return The configuration or {@code null} if there is no usable snapshot.
+     */
+    Configuration load(final LoggerContext loggerContext, final ConfigurationSource source) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (final DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !key.equals(readString(in))) {
+                LOGGER.warn("Ignoring invalid configuration snapshot {}", file);
+                return null;
+            }
+            final Map<String, Class<?>> classes = new HashMap<>();
+            // the root node has neither a name nor a plugin
+            readString(in);
+            readType(in, classes);
+            final Node root = new Node();
+            readNode(in, root, classes);
+            LOGGER.debug("Loaded configuration snapshot {} of {}", file, source);
+            return new SnapshotConfiguration(loggerContext, source, root);
+        } catch (final IOException | ClassNotFoundException | LinkageError e) {
+            LOGGER.warn("Ignoring unusable configuration snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Saves the node tree of a configuration that has just been parsed.
+     *
+     * @param root The root node.
+     */
+    void save(final Node root) {
+        if (!root.hasChildren() || root.getAttributes().containsKey("advertiser")) {
+            // nothing worth caching or an advertiser, which needs the original content
+            return;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try (final DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, key);
+                writeNode(out, root);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Saved configuration snapshot {}", file);
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to save configuration snapshot {}", file, e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (final IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads and closes the input stream the source was opened with.
+     */
+    private static byte[] readContent(final ConfigurationSource source) throws IOException {
+        final InputStream stream = source.getInputStream();
+        if (stream == null) {
+            return null;
+        }
+        try (final InputStream in = stream) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Creates a source with the given content, that still reads the file or URL of the original source when the
+     * configuration is reconfigured.
+     */
+    private static ConfigurationSource copySource(final ConfigurationSource source, final byte[] content)
+            throws IOException {
+        final File file = source.getFile();
+        if (file != null) {
+            return new ConfigurationSource(new ByteArrayInputStream(content), file);
+        }
+        final URL url = source.getURL();
+        if (url != null) {
+            return new ConfigurationSource(new ByteArrayInputStream(content), url, source.getLastModified());
+        }
+        return new ConfigurationSource(new ByteArrayInputStream(content));
+    }
+
+    private static String computeKey(final ConfigurationSource source, final byte[] content)
+            throws NoSuchAlgorithmException {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        update(digest, Integer.toString(FORMAT_VERSION));
+        update(digest, Version.getProductString());
+        update(digest, String.valueOf(source.getLocation()));
+        digest.update(content);
+        final String classPath = System.getProperty("java.class.path", "");
+        update(digest, classPath);
+        // a jar replaced in place must invalidate the plugin bindings too; the timestamp of a directory changes
+        // whenever a file is added to it, so directories only contribute their path
+        for (final String entry : classPath.split(File.pathSeparator)) {
+            final File file = new File(entry);
+            if (file.isFile()) {
+                update(digest, file.lastModified() + ":" + file.length());
+            }
+        }
+        final byte[] hash = digest.digest();
+        final char[] chars = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            chars[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static void writeNode(final DataOutputStream out, final Node node) throws IOException {
+        writeString(out, node.getName());
+        final PluginType<?> type = node.getType();
+        out.writeBoolean(type != null);
+        if (type != null) {
+            writeString(out, type.getPluginClass().getName());
+            writeString(out, type.getElementName());
+            writeString(out, type.getKey());
+            writeString(out, type.getCategory());
+            out.writeBoolean(type.isObjectPrintable());
+            out.writeBoolean(type.isDeferChildren());
+        }
+        writeString(out, node.getValue());
+        final Map<String, String> attributes = node.getAttributes();
+        out.writeInt(attributes.size());
+        for (final Map.Entry<String, String> entry : attributes.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+        final List<Node> children = node.getChildren();
+        out.writeInt(children.size());
+        for (final Node child : children) {
+            writeNode(out, child);
+        }
+    }
+
+    /**
+     * Reads the content of a node whose name and type have already been read.
+     */
+    private static void readNode(final DataInputStream in, final Node node, final Map<String, Class<?>> classes)
+            throws IOException, ClassNotFoundException {
+        node.setValue(readString(in));
+        final Map<String, String> attributes = node.getAttributes();
+        for (int i = in.readInt(); i > 0; i--) {
+            attributes.put(readString(in), readString(in));
+        }
+        final List<Node> children = node.getChildren();
+        for (int i = in.readInt(); i > 0; i--) {
+            final String name = readString(in);
+            final Node child = new Node(node, name, readType(in, classes));
+            readNode(in, child, classes);
+            children.add(child);
+        }
+    }
+
+    private static PluginType<?> readType(final DataInputStream in, final Map<String, Class<?>> classes)
+            throws IOException, ClassNotFoundException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final String className = readString(in);
+        final String elementName = readString(in);
+        final PluginEntry entry = new PluginEntry();
+        entry.setClassName(className);
+        entry.setName(elementName);
+        entry.setKey(readString(in));
+        entry.setCategory(readString(in));
+        entry.setPrintable(in.readBoolean());
+        entry.setDefer(in.readBoolean());
+        Class<?> pluginClass = classes.get(className);
+        if (pluginClass == null) {
+            pluginClass = Loader.loadClass(className);
+            classes.put(className, pluginClass);
+        }
+        return createType(entry, pluginClass, elementName);
+    }
+
+    private static <T> PluginType<T> createType(
+            final PluginEntry entry, final Class<T> pluginClass, final String elementName) {
+        return new PluginType<>(entry, pluginClass, elementName);
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -233,6 +233,15 @@ public class ConfigurationSource {
         this.data = data;
     }
 
+    /**
+     * Returns the content of the source if it has been read into memory.
+     *
+     * @return the content or {@code null}.
+     */
+    byte[] getData() {
+        return data;
+    }
+
     public void setModifiedMillis(final long modifiedMillis) {
         this.modifiedMillis = modifiedMillis;
     }
@@ -636,6 +636,17 @@ public class LoggerConfig extends AbstractFilterable implements LocationAware {
         log(event, LoggerConfigPredicate.ALL);
     }
 
+    /**
+     * Logs an event created by one of the filters of this logger configuration.
+     *
+     * @param event The event created by the filter.
+     * @since 2.24.0
+     */
+    @Override
+    protected void logFilterEvent(final LogEvent event) {
+        log(event);
+    }
+
     /**
      * Logs an event.
      *
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Creates the plugins of independent node subtrees, such as the appenders of a configuration, on a thread pool.
+ * <p>
+ * The nodes are grouped in levels: a node only depends on the nodes of the previous levels, through the {@code ref}
+ * and {@code primary} attributes of its subtree, e.g. {@code <AppenderRef ref="File"/>}. The nodes of a level are
+ * created in parallel, the levels one after another. Since each node keeps its created object, the plugins are
+ * collected and started in the order of the configuration, as when they are created sequentially.
+ * </p>
+ */
+final class ParallelNodeBuilder {
+
+    static final String PARALLEL_CONFIGURATION_PROPERTY = "log4j2.parallelConfiguration";
+
+    static final String PARALLELISM_PROPERTY = "log4j2.parallelConfigurationThreads";
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final String NAME = "name";
+
+    private static final String[] REFERENCE_ATTRIBUTES = {"ref", "primary"};
+
+    private ParallelNodeBuilder() {}
+
+    /**
+     * Tests if parallel construction is enabled.
+     */
+    static boolean isEnabled() {
+        return PropertiesUtil.getProperties().getBooleanProperty(PARALLEL_CONFIGURATION_PROPERTY, false);
+    }
+
+    /**
+     * Creates the objects of the given nodes.
+     *
+     * @param nodes The sibling nodes to create.
+     * @param factory Creates the object of a node.
+     */
+    static void createAll(final List<Node> nodes, final Consumer<Node> factory) {
+        final int parallelism = Math.min(
+                nodes.size(),
+                PropertiesUtil.getProperties()
+                        .getIntegerProperty(
+                                PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()));
+        if (parallelism < 2) {
+            nodes.forEach(factory);
+            return;
+        }
+        final List<List<Node>> levels = sortByDependencies(nodes);
+        LOGGER.debug("Creating {} nodes in {} levels with {} threads", nodes.size(), levels.size(), parallelism);
+        // the threads are created by the caller and inherit its context class loader
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                parallelism, Log4jThreadFactory.createDaemonThreadFactory("Configuration"));
+        try {
+            for (final List<Node> level : levels) {
+                if (level.size() == 1) {
+                    factory.accept(level.get(0));
+                } else {
+                    createLevel(executor, level, factory);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void createLevel(
+            final ExecutorService executor, final List<Node> level, final Consumer<Node> factory) {
+        final List<Callable<Void>> tasks = new ArrayList<>(level.size());
+        for (final Node node : level) {
+            tasks.add(() -> {
+                factory.accept(node);
+                return null;
+            });
+        }
+        try {
+            // the first failure in configuration order is reported, as in sequential mode
+            for (final Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new ConfigurationException(cause);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationException("Interrupted while creating the configuration", e);
+        }
+    }
+
+    /**
+     * Groups the nodes in levels, keeping their order: the nodes of a level only refer to nodes of previous levels.
+     * Nodes that are part of a reference cycle are put in levels of their own.
+     *
+     * @param nodes The sibling nodes.
+     * @return The levels.
+     */
+    static List<List<Node>> sortByDependencies(final List<Node> nodes) {
+        final Map<String, Node> byName = new HashMap<>();
+        for (final Node node : nodes) {
+            final String name = getAttribute(node, NAME);
+            if (name != null) {
+                byName.put(name, node);
+            }
+        }
+        final Map<Node, Set<Node>> dependencies = new HashMap<>();
+        for (final Node node : nodes) {
+            final Set<Node> set = new HashSet<>();
+            collectDependencies(node, byName, set);
+            set.remove(node);
+            dependencies.put(node, set);
+        }
+        final List<List<Node>> levels = new ArrayList<>();
+        final Set<Node> created = new HashSet<>();
+        List<Node> remaining = nodes;
+        while (!remaining.isEmpty()) {
+            final List<Node> level = new ArrayList<>();
+            final List<Node> next = new ArrayList<>();
+            for (final Node node : remaining) {
+                if (created.containsAll(dependencies.get(node))) {
+                    level.add(node);
+                } else {
+                    next.add(node);
+                }
+            }
+            if (level.isEmpty()) {
+                final List<String> names = new ArrayList<>();
+                for (final Node node : next) {
+                    names.add(getAttribute(node, NAME));
+                    levels.add(Collections.singletonList(node));
+                }
+                LOGGER.warn("Circular references between {}, creating them sequentially", names);
+                break;
+            }
+            levels.add(level);
+            created.addAll(level);
+            remaining = next;
+        }
+        return levels;
+    }
+
+    private static void collectDependencies(final Node node, final Map<String, Node> byName, final Set<Node> result) {
+        for (final String attribute : REFERENCE_ATTRIBUTES) {
+            final String ref = getAttribute(node, attribute);
+            final Node target = ref != null ? byName.get(ref) : null;
+            if (target != null) {
+                result.add(target);
+            }
+        }
+        for (final Node child : node.getChildren()) {
+            collectDependencies(child, byName, result);
+        }
+    }
+
+    private static String getAttribute(final Node node, final String name) {
+        for (final Map.Entry<String, String> entry : node.getAttributes().entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.status.StatusConfiguration;
+import org.apache.logging.log4j.core.util.Integers;
+import org.apache.logging.log4j.core.util.Patterns;
+
+/**
+ * A configuration created from the node tree of a {@link ConfigurationSnapshot}.
+ * <p>
+ * The {@code strict}, {@code schema} and {@code verbose} attributes of the root node are not used: they only affect
+ * how the configuration file is parsed and validated, which happened when the snapshot was taken from the same
+ * content. The node tree of the snapshot already contains the plugin type that strict parsing resolved for each node.
+ * </p>
+ */
+final class SnapshotConfiguration extends AbstractConfiguration implements Reconfigurable {
+
+    SnapshotConfiguration(final LoggerContext loggerContext, final ConfigurationSource configSource, final Node root) {
+        super(loggerContext, configSource);
+        copyContent(root, rootNode);
+        final StatusConfiguration statusConfig = new StatusConfiguration().withStatus(getDefaultStatus());
+        int monitorIntervalSeconds = 0;
+        for (final Map.Entry<String, String> entry : rootNode.getAttributes().entrySet()) {
+            final String key = entry.getKey();
+            final String value = getConfigurationStrSubstitutor().replace(entry.getValue());
+            if ("status".equalsIgnoreCase(key)) {
+                statusConfig.withStatus(value);
+            } else if ("dest".equalsIgnoreCase(key)) {
+                statusConfig.withDestination(value);
+            } else if ("shutdownHook".equalsIgnoreCase(key)) {
+                isShutdownHookEnabled = !"disable".equalsIgnoreCase(value);
+            } else if ("shutdownTimeout".equalsIgnoreCase(key)) {
+                shutdownTimeoutMillis = Long.parseLong(value);
+            } else if ("packages".equalsIgnoreCase(key)) {
+                pluginPackages.addAll(Arrays.asList(value.split(Patterns.COMMA_SEPARATOR)));
+            } else if ("name".equalsIgnoreCase(key)) {
+                setName(value);
+            } else if ("monitorInterval".equalsIgnoreCase(key)) {
+                monitorIntervalSeconds = Integers.parseInt(value);
+            } else if ("strict".equalsIgnoreCase(key)
+                    || "schema".equalsIgnoreCase(key)
+                    || "verbose".equalsIgnoreCase(key)) {
+                LOGGER.debug("Ignoring the `{}` attribute of the configuration snapshot, only used for parsing", key);
+            }
+        }
+        initializeWatchers(this, configSource, monitorIntervalSeconds);
+        statusConfig.initialize();
+        if (getName() == null) {
+            setName(configSource.getLocation());
+        }
+    }
+
+    /**
+     * Copies the attributes, value and children of a snapshot node to a node attached to this configuration.
+     */
+    private static void copyContent(final Node source, final Node target) {
+        target.setValue(source.getValue());
+        target.getAttributes().putAll(source.getAttributes());
+        for (final Node child : source.getChildren()) {
+            final Node copy = new Node(target, child.getName(), child.getType());
+            copyContent(child, copy);
+            target.getChildren().add(copy);
+        }
+    }
+
+    @Override
+    public void setup() {
+        // the node tree was restored from the snapshot
+    }
+
+    @Override
+    public Configuration reconfigure() {
+        try {
+            final ConfigurationSource source = getConfigurationSource().resetInputStream();
+            if (source == null) {
+                return null;
+            }
+            return ConfigurationFactory.getInstance().getConfiguration(getLoggerContext(), source);
+        } catch (final IOException ex) {
+            LOGGER.error("Cannot locate file {}", getConfigurationSource(), ex);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * A {@link ScheduledExecutorService} based on a hashed timer wheel.
+ * <p>
+ * Tasks are hashed by their deadline, rounded up to a {@value #TICK_MILLIS} milliseconds tick, into the buckets of
+ * a wheel of {@value #WHEEL_SIZE} ticks: scheduling and cancelling a task take constant time, whatever the number of
+ * scheduled tasks. A timer thread sleeps until the first tick with expired tasks, and hands them to a pool of worker
+ * threads, that stop when they are idle. Tasks are never run before their deadline, and at most one tick after.
+ * </p>
+ * <p>
+ * As the {@link java.util.concurrent.ScheduledThreadPoolExecutor} used before, delayed and periodic tasks are
+ * cancelled on shutdown.
+ * </p>
+ */
+final class TimerWheel extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    static final long TICK_MILLIS = 10;
+
+    static final int WHEEL_SIZE = 512;
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition wakeup = lock.newCondition();
+
+    /**
+     * The buckets of the wheel: the first task of a doubly-linked list.
+     */
+    private final Task<?>[] wheel = new Task<?>[WHEEL_SIZE];
+
+    private final long startNanos = System.nanoTime();
+
+    private final ThreadPoolExecutor workers;
+
+    private final Thread timer;
+
+    /**
+     * The last tick whose tasks were run.
+     */
+    private long currentTick;
+
+    /**
+     * The tick the timer thread sleeps until.
+     */
+    private long wakeupTick = Long.MAX_VALUE;
+
+    private int size;
+
+    private volatile boolean shutdown;
+
+    /**
+     * @param workerThreads The maximum number of threads that run the tasks.
+     * @param timerThreadFactory Creates the timer thread.
+     * @param workerThreadFactory Creates the worker threads.
+     */
+    TimerWheel(
+            final int workerThreads, final ThreadFactory timerThreadFactory, final ThreadFactory workerThreadFactory) {
+        workers = new ThreadPoolExecutor(
+                workerThreads,
+                workerThreads,
+                WORKER_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                workerThreadFactory);
+        workers.allowCoreThreadTimeOut(true);
+        timer = timerThreadFactory.newThread(this::runTimer);
+        timer.start();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+        return schedule(Executors.callable(command), command, delay, 0, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
+        return schedule(callable, callable, delay, 0, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(
+            final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return schedule(Executors.callable(command), command, initialDelay, unit.toNanos(period), unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(
+            final Runnable command, final long initialDelay, final long delay, final TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return schedule(Executors.callable(command), command, initialDelay, -unit.toNanos(delay), unit);
+    }
+
+    private <V> ScheduledFuture<V> schedule(
+            final Callable<V> callable,
+            final Object description,
+            final long delay,
+            final long periodNanos,
+            final TimeUnit unit) {
+        final Task<V> task =
+                new Task<>(callable, description, System.nanoTime() + Math.max(0, unit.toNanos(delay)), periodNanos);
+        add(task);
+        return task;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        cancelAll();
+        workers.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> tasks = cancelAll();
+        tasks.addAll(workers.shutdownNow());
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && !timer.isAlive() && workers.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        TimeUnit.NANOSECONDS.timedJoin(timer, Math.max(1, deadline - System.nanoTime()));
+        return workers.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS) && !timer.isAlive();
+    }
+
+    /**
+     * Returns the scheduled tasks, ordered by deadline.
+     */
+    List<RunnableScheduledFuture<?>> getScheduledTasks() {
+        final List<RunnableScheduledFuture<?>> tasks = new ArrayList<>();
+        lock.lock();
+        try {
+            for (final Task<?> head : wheel) {
+                for (Task<?> task = head; task != null; task = task.next) {
+                    tasks.add(task);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        Collections.sort(tasks);
+        return tasks;
+    }
+
+    private void add(final Task<?> task) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Scheduler is shut down");
+            }
+            if (task.isCancelled()) {
+                // a periodic task cancelled while running
+                return;
+            }
+            // rounded up, so that a task never runs before its deadline
+            final long elapsed = task.deadline - startNanos;
+            task.tick = Math.max(currentTick + 1, (elapsed + TICK_NANOS - 1) / TICK_NANOS);
+            final int index = (int) (task.tick & MASK);
+            task.next = wheel[index];
+            if (task.next != null) {
+                task.next.previous = task;
+            }
+            wheel[index] = task;
+            task.queued = true;
+            size++;
+            if (task.tick < wakeupTick) {
+                wakeup.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(final Task<?> task) {
+        lock.lock();
+        try {
+            if (task.queued) {
+                unlink(task);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unlink(final Task<?> task) {
+        if (task.previous != null) {
+            task.previous.next = task.next;
+        } else {
+            wheel[(int) (task.tick & MASK)] = task.next;
+        }
+        if (task.next != null) {
+            task.next.previous = task.previous;
+        }
+        task.previous = null;
+        task.next = null;
+        task.queued = false;
+        size--;
+    }
+
+    private List<Runnable> cancelAll() {
+        final List<Runnable> cancelled = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                while (wheel[i] != null) {
+                    final Task<?> task = wheel[i];
+                    unlink(task);
+                    cancelled.add(task);
+                }
+            }
+            wakeup.signal();
+        } finally {
+            lock.unlock();
+        }
+        for (final Runnable task : cancelled) {
+            ((Task<?>) task).cancel(false);
+        }
+        return cancelled;
+    }
+
+    private void runTimer() {
+        final List<Task<?>> expired = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                if (shutdown) {
+                    return;
+                }
+                final long tick = (System.nanoTime() - startNanos) / TICK_NANOS;
+                if (tick > currentTick) {
+                    collectExpired(tick, expired);
+                    currentTick = tick;
+                }
+                if (expired.isEmpty()) {
+                    wakeupTick = nextTick();
+                    if (wakeupTick == Long.MAX_VALUE) {
+                        wakeup.await();
+                    } else {
+                        wakeup.awaitNanos(startNanos + wakeupTick * TICK_NANOS - System.nanoTime());
+                    }
+                    wakeupTick = Long.MAX_VALUE;
+                    continue;
+                }
+            } catch (final InterruptedException e) {
+                // only the shutdown stops the timer
+                continue;
+            } finally {
+                lock.unlock();
+            }
+            for (final Task<?> task : expired) {
+                try {
+                    workers.execute(task);
+                } catch (final RejectedExecutionException e) {
+                    LOGGER.debug("Scheduler shut down, {} not run", task);
+                }
+            }
+            expired.clear();
+        }
+    }
+
+    /**
+     * Removes the tasks of the buckets of the ticks that passed.
+     */
+    private void collectExpired(final long tick, final List<Task<?>> expired) {
+        final long count = Math.min(tick - currentTick, WHEEL_SIZE);
+        for (long i = 1; i <= count; i++) {
+            Task<?> task = wheel[(int) ((currentTick + i) & MASK)];
+            while (task != null) {
+                final Task<?> next = task.next;
+                // the bucket also holds the tasks of the next rounds of the wheel
+                if (task.tick <= tick) {
+                    unlink(task);
+                    expired.add(task);
+                }
+                task = next;
+            }
+        }
+    }
+
+    /**
+     * Finds the first tick with tasks.
+     *
+     * @return the tick, or {@link Long#MAX_VALUE} if there are no tasks.
+     */
+    private long nextTick() {
+        long next = Long.MAX_VALUE;
+        if (size == 0) {
+            return next;
+        }
+        for (int i = 1; i <= WHEEL_SIZE; i++) {
+            final long tick = currentTick + i;
+            for (Task<?> task = wheel[(int) (tick & MASK)]; task != null; task = task.next) {
+                if (task.tick == tick) {
+                    return tick;
+                }
+                next = Math.min(next, task.tick);
+            }
+        }
+        return next;
+    }
+
+    private final class Task<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        private final Object description;
+
+        /**
+         * The period of a fixed-rate task if positive, the delay of a fixed-delay task if negative.
+         */
+        private final long periodNanos;
+
+        private volatile long deadline;
+
+        // the following fields are guarded by the lock of the wheel
+        private long tick;
+
+        private Task<?> previous;
+
+        private Task<?> next;
+
+        private boolean queued;
+
+        Task(final Callable<V> callable, final Object description, final long deadline, final long periodNanos) {
+            super(callable);
+            this.description = description;
+            this.deadline = deadline;
+            this.periodNanos = periodNanos;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return periodNanos != 0;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            final long diff = other instanceof Task
+                    ? deadline - ((Task<?>) other).deadline
+                    : getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+            return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset()) {
+                deadline = periodNanos > 0 ? deadline + periodNanos : System.nanoTime() - periodNanos;
+                try {
+                    add(this);
+                } catch (final RejectedExecutionException e) {
+                    // shut down while running
+                    cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                remove(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public String toString() {
+            return description.toString();
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.core.config.json;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.ByteArrayInputStream;
@@ -31,6 +32,7 @@ import java.util.Map;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.AbstractConfiguration;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.config.Node;
@@ -39,14 +41,26 @@ import org.apache.logging.log4j.core.config.plugins.util.PluginType;
 import org.apache.logging.log4j.core.config.status.StatusConfiguration;
 import org.apache.logging.log4j.core.util.Integers;
 import org.apache.logging.log4j.core.util.Patterns;
+import org.apache.logging.log4j.util.PropertiesUtil;
 
 /**
  * Creates a Node hierarchy from a JSON file.
+ * <p>
+ * The file is read with the streaming API of Jackson, without building a {@link JsonNode} tree. Files with duplicate
+ * keys or unusual values are read into a tree, as are all files if {@value ConfigurationFactory#STREAMING_PARSER_PROPERTY} is
+ * {@code false}.
+ * </p>
  */
 public class JsonConfiguration extends AbstractConfiguration implements Reconfigurable {
 
+    private static final String TYPE = "type";
+
     private final List<Status> status = new ArrayList<>();
     private JsonNode root;
+    /**
+     * The nodes read by the streaming parser, until {@link #setup()} resolves their plugins.
+     */
+    private ParsedNode parsedRoot;
 
     public JsonConfiguration(final LoggerContext loggerContext, final ConfigurationSource configSource) {
         super(loggerContext, configSource);
@@ -56,14 +70,22 @@ public class JsonConfiguration extends AbstractConfiguration implements Reconfig
             try (final InputStream configStream = configSource.getInputStream()) {
                 buffer = toByteArray(configStream);
             }
-            final InputStream is = new ByteArrayInputStream(buffer);
-            root = getObjectMapper().readTree(is);
-            if (root.size() == 1) {
-                for (final JsonNode node : root) {
-                    root = node;
+            if (PropertiesUtil.getProperties()
+                    .getBooleanProperty(ConfigurationFactory.STREAMING_PARSER_PROPERTY, true)) {
+                parsedRoot = parse(buffer);
+            }
+            if (parsedRoot != null) {
+                rootNode.getAttributes().putAll(parsedRoot.getAttributes());
+            } else {
+                final InputStream is = new ByteArrayInputStream(buffer);
+                root = getObjectMapper().readTree(is);
+                if (root.size() == 1) {
+                    for (final JsonNode node : root) {
+                        root = node;
+                    }
                 }
+                processAttributes(rootNode, root);
             }
-            processAttributes(rootNode, root);
             final StatusConfiguration statusConfig = new StatusConfiguration().withStatus(getDefaultStatus());
             int monitorIntervalSeconds = 0;
             for (final Map.Entry<String, String> entry :
@@ -103,8 +125,120 @@ public class JsonConfiguration extends AbstractConfiguration implements Reconfig
         return new ObjectMapper().configure(JsonParser.Feature.ALLOW_COMMENTS, true);
     }
 
+    /**
+     * Reads the configuration file with the streaming API of Jackson.
+     *
+     * @return the root node, or {@code null} if the file must be read into a {@link JsonNode} tree.
+     */
+    private ParsedNode parse(final byte[] buffer) {
+        try (final JsonParser parser = getObjectMapper().getFactory().createParser(buffer)) {
+            // the tree keeps the last value of duplicate keys, at the position of the first one
+            parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            final ParsedNode document = new ParsedNode(null, null);
+            final int fields = parseObject(parser, document, false);
+            if (fields != 1) {
+                return document;
+            }
+            // as for the tree, a single field is the configuration
+            if (document.hasChildren() && !((ParsedNode) document.getChildren().get(0)).arrayItem) {
+                final ParsedNode configuration =
+                        (ParsedNode) document.getChildren().get(0);
+                configuration.setParent(null);
+                return configuration;
+            }
+            return new ParsedNode(null, null);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.debug("Unable to stream {}, reading it into a tree", getConfigurationSource(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the fields of an object, the parser being on its {@code START_OBJECT} token.
+     * <p>
+     * The fields of an element of an array are read as {@link #constructNode} did for array elements: their type
+     * comes from their {@code type} attribute, and the elements of their array fields are not array elements.
+     * </p>
+     *
+     * @return the number of fields.
+     */
+    private static int parseObject(final JsonParser parser, final ParsedNode node, final boolean arrayItem)
+            throws IOException {
+        int fields = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            final JsonToken token = parser.nextToken();
+            fields++;
+            if (token == JsonToken.START_OBJECT) {
+                if (!arrayItem) {
+                    node.containers++;
+                }
+                final ParsedNode child = new ParsedNode(node, name);
+                parseObject(parser, child, false);
+                node.getChildren().add(child);
+            } else if (token == JsonToken.START_ARRAY) {
+                if (!arrayItem) {
+                    node.containers++;
+                }
+                node.arrays++;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    final ParsedNode element = new ParsedNode(node, name);
+                    element.arrayItem = !arrayItem;
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        parseObject(parser, element, element.arrayItem);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    node.getChildren().add(element);
+                }
+            } else {
+                final String value = getText(parser);
+                if (!name.equalsIgnoreCase(TYPE)) {
+                    node.getAttributes().put(name, value);
+                } else if (arrayItem && !node.typed) {
+                    node.pluginType = value;
+                    node.typed = true;
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the text of a scalar value, as {@link JsonNode#asText()} does.
+     */
+    private static String getText(final JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue().toString();
+            case VALUE_NUMBER_FLOAT:
+                if (parser.getNumberType() == JsonParser.NumberType.DOUBLE) {
+                    return Double.toString(parser.getDoubleValue());
+                }
+                break;
+            case VALUE_TRUE:
+                return "true";
+            case VALUE_FALSE:
+                return "false";
+            case VALUE_NULL:
+                return "null";
+            default:
+                break;
+        }
+        throw new IOException("Unsupported value " + parser.currentToken() + " for " + parser.getCurrentName());
+    }
+
     @Override
     public void setup() {
+        if (parsedRoot != null) {
+            setupParsed();
+            return;
+        }
         final Iterator<Map.Entry<String, JsonNode>> iter = root.fields();
         final List<Node> children = rootNode.getChildren();
         while (iter.hasNext()) {
@@ -139,6 +273,49 @@ public class JsonConfiguration extends AbstractConfiguration implements Reconfig
         return null;
     }
 
+    private void setupParsed() {
+        final List<Node> children = rootNode.getChildren();
+        for (final Node child : parsedRoot.getChildren()) {
+            final ParsedNode parsed = (ParsedNode) child;
+            if (!parsed.arrayItem) {
+                LOGGER.debug("Processing node for object {}", parsed.getName());
+                children.add(constructNode(rootNode, parsed));
+            }
+        }
+        for (int i = 0; i < parsedRoot.arrays; i++) {
+            LOGGER.error("Arrays are not supported at the root configuration.");
+        }
+        parsedRoot = null;
+        LOGGER.debug("Completed parsing configuration");
+        if (status.size() > 0) {
+            for (final Status s : status) {
+                LOGGER.error("Error processing element {}: {}", s.name, s.errorType);
+            }
+        }
+    }
+
+    private Node constructNode(final Node parent, final ParsedNode parsed) {
+        final String name = parsed.getName();
+        final PluginType<?> type = pluginManager.getPluginType(parsed.pluginType);
+        final Node node = new Node(parent, name, type);
+        node.getAttributes().putAll(parsed.getAttributes());
+        if (type == null) {
+            for (int i = 0; i < parsed.containers; i++) {
+                status.add(new Status(name, parsed, ErrorType.CLASS_NOT_FOUND));
+            }
+        }
+        final List<Node> children = node.getChildren();
+        for (final Node child : parsed.getChildren()) {
+            children.add(constructNode(node, (ParsedNode) child));
+        }
+        LOGGER.debug(
+                "Returning {} with parent {} of type {}",
+                name,
+                parent.getName() == null ? LoggerConfig.ROOT : parent.getName(),
+                type == null ? "null" : type.getElementName() + ':' + type.getPluginClass());
+        return node;
+    }
+
     private Node constructNode(final String name, final Node parent, final JsonNode jsonNode) {
         final PluginType<?> type = pluginManager.getPluginType(name);
         final Node node = new Node(parent, name, type);
@@ -252,11 +429,11 @@ public class JsonConfiguration extends AbstractConfiguration implements Reconfig
      * Status for recording errors.
      */
     private static class Status {
-        private final JsonNode node;
+        private final Object node;
         private final String name;
         private final ErrorType errorType;
 
-        public Status(final String name, final JsonNode node, final ErrorType errorType) {
+        public Status(final String name, final Object node, final ErrorType errorType) {
             this.name = name;
             this.node = node;
             this.errorType = errorType;
@@ -267,4 +444,34 @@ public class JsonConfiguration extends AbstractConfiguration implements Reconfig
             return "Status [name=" + name + ", errorType=" + errorType + ", node=" + node + "]";
         }
     }
+
+    /**
+     * A node read by the streaming parser.
+     */
+    private static final class ParsedNode extends Node {
+
+        /**
+         * The name of the plugin of the node: the value of the {@code type} attribute for array elements.
+         */
+        private String pluginType;
+
+        private boolean typed;
+
+        /**
+         * Whether the node is an element of an array field, which is not supported at the root.
+         */
+        private boolean arrayItem;
+
+        /**
+         * The number of object and array fields, that require a plugin type.
+         */
+        private int containers;
+
+        private int arrays;
+
+        ParsedNode(final ParsedNode parent, final String name) {
+            super(parent, name, null);
+            this.pluginType = name;
+        }
+    }
 }
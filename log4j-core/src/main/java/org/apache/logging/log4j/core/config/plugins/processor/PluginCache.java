@@ -23,6 +23,7 @@ import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
 import java.util.Enumeration;
@@ -94,31 +95,42 @@ public class PluginCache {
         categories.clear();
         while (resources.hasMoreElements()) {
             final URL url = resources.nextElement();
-            try (final DataInputStream in = new DataInputStream(new BufferedInputStream(url.openStream()))) {
-                final int count = in.readInt();
-                for (int i = 0; i < count; i++) {
-                    final String category = in.readUTF();
-                    final Map<String, PluginEntry> m = getCategory(category);
-                    final int entries = in.readInt();
-                    for (int j = 0; j < entries; j++) {
-                        // Must always read all parts of the entry, even if not adding, so that the stream progresses
-                        final String key = in.readUTF();
-                        final String className = in.readUTF();
-                        final String name = in.readUTF();
-                        final boolean printable = in.readBoolean();
-                        final boolean defer = in.readBoolean();
-                        m.computeIfAbsent(key, k -> {
-                            final PluginEntry entry = new PluginEntry();
-                            entry.setKey(k);
-                            entry.setClassName(className);
-                            entry.setName(name);
-                            entry.setPrintable(printable);
-                            entry.setDefer(defer);
-                            entry.setCategory(category);
-                            return entry;
-                        });
-                    }
-                }
+            try (final InputStream in = url.openStream()) {
+                loadCacheFile(in);
+            }
+        }
+    }
+
+    /**
+     * Loads and merges a plugin cache file.
+     *
+     * @param is the content of the cache file.
+     * @throws IOException if an I/O exception occurs.
+     */
+    void loadCacheFile(final InputStream is) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+        final int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            final String category = in.readUTF();
+            final Map<String, PluginEntry> m = getCategory(category);
+            final int entries = in.readInt();
+            for (int j = 0; j < entries; j++) {
+                // Must always read all parts of the entry, even if not adding, so that the stream progresses
+                final String key = in.readUTF();
+                final String className = in.readUTF();
+                final String name = in.readUTF();
+                final boolean printable = in.readBoolean();
+                final boolean defer = in.readBoolean();
+                m.computeIfAbsent(key, k -> {
+                    final PluginEntry entry = new PluginEntry();
+                    entry.setKey(k);
+                    entry.setClassName(className);
+                    entry.setName(name);
+                    entry.setPrintable(printable);
+                    entry.setDefer(defer);
+                    entry.setCategory(category);
+                    return entry;
+                });
             }
         }
     }
@@ -0,0 +1,540 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.plugins.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import org.apache.logging.log4j.core.config.plugins.PluginAliases;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.config.plugins.PluginLoggerContext;
+import org.apache.logging.log4j.core.config.plugins.PluginNode;
+import org.apache.logging.log4j.core.config.plugins.PluginValue;
+import org.apache.logging.log4j.core.config.plugins.PluginVisitorStrategy;
+import org.apache.logging.log4j.core.config.plugins.util.GeneratedPluginFactory;
+import org.apache.logging.log4j.core.config.plugins.validation.Constraint;
+import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
+import org.apache.logging.log4j.core.util.Builder;
+
+/**
+ * Generates a {@link GeneratedPluginFactory} for a plugin class, so that the plugin is created without reflection.
+ * <p>
+ * A factory is only generated if every injected member of the plugin builder or factory method can be reached from
+ * the package of the plugin and only uses the standard injection and {@link Required} annotations. Like the reflective
+ * path, the factory assigns the builder fields directly, so it is not generated for private fields. Other plugins are
+ * still created by reflection.
+ * </p>
+ */
+final class PluginFactoryGenerator {
+
+    private static final String INJECTOR = "org.apache.logging.log4j.core.config.plugins.visitors.PluginInjector";
+
+    private final ProcessingEnvironment processingEnv;
+    private final Elements elements;
+    private final Types types;
+    private final TypeMirror builderType;
+    private final TypeMirror runtimeExceptionType;
+    private final TypeMirror errorType;
+
+    PluginFactoryGenerator(final ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.builderType = erasure(Builder.class.getName());
+        this.runtimeExceptionType = erasure(RuntimeException.class.getName());
+        this.errorType = erasure(Error.class.getName());
+    }
+
+    private TypeMirror erasure(final String className) {
+        return types.erasure(elements.getTypeElement(className).asType());
+    }
+
+    /**
+     * Generates the factory of a plugin class if possible.
+     *
+     * @param plugin the plugin class.
+     * @return {@code true} if a factory was generated.
+     * @throws IOException if the source file cannot be written.
+     */
+    boolean generate(final TypeElement plugin) throws IOException {
+        final PackageElement pkg = elements.getPackageOf(plugin);
+        if (!isAccessible(plugin, pkg)) {
+            return false;
+        }
+        final ExecutableElement builderFactory = findStaticMethod(plugin, PluginBuilderFactory.class);
+        final ExecutableElement factory = findStaticMethod(plugin, PluginFactory.class);
+        final String body;
+        if (builderFactory != null) {
+            // with both, a failed builder falls back to the factory method; leave that to reflection
+            body = factory == null ? createBuilderBody(plugin, builderFactory, pkg) : null;
+        } else {
+            body = factory != null ? createFactoryBody(plugin, factory, pkg) : null;
+        }
+        if (body == null) {
+            return false;
+        }
+        final String packageName = pkg.getQualifiedName().toString();
+        final String binaryName = elements.getBinaryName(plugin).toString();
+        final String simpleName =
+                (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_')
+                        + GeneratedPluginFactory.CLASS_NAME_SUFFIX;
+        final JavaFileObject file = processingEnv
+                .getFiler()
+                .createSourceFile(packageName.isEmpty() ? simpleName : packageName + '.' + simpleName, plugin);
+        try (final Writer writer = file.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.append("package ").append(packageName).append(";\n\n");
+            }
+            writer.append("/**\n * Creates {@link ")
+                    .append(plugin.getQualifiedName())
+                    .append("} plugins without reflection.\n * Generated by ")
+                    .append(PluginProcessor.class.getName())
+                    .append(".\n */\n")
+                    .append("@SuppressWarnings({\"deprecation\", \"removal\", \"rawtypes\", \"unchecked\"})\n")
+                    .append("public final class ")
+                    .append(simpleName)
+                    .append(" implements ")
+                    .append(GeneratedPluginFactory.class.getName())
+                    .append(" {\n\n    @Override\n    public ")
+                    .append(Builder.class.getName())
+                    .append("<?> newBuilder(final ")
+                    .append(INJECTOR)
+                    .append(" injector) {\n")
+                    .append(body)
+                    .append("    }\n}\n");
+        }
+        return true;
+    }
+
+    private ExecutableElement findStaticMethod(
+            final TypeElement plugin, final Class<? extends java.lang.annotation.Annotation> annotation) {
+        for (final ExecutableElement method : ElementFilter.methodsIn(plugin.getEnclosedElements())) {
+            if (method.getAnnotation(annotation) != null
+                    && method.getModifiers().contains(Modifier.STATIC)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private String createBuilderBody(
+            final TypeElement plugin, final ExecutableElement builderFactory, final PackageElement pkg) {
+        final TypeMirror returnType = types.erasure(builderFactory.getReturnType());
+        if (builderFactory.getModifiers().contains(Modifier.PRIVATE)
+                || !builderFactory.getParameters().isEmpty()
+                || returnType.getKind() != TypeKind.DECLARED
+                || !types.isAssignable(returnType, builderType)) {
+            return null;
+        }
+        final TypeElement builder = (TypeElement) types.asElement(returnType);
+        if (builder.getKind() != ElementKind.CLASS
+                || builder.getModifiers().contains(Modifier.ABSTRACT)
+                || !isAccessible(builder, pkg)) {
+            return null;
+        }
+        final String builderName = builder.getQualifiedName().toString();
+        final StringBuilder body = new StringBuilder();
+        body.append("        final Object created = ")
+                .append(plugin.getQualifiedName())
+                .append('.')
+                .append(builderFactory.getSimpleName())
+                .append("();\n");
+        // the fields of a builder subclass returned at runtime are unknown here
+        body.append("        if (created == null || created.getClass() != ")
+                .append(builderName)
+                .append(".class) {\n            return null;\n        }\n");
+        body.append("        final ")
+                .append(builderName)
+                .append(" builder = (")
+                .append(builderName)
+                .append(") created;\n");
+        body.append("        Object value;\n");
+        final StringBuilder validation = new StringBuilder();
+        final Set<String> names = new HashSet<>();
+        TypeElement current = builder;
+        while (current != null) {
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!names.add(field.getSimpleName().toString())) {
+                    // a hidden field cannot be told apart in source code
+                    return null;
+                }
+                final String injection =
+                        createInjection(field, field.getSimpleName().toString(), pkg);
+                if (injection == null) {
+                    return null;
+                }
+                if (injection.isEmpty()) {
+                    continue;
+                }
+                if (field.getModifiers().contains(Modifier.STATIC)
+                        || field.getModifiers().contains(Modifier.FINAL)) {
+                    return null;
+                }
+                if (!isAccessible(field, pkg)) {
+                    // the reflective path writes the field directly, which setters might not do
+                    return null;
+                }
+                final TypeMirror type = types.erasure(field.asType());
+                final String assignment = "builder." + field.getSimpleName() + " = " + cast(type) + "value";
+                final String reading = "builder." + field.getSimpleName();
+                body.append("        value = ")
+                        .append(injection)
+                        .append(";\n        if (value != null) {\n            ")
+                        .append(assignment)
+                        .append(";\n        }\n");
+                final String constraint =
+                        createValidation(field, field.getSimpleName().toString(), reading);
+                if (constraint == null) {
+                    return null;
+                }
+                validation.append(constraint);
+            }
+            current = superclass(current);
+        }
+        return body.append(validation).append("        return builder;\n").toString();
+    }
+
+    private String createFactoryBody(
+            final TypeElement plugin, final ExecutableElement factory, final PackageElement pkg) {
+        if (factory.getModifiers().contains(Modifier.PRIVATE)
+                || factory.getReturnType().getKind() == TypeKind.VOID) {
+            return null;
+        }
+        for (final TypeMirror thrown : factory.getThrownTypes()) {
+            if (!types.isSubtype(thrown, runtimeExceptionType) && !types.isSubtype(thrown, errorType)) {
+                return null;
+            }
+        }
+        final StringBuilder body = new StringBuilder();
+        final StringBuilder validation = new StringBuilder();
+        final List<String> arguments = new ArrayList<>();
+        final List<? extends VariableElement> parameters = factory.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            final VariableElement parameter = parameters.get(i);
+            final String injection =
+                    createInjection(parameter, parameter.getSimpleName().toString(), pkg);
+            if (injection == null || injection.isEmpty()) {
+                return null;
+            }
+            final String name = "arg" + i;
+            body.append("        final Object ")
+                    .append(name)
+                    .append(" = ")
+                    .append(injection)
+                    .append(";\n");
+            final String constraint =
+                    createValidation(parameter, parameter.getSimpleName().toString(), name);
+            if (constraint == null) {
+                return null;
+            }
+            validation.append(constraint);
+            arguments.add(cast(types.erasure(parameter.asType())) + name);
+        }
+        body.append(validation)
+                .append("        return () -> ")
+                .append(plugin.getQualifiedName())
+                .append('.')
+                .append(factory.getSimpleName())
+                .append('(')
+                .append(String.join(", ", arguments))
+                .append(");\n");
+        return body.toString();
+    }
+
+    /**
+     * Returns the expression computing the value of an injected member, an empty string if the member is not
+     * injected or {@code null} if the member cannot be injected without reflection.
+     */
+    private String createInjection(final Element member, final String memberName, final PackageElement pkg) {
+        String injection = "";
+        for (final AnnotationMirror mirror : member.getAnnotationMirrors()) {
+            final TypeElement annotationType =
+                    (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getAnnotation(PluginVisitorStrategy.class) != null) {
+                if (!injection.isEmpty()) {
+                    return null;
+                }
+                injection = createInjection(member, memberName, annotationType, mirror, pkg);
+                if (injection == null) {
+                    return null;
+                }
+            }
+        }
+        return injection;
+    }
+
+    private String createInjection(
+            final Element member,
+            final String memberName,
+            final TypeElement annotationType,
+            final AnnotationMirror mirror,
+            final PackageElement pkg) {
+        final TypeMirror type = types.erasure(member.asType());
+        final String typeLiteral = classLiteral(type, pkg);
+        if (typeLiteral == null) {
+            return null;
+        }
+        final String annotationName = annotationType.getQualifiedName().toString();
+        if (annotationName.equals(PluginAttribute.class.getName())) {
+            final PluginAttribute attribute = member.getAnnotation(PluginAttribute.class);
+            final String defaultValue = defaultValue(type, attribute, mirror, pkg);
+            if (defaultValue == null) {
+                return null;
+            }
+            return "injector.attribute(" + literal(attribute.value()) + ", " + aliases(member) + ", " + typeLiteral
+                    + ", " + defaultValue + ", " + attribute.sensitive() + ')';
+        }
+        if (annotationName.equals(PluginBuilderAttribute.class.getName())) {
+            final PluginBuilderAttribute attribute = member.getAnnotation(PluginBuilderAttribute.class);
+            final String name = attribute.value().isEmpty() ? memberName : attribute.value();
+            return "injector.builderAttribute(" + literal(name) + ", " + aliases(member) + ", " + typeLiteral + ", "
+                    + attribute.sensitive() + ')';
+        }
+        if (annotationName.equals(PluginElement.class.getName())) {
+            return "injector.element("
+                    + literal(member.getAnnotation(PluginElement.class).value()) + ", " + typeLiteral + ')';
+        }
+        if (annotationName.equals(PluginValue.class.getName())) {
+            final PluginValue value = member.getAnnotation(PluginValue.class);
+            return "injector.value(" + literal(value.value()) + ", " + value.substitute() + ')';
+        }
+        if (annotationName.equals(PluginConfiguration.class.getName())) {
+            return "injector.configuration(" + typeLiteral + ')';
+        }
+        if (annotationName.equals(PluginNode.class.getName())) {
+            return "injector.node(" + typeLiteral + ')';
+        }
+        if (annotationName.equals(PluginLoggerContext.class.getName())) {
+            return "injector.loggerContext(" + typeLiteral + ')';
+        }
+        // a custom visitor
+        return null;
+    }
+
+    /**
+     * Returns the statements checking the constraints of an injected member or {@code null} if they cannot be
+     * checked without reflection.
+     */
+    private String createValidation(final Element member, final String memberName, final String reading) {
+        final StringBuilder validation = new StringBuilder();
+        for (final AnnotationMirror mirror : member.getAnnotationMirrors()) {
+            final TypeElement annotationType =
+                    (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getAnnotation(Constraint.class) == null) {
+                continue;
+            }
+            if (!annotationType.getQualifiedName().contentEquals(Required.class.getName()) || reading == null) {
+                return null;
+            }
+            validation
+                    .append("        injector.required(")
+                    .append(literal(memberName))
+                    .append(", ")
+                    .append(reading)
+                    .append(", ")
+                    .append(literal(member.getAnnotation(Required.class).message()))
+                    .append(");\n");
+        }
+        return validation.toString();
+    }
+
+    private String defaultValue(
+            final TypeMirror type,
+            final PluginAttribute attribute,
+            final AnnotationMirror mirror,
+            final PackageElement pkg) {
+        final String typeName = boxedName(type);
+        switch (typeName) {
+            case "java.lang.Integer":
+                return Integer.toString(attribute.defaultInt());
+            case "java.lang.Long":
+                return attribute.defaultLong() + "L";
+            case "java.lang.Boolean":
+                return Boolean.toString(attribute.defaultBoolean());
+            case "java.lang.Float":
+                return floatLiteral(attribute.defaultFloat());
+            case "java.lang.Double":
+                return doubleLiteral(attribute.defaultDouble());
+            case "java.lang.Byte":
+                return "(byte) " + attribute.defaultByte();
+            case "java.lang.Character":
+                return "(char) " + (int) attribute.defaultChar();
+            case "java.lang.Short":
+                return "(short) " + attribute.defaultShort();
+            case "java.lang.Class":
+                return defaultClass(mirror, pkg);
+            default:
+                return literal(attribute.defaultString());
+        }
+    }
+
+    private String defaultClass(final AnnotationMirror mirror, final PackageElement pkg) {
+        for (final java.util.Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("defaultClass")) {
+                return classLiteral(types.erasure((TypeMirror) entry.getValue().getValue()), pkg);
+            }
+        }
+        return null;
+    }
+
+    private static String floatLiteral(final float value) {
+        if (Float.isNaN(value)) {
+            return "Float.NaN";
+        }
+        if (Float.isInfinite(value)) {
+            return value > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY";
+        }
+        return value + "f";
+    }
+
+    private static String doubleLiteral(final double value) {
+        if (Double.isNaN(value)) {
+            return "Double.NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+        return value + "d";
+    }
+
+    private String aliases(final Element member) {
+        final PluginAliases aliases = member.getAnnotation(PluginAliases.class);
+        if (aliases == null) {
+            return "null";
+        }
+        final List<String> literals = new ArrayList<>();
+        for (final String alias : aliases.value()) {
+            literals.add(literal(alias));
+        }
+        return "new String[] {" + String.join(", ", literals) + '}';
+    }
+
+    private TypeElement superclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        final TypeElement element = (TypeElement) types.asElement(superclass);
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    private String cast(final TypeMirror type) {
+        final String name = type.getKind().isPrimitive() ? boxedName(type) : type.toString();
+        return name.equals(Object.class.getName()) ? "" : '(' + name + ") ";
+    }
+
+    private String boxedName(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass(types.getPrimitiveType(type.getKind()))
+                    .getQualifiedName()
+                    .toString();
+        }
+        return type.toString();
+    }
+
+    private String classLiteral(final TypeMirror type, final PackageElement pkg) {
+        if (type.getKind().isPrimitive()) {
+            return type.toString() + ".class";
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            final String component = classLiteral(((ArrayType) type).getComponentType(), pkg);
+            return component != null ? component.substring(0, component.length() - 6) + "[].class" : null;
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+            return isAccessible(element, pkg) ? element.getQualifiedName() + ".class" : null;
+        }
+        return null;
+    }
+
+    /**
+     * Checks if an element can be referenced from a class in the given package.
+     */
+    private boolean isAccessible(final Element element, final PackageElement pkg) {
+        Element current = element;
+        while (current != null && current.getKind() != ElementKind.PACKAGE) {
+            final Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC)
+                    && !elements.getPackageOf(current).equals(pkg)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private static String literal(final String value) {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
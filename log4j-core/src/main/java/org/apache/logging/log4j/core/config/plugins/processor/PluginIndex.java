@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.plugins.processor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * An index of the plugins of a {@link PluginCache}, that can be read one category at a time.
+ * <p>
+ * The index is written by the {@link PluginProcessor} next to the plugin cache file. It contains a table of
+ * categories, a table of fixed-size plugin entries and a table of strings, all referenced by their offsets, so
+ * that a category can be decoded without reading the others. Index files are memory-mapped when they are found in
+ * a directory.
+ * </p>
+ * <p>
+ * The index records the checksum of the plugin cache file it was written with: if the cache file was changed
+ * afterwards, for instance merged with the cache files of other jars by a shading plugin, the index must be ignored.
+ * </p>
+ *
+ * @see PluginProcessor#PLUGIN_INDEX_FILE
+ * @since 2.24.0
+ */
+public final class PluginIndex {
+
+    private static final String INDEX_FILE_NAME =
+            PluginProcessor.PLUGIN_INDEX_FILE.substring(PluginProcessor.PLUGIN_INDEX_FILE.lastIndexOf('/') + 1);
+
+    private static final int MAGIC = 0x4C344A49;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+
+    private static final int CATEGORY_SIZE = 12;
+
+    private static final int ENTRY_SIZE = 13;
+
+    private static final int PRINTABLE = 1;
+
+    private static final int DEFER = 2;
+
+    private final ByteBuffer buffer;
+
+    private final int cacheLength;
+
+    private final int cacheChecksum;
+
+    /**
+     * Maps the names of the categories to the offsets of their records.
+     */
+    private final Map<String, Integer> categories;
+
+    private PluginIndex(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported plugin index format");
+        }
+        this.cacheLength = buffer.getInt(8);
+        this.cacheChecksum = buffer.getInt(12);
+        final int count = buffer.getInt(16);
+        final Map<String, Integer> map = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            final int offset = HEADER_SIZE + i * CATEGORY_SIZE;
+            map.put(readString(buffer.getInt(offset)), offset);
+        }
+        this.categories = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Loads the plugins of a plugin cache file, using the index next to it if it is up-to-date.
+     * <p>
+     * Cache files without index, e.g. written by older versions of the {@link PluginProcessor}, are decoded.
+     * </p>
+     *
+     * @param cacheFile The location of a {@link PluginProcessor#PLUGIN_CACHE_FILE}.
+     * @return The index.
+     * @throws IOException if the cache file cannot be read.
+     */
+    public static PluginIndex forCacheFile(final URL cacheFile) throws IOException {
+        final byte[] content;
+        try (final InputStream in = cacheFile.openStream()) {
+            content = readAll(in);
+        }
+        try {
+            final PluginIndex index = load(new URL(cacheFile, INDEX_FILE_NAME));
+            if (index.matches(content)) {
+                return index;
+            }
+        } catch (final IOException e) {
+            // no usable index
+        }
+        final PluginCache cache = new PluginCache();
+        cache.loadCacheFile(new ByteArrayInputStream(content));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(cache, content, out);
+        return new PluginIndex(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    /**
+     * Reads an index file.
+     */
+    static PluginIndex load(final URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            final File file;
+            try {
+                file = new File(url.toURI());
+            } catch (final URISyntaxException | IllegalArgumentException e) {
+                throw new IOException("Invalid plugin index location " + url, e);
+            }
+            try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return new PluginIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+        try (final InputStream in = url.openStream()) {
+            return new PluginIndex(ByteBuffer.wrap(readAll(in)));
+        }
+    }
+
+    /**
+     * Writes the index of a plugin cache.
+     *
+     * @param cache The plugin cache.
+     * @param cacheFile The content of the plugin cache file written with {@link PluginCache#writeCache}.
+     * @param os The destination of the index.
+     * @throws IOException if an I/O exception occurs.
+     */
+    public static void write(final PluginCache cache, final byte[] cacheFile, final OutputStream os)
+            throws IOException {
+        final Map<String, Map<String, PluginEntry>> categoryMap = cache.getAllCategories();
+        int entryCount = 0;
+        for (final Map<String, PluginEntry> entries : categoryMap.values()) {
+            entryCount += entries.size();
+        }
+        final int entriesStart = HEADER_SIZE + categoryMap.size() * CATEGORY_SIZE;
+        final int stringsStart = entriesStart + entryCount * ENTRY_SIZE;
+        final StringTable strings = new StringTable(stringsStart);
+        try (final DataOutputStream out = new DataOutputStream(os)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(cacheFile.length);
+            out.writeInt(checksum(cacheFile));
+            out.writeInt(categoryMap.size());
+            int entriesOffset = entriesStart;
+            for (final Map.Entry<String, Map<String, PluginEntry>> category : categoryMap.entrySet()) {
+                out.writeInt(strings.offsetOf(category.getKey()));
+                out.writeInt(category.getValue().size());
+                out.writeInt(entriesOffset);
+                entriesOffset += category.getValue().size() * ENTRY_SIZE;
+            }
+            for (final Map<String, PluginEntry> entries : categoryMap.values()) {
+                for (final PluginEntry entry : entries.values()) {
+                    out.writeInt(strings.offsetOf(entry.getKey()));
+                    out.writeInt(strings.offsetOf(entry.getClassName()));
+                    out.writeInt(strings.offsetOf(entry.getName()));
+                    out.writeByte((entry.isPrintable() ? PRINTABLE : 0) | (entry.isDefer() ? DEFER : 0));
+                }
+            }
+            strings.writeTo(out);
+        }
+    }
+
+    /**
+     * Tests if this index was written for the given plugin cache file.
+     */
+    boolean matches(final byte[] cacheFile) {
+        return cacheFile.length == cacheLength && checksum(cacheFile) == cacheChecksum;
+    }
+
+    /**
+     * Returns the names of the categories of this index.
+     *
+     * @return The lower case names of the categories.
+     */
+    public Set<String> getCategories() {
+        return categories.keySet();
+    }
+
+    /**
+     * Decodes the plugins of a category.
+     *
+     * @param category The lower case name of the category.
+     * @return The plugin entries of the category by key, or {@code null} if this index has no such category.
+     */
+    public Map<String, PluginEntry> getCategory(final String category) {
+        final Integer offset = categories.get(category);
+        if (offset == null) {
+            return null;
+        }
+        final int count = buffer.getInt(offset + 4);
+        final int start = buffer.getInt(offset + 8);
+        final Map<String, PluginEntry> entries = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            final int entryOffset = start + i * ENTRY_SIZE;
+            final PluginEntry entry = new PluginEntry();
+            entry.setKey(readString(buffer.getInt(entryOffset)));
+            entry.setClassName(readString(buffer.getInt(entryOffset + 4)));
+            entry.setName(readString(buffer.getInt(entryOffset + 8)));
+            final byte flags = buffer.get(entryOffset + 12);
+            entry.setPrintable((flags & PRINTABLE) != 0);
+            entry.setDefer((flags & DEFER) != 0);
+            entry.setCategory(category);
+            entries.put(entry.getKey(), entry);
+        }
+        return entries;
+    }
+
+    private String readString(final int offset) {
+        final int length = buffer.getShort(offset) & 0xFFFF;
+        final byte[] bytes = new byte[length];
+        // absolute reads on a duplicate keep the shared buffer thread-safe
+        final ByteBuffer view = buffer.duplicate();
+        view.position(offset + 2);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(final byte[] bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[8192];
+        int count;
+        while ((count = in.read(buf)) >= 0) {
+            out.write(buf, 0, count);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Deduplicated strings, e.g. the class names of plugins with aliases.
+     */
+    private static final class StringTable {
+
+        private final Map<String, Integer> offsets = new HashMap<>();
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private final int start;
+
+        StringTable(final int start) {
+            this.start = start;
+        }
+
+        int offsetOf(final String value) throws IOException {
+            final Integer existing = offsets.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            if (encoded.length > 0xFFFF) {
+                throw new IOException("String too long for the plugin index: " + value);
+            }
+            final int offset = start + bytes.size();
+            bytes.write(encoded.length >>> 8);
+            bytes.write(encoded.length);
+            bytes.write(encoded, 0, encoded.length);
+            offsets.put(value, offset);
+            return offset;
+        }
+
+        void writeTo(final OutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+    }
+}
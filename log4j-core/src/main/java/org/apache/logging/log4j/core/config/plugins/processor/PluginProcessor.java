@@ -20,6 +20,7 @@ import static org.apache.logging.log4j.util.Strings.toRootLowerCase;
 
 import aQute.bnd.annotation.Resolution;
 import aQute.bnd.annotation.spi.ServiceProvider;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
@@ -64,8 +65,29 @@ public class PluginProcessor extends AbstractProcessor {
     public static final String PLUGIN_CACHE_FILE =
             "META-INF/org/apache/logging/log4j/core/config/plugins/Log4j2Plugins.dat";
 
+    /**
+     * The location of the plugin index file, written next to the plugin cache data file.
+     *
+     * @see PluginIndex
+     * @since 2.24.0
+     */
+    public static final String PLUGIN_INDEX_FILE =
+            "META-INF/org/apache/logging/log4j/core/config/plugins/Log4j2Plugins.idx";
+
+    /**
+     * The processor option that disables the generation of plugin factories when set to {@code false}.
+     *
+     * @see org.apache.logging.log4j.core.config.plugins.util.GeneratedPluginFactory
+     */
+    public static final String GENERATE_FACTORIES_OPTION = "log4j.plugins.generateFactories";
+
     private final PluginCache pluginCache = new PluginCache();
 
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(GENERATE_FACTORIES_OPTION);
+    }
+
     @Override
     public SourceVersion getSupportedSourceVersion() {
         return SourceVersion.latest();
@@ -83,6 +105,9 @@ public class PluginProcessor extends AbstractProcessor {
             }
             collectPlugins(elements);
             writeCacheFile(elements.toArray(EMPTY_ELEMENT_ARRAY));
+            if (!"false".equalsIgnoreCase(processingEnv.getOptions().get(GENERATE_FACTORIES_OPTION))) {
+                generateFactories(elements);
+            }
             messager.printMessage(Kind.NOTE, "Annotations processed");
             return true;
         } catch (final Exception ex) {
@@ -116,15 +141,33 @@ public class PluginProcessor extends AbstractProcessor {
         }
     }
 
+    private void generateFactories(final Iterable<? extends Element> elements) throws IOException {
+        final PluginFactoryGenerator generator = new PluginFactoryGenerator(processingEnv);
+        for (final Element element : elements) {
+            if (element instanceof TypeElement) {
+                generator.generate((TypeElement) element);
+            }
+        }
+    }
+
     private void writeCacheFile(final Element... elements) throws IOException {
-        final FileObject fileObject = processingEnv
-                .getFiler()
-                .createResource(StandardLocation.CLASS_OUTPUT, Strings.EMPTY, PLUGIN_CACHE_FILE, elements);
-        try (final OutputStream out = fileObject.openOutputStream()) {
-            pluginCache.writeCache(out);
+        final ByteArrayOutputStream cacheFile = new ByteArrayOutputStream();
+        pluginCache.writeCache(cacheFile);
+        final byte[] content = cacheFile.toByteArray();
+        try (final OutputStream out = createResource(PLUGIN_CACHE_FILE, elements)) {
+            out.write(content);
+        }
+        try (final OutputStream out = createResource(PLUGIN_INDEX_FILE, elements)) {
+            PluginIndex.write(pluginCache, content, out);
         }
     }
 
+    private OutputStream createResource(final String name, final Element... elements) throws IOException {
+        final FileObject fileObject =
+                processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, Strings.EMPTY, name, elements);
+        return fileObject.openOutputStream();
+    }
+
     /**
      * ElementVisitor to scan the Plugin annotation.
      */
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.plugins.util;
+
+import org.apache.logging.log4j.core.config.plugins.visitors.PluginInjector;
+import org.apache.logging.log4j.core.util.Builder;
+
+/**
+ * Creates a plugin without reflection. Implementations are generated by
+ * {@link org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor} in the package of the plugin class
+ * and named after it with the {@link #CLASS_NAME_SUFFIX} suffix.
+ *
+ * @since 2.24.0
+ */
+public interface GeneratedPluginFactory {
+
+    /**
+     * The suffix appended to the binary name of a plugin class, with {@code $} replaced by {@code _}, to get the name
+     * of its generated factory.
+     */
+    String CLASS_NAME_SUFFIX = "_PluginFactory";
+
+    /**
+     * Creates the builder of a plugin and injects the configuration values into it.
+     * <p>
+     * For plugins created by a {@link org.apache.logging.log4j.core.config.plugins.PluginFactory} method, the
+     * returned builder invokes that method with the injected values.
+     * </p>
+     *
+     * @param injector provides the configuration values.
+     * @return the builder or {@code null} if the plugin must be created by reflection.
+     */
+    Builder<?> newBuilder(PluginInjector injector);
+}
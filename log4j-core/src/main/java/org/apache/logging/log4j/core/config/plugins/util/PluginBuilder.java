@@ -36,8 +36,10 @@ import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
 import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 import org.apache.logging.log4j.core.config.plugins.validation.ConstraintValidator;
 import org.apache.logging.log4j.core.config.plugins.validation.ConstraintValidators;
+import org.apache.logging.log4j.core.config.plugins.visitors.PluginInjector;
 import org.apache.logging.log4j.core.config.plugins.visitors.PluginVisitor;
 import org.apache.logging.log4j.core.config.plugins.visitors.PluginVisitors;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
 import org.apache.logging.log4j.core.util.Builder;
 import org.apache.logging.log4j.core.util.ReflectionUtil;
 import org.apache.logging.log4j.core.util.TypeUtil;
@@ -112,6 +114,35 @@ public class PluginBuilder implements Builder<Object> {
     @Override
     public Object build() {
         verify();
+        final GeneratedPluginFactory generatedFactory = pluginType.getGeneratedFactory();
+        if (generatedFactory != null) {
+            try {
+                LOGGER.debug(
+                        "Building Plugin[name={}, class={}] with {}.",
+                        pluginType.getElementName(),
+                        pluginType.getPluginClass().getName(),
+                        generatedFactory.getClass().getName());
+                final PluginInjector injector = new PluginInjector(configuration, node, event, getSubstitutor());
+                final Builder<?> builder = generatedFactory.newBuilder(injector);
+                if (builder != null) {
+                    LOGGER.debug("{}({})", simpleName(builder), injector.getLog());
+                    final String reason = injector.getInvalidReason();
+                    if (!reason.isEmpty()) {
+                        throw new ConfigurationException(
+                                "Arguments given for element " + node.getName() + " are invalid: " + reason);
+                    }
+                    checkForRemainingAttributes();
+                    verifyNodeChildrenUsed();
+                    return builder.build();
+                }
+            } catch (final ConfigurationException e) {
+                LOGGER.error("Could not create plugin of type {} for element {}", this.clazz, node.getName(), e);
+                return null;
+            } catch (final Throwable t) {
+                LOGGER.error("Could not create plugin of type {} for element {}: {}", this.clazz, node.getName(), t, t);
+                return null;
+            }
+        }
         // first try to use a builder class if one is available
         try {
             LOGGER.debug(
@@ -152,6 +183,10 @@ public class PluginBuilder implements Builder<Object> {
         }
     }
 
+    private StrSubstitutor getSubstitutor() {
+        return event == null ? configuration.getConfigurationStrSubstitutor() : configuration.getStrSubstitutor();
+    }
+
     private void verify() {
         Objects.requireNonNull(this.configuration, "No Configuration object was set.");
         Objects.requireNonNull(this.node, "No Node object was set.");
@@ -187,10 +222,7 @@ public class PluginBuilder implements Builder<Object> {
                     final Object value = visitor.setAliases(aliases)
                             .setAnnotation(a)
                             .setConversionType(field.getType())
-                            .setStrSubstitutor(
-                                    event == null
-                                            ? configuration.getConfigurationStrSubstitutor()
-                                            : configuration.getStrSubstitutor())
+                            .setStrSubstitutor(getSubstitutor())
                             .setMember(field)
                             .visit(configuration, node, event, log);
                     // don't overwrite default values if the visitor gives us no value to inject
@@ -286,10 +318,7 @@ public class PluginBuilder implements Builder<Object> {
                     final Object value = visitor.setAliases(aliases)
                             .setAnnotation(a)
                             .setConversionType(types[i])
-                            .setStrSubstitutor(
-                                    event == null
-                                            ? configuration.getConfigurationStrSubstitutor()
-                                            : configuration.getStrSubstitutor())
+                            .setStrSubstitutor(getSubstitutor())
                             .setMember(factory)
                             .visit(configuration, node, event, log);
                     // don't overwrite existing values if the visitor gives us no value to inject
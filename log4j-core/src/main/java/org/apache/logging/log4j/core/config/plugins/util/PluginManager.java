@@ -19,7 +19,7 @@ package org.apache.logging.log4j.core.config.plugins.util;
 import static org.apache.logging.log4j.util.Strings.toRootLowerCase;
 
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,7 +38,7 @@ public class PluginManager {
 
     private static final Logger LOGGER = StatusLogger.getLogger();
 
-    private Map<String, PluginType<?>> plugins = new HashMap<>();
+    private volatile Map<String, PluginType<?>> plugins = Collections.emptyMap();
     private final String category;
 
     /**
@@ -165,7 +165,7 @@ public class PluginManager {
 
         LOGGER.debug("PluginManager '{}' found {} plugins", category, newPlugins.size());
 
-        plugins = newPlugins;
+        plugins = Collections.unmodifiableMap(newPlugins);
     }
 
     private static void mergeByName(final Map<String, PluginType<?>> newPlugins, final List<PluginType<?>> plugins) {
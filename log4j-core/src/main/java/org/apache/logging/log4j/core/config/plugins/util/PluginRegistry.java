@@ -22,20 +22,25 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
 import java.text.DecimalFormat;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginAliases;
-import org.apache.logging.log4j.core.config.plugins.processor.PluginCache;
 import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginIndex;
 import org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor;
 import org.apache.logging.log4j.core.util.Loader;
 import org.apache.logging.log4j.status.StatusLogger;
@@ -155,47 +160,32 @@ public class PluginRegistry {
 
     private Map<String, List<PluginType<?>>> decodeCacheFiles(final ClassLoader loader) {
         final long startTime = System.nanoTime();
-        final PluginCache cache = new PluginCache();
+        final List<PluginIndex> indexes = new ArrayList<>();
         try {
             final Enumeration<URL> resources = loader.getResources(PluginProcessor.PLUGIN_CACHE_FILE);
             if (resources == null) {
                 LOGGER.info("Plugin preloads not available from class loader {}", loader);
             } else {
-                cache.loadCacheFiles(resources);
+                while (resources.hasMoreElements()) {
+                    final URL url = resources.nextElement();
+                    try {
+                        indexes.add(PluginIndex.forCacheFile(url));
+                    } catch (final IOException ioe) {
+                        LOGGER.warn("Unable to preload plugins from {}", url, ioe);
+                    }
+                }
             }
         } catch (final IOException ioe) {
             LOGGER.warn("Unable to preload plugins", ioe);
         }
-        final Map<String, List<PluginType<?>>> newPluginsByCategory = new HashMap<>();
-        int pluginCount = 0;
-        for (final Map.Entry<String, Map<String, PluginEntry>> outer :
-                cache.getAllCategories().entrySet()) {
-            final String categoryLowerCase = outer.getKey();
-            final List<PluginType<?>> types = new ArrayList<>(outer.getValue().size());
-            newPluginsByCategory.put(categoryLowerCase, types);
-            for (final Map.Entry<String, PluginEntry> inner : outer.getValue().entrySet()) {
-                final PluginEntry entry = inner.getValue();
-                final String className = entry.getClassName();
-                try {
-                    final Class<?> clazz = loader.loadClass(className);
-                    final PluginType<?> type = new PluginType<>(entry, clazz, entry.getName());
-                    types.add(type);
-                    ++pluginCount;
-                } catch (final ClassNotFoundException e) {
-                    LOGGER.info("Plugin [{}] could not be loaded due to missing classes.", className, e);
-                } catch (final LinkageError e) {
-                    LOGGER.info("Plugin [{}] could not be loaded due to linkage error.", className, e);
-                }
-            }
-        }
-        final int numPlugins = pluginCount;
+        final IndexedPlugins newPluginsByCategory = new IndexedPlugins(loader, indexes);
         LOGGER.debug(() -> {
             final long endTime = System.nanoTime();
             final StringBuilder sb = new StringBuilder("Took ");
             final DecimalFormat numFormat = new DecimalFormat("#0.000000");
             sb.append(numFormat.format((endTime - startTime) * 1e-9));
-            sb.append(" seconds to load ").append(numPlugins);
-            sb.append(" plugins from ").append(loader);
+            sb.append(" seconds to index ").append(newPluginsByCategory.size());
+            sb.append(" plugin categories from ").append(loader);
             return sb.toString();
         });
         return newPluginsByCategory;
@@ -279,6 +269,89 @@ public class PluginRegistry {
         return newPluginsByCategory;
     }
 
+    /**
+     * The plugins of the cache files of a class loader, decoded one category at a time on first access. The classes
+     * of the plugins of a category are loaded when the category is decoded: plugins whose class cannot be loaded are
+     * skipped.
+     */
+    private static final class IndexedPlugins extends AbstractMap<String, List<PluginType<?>>> {
+
+        private final ClassLoader loader;
+
+        private final List<PluginIndex> indexes;
+
+        private final Set<String> categories = new TreeSet<>();
+
+        private final ConcurrentMap<String, List<PluginType<?>>> loaded = new ConcurrentHashMap<>();
+
+        IndexedPlugins(final ClassLoader loader, final List<PluginIndex> indexes) {
+            this.loader = loader;
+            this.indexes = indexes;
+            for (final PluginIndex index : indexes) {
+                categories.addAll(index.getCategories());
+            }
+        }
+
+        @Override
+        public List<PluginType<?>> get(final Object key) {
+            if (!categories.contains(key)) {
+                return null;
+            }
+            return loaded.computeIfAbsent((String) key, this::loadCategory);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return categories.contains(key);
+        }
+
+        @Override
+        public int size() {
+            return categories.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return categories.isEmpty();
+        }
+
+        @Override
+        public Set<Map.Entry<String, List<PluginType<?>>>> entrySet() {
+            final Map<String, List<PluginType<?>>> all = new LinkedHashMap<>();
+            for (final String category : categories) {
+                all.put(category, get(category));
+            }
+            return Collections.unmodifiableMap(all).entrySet();
+        }
+
+        private List<PluginType<?>> loadCategory(final String category) {
+            // as with the merged cache files, the first plugin with a given key wins
+            final Map<String, PluginEntry> entries = new TreeMap<>();
+            for (final PluginIndex index : indexes) {
+                final Map<String, PluginEntry> indexEntries = index.getCategory(category);
+                if (indexEntries != null) {
+                    for (final Map.Entry<String, PluginEntry> entry : indexEntries.entrySet()) {
+                        entries.putIfAbsent(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            final List<PluginType<?>> types = new ArrayList<>(entries.size());
+            for (final PluginEntry entry : entries.values()) {
+                final String className = entry.getClassName();
+                try {
+                    final Class<?> clazz = loader.loadClass(className);
+                    types.add(new PluginType<>(entry, clazz, entry.getName()));
+                } catch (final ClassNotFoundException e) {
+                    LOGGER.info("Plugin [{}] could not be loaded due to missing classes.", className, e);
+                } catch (final LinkageError e) {
+                    LOGGER.info("Plugin [{}] could not be loaded due to linkage error.", className, e);
+                }
+            }
+            LOGGER.debug("Loaded {} plugins of category {} from {}", types.size(), category, loader);
+            return types;
+        }
+    }
+
     /**
      * A Test that checks to see if each class is annotated with the 'Plugin' annotation. If it
      * is, then the test returns true, otherwise false.
@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.core.config.plugins.util;
 
 import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.status.StatusLogger;
 
 /**
  * Plugin Descriptor. This is a memento object for Plugin annotations paired to their annotated classes.
@@ -29,6 +30,7 @@ public class PluginType<T> {
     private final PluginEntry pluginEntry;
     private final Class<T> pluginClass;
     private final String elementName;
+    private volatile Object generatedFactory;
 
     /**
      * @since 2.1
@@ -69,6 +71,34 @@ public class PluginType<T> {
         return this.pluginEntry.getCategory();
     }
 
+    /**
+     * Returns the factory generated for the plugin class, if any.
+     */
+    GeneratedPluginFactory getGeneratedFactory() {
+        Object factory = generatedFactory;
+        if (factory == null) {
+            factory = loadGeneratedFactory();
+            generatedFactory = factory;
+        }
+        return factory instanceof GeneratedPluginFactory ? (GeneratedPluginFactory) factory : null;
+    }
+
+    private Object loadGeneratedFactory() {
+        final String className = pluginClass.getName().replace('$', '_') + GeneratedPluginFactory.CLASS_NAME_SUFFIX;
+        try {
+            final Class<?> factoryClass = Class.forName(className, true, pluginClass.getClassLoader());
+            return factoryClass
+                    .asSubclass(GeneratedPluginFactory.class)
+                    .getConstructor()
+                    .newInstance();
+        } catch (final ClassNotFoundException e) {
+            return Boolean.FALSE;
+        } catch (final ReflectiveOperationException | RuntimeException | LinkageError e) {
+            StatusLogger.getLogger().debug("Unable to load generated factory {}", className, e);
+            return Boolean.FALSE;
+        }
+    }
+
     @Override
     public String toString() {
         return "PluginType [pluginClass=" + pluginClass + ", key="
@@ -142,9 +142,13 @@ public abstract class AbstractPluginVisitor<A extends Annotation> implements Plu
      * @return the converted value whether that be based on the given value or the default value.
      */
     protected Object convert(final String value, final Object defaultValue) {
+        return convert(value, this.conversionType, defaultValue);
+    }
+
+    static Object convert(final String value, final Class<?> conversionType, final Object defaultValue) {
         if (defaultValue instanceof String) {
-            return TypeConverters.convert(value, this.conversionType, Strings.trimToNull((String) defaultValue));
+            return TypeConverters.convert(value, conversionType, Strings.trimToNull((String) defaultValue));
         }
-        return TypeConverters.convert(value, this.conversionType, defaultValue);
+        return TypeConverters.convert(value, conversionType, defaultValue);
     }
 }
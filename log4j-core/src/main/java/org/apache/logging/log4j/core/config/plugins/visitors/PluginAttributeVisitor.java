@@ -21,6 +21,7 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
 import org.apache.logging.log4j.util.StringBuilders;
 
 /**
@@ -34,13 +35,33 @@ public class PluginAttributeVisitor extends AbstractPluginVisitor<PluginAttribut
     @Override
     public Object visit(
             final Configuration configuration, final Node node, final LogEvent event, final StringBuilder log) {
-        final String name = this.annotation.value();
+        return visit(
+                node,
+                event,
+                log,
+                this.substitutor,
+                this.annotation.value(),
+                this.aliases,
+                this.conversionType,
+                findDefaultValue(event),
+                this.annotation.sensitive());
+    }
+
+    static Object visit(
+            final Node node,
+            final LogEvent event,
+            final StringBuilder log,
+            final StrSubstitutor substitutor,
+            final String name,
+            final String[] aliases,
+            final Class<?> conversionType,
+            final Object defaultValue,
+            final boolean sensitive) {
         final Map<String, String> attributes = node.getAttributes();
-        final String rawValue = removeAttributeValue(attributes, name, this.aliases);
-        final String replacedValue = this.substitutor.replace(event, rawValue);
-        final Object defaultValue = findDefaultValue(event);
-        final Object value = convert(replacedValue, defaultValue);
-        final Object debugValue = this.annotation.sensitive() ? "*****" : value;
+        final String rawValue = removeAttributeValue(attributes, name, aliases);
+        final String replacedValue = substitutor.replace(event, rawValue);
+        final Object value = convert(replacedValue, conversionType, defaultValue);
+        final Object debugValue = sensitive ? "*****" : value;
         StringBuilders.appendKeyDqValue(log, name, debugValue);
         return value;
     }
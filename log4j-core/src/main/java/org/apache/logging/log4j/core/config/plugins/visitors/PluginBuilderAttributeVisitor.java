@@ -21,6 +21,7 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
 import org.apache.logging.log4j.util.StringBuilders;
 
 /**
@@ -41,11 +42,31 @@ public class PluginBuilderAttributeVisitor extends AbstractPluginVisitor<PluginB
             final Configuration configuration, final Node node, final LogEvent event, final StringBuilder log) {
         final String overridden = this.annotation.value();
         final String name = overridden.isEmpty() ? this.member.getName() : overridden;
+        return visit(
+                node,
+                event,
+                log,
+                this.substitutor,
+                name,
+                this.aliases,
+                this.conversionType,
+                this.annotation.sensitive());
+    }
+
+    static Object visit(
+            final Node node,
+            final LogEvent event,
+            final StringBuilder log,
+            final StrSubstitutor substitutor,
+            final String name,
+            final String[] aliases,
+            final Class<?> conversionType,
+            final boolean sensitive) {
         final Map<String, String> attributes = node.getAttributes();
-        final String rawValue = removeAttributeValue(attributes, name, this.aliases);
-        final String replacedValue = this.substitutor.replace(event, rawValue);
-        final Object value = convert(replacedValue, null);
-        final Object debugValue = this.annotation.sensitive() ? "*****" : value;
+        final String rawValue = removeAttributeValue(attributes, name, aliases);
+        final String replacedValue = substitutor.replace(event, rawValue);
+        final Object value = convert(replacedValue, conversionType, null);
+        final Object debugValue = sensitive ? "*****" : value;
         StringBuilders.appendKeyDqValue(log, name, debugValue);
         return value;
     }
@@ -32,7 +32,11 @@ public class PluginConfigurationVisitor extends AbstractPluginVisitor<PluginConf
     @Override
     public Object visit(
             final Configuration configuration, final Node node, final LogEvent event, final StringBuilder log) {
-        if (this.conversionType.isInstance(configuration)) {
+        return visit(configuration, log, this.conversionType);
+    }
+
+    static Object visit(final Configuration configuration, final StringBuilder log, final Class<?> conversionType) {
+        if (conversionType.isInstance(configuration)) {
             log.append("Configuration");
             if (configuration.getName() != null) {
                 log.append('(').append(configuration.getName()).append(')');
@@ -38,9 +38,12 @@ public class PluginElementVisitor extends AbstractPluginVisitor<PluginElement> {
     @Override
     public Object visit(
             final Configuration configuration, final Node node, final LogEvent event, final StringBuilder log) {
-        final String name = this.annotation.value();
-        if (this.conversionType.isArray()) {
-            setConversionType(this.conversionType.getComponentType());
+        return visit(node, log, this.annotation.value(), this.conversionType);
+    }
+
+    static Object visit(final Node node, final StringBuilder log, final String name, final Class<?> conversionType) {
+        if (conversionType.isArray()) {
+            final Class<?> componentType = conversionType.getComponentType();
             final List<Object> values = new ArrayList<>();
             final Collection<Node> used = new ArrayList<>();
             log.append("={");
@@ -48,7 +51,7 @@ public class PluginElementVisitor extends AbstractPluginVisitor<PluginElement> {
             for (final Node child : node.getChildren()) {
                 final PluginType<?> childType = child.getType();
                 if (name.equalsIgnoreCase(childType.getElementName())
-                        || this.conversionType.isAssignableFrom(childType.getPluginClass())) {
+                        || componentType.isAssignableFrom(childType.getPluginClass())) {
                     if (!first) {
                         log.append(", ");
                     }
@@ -71,23 +74,23 @@ public class PluginElementVisitor extends AbstractPluginVisitor<PluginElement> {
             log.append('}');
             // note that we need to return an empty array instead of null if the types are correct
             if (!values.isEmpty()
-                    && !this.conversionType.isAssignableFrom(values.get(0).getClass())) {
+                    && !componentType.isAssignableFrom(values.get(0).getClass())) {
                 LOGGER.error(
                         "Attempted to assign attribute {} to list of type {} which is incompatible with {}.",
                         name,
                         values.get(0).getClass(),
-                        this.conversionType);
+                        componentType);
                 return null;
             }
             node.getChildren().removeAll(used);
             // we need to use reflection here because values.toArray() will cause type errors at runtime
-            final Object[] array = (Object[]) Array.newInstance(this.conversionType, values.size());
+            final Object[] array = (Object[]) Array.newInstance(componentType, values.size());
             for (int i = 0; i < array.length; i++) {
                 array[i] = values.get(i);
             }
             return array;
         }
-        final Node namedNode = findNamedNode(name, node.getChildren());
+        final Node namedNode = findNamedNode(name, conversionType, node.getChildren());
         if (namedNode == null) {
             log.append(name).append("=null");
             return null;
@@ -97,12 +100,12 @@ public class PluginElementVisitor extends AbstractPluginVisitor<PluginElement> {
         return namedNode.getObject();
     }
 
-    private Node findNamedNode(final String name, final Iterable<Node> children) {
+    private static Node findNamedNode(final String name, final Class<?> conversionType, final Iterable<Node> children) {
         for (final Node child : children) {
             final PluginType<?> childType = child.getType();
             final boolean elementNameMatch = childType != null && name.equalsIgnoreCase(childType.getElementName());
             final boolean isAssignableByPluginClass =
-                    childType != null && this.conversionType.isAssignableFrom(childType.getPluginClass());
+                    childType != null && conversionType.isAssignableFrom(childType.getPluginClass());
             if (elementNameMatch || isAssignableByPluginClass) {
                 return child;
             }
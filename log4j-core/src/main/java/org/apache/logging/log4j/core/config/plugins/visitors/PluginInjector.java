@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.plugins.visitors;
+
+import java.util.Objects;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.util.Assert;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Provides the values of plugin attributes, elements and other injected members to the factories generated by
+ * {@link org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor}. Each method has the same effect as
+ * the {@link PluginVisitor} of the corresponding annotation, with the annotation values passed as arguments.
+ *
+ * @see org.apache.logging.log4j.core.config.plugins.util.GeneratedPluginFactory
+ * @since 2.24.0
+ */
+public final class PluginInjector {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private final Configuration configuration;
+    private final Node node;
+    private final LogEvent event;
+    private final StrSubstitutor substitutor;
+    private final StringBuilder log = new StringBuilder();
+    private String invalid = "";
+
+    /**
+     * Creates an injector for a configuration node.
+     *
+     * @param configuration the configuration.
+     * @param node the node of the plugin.
+     * @param event the event used for substitutions, possibly {@code null}.
+     * @param substitutor the substitutor used to resolve attribute values.
+     */
+    public PluginInjector(
+            final Configuration configuration,
+            final Node node,
+            final LogEvent event,
+            final StrSubstitutor substitutor) {
+        this.configuration = Objects.requireNonNull(configuration, "configuration");
+        this.node = Objects.requireNonNull(node, "node");
+        this.event = event;
+        this.substitutor = Objects.requireNonNull(substitutor, "substitutor");
+    }
+
+    private StringBuilder next() {
+        if (log.length() > 0) {
+            log.append(", ");
+        }
+        return log;
+    }
+
+    /**
+     * Returns the value of a {@link org.apache.logging.log4j.core.config.plugins.PluginAttribute}.
+     *
+     * @param name the attribute name.
+     * @param aliases the attribute aliases, possibly {@code null}.
+     * @param type the type to convert the value to.
+     * @param defaultValue the default value matching the type; string default values are substituted.
+     * @param sensitive whether the value must not be logged.
+     * @return the converted value.
+     */
+    public Object attribute(
+            final String name,
+            final String[] aliases,
+            final Class<?> type,
+            final Object defaultValue,
+            final boolean sensitive) {
+        final Object resolvedDefault =
+                defaultValue instanceof String ? substitutor.replace(event, (String) defaultValue) : defaultValue;
+        return PluginAttributeVisitor.visit(
+                node, event, next(), substitutor, name, aliases, type, resolvedDefault, sensitive);
+    }
+
+    /**
+     * Returns the value of a {@link org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute}.
+     *
+     * @param name the attribute name.
+     * @param aliases the attribute aliases, possibly {@code null}.
+     * @param type the type to convert the value to.
+     * @param sensitive whether the value must not be logged.
+     * @return the converted value or {@code null} if the attribute is missing.
+     */
+    public Object builderAttribute(
+            final String name, final String[] aliases, final Class<?> type, final boolean sensitive) {
+        return PluginBuilderAttributeVisitor.visit(node, event, next(), substitutor, name, aliases, type, sensitive);
+    }
+
+    /**
+     * Returns the value of a {@link org.apache.logging.log4j.core.config.plugins.PluginElement}.
+     *
+     * @param name the element name.
+     * @param type the element type, possibly an array type.
+     * @return the plugin object of the child node or {@code null}.
+     */
+    public Object element(final String name, final Class<?> type) {
+        return PluginElementVisitor.visit(node, next(), name, type);
+    }
+
+    /**
+     * Returns the value of a {@link org.apache.logging.log4j.core.config.plugins.PluginValue}.
+     *
+     * @param name the attribute name used if the node has no value.
+     * @param substitute whether the value is substituted.
+     * @return the value.
+     */
+    public Object value(final String name, final boolean substitute) {
+        return PluginValueVisitor.visit(node, event, next(), substitutor, name, substitute);
+    }
+
+    /**
+     * Returns the value of a {@link org.apache.logging.log4j.core.config.plugins.PluginConfiguration}.
+     *
+     * @param type the type of the injected member.
+     * @return the configuration or {@code null} if the type is not compatible.
+     */
+    public Object configuration(final Class<?> type) {
+        return PluginConfigurationVisitor.visit(configuration, next(), type);
+    }
+
+    /**
+     * Returns the value of a {@link org.apache.logging.log4j.core.config.plugins.PluginNode}.
+     *
+     * @param type the type of the injected member.
+     * @return the node or {@code null} if the type is not compatible.
+     */
+    public Object node(final Class<?> type) {
+        return PluginNodeVisitor.visit(node, next(), type);
+    }
+
+    /**
+     * Returns the value of a {@link org.apache.logging.log4j.core.config.plugins.PluginLoggerContext}.
+     *
+     * @param type the type of the injected member.
+     * @return the logger context or {@code null} if the type is not compatible.
+     */
+    public Object loggerContext(final Class<?> type) {
+        return PluginLoggerContextVisitor.visit(configuration, type);
+    }
+
+    /**
+     * Checks a member annotated with {@link org.apache.logging.log4j.core.config.plugins.validation.constraints.Required}.
+     *
+     * @param name the member name.
+     * @param value the value of the member once injected.
+     * @param message the error message of the constraint.
+     */
+    public void required(final String name, final Object value, final String message) {
+        if (!Assert.isNonEmpty(value)) {
+            LOGGER.error(message, name);
+            invalid += (invalid.isEmpty() ? "" : ", ") + "field '" + name + "' has invalid value '" + value + "'";
+        }
+    }
+
+    /**
+     * Returns the reasons why the injected values are invalid.
+     *
+     * @return the reasons or an empty string if all values are valid.
+     */
+    public String getInvalidReason() {
+        return invalid;
+    }
+
+    /**
+     * Returns the description of the injected values.
+     *
+     * @return the description used in debug logs.
+     */
+    public String getLog() {
+        return log.toString();
+    }
+}
@@ -33,7 +33,11 @@ public class PluginLoggerContextVisitor extends AbstractPluginVisitor<PluginConf
     @Override
     public Object visit(
             final Configuration configuration, final Node node, final LogEvent event, final StringBuilder log) {
-        if (this.conversionType.isAssignableFrom(LoggerContext.class)) {
+        return visit(configuration, this.conversionType);
+    }
+
+    static Object visit(final Configuration configuration, final Class<?> conversionType) {
+        if (conversionType.isAssignableFrom(LoggerContext.class)) {
             if (configuration.getLoggerContext() != null) {
                 return configuration.getLoggerContext();
             } else {
@@ -32,7 +32,11 @@ public class PluginNodeVisitor extends AbstractPluginVisitor<PluginNode> {
     @Override
     public Object visit(
             final Configuration configuration, final Node node, final LogEvent event, final StringBuilder log) {
-        if (this.conversionType.isInstance(node)) {
+        return visit(node, log, this.conversionType);
+    }
+
+    static Object visit(final Node node, final StringBuilder log, final Class<?> conversionType) {
+        if (conversionType.isInstance(node)) {
             log.append("Node=").append(node.getName());
             return node;
         }
@@ -20,6 +20,7 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.plugins.PluginValue;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
 import org.apache.logging.log4j.util.StringBuilders;
 import org.apache.logging.log4j.util.Strings;
 
@@ -34,7 +35,16 @@ public class PluginValueVisitor extends AbstractPluginVisitor<PluginValue> {
     @Override
     public Object visit(
             final Configuration configuration, final Node node, final LogEvent event, final StringBuilder log) {
-        final String name = this.annotation.value();
+        return visit(node, event, log, this.substitutor, this.annotation.value(), this.annotation.substitute());
+    }
+
+    static Object visit(
+            final Node node,
+            final LogEvent event,
+            final StringBuilder log,
+            final StrSubstitutor substitutor,
+            final String name,
+            final boolean substitute) {
         final String elementValue = node.getValue();
         final String attributeValue = node.getAttributes().get(name);
         String rawValue = null; // if neither is specified, return null (LOG4J2-1313)
@@ -51,7 +61,7 @@ public class PluginValueVisitor extends AbstractPluginVisitor<PluginValue> {
         } else {
             rawValue = removeAttributeValue(node.getAttributes(), name);
         }
-        final String value = this.annotation.substitute() ? this.substitutor.replace(event, rawValue) : rawValue;
+        final String value = substitute ? substitutor.replace(event, rawValue) : rawValue;
         StringBuilders.appendKeyDqValue(log, name, value);
         return value;
     }
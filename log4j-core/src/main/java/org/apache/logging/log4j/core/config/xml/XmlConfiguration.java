@@ -21,14 +21,21 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
@@ -36,6 +43,7 @@ import javax.xml.validation.Validator;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.AbstractConfiguration;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.Reconfigurable;
@@ -46,6 +54,8 @@ import org.apache.logging.log4j.core.util.Integers;
 import org.apache.logging.log4j.core.util.Loader;
 import org.apache.logging.log4j.core.util.Patterns;
 import org.apache.logging.log4j.core.util.Throwables;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.Strings;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -57,14 +67,24 @@ import org.xml.sax.SAXException;
 
 /**
  * Creates a Node hierarchy from an XML file.
+ * <p>
+ * The file is read with a StAX parser, without building a DOM document. Files that use XInclude or declare a DTD
+ * are parsed into a DOM document, as are all files if {@value ConfigurationFactory#STREAMING_PARSER_PROPERTY} is {@code false}.
+ * </p>
  */
 public class XmlConfiguration extends AbstractConfiguration implements Reconfigurable {
 
     private static final String XINCLUDE_FIXUP_LANGUAGE = "http://apache.org/xml/features/xinclude/fixup-language";
     private static final String XINCLUDE_FIXUP_BASE_URIS = "http://apache.org/xml/features/xinclude/fixup-base-uris";
-
+    private static final String XINCLUDE_NAMESPACE = "http://www.w3.org/2001/XInclude";
+    private static final String XML_BASE = "xml:base";
     private final List<Status> status = new ArrayList<>();
     private Element rootElement;
+    /**
+     * The elements read by the streaming parser, named after their tags, until {@link #setup()} resolves their plugins.
+     */
+    private Node parsedRoot;
+
     private boolean strict;
     private String schemaResource;
 
@@ -83,28 +103,18 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
             } finally {
                 Closer.closeSilently(configStream);
             }
-            final InputSource source = new InputSource(new ByteArrayInputStream(buffer));
-            source.setSystemId(configSource.getLocation());
-            final DocumentBuilder documentBuilder = newDocumentBuilder(true);
-            Document document;
-            try {
-                document = documentBuilder.parse(source);
-            } catch (final Exception e) {
-                // LOG4J2-1127
-                final Throwable throwable = Throwables.getRootCause(e);
-                if (throwable instanceof UnsupportedOperationException) {
-                    LOGGER.warn(
-                            "The DocumentBuilder {} does not support an operation: {}."
-                                    + "Trying again without XInclude...",
-                            documentBuilder,
-                            e);
-                    document = newDocumentBuilder(false).parse(source);
-                } else {
-                    throw e;
-                }
+            if (PropertiesUtil.getProperties()
+                    .getBooleanProperty(ConfigurationFactory.STREAMING_PARSER_PROPERTY, true)) {
+                parsedRoot = parse(buffer, configSource.getLocation());
+            }
+            final Map<String, String> attrs;
+            if (parsedRoot != null) {
+                attrs = rootNode.getAttributes();
+                attrs.putAll(parsedRoot.getAttributes());
+            } else {
+                rootElement = parseDocument(buffer, configSource.getLocation());
+                attrs = processAttributes(rootNode, rootElement);
             }
-            rootElement = document.getDocumentElement();
-            final Map<String, String> attrs = processAttributes(rootNode, rootElement);
             final StatusConfiguration statusConfig = new StatusConfiguration().withStatus(getDefaultStatus());
             int monitorIntervalSeconds = 0;
             for (final Map.Entry<String, String> entry : attrs.entrySet()) {
@@ -170,6 +180,127 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
         }
     }
 
+    private static Element parseDocument(final byte[] buffer, final String systemId)
+            throws SAXException, IOException, ParserConfigurationException {
+        final InputSource source = new InputSource(new ByteArrayInputStream(buffer));
+        source.setSystemId(systemId);
+        final DocumentBuilder documentBuilder = newDocumentBuilder(true);
+        Document document;
+        try {
+            document = documentBuilder.parse(source);
+        } catch (final Exception e) {
+            // LOG4J2-1127
+            final Throwable throwable = Throwables.getRootCause(e);
+            if (throwable instanceof UnsupportedOperationException) {
+                LOGGER.warn(
+                        "The DocumentBuilder {} does not support an operation: {}."
+                                + "Trying again without XInclude...",
+                        documentBuilder,
+                        e);
+                document = newDocumentBuilder(false).parse(source);
+            } else {
+                throw e;
+            }
+        }
+        return document.getDocumentElement();
+    }
+
+    /**
+     * Reads the elements of a configuration file with a StAX parser.
+     * <p>
+     * Each element becomes a {@link Node} named after its tag, with the element attributes and its trimmed text as
+     * value.
+     * </p>
+     *
+     * @return the root node, or {@code null} if the file must be parsed into a DOM document: if it uses XInclude,
+     * declares a DTD or cannot be read by the StAX parser, in which case the DOM parser reports the error.
+     */
+    private static Node parse(final byte[] buffer, final String systemId) {
+        XMLStreamReader reader = null;
+        try {
+            reader = newXMLInputFactory().createXMLStreamReader(systemId, new ByteArrayInputStream(buffer));
+            final Deque<StringBuilder> texts = new ArrayDeque<>();
+            Node root = null;
+            Node current = null;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        if (XINCLUDE_NAMESPACE.equals(reader.getNamespaceURI())) {
+                            return null;
+                        }
+                        final Node node =
+                                new Node(current, qualifiedName(reader.getPrefix(), reader.getLocalName()), null);
+                        processAttributes(node, reader);
+                        if (current == null) {
+                            root = node;
+                        } else {
+                            current.getChildren().add(node);
+                        }
+                        current = node;
+                        texts.push(new StringBuilder());
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (current != null) {
+                            texts.peek()
+                                    .append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        current.setValue(texts.pop().toString().trim());
+                        current = current.getParent();
+                        break;
+                    case XMLStreamConstants.DTD:
+                    case XMLStreamConstants.ENTITY_REFERENCE:
+                        return null;
+                    default:
+                        break;
+                }
+            }
+            return root;
+        } catch (final XMLStreamException | RuntimeException e) {
+            LOGGER.debug("Unable to read {} with a StAX parser, using a DOM parser", systemId, e);
+            return null;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (final XMLStreamException e) {
+                    // nothing to release for an in-memory input
+                }
+            }
+        }
+    }
+
+    private static XMLInputFactory newXMLInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+        return factory;
+    }
+
+    private static void processAttributes(final Node node, final XMLStreamReader reader) {
+        final Map<String, String> attributes = node.getAttributes();
+        // the DOM parser reports namespace declarations as attributes
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            final String prefix = reader.getNamespacePrefix(i);
+            attributes.put(Strings.isEmpty(prefix) ? "xmlns" : "xmlns:" + prefix, reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String name = qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i));
+            if (!name.equals(XML_BASE)) {
+                attributes.put(name, reader.getAttributeValue(i));
+            }
+        }
+    }
+
+    private static String qualifiedName(final String prefix, final String localName) {
+        return Strings.isEmpty(prefix) ? localName : prefix + ':' + localName;
+    }
+
     /**
      * Creates a new DocumentBuilder suitable for parsing a configuration file.
      *
@@ -236,11 +367,14 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
 
     @Override
     public void setup() {
-        if (rootElement == null) {
+        if (parsedRoot != null) {
+            constructHierarchy(rootNode, parsedRoot);
+        } else if (rootElement != null) {
+            constructHierarchy(rootNode, rootElement);
+        } else {
             LOGGER.error("No logging configuration");
             return;
         }
-        constructHierarchy(rootNode, rootElement);
         if (status.size() > 0) {
             for (final Status s : status) {
                 LOGGER.error("Error processing element {} ({}): {}", s.name, s.element, s.errorType);
@@ -248,6 +382,7 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
             return;
         }
         rootElement = null;
+        parsedRoot = null;
     }
 
     @Override
@@ -258,7 +393,7 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
                 return null;
             }
             final XmlConfiguration config = new XmlConfiguration(getLoggerContext(), source);
-            return config.rootElement == null ? null : config;
+            return config.rootElement == null && config.parsedRoot == null ? null : config;
         } catch (final IOException ex) {
             LOGGER.error("Cannot locate file {}", getConfigurationSource(), ex);
         }
@@ -300,6 +435,47 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
         }
     }
 
+    private void constructHierarchy(final Node node, final Node parsed) {
+        node.getAttributes().putAll(parsed.getAttributes());
+        final List<Node> children = node.getChildren();
+        for (final Node parsedChild : parsed.getChildren()) {
+            final String name = getType(parsedChild);
+            final PluginType<?> type = pluginManager.getPluginType(name);
+            final Node childNode = new Node(node, name, type);
+            constructHierarchy(childNode, parsedChild);
+            if (type == null) {
+                final String value = childNode.getValue();
+                if (!childNode.hasChildren() && value != null) {
+                    node.getAttributes().put(name, value);
+                } else {
+                    status.add(new Status(name, parsed.getName(), ErrorType.CLASS_NOT_FOUND));
+                }
+            } else {
+                children.add(childNode);
+            }
+        }
+
+        final String text = parsed.getValue();
+        if (text.length() > 0 || (!node.hasChildren() && !node.isRoot())) {
+            node.setValue(text);
+        }
+    }
+
+    private String getType(final Node parsed) {
+        if (strict) {
+            final Iterator<Map.Entry<String, String>> iterator =
+                    parsed.getAttributes().entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<String, String> attr = iterator.next();
+                if (attr.getKey().equalsIgnoreCase("type")) {
+                    iterator.remove();
+                    return attr.getValue();
+                }
+            }
+        }
+        return parsed.getName();
+    }
+
     private String getType(final Element element) {
         if (strict) {
             final NamedNodeMap attrs = element.getAttributes();
@@ -326,7 +502,7 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
             final org.w3c.dom.Node w3cNode = attrs.item(i);
             if (w3cNode instanceof Attr) {
                 final Attr attr = (Attr) w3cNode;
-                if (attr.getName().equals("xml:base")) {
+                if (attr.getName().equals(XML_BASE)) {
                     continue;
                 }
                 attributes.put(attr.getName(), attr.getValue());
@@ -351,11 +527,11 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
      * Status for recording errors.
      */
     private static class Status {
-        private final Element element;
+        private final Object element;
         private final String name;
         private final ErrorType errorType;
 
-        public Status(final String name, final Element element, final ErrorType errorType) {
+        public Status(final String name, final Object element, final ErrorType errorType) {
             this.name = name;
             this.element = element;
             this.errorType = errorType;
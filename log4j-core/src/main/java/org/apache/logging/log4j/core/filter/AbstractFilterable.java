@@ -114,6 +114,9 @@ public abstract class AbstractFilterable extends AbstractLifeCycle implements Fi
         if (filter == null) {
             return;
         }
+        if (isStarted()) {
+            connect(filter);
+        }
         if (this.filter == null) {
             this.filter = filter;
         } else if (this.filter instanceof CompositeFilter) {
@@ -184,6 +187,7 @@ public abstract class AbstractFilterable extends AbstractLifeCycle implements Fi
     public void start() {
         this.setStarting();
         if (filter != null) {
+            connect(filter);
             filter.start();
         }
         this.setStarted();
@@ -219,6 +223,29 @@ public abstract class AbstractFilterable extends AbstractLifeCycle implements Fi
         return stopped;
     }
 
+    /**
+     * Processes an event created by one of the filters, like a summary of the events a filter suppressed.
+     * <p>
+     * The default implementation discards the event. Subclasses that can process events should override it.
+     * </p>
+     *
+     * @param event The event created by the filter.
+     * @since 2.24.0
+     */
+    protected void logFilterEvent(final LogEvent event) {
+        // discarded
+    }
+
+    private void connect(final Filter filter) {
+        if (filter instanceof CompositeFilter) {
+            for (final Filter child : ((CompositeFilter) filter).getFiltersArray()) {
+                connect(child);
+            }
+        } else if (filter instanceof EmittingFilter) {
+            ((EmittingFilter) filter).setEventConsumer(this::logFilterEvent);
+        }
+    }
+
     public Property[] getPropertyArray() {
         return propertyArray;
     }
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+
+/**
+ * Base class of the sampling and rate limiting filters.
+ * <p>
+ * Events more specific than the configured level always pass with {@code onMatch}. Every other event is handed to
+ * {@link #isAccepted(String, Level, Marker, String, ReadOnlyStringMap)}, which returns {@code true} to let it pass
+ * with {@code onMatch} and {@code false} to reject it with {@code onMismatch}.
+ * </p>
+ * <p>
+ * Garbage-free note: all the {@code filter} methods, including the ones with unrolled varargs, are overridden so that
+ * no vararg array is created and the message parameters are never inspected.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public abstract class AbstractSamplingFilter extends AbstractFilter {
+
+    /**
+     * Distance in {@code long}s between two used slots of a striped counter array, so that two slots never share a
+     * cache line.
+     */
+    static final int PADDING = 8;
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final Level level;
+
+    protected AbstractSamplingFilter(final Level level, final Result onMatch, final Result onMismatch) {
+        super(onMatch, onMismatch);
+        this.level = level;
+    }
+
+    /**
+     * Returns the most specific level the filter applies to.
+     * @return the level.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Decides if an event at or below the configured level may pass.
+     * <p>
+     * Implementations must not allocate.
+     * </p>
+     *
+     * @param loggerName The name of the logger, may be {@code null}.
+     * @param level The level of the event.
+     * @param marker The marker of the event, may be {@code null}.
+     * @param template The unformatted message, may be {@code null} if the message is not a pattern.
+     * @param contextData The context data of the event, or {@code null} if the event has not been created yet and the
+     * thread context should be consulted instead.
+     * @return {@code true} if the event may pass.
+     */
+    protected abstract boolean isAccepted(
+            String loggerName, Level level, Marker marker, String template, ReadOnlyStringMap contextData);
+
+    @Override
+    public Result filter(final LogEvent event) {
+        if (this.level.isMoreSpecificThan(event.getLevel())) {
+            final Message msg = event.getMessage();
+            return isAccepted(
+                            event.getLoggerName(),
+                            event.getLevel(),
+                            event.getMarker(),
+                            msg != null ? msg.getFormat() : null,
+                            event.getContextData())
+                    ? onMatch
+                    : onMismatch;
+        }
+        return onMatch;
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final Message msg, final Throwable t) {
+        return sample(logger, level, marker, msg != null ? msg.getFormat() : null);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final Object msg, final Throwable t) {
+        return sample(logger, level, marker, null);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final String msg, final Object... params) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5,
+            final Object p6) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5,
+            final Object p6,
+            final Object p7) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5,
+            final Object p6,
+            final Object p7,
+            final Object p8) {
+        return sample(logger, level, marker, msg);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5,
+            final Object p6,
+            final Object p7,
+            final Object p8,
+            final Object p9) {
+        return sample(logger, level, marker, msg);
+    }
+
+    private Result sample(final Logger logger, final Level level, final Marker marker, final String template) {
+        if (this.level.isMoreSpecificThan(level)) {
+            return isAccepted(logger != null ? logger.getName() : null, level, marker, template, null)
+                    ? onMatch
+                    : onMismatch;
+        }
+        return onMatch;
+    }
+
+    /**
+     * Creates a padded array with at least the requested number of slots, rounded up to a power of two.
+     */
+    static AtomicLongArray createStripes(final int requested) {
+        int stripes = 1;
+        while (stripes < requested && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+        return new AtomicLongArray(stripes * PADDING);
+    }
+
+    /**
+     * Maps a key to the index of its slot in an array created by {@link #createStripes(int)}.
+     */
+    static int stripeIndex(final AtomicLongArray stripes, final String key) {
+        final int h = key.hashCode();
+        final int mask = stripes.length() / PADDING - 1;
+        return ((h ^ (h >>> 16)) & mask) * PADDING;
+    }
+
+    /**
+     * Builds sampling filters.
+     */
+    public abstract static class AbstractSamplingFilterBuilder<B extends AbstractSamplingFilterBuilder<B>>
+            extends AbstractFilterBuilder<B> {
+
+        @PluginBuilderAttribute
+        private Level level = Level.WARN;
+
+        public Level getLevel() {
+            return level;
+        }
+
+        /**
+         * Sets the most specific level the filter applies to. Events with a more specific level always pass.
+         * The default is WARN.
+         * @param level the level.
+         * @return this
+         */
+        public B setLevel(final Level level) {
+            this.level = level;
+            return asBuilder();
+        }
+    }
+}
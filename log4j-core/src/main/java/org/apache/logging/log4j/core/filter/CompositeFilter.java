@@ -38,19 +38,152 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
 
 /**
  * Composes and invokes one or more filters.
+ * <p>
+ * The filters that only depend on the level of the event ({@link ThresholdFilter}, {@link LevelRangeFilter} and
+ * {@link LevelMatchFilter}) are evaluated once for each standard level when the composite is created. For each level
+ * this yields a shorter chain of filters that still need to be invoked and the result to return if none of them
+ * decides. A level filter that decides is moved ahead of the filters preceding it when these are stateless and cannot
+ * reach the opposite decision, so that, for instance, a {@link RegexFilter} is not invoked for events that a
+ * {@link ThresholdFilter} placed after it would deny anyway. The result is always the same as when invoking the
+ * filters one after the other.
+ * </p>
  */
 @Plugin(name = "Filters", category = Node.CATEGORY, printObject = true)
 @PerformanceSensitive("allocation")
 public final class CompositeFilter extends AbstractLifeCycle implements Iterable<Filter>, Filter {
 
+    /**
+     * The standard levels, indexed by {@link #getChainIndex(Level)}.
+     */
+    private static final Level[] STANDARD_LEVELS = {
+        Level.OFF, Level.FATAL, Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE, Level.ALL
+    };
+
+    private static final int INT_LEVEL_STEP = 100;
+
     private final Filter[] filters;
 
+    /**
+     * The chain to invoke for levels without a precompiled chain.
+     */
+    private final Chain defaultChain;
+
+    /**
+     * The precompiled chains indexed by {@link #getChainIndex(Level)}, or {@code null} if there is no level filter.
+     */
+    private final Chain[] chains;
+
     private CompositeFilter() {
-        this.filters = Filter.EMPTY_ARRAY;
+        this(Filter.EMPTY_ARRAY);
     }
 
     private CompositeFilter(final Filter[] filters) {
         this.filters = filters == null ? Filter.EMPTY_ARRAY : filters;
+        this.defaultChain = new Chain(this.filters, Result.NEUTRAL);
+        this.chains = compile(this.filters);
+    }
+
+    /**
+     * Precompiles the chain of filters for each standard level.
+     *
+     * @return the chains or {@code null} if there is no level filter.
+     */
+    private static Chain[] compile(final Filter[] filters) {
+        boolean hasLevelFilter = false;
+        for (final Filter filter : filters) {
+            hasLevelFilter |= isLevelFilter(filter);
+        }
+        if (!hasLevelFilter) {
+            return null;
+        }
+        final Chain[] chains = new Chain[STANDARD_LEVELS.length];
+        for (int i = 0; i < STANDARD_LEVELS.length; i++) {
+            chains[i] = compile(filters, STANDARD_LEVELS[i]);
+        }
+        return chains;
+    }
+
+    private static Chain compile(final Filter[] filters, final Level level) {
+        final List<Filter> chain = new ArrayList<>(filters.length);
+        for (final Filter filter : filters) {
+            if (!isLevelFilter(filter)) {
+                chain.add(filter);
+                continue;
+            }
+            final Result result = filter.filter(null, level, null, (Object) null, (Throwable) null);
+            if (result == Result.ACCEPT || result == Result.DENY) {
+                final Result opposite = result == Result.ACCEPT ? Result.DENY : Result.ACCEPT;
+                for (final Filter previous : chain) {
+                    if (!isStateless(previous)
+                            || previous.getOnMatch() == opposite
+                            || previous.getOnMismatch() == opposite) {
+                        return new Chain(chain.toArray(Filter.EMPTY_ARRAY), result);
+                    }
+                }
+                return new Chain(Filter.EMPTY_ARRAY, result);
+            }
+            // a level filter that does not decide is skipped
+        }
+        return new Chain(chain.toArray(Filter.EMPTY_ARRAY), Result.NEUTRAL);
+    }
+
+    private static boolean isLevelFilter(final Filter filter) {
+        return filter instanceof ThresholdFilter
+                || filter instanceof LevelRangeFilter
+                || filter instanceof LevelMatchFilter;
+    }
+
+    /**
+     * Returns whether the filter has no side effects and only returns its onMatch, onMismatch or NEUTRAL result, so
+     * that it need not be invoked when a later filter decides anyway.
+     * <p>
+     *     This is an allow-list of built-in filters: custom filters and {@link ScriptFilter}, whose script may keep
+     *     state, are always invoked.
+     * </p>
+     */
+    private static boolean isStateless(final Filter filter) {
+        final Class<?> clazz = filter.getClass();
+        return isLevelFilter(filter)
+                || clazz == MarkerFilter.class
+                || clazz == NoMarkerFilter.class
+                || clazz == RegexFilter.class
+                || clazz == StringMatchFilter.class
+                || clazz == MapFilter.class
+                || clazz == ThreadContextMapFilter.class
+                || clazz == StructuredDataFilter.class
+                || clazz == DynamicThresholdFilter.class
+                || clazz == TimeFilter.class;
+    }
+
+    private static int getChainIndex(final Level level) {
+        final int intLevel = level.intLevel();
+        final int index = intLevel == Integer.MAX_VALUE ? STANDARD_LEVELS.length - 1 : intLevel / INT_LEVEL_STEP;
+        return index >= 0 && index < STANDARD_LEVELS.length && STANDARD_LEVELS[index] == level ? index : -1;
+    }
+
+    private Chain getChain(final Level level) {
+        if (chains != null && level != null) {
+            final int index = getChainIndex(level);
+            if (index >= 0) {
+                return chains[index];
+            }
+        }
+        return defaultChain;
+    }
+
+    /**
+     * The filters left to invoke for a level and the result to return if none of them decides.
+     */
+    private static final class Chain {
+
+        private final Filter[] filters;
+
+        private final Result result;
+
+        Chain(final Filter[] filters, final Result result) {
+            this.filters = filters;
+            this.result = result;
+        }
     }
 
     public CompositeFilter addFilter(final Filter filter) {
@@ -182,14 +315,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object... params) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, params);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, params);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -209,14 +343,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, p0);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -242,14 +377,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final String msg,
             final Object p0,
             final Object p1) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, p0, p1);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -277,14 +413,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p0,
             final Object p1,
             final Object p2) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, p0, p1, p2);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -314,14 +451,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p1,
             final Object p2,
             final Object p3) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -353,14 +491,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p2,
             final Object p3,
             final Object p4) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -394,14 +533,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p3,
             final Object p4,
             final Object p5) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -437,14 +577,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p4,
             final Object p5,
             final Object p6) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -482,14 +623,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p5,
             final Object p6,
             final Object p7) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -529,14 +671,16 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p6,
             final Object p7,
             final Object p8) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result =
+                    chainFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -578,14 +722,16 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p7,
             final Object p8,
             final Object p9) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result =
+                    chainFilters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -606,14 +752,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Object msg, final Throwable t) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, t);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, t);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -634,14 +781,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Message msg, final Throwable t) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, t);
+        final Chain chain = getChain(level);
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(logger, level, marker, msg, t);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     /**
@@ -653,14 +801,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
      */
     @Override
     public Result filter(final LogEvent event) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(event);
+        final Chain chain = getChain(event.getLevel());
+        final Filter[] chainFilters = chain.filters;
+        for (int i = 0; i < chainFilters.length; i++) {
+            final Result result = chainFilters[i].filter(event);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return chain.result;
     }
 
     @Override
@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+
+/**
+ * The <code>DuplicateMessageFilter</code> suppresses the repetitions of a message within a time window.
+ * <p>
+ * Events are identified by the name of their logger and their message template, e.g. {@code "Connection to {} failed"},
+ * so the repetitions are recognized before the message is formatted. The first event of a window passes, the
+ * following ones are counted and rejected. When the window closes, a summary event reporting the number of suppressed
+ * events is logged at the level of the first event, through the appender, logger configuration or configuration the
+ * filter is attached to.
+ * </p>
+ * <p>
+ * The fingerprints are kept in a fixed-size open-addressing table. When the table is full, fingerprints whose window
+ * closed are replaced; if there are none, new messages are not suppressed. For example, the following configuration
+ * lets each WARN (or less specific) message through at most once every 10 seconds:
+ * </p>
+ * <code>
+ * &lt;Console name="console"&gt;<br>
+ * &nbsp;&lt;PatternLayout pattern="%-5p %d{dd-MMM-yyyy HH:mm:ss} %c %m%n"/&gt;<br>
+ * &nbsp;&lt;DuplicateMessageFilter level="WARN" windowMillis="10000"/&gt;<br>
+ * &lt;/Console&gt;<br>
+ * </code><br>
+ *
+ * @since 2.24.0
+ */
+@Plugin(
+        name = "DuplicateMessageFilter",
+        category = Node.CATEGORY,
+        elementType = Filter.ELEMENT_TYPE,
+        printObject = true)
+public final class DuplicateMessageFilter extends AbstractSamplingFilter implements EmittingFilter {
+
+    /**
+     * The template of the summary events. Summary events are never suppressed.
+     */
+    public static final String SUMMARY_TEMPLATE = "Suppressed {} occurrences of: {}";
+
+    private static final long DEFAULT_WINDOW_MILLIS = 10_000;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int MAX_PROBES = 8;
+
+    private final long windowNanos;
+
+    private final AtomicReferenceArray<Fingerprint> table;
+
+    private final ConfigurationScheduler scheduler;
+
+    private volatile Consumer<LogEvent> eventConsumer;
+
+    private ScheduledFuture<?> future;
+
+    private DuplicateMessageFilter(
+            final Level level,
+            final long windowMillis,
+            final int capacity,
+            final ConfigurationScheduler scheduler,
+            final Result onMatch,
+            final Result onMismatch) {
+        super(level, onMatch, onMismatch);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.table = new AtomicReferenceArray<>(size);
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void setEventConsumer(final Consumer<LogEvent> consumer) {
+        this.eventConsumer = consumer;
+    }
+
+    @Override
+    public void start() {
+        if (scheduler != null) {
+            final long windowMillis = TimeUnit.NANOSECONDS.toMillis(windowNanos);
+            future = scheduler.scheduleWithFixedDelay(
+                    this::summarize, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        }
+        super.start();
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        summarize(true);
+        setStopped();
+        return true;
+    }
+
+    @Override
+    protected boolean isAccepted(
+            final String loggerName,
+            final Level level,
+            final Marker marker,
+            final String template,
+            final ReadOnlyStringMap contextData) {
+        if (template == null || template == SUMMARY_TEMPLATE) {
+            return true;
+        }
+        final String name = loggerName != null ? loggerName : "";
+        final long now = System.nanoTime();
+        final int mask = table.length() - 1;
+        final int hash = name.hashCode() * 31 + template.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        int free = -1;
+        Fingerprint expired = null;
+        for (int probe = 0; probe < MAX_PROBES; probe++, index = (index + 1) & mask) {
+            final Fingerprint fingerprint = table.get(index);
+            if (fingerprint == null) {
+                free = index;
+                break;
+            }
+            if (fingerprint.matches(name, template)) {
+                return fingerprint.record(now, windowNanos, this);
+            }
+            if (expired == null && fingerprint.isIdle(now)) {
+                expired = fingerprint;
+                free = index;
+            }
+        }
+        if (free >= 0) {
+            final Fingerprint fingerprint = new Fingerprint(name, template, level, now + windowNanos);
+            if (table.compareAndSet(free, expired, fingerprint)) {
+                if (expired != null) {
+                    expired.summarize(this);
+                }
+                return true;
+            }
+        }
+        // the table is full or another thread took the slot: let the event pass
+        return true;
+    }
+
+    /**
+     * Logs a summary for the fingerprints whose window closed. Called periodically.
+     */
+    void summarize() {
+        summarize(false);
+    }
+
+    private void summarize(final boolean all) {
+        final long now = System.nanoTime();
+        for (int i = 0; i < table.length(); i++) {
+            final Fingerprint fingerprint = table.get(i);
+            if (fingerprint != null && (all || fingerprint.isClosed(now))) {
+                fingerprint.summarize(this);
+            }
+        }
+    }
+
+    private void logSummary(final Fingerprint fingerprint, final long count) {
+        final Consumer<LogEvent> consumer = eventConsumer;
+        if (consumer != null) {
+            consumer.accept(Log4jLogEvent.newBuilder()
+                    .setLoggerName(fingerprint.loggerName)
+                    .setLoggerFqcn(DuplicateMessageFilter.class.getName())
+                    .setLevel(fingerprint.level)
+                    .setMessage(new ParameterizedMessage(SUMMARY_TEMPLATE, count, fingerprint.template))
+                    .setTimeMillis(System.currentTimeMillis())
+                    .build());
+        }
+    }
+
+    /**
+     * Returns the number of events currently suppressed for a message. Used for unit testing.
+     * @param loggerName The name of the logger.
+     * @param template The message template.
+     * @return The number of events suppressed in the current window.
+     */
+    public long getSuppressedCount(final String loggerName, final String template) {
+        for (int i = 0; i < table.length(); i++) {
+            final Fingerprint fingerprint = table.get(i);
+            if (fingerprint != null && fingerprint.matches(loggerName, template)) {
+                return fingerprint.suppressed;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "level=" + getLevel() + ", windowMillis=" + TimeUnit.NANOSECONDS.toMillis(windowNanos) + ", capacity="
+                + table.length();
+    }
+
+    private static final class Fingerprint {
+
+        private static final AtomicLongFieldUpdater<Fingerprint> WINDOW_END =
+                AtomicLongFieldUpdater.newUpdater(Fingerprint.class, "windowEnd");
+
+        private static final AtomicLongFieldUpdater<Fingerprint> SUPPRESSED =
+                AtomicLongFieldUpdater.newUpdater(Fingerprint.class, "suppressed");
+
+        private final String loggerName;
+
+        private final String template;
+
+        private final Level level;
+
+        private volatile long windowEnd;
+
+        private volatile long suppressed;
+
+        Fingerprint(final String loggerName, final String template, final Level level, final long windowEnd) {
+            this.loggerName = loggerName;
+            this.template = template;
+            this.level = level;
+            this.windowEnd = windowEnd;
+        }
+
+        boolean matches(final String loggerName, final String template) {
+            return (this.template == template || this.template.equals(template))
+                    && (this.loggerName == loggerName || this.loggerName.equals(loggerName));
+        }
+
+        boolean isClosed(final long now) {
+            return now - windowEnd >= 0;
+        }
+
+        boolean isIdle(final long now) {
+            return isClosed(now) && suppressed == 0;
+        }
+
+        /**
+         * Counts an occurrence and returns {@code true} if it opens a new window.
+         */
+        boolean record(final long now, final long windowNanos, final DuplicateMessageFilter filter) {
+            final long end = windowEnd;
+            if (now - end < 0 || !WINDOW_END.compareAndSet(this, end, now + windowNanos)) {
+                SUPPRESSED.incrementAndGet(this);
+                return false;
+            }
+            summarize(filter);
+            return true;
+        }
+
+        void summarize(final DuplicateMessageFilter filter) {
+            final long count = SUPPRESSED.getAndSet(this, 0);
+            if (count > 0) {
+                filter.logSummary(this, count);
+            }
+        }
+    }
+
+    @PluginBuilderFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder extends AbstractSamplingFilterBuilder<Builder>
+            implements org.apache.logging.log4j.core.util.Builder<DuplicateMessageFilter> {
+
+        @PluginBuilderAttribute
+        private long windowMillis = DEFAULT_WINDOW_MILLIS;
+
+        @PluginBuilderAttribute
+        private int capacity = DEFAULT_CAPACITY;
+
+        @PluginConfiguration
+        private Configuration configuration;
+
+        /**
+         * Sets the length of the window during which the repetitions of a message are suppressed.
+         * @param windowMillis the length of the window in milliseconds.
+         * @return this
+         */
+        public Builder setWindowMillis(final long windowMillis) {
+            this.windowMillis = windowMillis;
+            return this;
+        }
+
+        /**
+         * Sets the number of messages that can be tracked at the same time. It is rounded up to a power of two.
+         * @param capacity the number of messages that can be tracked.
+         * @return this
+         */
+        public Builder setCapacity(final int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the configuration whose scheduler logs the summaries when the windows close. Without a configuration
+         * the summary of a window is logged by the next repetition of the message or when the filter stops.
+         * @param configuration the configuration.
+         * @return this
+         */
+        public Builder setConfiguration(final Configuration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        @Override
+        public DuplicateMessageFilter build() {
+            if (windowMillis <= 0) {
+                windowMillis = DEFAULT_WINDOW_MILLIS;
+            }
+            if (capacity <= 0) {
+                capacity = DEFAULT_CAPACITY;
+            }
+            ConfigurationScheduler scheduler = null;
+            if (configuration != null) {
+                scheduler = configuration.getScheduler();
+                scheduler.incrementScheduledItems();
+            }
+            return new DuplicateMessageFilter(
+                    getLevel(), windowMillis, capacity, scheduler, getOnMatch(), getOnMismatch());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.function.Consumer;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+
+/**
+ * A Filter that creates events of its own, like a summary of the events it suppressed.
+ * <p>
+ * {@link AbstractFilterable} connects these filters to the object they filter for, so that appenders, logger
+ * configurations and configurations process the created events as if they had passed the filter.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public interface EmittingFilter extends Filter {
+
+    /**
+     * Sets the consumer of the events created by this filter.
+     * @param consumer The consumer, or {@code null} to discard the events.
+     */
+    void setEventConsumer(Consumer<LogEvent> consumer);
+}
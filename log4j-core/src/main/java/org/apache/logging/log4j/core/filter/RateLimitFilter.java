@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+
+/**
+ * The <code>RateLimitFilter</code> limits the rate of events separately for each logger name, marker or thread context
+ * value.
+ * <p>
+ * Unlike {@link BurstFilter}, which keeps one limit for all events, this filter hashes the key of each event into a
+ * fixed number of buckets. Every bucket holds the theoretical arrival time of the next event in a single
+ * {@code long} that is updated with a compare-and-set, so the filter never blocks and never allocates. Keys that
+ * share a bucket share their limit; increase {@code buckets} if that happens too often. Events without a key are not
+ * limited. For example, the following configuration allows each logger an average of 10 INFO (or less specific)
+ * events per second with bursts of up to 50:
+ * </p>
+ * <code>
+ * &lt;Console name="console"&gt;<br>
+ * &nbsp;&lt;PatternLayout pattern="%-5p %d{dd-MMM-yyyy HH:mm:ss} %c %m%n"/&gt;<br>
+ * &nbsp;&lt;RateLimitFilter level="INFO" key="LOGGER" rate="10" maxBurst="50"/&gt;<br>
+ * &lt;/Console&gt;<br>
+ * </code><br>
+ *
+ * @since 2.24.0
+ */
+@Plugin(name = "RateLimitFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class RateLimitFilter extends AbstractSamplingFilter {
+
+    /**
+     * What the events are grouped by.
+     */
+    public enum Key {
+        /** The name of the logger. */
+        LOGGER,
+        /** The name of the marker. */
+        MARKER,
+        /** The value of a thread context entry. */
+        CONTEXT
+    }
+
+    private static final int DEFAULT_RATE = 10;
+
+    private static final int DEFAULT_RATE_MULTIPLE = 10;
+
+    private static final int DEFAULT_BUCKETS = 1024;
+
+    private final Key key;
+
+    private final String contextKey;
+
+    private final float rate;
+
+    private final long maxBurst;
+
+    /**
+     * Nanoseconds between two events at the average rate.
+     */
+    private final long interval;
+
+    /**
+     * How far the theoretical arrival time of a bucket may run ahead of the clock.
+     */
+    private final long tolerance;
+
+    /**
+     * Clock origin, so that a bucket holding 0 is idle.
+     */
+    private final long origin = System.nanoTime();
+
+    private final AtomicLongArray buckets;
+
+    private RateLimitFilter(
+            final Level level,
+            final Key key,
+            final String contextKey,
+            final float rate,
+            final long maxBurst,
+            final int buckets,
+            final Result onMatch,
+            final Result onMismatch) {
+        super(level, onMatch, onMismatch);
+        this.key = key;
+        this.contextKey = contextKey;
+        this.rate = rate;
+        this.maxBurst = maxBurst;
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.tolerance = interval * maxBurst;
+        this.buckets = createStripes(buckets);
+    }
+
+    @Override
+    protected boolean isAccepted(
+            final String loggerName,
+            final Level level,
+            final Marker marker,
+            final String template,
+            final ReadOnlyStringMap contextData) {
+        final String value;
+        switch (key) {
+            case MARKER:
+                value = marker != null ? marker.getName() : null;
+                break;
+            case CONTEXT:
+                value = contextData != null ? contextData.getValue(contextKey) : ThreadContext.get(contextKey);
+                break;
+            default:
+                value = loggerName;
+        }
+        if (value == null) {
+            return true;
+        }
+        final int index = stripeIndex(buckets, value);
+        final long now = System.nanoTime() - origin;
+        long arrival;
+        long next;
+        do {
+            arrival = buckets.get(index);
+            next = Math.max(arrival, now) + interval;
+            if (next - now > tolerance) {
+                return false;
+            }
+        } while (!buckets.compareAndSet(index, arrival, next));
+        return true;
+    }
+
+    /**
+     * Clear the history. Used for unit testing.
+     */
+    public void clear() {
+        for (int i = 0; i < buckets.length(); i += PADDING) {
+            buckets.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "level=" + getLevel() + ", key=" + (key == Key.CONTEXT ? "CONTEXT:" + contextKey : key) + ", rate="
+                + rate + ", max=" + maxBurst + ", buckets=" + buckets.length() / PADDING;
+    }
+
+    @PluginBuilderFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder extends AbstractSamplingFilterBuilder<Builder>
+            implements org.apache.logging.log4j.core.util.Builder<RateLimitFilter> {
+
+        @PluginBuilderAttribute
+        private Key key = Key.LOGGER;
+
+        @PluginBuilderAttribute
+        private String contextKey;
+
+        @PluginBuilderAttribute
+        private float rate = DEFAULT_RATE;
+
+        @PluginBuilderAttribute
+        private long maxBurst;
+
+        @PluginBuilderAttribute
+        private int buckets = DEFAULT_BUCKETS;
+
+        /**
+         * Sets what the events are grouped by. The default is {@link Key#LOGGER}.
+         * @param key what the events are grouped by.
+         * @return this
+         */
+        public Builder setKey(final Key key) {
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Sets the thread context key whose value groups the events when the key is {@link Key#CONTEXT}.
+         * @param contextKey the thread context key.
+         * @return this
+         */
+        public Builder setContextKey(final String contextKey) {
+            this.contextKey = contextKey;
+            return this;
+        }
+
+        /**
+         * Sets the average number of events per second to allow for each key.
+         * @param rate the average number of events per second to allow. This must be a positive number.
+         * @return this
+         */
+        public Builder setRate(final float rate) {
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of events of a key that can occur before events are filtered for exceeding the
+         * average rate. The default is 10 times the rate.
+         * @param maxBurst the maximum number of events in a burst.
+         * @return this
+         */
+        public Builder setMaxBurst(final long maxBurst) {
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        /**
+         * Sets the number of buckets the keys are hashed into. It is rounded up to a power of two.
+         * @param buckets the number of buckets.
+         * @return this
+         */
+        public Builder setBuckets(final int buckets) {
+            this.buckets = buckets;
+            return this;
+        }
+
+        @Override
+        public RateLimitFilter build() {
+            if (key == Key.CONTEXT && contextKey == null) {
+                LOGGER.error("RateLimitFilter requires a contextKey when the key is CONTEXT");
+                return null;
+            }
+            if (this.rate <= 0) {
+                this.rate = DEFAULT_RATE;
+            }
+            if (this.maxBurst <= 0) {
+                this.maxBurst = Math.max(1, (long) (this.rate * DEFAULT_RATE_MULTIPLE));
+            }
+            return new RateLimitFilter(
+                    getLevel(), key, contextKey, rate, maxBurst, buckets, getOnMatch(), getOnMismatch());
+        }
+    }
+}
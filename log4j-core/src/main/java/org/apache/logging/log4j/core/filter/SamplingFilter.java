@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+
+/**
+ * The <code>SamplingFilter</code> lets a random fraction of the events at or below a level pass.
+ * <p>
+ * The decision uses the per-thread generator of {@link ThreadLocalRandom}, so there is no contention between threads
+ * and nothing is allocated. Attach the filter to a logger to sample that logger only. For example, the following
+ * configuration keeps one DEBUG (or TRACE) event out of a hundred, while INFO and more severe events are always
+ * delivered:
+ * </p>
+ * <code>
+ * &lt;Logger name="com.example.chatty" level="DEBUG"&gt;<br>
+ * &nbsp;&lt;SamplingFilter level="DEBUG" rate="0.01"/&gt;<br>
+ * &lt;/Logger&gt;<br>
+ * </code><br>
+ *
+ * @since 2.24.0
+ */
+@Plugin(name = "SamplingFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class SamplingFilter extends AbstractSamplingFilter {
+
+    private static final int RANDOM_BITS = 53;
+
+    private final float rate;
+
+    /**
+     * An event passes if a uniformly distributed random value of {@value #RANDOM_BITS} bits is less than this.
+     */
+    private final long threshold;
+
+    private SamplingFilter(final Level level, final float rate, final Result onMatch, final Result onMismatch) {
+        super(level, onMatch, onMismatch);
+        this.rate = rate;
+        this.threshold = (long) (rate * (double) (1L << RANDOM_BITS));
+    }
+
+    @Override
+    protected boolean isAccepted(
+            final String loggerName,
+            final Level level,
+            final Marker marker,
+            final String template,
+            final ReadOnlyStringMap contextData) {
+        return (ThreadLocalRandom.current().nextLong() >>> (Long.SIZE - RANDOM_BITS)) < threshold;
+    }
+
+    /**
+     * Returns the fraction of the events that pass.
+     * @return the fraction of the events that pass.
+     */
+    public float getRate() {
+        return rate;
+    }
+
+    @Override
+    public String toString() {
+        return "level=" + getLevel() + ", rate=" + rate;
+    }
+
+    @PluginBuilderFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder extends AbstractSamplingFilterBuilder<Builder>
+            implements org.apache.logging.log4j.core.util.Builder<SamplingFilter> {
+
+        @PluginBuilderAttribute
+        private float rate = 1;
+
+        /**
+         * Sets the fraction of the events that pass.
+         * @param rate a number between 0 (no event passes) and 1 (every event passes).
+         * @return this
+         */
+        public Builder setRate(final float rate) {
+            this.rate = rate;
+            return this;
+        }
+
+        @Override
+        public SamplingFilter build() {
+            if (rate < 0 || rate > 1 || Float.isNaN(rate)) {
+                LOGGER.warn("SamplingFilter rate {} is not between 0 and 1, using {}", rate, rate > 1 ? 1 : 0);
+                rate = rate > 1 ? 1 : 0;
+            }
+            return new SamplingFilter(getLevel(), rate, getOnMatch(), getOnMismatch());
+        }
+    }
+}
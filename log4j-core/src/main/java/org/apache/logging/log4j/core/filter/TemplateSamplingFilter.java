@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+
+/**
+ * The <code>TemplateSamplingFilter</code> lets the first {@code first} events of each message template pass and then
+ * only one in {@code every}.
+ * <p>
+ * The template is the unformatted message, e.g. {@code "Connection to {} failed"}, so a message logged in a loop is
+ * thinned out whatever its parameters are. Templates are hashed into a fixed number of counters that are incremented
+ * atomically; templates that share a counter share their count. Messages without a template, like object messages
+ * logged before the event is created, are not sampled. For example, the following configuration lets the first 10
+ * occurrences of every WARN (or less specific) message through, followed by one in a hundred:
+ * </p>
+ * <code>
+ * &lt;Console name="console"&gt;<br>
+ * &nbsp;&lt;PatternLayout pattern="%-5p %d{dd-MMM-yyyy HH:mm:ss} %c %m%n"/&gt;<br>
+ * &nbsp;&lt;TemplateSamplingFilter level="WARN" first="10" every="100"/&gt;<br>
+ * &lt;/Console&gt;<br>
+ * </code><br>
+ *
+ * @since 2.24.0
+ */
+@Plugin(
+        name = "TemplateSamplingFilter",
+        category = Node.CATEGORY,
+        elementType = Filter.ELEMENT_TYPE,
+        printObject = true)
+public final class TemplateSamplingFilter extends AbstractSamplingFilter {
+
+    private static final int DEFAULT_FIRST = 10;
+
+    private static final int DEFAULT_EVERY = 100;
+
+    private static final int DEFAULT_COUNTERS = 1024;
+
+    private final long first;
+
+    private final long every;
+
+    private final AtomicLongArray counters;
+
+    private TemplateSamplingFilter(
+            final Level level,
+            final long first,
+            final long every,
+            final int counters,
+            final Result onMatch,
+            final Result onMismatch) {
+        super(level, onMatch, onMismatch);
+        this.first = first;
+        this.every = every;
+        this.counters = createStripes(counters);
+    }
+
+    @Override
+    protected boolean isAccepted(
+            final String loggerName,
+            final Level level,
+            final Marker marker,
+            final String template,
+            final ReadOnlyStringMap contextData) {
+        if (template == null) {
+            return true;
+        }
+        final long count = counters.getAndIncrement(stripeIndex(counters, template));
+        return count < first || (count - first) % every == 0;
+    }
+
+    /**
+     * Clear the counters. Used for unit testing.
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i += PADDING) {
+            counters.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "level=" + getLevel() + ", first=" + first + ", every=" + every + ", counters="
+                + counters.length() / PADDING;
+    }
+
+    @PluginBuilderFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder extends AbstractSamplingFilterBuilder<Builder>
+            implements org.apache.logging.log4j.core.util.Builder<TemplateSamplingFilter> {
+
+        @PluginBuilderAttribute
+        private long first = DEFAULT_FIRST;
+
+        @PluginBuilderAttribute
+        private long every = DEFAULT_EVERY;
+
+        @PluginBuilderAttribute
+        private int counters = DEFAULT_COUNTERS;
+
+        /**
+         * Sets the number of events of a template that always pass.
+         * @param first the number of events of a template that always pass.
+         * @return this
+         */
+        public Builder setFirst(final long first) {
+            this.first = first;
+            return this;
+        }
+
+        /**
+         * Sets the sampling interval once the first events of a template have passed: one event in {@code every}
+         * passes.
+         * @param every the sampling interval.
+         * @return this
+         */
+        public Builder setEvery(final long every) {
+            this.every = every;
+            return this;
+        }
+
+        /**
+         * Sets the number of counters the templates are hashed into. It is rounded up to a power of two.
+         * @param counters the number of counters.
+         * @return this
+         */
+        public Builder setCounters(final int counters) {
+            this.counters = counters;
+            return this;
+        }
+
+        @Override
+        public TemplateSamplingFilter build() {
+            if (first < 0) {
+                first = 0;
+            }
+            if (every <= 0) {
+                every = DEFAULT_EVERY;
+            }
+            return new TemplateSamplingFilter(getLevel(), first, every, counters, getOnMatch(), getOnMismatch());
+        }
+    }
+}
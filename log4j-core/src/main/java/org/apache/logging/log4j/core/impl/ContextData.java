@@ -25,7 +25,10 @@ import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.util.ContextDataProvider;
+import org.apache.logging.log4j.spi.CopyOnWrite;
+import org.apache.logging.log4j.spi.ReadOnlyThreadContextMap;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.ServiceLoaderUtil;
 import org.apache.logging.log4j.util.StringMap;
@@ -94,6 +97,36 @@ public final class ContextData {
         return map;
     }
 
+    /**
+     * Returns the context data as an immutable snapshot, if it is available without copying.
+     * <p>
+     *     This is the case if the thread context is the only non-empty source of context data and its
+     *     {@link ReadOnlyThreadContextMap} is a {@link CopyOnWrite} implementation: the snapshot can be shared by
+     *     log events.
+     * </p>
+     * @return a frozen {@code StringMap} or {@code null} if the context data must be copied.
+     * @since 2.24.0
+     */
+    public static StringMap getImmutableContextData() {
+        if (!contextDataProviders.isEmpty()) {
+            return null;
+        }
+        StringMap result = null;
+        for (int i = 0; i < SERVICE_PROVIDERS.size(); i++) {
+            final ContextDataProvider provider = SERVICE_PROVIDERS.get(i);
+            if (provider instanceof ThreadContextDataProvider) {
+                final ReadOnlyThreadContextMap contextMap = ThreadContext.getThreadContextMap();
+                if (!(contextMap instanceof CopyOnWrite)) {
+                    return null;
+                }
+                result = contextMap.getReadOnlyContextData();
+            } else if (provider.size() != 0) {
+                return null;
+            }
+        }
+        return result != null && result.isFrozen() ? result : null;
+    }
+
     public static String getValue(String key) {
         List<ContextDataProvider> providers = getProviders();
         for (ContextDataProvider provider : providers) {
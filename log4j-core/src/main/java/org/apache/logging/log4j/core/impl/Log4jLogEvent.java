@@ -679,6 +679,12 @@ public class Log4jLogEvent implements LogEvent {
     }
 
     private static StringMap createContextData(final List<Property> properties) {
+        if (CONTEXT_DATA_INJECTOR == null && (properties == null || properties.isEmpty())) {
+            final StringMap snapshot = ContextData.getImmutableContextData();
+            if (snapshot != null) {
+                return snapshot;
+            }
+        }
         final StringMap reusable = ContextDataFactory.createContextData();
         if (CONTEXT_DATA_INJECTOR == null) {
             copyProperties(properties, reusable);
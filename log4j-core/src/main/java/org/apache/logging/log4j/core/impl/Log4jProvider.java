@@ -23,6 +23,7 @@ import java.util.ServiceLoader;
 import org.apache.logging.log4j.core.impl.internal.QueuedScopedContextProvider;
 import org.apache.logging.log4j.spi.Provider;
 import org.apache.logging.log4j.spi.ScopedContextProvider;
+import org.apache.logging.log4j.spi.ScopedValueScopedContextProvider;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.ServiceLoaderUtil;
 
@@ -43,6 +44,8 @@ public class Log4jProvider extends Provider {
                         ServiceLoader.load(ScopedContextProvider.class),
                         StatusLogger.getLogger())
                 .findFirst()
-                .orElse(QueuedScopedContextProvider.INSTANCE);
+                .orElseGet(() -> ScopedValueScopedContextProvider.isEnabled()
+                        ? new ScopedValueScopedContextProvider()
+                        : QueuedScopedContextProvider.INSTANCE);
     }
 }
@@ -110,7 +110,16 @@ public class MutableLogEvent implements LogEvent, ReusableMessage, ParameterVisi
         // NOTE: this ringbuffer event SHOULD NOT keep a reference to the specified
         // thread-local MutableLogEvent's context data, because then two threads would call
         // ReadOnlyStringMap.clear() on the same shared instance, resulting in data corruption.
-        this.contextData.putAll(event.getContextData());
+        // Frozen snapshots of a CopyOnWrite thread context are never cleared and can be shared.
+        final ReadOnlyStringMap eventContextData = event.getContextData();
+        if (eventContextData instanceof StringMap && ((StringMap) eventContextData).isFrozen()) {
+            this.contextData = (StringMap) eventContextData;
+        } else {
+            if (this.contextData == null || this.contextData.isFrozen()) {
+                this.contextData = ContextDataFactory.createContextData();
+            }
+            this.contextData.putAll(eventContextData);
+        }
 
         this.contextStack = event.getContextStack();
         this.source = event.isIncludeLocation() ? event.getSource() : null;
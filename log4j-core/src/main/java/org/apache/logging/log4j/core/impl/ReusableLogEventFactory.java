@@ -103,9 +103,19 @@ public class ReusableLogEventFactory implements LogEventFactory, LocationAwareLo
         if (injector != null) {
             result.setContextData(injector.injectContextData(properties, (StringMap) result.getContextData()));
         } else {
-            StringMap reusable = (StringMap) result.getContextData();
-            copyProperties(properties, reusable);
-            ContextData.addAll(reusable);
+            final StringMap snapshot =
+                    properties == null || properties.isEmpty() ? ContextData.getImmutableContextData() : null;
+            if (snapshot != null) {
+                result.setContextData(snapshot);
+            } else {
+                StringMap reusable = (StringMap) result.getContextData();
+                if (reusable == null) { // the snapshot of the previous event was released
+                    reusable = ContextDataFactory.createContextData();
+                    result.setContextData(reusable);
+                }
+                copyProperties(properties, reusable);
+                ContextData.addAll(reusable);
+            }
         }
         result.setContextStack(
                 ThreadContext.getDepth() == 0 ? ThreadContext.EMPTY_STACK : ThreadContext.cloneStack()); // mutable copy
@@ -24,6 +24,7 @@ import java.util.Map;
 import org.apache.logging.log4j.core.util.ContextDataProvider;
 import org.apache.logging.log4j.spi.ScopedContextProvider;
 import org.apache.logging.log4j.util.ProviderUtil;
+import org.apache.logging.log4j.util.StringMap;
 
 /**
  * ContextDataProvider for {@code Map<String, String>} data.
@@ -61,4 +62,9 @@ public class ScopedContextDataProvider implements ContextDataProvider {
     public void addAll(final Map<String, String> map) {
         scopedContext.getContextMap().forEach((key, value) -> map.put(key, String.valueOf(value)));
     }
+
+    @Override
+    public void addAll(final StringMap map) {
+        scopedContext.addContextMapTo(map);
+    }
 }
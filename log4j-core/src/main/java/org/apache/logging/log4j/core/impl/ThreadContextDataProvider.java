@@ -21,6 +21,7 @@ import aQute.bnd.annotation.spi.ServiceProvider;
 import java.util.Map;
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.util.ContextDataProvider;
+import org.apache.logging.log4j.spi.ReadOnlyThreadContextMap;
 import org.apache.logging.log4j.util.StringMap;
 
 /**
@@ -46,11 +47,25 @@ public class ThreadContextDataProvider implements ContextDataProvider {
 
     @Override
     public int size() {
-        return ThreadContext.getContext().size();
+        final ReadOnlyThreadContextMap contextMap = ThreadContext.getThreadContextMap();
+        return contextMap != null
+                ? contextMap.getReadOnlyContextData().size()
+                : ThreadContext.getContext().size();
     }
 
     @Override
     public void addAll(Map<String, String> map) {
         map.putAll(ThreadContext.getContext());
     }
+
+    @Override
+    public void addAll(final StringMap map) {
+        final ReadOnlyThreadContextMap contextMap = ThreadContext.getThreadContextMap();
+        if (contextMap != null) {
+            // avoids the copy made by supplyContextData()
+            map.putAll(contextMap.getReadOnlyContextData());
+        } else {
+            ContextDataProvider.super.addAll(map);
+        }
+    }
 }
@@ -22,6 +22,7 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
 /**
  * Looks up keys from environment variables.
  */
+@CacheableLookup
 @Plugin(name = "env", category = StrLookup.CATEGORY)
 public class EnvironmentLookup extends AbstractLookup {
 
@@ -21,8 +21,13 @@ import static org.apache.logging.log4j.util.Strings.toRootLowerCase;
 import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
@@ -34,9 +39,15 @@ import org.apache.logging.log4j.core.config.plugins.util.PluginType;
 import org.apache.logging.log4j.core.net.JndiManager;
 import org.apache.logging.log4j.core.util.ReflectionUtil;
 import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
 
 /**
  * Proxies all the other {@link StrLookup}s.
+ * <p>
+ * The values of the lookups annotated with {@link CacheableLookup}, and of the lookups listed in the
+ * {@value #RESOLVE_ONCE_LOOKUPS_PROPERTY} property, are cached, up to {@value #MAX_CACHE_SIZE} values per
+ * interpolator.
+ * </p>
  */
 public class Interpolator extends AbstractConfigurationAwareLookup implements LoggerContextAware {
 
@@ -55,10 +66,45 @@ public class Interpolator extends AbstractConfigurationAwareLookup implements Lo
 
     private static final String LOOKUP_KEY_JVMRUNARGS = "jvmrunargs";
 
+    /**
+     * Comma-separated list of the prefixes of the lookups that are only evaluated once per key.
+     * <p>
+     * Only the evaluations without a log event are cached: a lookup might read the event, so its value for a
+     * given event is never reused, unless the lookup is annotated with {@link CacheableLookup}.
+     * </p>
+     */
+    static final String RESOLVE_ONCE_LOOKUPS_PROPERTY = "log4j2.resolveOnceLookups";
+
+    static final int MAX_CACHE_SIZE = 1024;
+
+    static final long NOT_CACHED = 0;
+
+    static final long CACHED_FOREVER = Long.MAX_VALUE;
+
     private static final Logger LOGGER = StatusLogger.getLogger();
 
+    private static final ClassValue<Long> CACHE_TTL_NANOS = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(final Class<?> type) {
+            final CacheableLookup cacheable = type.getAnnotation(CacheableLookup.class);
+            if (cacheable == null) {
+                return NOT_CACHED;
+            }
+            return cacheable.ttlMillis() < 0 ? CACHED_FOREVER : TimeUnit.MILLISECONDS.toNanos(cacheable.ttlMillis());
+        }
+    };
+
     private final Map<String, StrLookup> strLookupMap = new HashMap<>();
 
+    private final Set<String> resolveOnceLookups = getResolveOnceLookups();
+
+    private final ConcurrentMap<String, CachedResult> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Identifies the current content of the cache: replaced each time the configuration or the logger context changes.
+     */
+    private volatile Object cacheGeneration = new Object();
+
     private final StrLookup defaultLookup;
 
     protected WeakReference<LoggerContext> loggerContext = new WeakReference<>(null);
@@ -194,7 +240,7 @@ public class Interpolator extends AbstractConfigurationAwareLookup implements Lo
             final StrLookup lookup = strLookupMap.get(prefix);
             LookupResult value = null;
             if (lookup != null) {
-                value = event == null ? lookup.evaluate(name) : lookup.evaluate(event, name);
+                value = evaluate(event, var, prefix, lookup, name);
             }
 
             if (value != null) {
@@ -208,9 +254,89 @@ public class Interpolator extends AbstractConfigurationAwareLookup implements Lo
         return null;
     }
 
+    /**
+     * Evaluates a variable with the lookup of its prefix, using the cache if the lookup is cacheable.
+     *
+     * @param event The current LogEvent or null.
+     * @param var The variable, including its prefix, used as cache key.
+     * @param prefix The lower case prefix of the variable.
+     * @param lookup The lookup registered for the prefix.
+     * @param name The variable without its prefix.
+     * @return the value of the variable, or {@code null} if the lookup cannot resolve it.
+     */
+    LookupResult evaluate(
+            final LogEvent event, final String var, final String prefix, final StrLookup lookup, final String name) {
+        final long ttlNanos = getCacheTtlNanos(event, prefix, lookup);
+        if (ttlNanos == NOT_CACHED) {
+            return event == null ? lookup.evaluate(name) : lookup.evaluate(event, name);
+        }
+        final CachedResult cached = cache.get(var);
+        final long now = ttlNanos == CACHED_FOREVER ? 0 : System.nanoTime();
+        if (cached != null && cached.lookup == lookup && (ttlNanos == CACHED_FOREVER || now - cached.expiresAt < 0)) {
+            return cached.result;
+        }
+        // cacheable lookups do not depend on the event
+        final LookupResult result = lookup.evaluate(name);
+        if (result != null && (cached != null || cache.size() < MAX_CACHE_SIZE)) {
+            cache.put(var, new CachedResult(lookup, result, now + ttlNanos));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of nanoseconds the values of a lookup can be cached.
+     * <p>
+     * The lookups listed in {@value #RESOLVE_ONCE_LOOKUPS_PROPERTY} are only resolved once if no event is given,
+     * since their value might depend on the event.
+     * </p>
+     *
+     * @param event The current LogEvent or null.
+     * @param prefix The lower case prefix of the lookup.
+     * @param lookup The lookup.
+     * @return {@link #NOT_CACHED}, {@link #CACHED_FOREVER} or a number of nanoseconds.
+     */
+    long getCacheTtlNanos(final LogEvent event, final String prefix, final StrLookup lookup) {
+        final long ttlNanos = getCacheTtlNanos(lookup);
+        return ttlNanos == NOT_CACHED && event == null && resolveOnceLookups.contains(prefix)
+                ? CACHED_FOREVER
+                : ttlNanos;
+    }
+
+    /**
+     * Returns an object that identifies the current content of the cache.
+     * <p>
+     * A different object is returned after each change of the configuration or logger context, so that values
+     * cached outside of this interpolator can be discarded at the same time as its own cache.
+     * </p>
+     *
+     * @return the current cache generation.
+     */
+    Object getCacheGeneration() {
+        return cacheGeneration;
+    }
+
+    static long getCacheTtlNanos(final StrLookup lookup) {
+        return CACHE_TTL_NANOS.get(lookup.getClass());
+    }
+
+    private static Set<String> getResolveOnceLookups() {
+        final String value = PropertiesUtil.getProperties().getStringProperty(RESOLVE_ONCE_LOOKUPS_PROPERTY);
+        if (value == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> prefixes = new HashSet<>();
+        for (final String prefix : value.split(",")) {
+            if (!prefix.trim().isEmpty()) {
+                prefixes.add(toRootLowerCase(prefix.trim()));
+            }
+        }
+        return prefixes;
+    }
+
     @Override
     public void setConfiguration(final Configuration configuration) {
         super.setConfiguration(configuration);
+        clearCache();
         // Propagate
         for (final StrLookup lookup : strLookupMap.values()) {
             if (lookup instanceof ConfigurationAware) {
@@ -222,6 +348,7 @@ public class Interpolator extends AbstractConfigurationAwareLookup implements Lo
     @Override
     public void setLoggerContext(final LoggerContext loggerContext) {
         this.loggerContext = new WeakReference<>(loggerContext);
+        clearCache();
         // Propagate
         for (final StrLookup lookup : strLookupMap.values()) {
             if (lookup instanceof LoggerContextAware) {
@@ -230,6 +357,11 @@ public class Interpolator extends AbstractConfigurationAwareLookup implements Lo
         }
     }
 
+    private void clearCache() {
+        cacheGeneration = new Object();
+        cache.clear();
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
@@ -247,4 +379,19 @@ public class Interpolator extends AbstractConfigurationAwareLookup implements Lo
         }
         return sb.toString();
     }
+
+    private static final class CachedResult {
+
+        private final StrLookup lookup;
+
+        private final LookupResult result;
+
+        private final long expiresAt;
+
+        CachedResult(final StrLookup lookup, final LookupResult result, final long expiresAt) {
+            this.lookup = lookup;
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.logging.log4j.util.Strings;
 /**
  * Looks up keys related to Java: Java version, JRE version, VM version, and so on.
  */
+@CacheableLookup
 @Plugin(name = "java", category = StrLookup.CATEGORY)
 public class JavaLookup extends AbstractLookup {
 
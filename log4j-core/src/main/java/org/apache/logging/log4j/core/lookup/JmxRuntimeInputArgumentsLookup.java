@@ -28,6 +28,7 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
  * @see java.lang.management.RuntimeMXBean#getInputArguments()
  * @since 2.1
  */
+@CacheableLookup
 @Plugin(name = "jvmrunargs", category = StrLookup.CATEGORY)
 public class JmxRuntimeInputArgumentsLookup extends MapLookup {
 
@@ -28,6 +28,7 @@ import org.apache.logging.log4j.status.StatusLogger;
 /**
  * Lookup properties of Log4j
  */
+@CacheableLookup
 @Plugin(name = "log4j", category = StrLookup.CATEGORY)
 public class Log4jLookup extends AbstractConfigurationAwareLookup {
 
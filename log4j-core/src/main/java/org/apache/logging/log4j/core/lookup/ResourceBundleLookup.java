@@ -28,6 +28,7 @@ import org.apache.logging.log4j.status.StatusLogger;
 /**
  * Looks up keys from resource bundles.
  */
+@CacheableLookup
 @Plugin(name = "bundle", category = StrLookup.CATEGORY)
 public class ResourceBundleLookup extends AbstractLookup {
 
@@ -495,6 +495,22 @@ public class StrSubstitutor implements ConfigurationAware {
     public String replace(final String source) {
         return replace(null, source);
     }
+    // -----------------------------------------------------------------------
+    /**
+     * Compiles the given source string into a template that can be evaluated many times, without parsing the source
+     * string again.
+     * <p>
+     * {@code compile(source).evaluate(event)} returns the same result as {@code replace(event, source)}.
+     * </p>
+     *
+     * @param source  the string to compile, null returns null
+     * @return the compiled template
+     * @since 2.24.0
+     */
+    public StrTemplate compile(final String source) {
+        return source == null ? null : new StrTemplate(this, source);
+    }
+
     // -----------------------------------------------------------------------
     /**
      * Replaces all the occurrences of variables with their matching values
@@ -1410,6 +1426,15 @@ public class StrSubstitutor implements ConfigurationAware {
         return valueDelimiterMatcher;
     }
 
+    /**
+     * Gets the matcher of the escaped variable default value delimiter, if any.
+     *
+     * @return the escaped variable default value delimiter matcher in use, may be null
+     */
+    StrMatcher getValueEscapeDelimiterMatcher() {
+        return valueEscapeDelimiterMatcher;
+    }
+
     /**
      * Sets the variable default value delimiter matcher to use.
      * <p>
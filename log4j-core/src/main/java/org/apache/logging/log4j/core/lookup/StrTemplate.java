@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.lookup;
+
+import static org.apache.logging.log4j.util.Strings.toRootLowerCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * A template compiled by a {@link StrSubstitutor}: the result of {@link StrSubstitutor#replace(LogEvent, String)}
+ * for a given source string, without parsing the source string again on each call.
+ * <p>
+ * The source is split once into literal text and variable references, and the {@link StrLookup} of each variable is
+ * looked up in the {@link Interpolator} in advance. The values of the lookups that the interpolator caches forever,
+ * such as environment variables or the Java version, are kept by the template after the first successful
+ * evaluation, until the configuration of the interpolator changes. Variables
+ * with nested variables in their names are still evaluated by the substitutor.
+ * </p>
+ * <p>
+ * If the variable resolver of the substitutor changes, the template falls back to
+ * {@link StrSubstitutor#replace(LogEvent, String)}.
+ * </p>
+ *
+ * @see StrSubstitutor#compile(String)
+ * @since 2.24.0
+ */
+public final class StrTemplate {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final int MAX_ESTIMATED_LENGTH = 256;
+
+    private final StrSubstitutor substitutor;
+
+    private final StrLookup resolver;
+
+    private final String source;
+
+    private final Segment[] segments;
+
+    private final int estimatedLength;
+
+    StrTemplate(final StrSubstitutor substitutor, final String source) {
+        this.substitutor = substitutor;
+        this.resolver = substitutor.getVariableResolver();
+        this.source = source;
+        this.segments = isParseable(substitutor) ? parse(source) : new Segment[] {new Complex(source)};
+        this.estimatedLength = Math.min(source.length() * 2, MAX_ESTIMATED_LENGTH);
+    }
+
+    /**
+     * Returns the source string of this template.
+     *
+     * @return the source string.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Tests if this template contains variables.
+     *
+     * @return {@code true} if the template contains at least one variable.
+     */
+    public boolean isConstant() {
+        return segments.length == 0 || (segments.length == 1 && segments[0] instanceof Literal);
+    }
+
+    /**
+     * Evaluates the template.
+     *
+     * @param event The current LogEvent, if there is one.
+     * @return The source string, with its variables replaced.
+     */
+    public String evaluate(final LogEvent event) {
+        if (substitutor.getVariableResolver() != resolver) {
+            return substitutor.replace(event, source);
+        }
+        try {
+            switch (segments.length) {
+                case 0:
+                    return source;
+                case 1:
+                    return segments[0].evaluate(event);
+                default:
+                    final StringBuilder buf = new StringBuilder(estimatedLength);
+                    for (final Segment segment : segments) {
+                        buf.append(segment.evaluate(event));
+                    }
+                    return buf.toString();
+            }
+        } catch (final Throwable t) {
+            LOGGER.error("Replacement failed on {}", source, t);
+            return source;
+        }
+    }
+
+    /**
+     * Evaluates the template and appends the result to a buffer.
+     *
+     * @param event The current LogEvent, if there is one.
+     * @param buf The buffer to append to.
+     */
+    public void appendTo(final LogEvent event, final StringBuilder buf) {
+        if (substitutor.getVariableResolver() != resolver) {
+            buf.append(substitutor.replace(event, source));
+            return;
+        }
+        final int start = buf.length();
+        try {
+            for (final Segment segment : segments) {
+                buf.append(segment.evaluate(event));
+            }
+        } catch (final Throwable t) {
+            LOGGER.error("Replacement failed on {}", source, t);
+            buf.setLength(start);
+            buf.append(source);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StrTemplate[" + source + "]";
+    }
+
+    /**
+     * Tests if the substitutor follows the rules of {@link StrSubstitutor}, i.e. it is not a custom subclass that may
+     * override {@link StrSubstitutor#resolveVariable}.
+     */
+    private static boolean isParseable(final StrSubstitutor substitutor) {
+        final Class<?> type = substitutor.getClass();
+        return type == StrSubstitutor.class
+                || type == RuntimeStrSubstitutor.class
+                || type == ConfigurationStrSubstitutor.class;
+    }
+
+    /**
+     * Splits the source following the rules of {@link StrSubstitutor#substitute(LogEvent, StringBuilder, int, int)}.
+     */
+    private Segment[] parse(final String text) {
+        final StrMatcher prefixMatcher = substitutor.getVariablePrefixMatcher();
+        final StrMatcher suffixMatcher = substitutor.getVariableSuffixMatcher();
+        final char escape = substitutor.getEscapeChar();
+        final boolean substitutionInVariablesEnabled = substitutor.isEnableSubstitutionInVariables();
+        final char[] chars = text.toCharArray();
+        final int end = chars.length;
+        final List<Segment> result = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < end) {
+            final int startMatchLen = prefixMatcher.isMatch(chars, pos, 0, end);
+            if (startMatchLen == 0) {
+                literal.append(chars[pos++]);
+            } else if (literal.length() > 0 && literal.charAt(literal.length() - 1) == escape) {
+                // escaped: drop the escape character and keep the prefix as text
+                literal.setCharAt(literal.length() - 1, chars[pos++]);
+            } else {
+                final int startPos = pos;
+                pos += startMatchLen;
+                int nestedVarCount = 0;
+                int endPos = -1;
+                while (pos < end) {
+                    int matchLen;
+                    if (substitutionInVariablesEnabled && (matchLen = prefixMatcher.isMatch(chars, pos, 0, end)) != 0) {
+                        nestedVarCount++;
+                        pos += matchLen;
+                        continue;
+                    }
+                    matchLen = suffixMatcher.isMatch(chars, pos, 0, end);
+                    if (matchLen == 0) {
+                        pos++;
+                    } else if (nestedVarCount == 0) {
+                        endPos = pos;
+                        pos += matchLen;
+                        break;
+                    } else {
+                        nestedVarCount--;
+                        pos += matchLen;
+                    }
+                }
+                if (endPos < 0) {
+                    // unterminated variable
+                    literal.append(chars, startPos, end - startPos);
+                } else {
+                    if (literal.length() > 0) {
+                        result.add(new Literal(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    result.add(createVariable(
+                            text.substring(startPos, pos),
+                            new String(chars, startPos + startMatchLen, endPos - startPos - startMatchLen)));
+                }
+            }
+        }
+        if (literal.length() > 0) {
+            result.add(new Literal(literal.toString()));
+        }
+        return result.toArray(new Segment[0]);
+    }
+
+    private Segment createVariable(final String raw, final String expression) {
+        final char[] chars = expression.toCharArray();
+        final StrMatcher prefixMatcher = substitutor.getVariablePrefixMatcher();
+        final StrMatcher valueDelimiterMatcher = substitutor.getValueDelimiterMatcher();
+        final StrMatcher valueEscapeDelimiterMatcher = substitutor.getValueEscapeDelimiterMatcher();
+        for (int i = 0; i < chars.length; i++) {
+            if (prefixMatcher.isMatch(chars, i, 0, chars.length) != 0
+                    || (valueDelimiterMatcher != null
+                            && valueEscapeDelimiterMatcher != null
+                            && valueEscapeDelimiterMatcher.isMatch(chars, i) != 0)) {
+                // nested variables and escaped delimiters are left to the substitutor
+                return new Complex(raw);
+            }
+        }
+        if (valueDelimiterMatcher != null) {
+            for (int i = 0; i < chars.length; i++) {
+                final int matchLen = valueDelimiterMatcher.isMatch(chars, i);
+                if (matchLen != 0) {
+                    return new Variable(raw, expression.substring(0, i), expression.substring(i + matchLen));
+                }
+            }
+        }
+        return new Variable(raw, expression, null);
+    }
+
+    private abstract static class Segment {
+
+        abstract String evaluate(LogEvent event);
+    }
+
+    private static final class Literal extends Segment {
+
+        private final String text;
+
+        Literal(final String text) {
+            this.text = text;
+        }
+
+        @Override
+        String evaluate(final LogEvent event) {
+            return text;
+        }
+    }
+
+    private final class Complex extends Segment {
+
+        private final String raw;
+
+        Complex(final String raw) {
+            this.raw = raw;
+        }
+
+        @Override
+        String evaluate(final LogEvent event) {
+            return substitutor.replace(event, raw);
+        }
+    }
+
+    private final class Variable extends Segment {
+
+        private final String raw;
+
+        private final String name;
+
+        private final String defaultValue;
+
+        private final StrLookup lookup;
+
+        private final String lookupPrefix;
+
+        private final String lookupKey;
+
+        private final StrLookup defaultLookup;
+
+        private final String defaultLookupKey;
+
+        private final boolean interpolated;
+
+        private volatile CachedValue cachedValue;
+
+        Variable(final String raw, final String name, final String defaultValue) {
+            this.raw = raw;
+            this.name = name;
+            this.defaultValue = defaultValue;
+            final int prefixPos = name.indexOf(Interpolator.PREFIX_SEPARATOR);
+            interpolated = resolver != null && resolver.getClass() == Interpolator.class;
+            if (interpolated) {
+                final Interpolator interpolator = (Interpolator) resolver;
+                if (prefixPos >= 0) {
+                    lookupPrefix = toRootLowerCase(name.substring(0, prefixPos));
+                    lookup = interpolator.getStrLookupMap().get(lookupPrefix);
+                    lookupKey = name.substring(prefixPos + 1);
+                } else {
+                    lookupPrefix = null;
+                    lookup = null;
+                    lookupKey = null;
+                }
+                defaultLookup = interpolator.getDefaultLookup();
+                defaultLookupKey = prefixPos >= 0 ? name.substring(prefixPos + 1) : name;
+            } else {
+                lookupPrefix = null;
+                lookup = null;
+                lookupKey = null;
+                defaultLookup = resolver;
+                defaultLookupKey = null;
+            }
+        }
+
+        @Override
+        String evaluate(final LogEvent event) {
+            final Object generation = interpolated ? ((Interpolator) resolver).getCacheGeneration() : null;
+            final CachedValue cached = cachedValue;
+            if (cached != null && cached.generation == generation) {
+                return cached.value;
+            }
+            LookupResult result = null;
+            boolean constant = false;
+            try {
+                if (lookup != null) {
+                    final Interpolator interpolator = (Interpolator) resolver;
+                    result = interpolator.evaluate(event, name, lookupPrefix, lookup, lookupKey);
+                    constant =
+                            interpolator.getCacheTtlNanos(event, lookupPrefix, lookup) == Interpolator.CACHED_FOREVER;
+                }
+                if (result == null && defaultLookup != null) {
+                    if (interpolated) {
+                        result = event == null
+                                ? defaultLookup.evaluate(defaultLookupKey)
+                                : defaultLookup.evaluate(event, defaultLookupKey);
+                    } else {
+                        result = defaultLookup.evaluate(event, name);
+                    }
+                    constant = Interpolator.getCacheTtlNanos(defaultLookup) == Interpolator.CACHED_FOREVER;
+                }
+            } catch (final Throwable t) {
+                LOGGER.error("Resolver failed to lookup {}", name, t);
+                result = null;
+            }
+            final String value = result != null ? result.value() : null;
+            if (value == null) {
+                return defaultValue != null ? defaultValue : raw;
+            }
+            if (result.isLookupEvaluationAllowedInValue()) {
+                // the value may contain other variables
+                return substitutor.replace(event, value);
+            }
+            if (constant && generation != null) {
+                cachedValue = new CachedValue(generation, value);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * A value cached by a {@link Variable}, valid as long as the cache generation of the interpolator does not change.
+     */
+    private static final class CachedValue {
+
+        private final Object generation;
+
+        private final String value;
+
+        CachedValue(final Object generation, final String value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Fixed-size ring of serialized log events, used by {@link SmtpManager} in digest mode.
+ * <p>
+ * Events are stored as the bytes produced by the layout when they are buffered, so the memory retained by the buffer
+ * is bounded by its capacity regardless of the messages, parameters or stack traces of the events. When the buffer is
+ * full the oldest events are dropped.
+ * </p>
+ */
+final class DigestBuffer {
+
+    private final byte[] data;
+    private final int[] offsets;
+    private final int[] lengths;
+    private int first;
+    private int count;
+    private int used;
+    private long droppedCount;
+
+    /**
+     * @param capacity the maximum number of bytes retained.
+     * @param maxEvents the maximum number of events retained.
+     */
+    DigestBuffer(final int capacity, final int maxEvents) {
+        this.data = new byte[Math.max(1, capacity)];
+        this.offsets = new int[Math.max(1, maxEvents)];
+        this.lengths = new int[offsets.length];
+    }
+
+    /**
+     * Appends a serialized event, truncating it to the capacity of the buffer if needed.
+     */
+    synchronized void add(final byte[] bytes) {
+        final int length = Math.min(bytes.length, data.length);
+        while (count > 0 && (count == offsets.length || used + length > data.length)) {
+            used -= lengths[first];
+            first = (first + 1) % offsets.length;
+            count--;
+            droppedCount++;
+        }
+        final int writePos;
+        if (count == 0) {
+            first = 0;
+            writePos = 0;
+        } else {
+            final int last = (first + count - 1) % offsets.length;
+            writePos = (offsets[last] + lengths[last]) % data.length;
+        }
+        final int tail = Math.min(length, data.length - writePos);
+        System.arraycopy(bytes, 0, data, writePos, tail);
+        System.arraycopy(bytes, tail, data, 0, length - tail);
+        final int index = (first + count) % offsets.length;
+        offsets[index] = writePos;
+        lengths[index] = length;
+        count++;
+        used += length;
+    }
+
+    /**
+     * Writes the buffered events in order to the given stream and empties the buffer.
+     */
+    synchronized void drainTo(final OutputStream out) throws IOException {
+        for (int i = 0; i < count; i++) {
+            final int index = (first + i) % offsets.length;
+            final int offset = offsets[index];
+            final int tail = Math.min(lengths[index], data.length - offset);
+            out.write(data, offset, tail);
+            out.write(data, 0, lengths[index] - tail);
+        }
+        first = 0;
+        count = 0;
+        used = 0;
+    }
+
+    synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full.
+     */
+    synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+}
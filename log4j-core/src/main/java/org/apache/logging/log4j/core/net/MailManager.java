@@ -109,6 +109,10 @@ public abstract class MailManager extends AbstractManager {
         private final SslConfiguration sslConfiguration;
         private final String filterName;
         private final String managerName;
+        private final boolean digest;
+        private final int digestBufferSize;
+        private final long digestWindowMillis;
+        private final int maxEmailsPerMinute;
 
         public FactoryData(
                 final String to,
@@ -127,6 +131,58 @@ public abstract class MailManager extends AbstractManager {
                 final int bufferSize,
                 final SslConfiguration sslConfiguration,
                 final String filterName) {
+            this(
+                    to,
+                    cc,
+                    bcc,
+                    from,
+                    replyTo,
+                    subject,
+                    subjectSerializer,
+                    smtpProtocol,
+                    smtpHost,
+                    smtpPort,
+                    smtpUsername,
+                    smtpPassword,
+                    smtpDebug,
+                    bufferSize,
+                    sslConfiguration,
+                    filterName,
+                    false,
+                    0,
+                    0,
+                    0);
+        }
+
+        /**
+         * @param digest if {@code true} buffered events are serialized when they are added and triggering events are
+         *               coalesced into digest messages.
+         * @param digestBufferSize the maximum number of bytes of serialized events retained in digest mode.
+         * @param digestWindowMillis the time window in milliseconds in which triggering events are coalesced.
+         * @param maxEmailsPerMinute the maximum number of digest messages sent per minute, or {@code 0} for no limit.
+         * @since 2.24.0
+         */
+        public FactoryData(
+                final String to,
+                final String cc,
+                final String bcc,
+                final String from,
+                final String replyTo,
+                final String subject,
+                final Serializer subjectSerializer,
+                final String smtpProtocol,
+                final String smtpHost,
+                final int smtpPort,
+                final String smtpUsername,
+                final String smtpPassword,
+                final boolean smtpDebug,
+                final int bufferSize,
+                final SslConfiguration sslConfiguration,
+                final String filterName,
+                final boolean digest,
+                final int digestBufferSize,
+                final long digestWindowMillis,
+                final int maxEmailsPerMinute) {
             this.to = to;
             this.cc = cc;
             this.bcc = bcc;
@@ -143,7 +199,11 @@ public abstract class MailManager extends AbstractManager {
             this.bufferSize = bufferSize;
             this.sslConfiguration = sslConfiguration;
             this.filterName = filterName;
-            this.managerName = createManagerName(
+            this.digest = digest;
+            this.digestBufferSize = digestBufferSize;
+            this.digestWindowMillis = digestWindowMillis;
+            this.maxEmailsPerMinute = maxEmailsPerMinute;
+            final String name = createManagerName(
                     to,
                     cc,
                     bcc,
@@ -156,6 +216,9 @@ public abstract class MailManager extends AbstractManager {
                     smtpUsername,
                     smtpDebug,
                     filterName);
+            this.managerName = digest
+                    ? name + ":digest:" + digestBufferSize + ':' + digestWindowMillis + ':' + maxEmailsPerMinute
+                    : name;
         }
 
         public String getTo() {
@@ -225,6 +288,34 @@ public abstract class MailManager extends AbstractManager {
         public String getManagerName() {
             return managerName;
         }
+
+        /**
+         * @since 2.24.0
+         */
+        public boolean isDigest() {
+            return digest;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public int getDigestBufferSize() {
+            return digestBufferSize;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public long getDigestWindowMillis() {
+            return digestWindowMillis;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public int getMaxEmailsPerMinute() {
+            return maxEmailsPerMinute;
+        }
     }
 
     public MailManager(final LoggerContext loggerContext, final String name) {
@@ -238,6 +329,21 @@ public abstract class MailManager extends AbstractManager {
      */
     public abstract void add(LogEvent event);
 
+    /**
+     * Buffers an event that did not trigger an e-mail.
+     * <p>
+     * Managers that serialize buffered events can use the layout to do so when the event is added. The default
+     * implementation calls {@link #add(LogEvent)}.
+     * </p>
+     *
+     * @param layout the layout of the appender.
+     * @param event the event to buffer.
+     * @since 2.24.0
+     */
+    public void add(final Layout<?> layout, final LogEvent event) {
+        add(event);
+    }
+
     /**
      * Send the contents of the cyclic buffer as an e-mail message.
      *
@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Date;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.activation.DataSource;
 import javax.mail.Authenticator;
 import javax.mail.Message;
@@ -49,6 +51,12 @@ import org.apache.logging.log4j.util.PropertiesUtil;
 
 /**
  * Manager for sending SMTP events.
+ * <p>
+ * In digest mode, buffered events are serialized when they are added to a {@link DigestBuffer} of fixed size, the
+ * triggering events of a time window are coalesced into a single message and the number of messages per minute is
+ * limited by a token bucket. Messages refused by the token bucket are counted and their events are kept for the next
+ * message.
+ * </p>
  */
 public class SmtpManager extends MailManager {
     public static final SMTPManagerFactory FACTORY = new SMTPManagerFactory();
@@ -61,6 +69,20 @@ public class SmtpManager extends MailManager {
 
     private final FactoryData data;
 
+    private final DigestBuffer digestBuffer;
+
+    private final AtomicLong suppressedEmailCount = new AtomicLong();
+
+    private Layout<?> digestLayout;
+
+    private String digestSubject;
+
+    private boolean digestTriggered;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
     private static MimeMessage createMimeMessage(
             final FactoryData data, final Session session, final LogEvent appendEvent) throws MessagingException {
         return new MimeMessageBuilder(session)
@@ -79,6 +101,9 @@ public class SmtpManager extends MailManager {
         this.message = message;
         this.data = data;
         this.buffer = new CyclicBuffer<>(LogEvent.class, data.getBufferSize());
+        this.digestBuffer = data.isDigest() ? new DigestBuffer(data.getDigestBufferSize(), data.getBufferSize()) : null;
+        this.tokens = data.getMaxEmailsPerMinute();
+        this.lastRefillNanos = System.nanoTime();
     }
 
     @Override
@@ -86,6 +111,15 @@ public class SmtpManager extends MailManager {
         buffer.add(event.toImmutable());
     }
 
+    @Override
+    public void add(final Layout<?> layout, final LogEvent event) {
+        if (digestBuffer != null) {
+            digestBuffer.add(layout.toByteArray(event));
+        } else {
+            add(event);
+        }
+    }
+
     @Deprecated
     public static SmtpManager getSmtpManager(
             final Configuration config,
@@ -134,28 +168,150 @@ public class SmtpManager extends MailManager {
         if (message == null) {
             connect(appendEvent);
         }
+        if (digestBuffer != null) {
+            addToDigest(layout, appendEvent);
+            return;
+        }
         try {
             final LogEvent[] priorEvents = removeAllBufferedEvents();
             // LOG4J-310: log appendEvent even if priorEvents is empty
 
             final byte[] rawBytes = formatContentToBytes(priorEvents, appendEvent, layout);
 
-            final String contentType = layout.getContentType();
-            final String encoding = getEncoding(rawBytes, contentType);
-            final byte[] encodedBytes = encodeContentToBytes(rawBytes, encoding);
-
-            final InternetHeaders headers = getHeaders(contentType, encoding);
-            final MimeMultipart mp = getMimeMultipart(encodedBytes, headers);
-
             final String subject = data.getSubjectSerializer().toSerializable(appendEvent);
 
-            sendMultipartMessage(message, mp, subject);
+            sendContent(layout, rawBytes, subject);
         } catch (final MessagingException | IOException | RuntimeException e) {
             logError("Caught exception while sending e-mail notification.", e);
             throw new LoggingException("Error occurred while sending email", e);
         }
     }
 
+    private void sendContent(final Layout<?> layout, final byte[] rawBytes, final String subject)
+            throws MessagingException, IOException {
+        final String contentType = layout.getContentType();
+        final String encoding = getEncoding(rawBytes, contentType);
+        final byte[] encodedBytes = encodeContentToBytes(rawBytes, encoding);
+
+        final InternetHeaders headers = getHeaders(contentType, encoding);
+        final MimeMultipart mp = getMimeMultipart(encodedBytes, headers);
+
+        sendMultipartMessage(message, mp, subject);
+    }
+
+    private void addToDigest(final Layout<?> layout, final LogEvent appendEvent) {
+        final String subject = data.getSubjectSerializer().toSerializable(appendEvent);
+        synchronized (this) {
+            digestBuffer.add(layout.toByteArray(appendEvent));
+            digestLayout = layout;
+            digestTriggered = true;
+            if (digestSubject == null) {
+                digestSubject = subject;
+            }
+        }
+        if (data.getDigestWindowMillis() <= 0) {
+            sendDigest();
+        }
+    }
+
+    /**
+     * Tests whether this manager is in digest mode.
+     *
+     * @return {@code true} if buffered events are serialized when they are added.
+     * @since 2.24.0
+     */
+    public boolean isDigest() {
+        return digestBuffer != null;
+    }
+
+    /**
+     * Sends the events buffered since the last digest in a single message, if a triggering event arrived in the
+     * meantime and the rate limit allows it.
+     *
+     * @return {@code true} if a message was sent.
+     * @throws LoggingException if the message could not be sent.
+     * @since 2.24.0
+     */
+    public synchronized boolean sendDigest() {
+        return sendDigest(false);
+    }
+
+    private synchronized boolean sendDigest(final boolean ignoreRateLimit) {
+        if (digestBuffer == null || digestSubject == null || message == null) {
+            return false;
+        }
+        if (!ignoreRateLimit && !tryAcquireToken()) {
+            if (digestTriggered) {
+                digestTriggered = false;
+                suppressedEmailCount.incrementAndGet();
+                LOGGER.debug("{} rate limit reached, e-mail suppressed", getName());
+            }
+            return false;
+        }
+        final String subject = digestSubject;
+        digestSubject = null;
+        digestTriggered = false;
+        try {
+            final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            writeHeader(digestLayout, raw);
+            digestBuffer.drainTo(raw);
+            writeFooter(digestLayout, raw);
+            sendContent(digestLayout, raw.toByteArray(), subject);
+            return true;
+        } catch (final MessagingException | IOException | RuntimeException e) {
+            logError("Caught exception while sending e-mail digest.", e);
+            throw new LoggingException("Error occurred while sending email", e);
+        }
+    }
+
+    private boolean tryAcquireToken() {
+        final int maxEmailsPerMinute = data.getMaxEmailsPerMinute();
+        if (maxEmailsPerMinute <= 0) {
+            return true;
+        }
+        final long now = System.nanoTime();
+        tokens = Math.min(
+                maxEmailsPerMinute,
+                tokens + (double) (now - lastRefillNanos) * maxEmailsPerMinute / TimeUnit.MINUTES.toNanos(1));
+        lastRefillNanos = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of digest messages refused by the rate limit.
+     *
+     * @since 2.24.0
+     */
+    public long getSuppressedEmailCount() {
+        return suppressedEmailCount.get();
+    }
+
+    /**
+     * Returns the number of events dropped from the digest buffer because it was full.
+     *
+     * @since 2.24.0
+     */
+    public long getDroppedEventCount() {
+        return digestBuffer != null ? digestBuffer.getDroppedCount() : 0;
+    }
+
+    @Override
+    protected boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        if (digestBuffer != null) {
+            try {
+                // Do not lose the last digest on shutdown
+                sendDigest(true);
+            } catch (final LoggingException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     LogEvent[] removeAllBufferedEvents() {
         return buffer.removeAll();
     }
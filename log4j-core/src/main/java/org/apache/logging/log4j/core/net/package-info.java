@@ -25,7 +25,7 @@
  * </ul>
  */
 @Export
-@Version("2.20.3")
+@Version("2.24.0")
 package org.apache.logging.log4j.core.net;
 
 import org.osgi.annotation.bundle.Export;
@@ -18,6 +18,7 @@ package org.apache.logging.log4j.core.pattern;
 
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.lookup.StrTemplate;
 import org.apache.logging.log4j.core.util.OptionConverter;
 import org.apache.logging.log4j.util.PerformanceSensitive;
 
@@ -36,6 +37,8 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
 
     private final boolean substitute;
 
+    private StrTemplate template;
+
     /**
      * Create a new instance.
      *
@@ -60,7 +63,21 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
      */
     @Override
     public void format(final LogEvent event, final StringBuilder toAppendTo) {
-        toAppendTo.append(substitute ? config.getStrSubstitutor().replace(event, literal) : literal);
+        if (substitute) {
+            getTemplate().appendTo(event, toAppendTo);
+        } else {
+            toAppendTo.append(literal);
+        }
+    }
+
+    private StrTemplate getTemplate() {
+        // benign race: the template is immutable
+        StrTemplate result = template;
+        if (result == null) {
+            result = config.getStrSubstitutor().compile(literal);
+            template = result;
+        }
+        return result;
     }
 
     /**
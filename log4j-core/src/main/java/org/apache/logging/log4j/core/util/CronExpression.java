@@ -24,6 +24,11 @@ package org.apache.logging.log4j.core.util;
 import static org.apache.logging.log4j.util.Strings.toRootUpperCase;
 
 import java.text.ParseException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -253,6 +258,22 @@ public final class CronExpression {
     protected transient int lastdayOffset = 0;
     protected transient boolean expressionParsed = false;
 
+    // The values of the fields as bit masks, for the computation of the next fire time
+    private transient long secondsMask;
+    private transient long minutesMask;
+    private transient long hoursMask;
+    private transient long daysOfMonthMask;
+    private transient long monthsMask;
+    private transient long daysOfWeekMask;
+    private transient BitSet yearsMask;
+    private transient boolean dayOfWeekRule;
+    /**
+     * Whether the days only depend on the day-of-month or day-of-week values, without 'L', 'W' or '#'.
+     */
+    private transient boolean simpleDays;
+
+    private transient volatile TimeZoneRules timeZoneRules;
+
     public static final int MAX_YEAR = Calendar.getInstance().get(Calendar.YEAR) + 100;
     public static final Calendar MIN_CAL = Calendar.getInstance();
 
@@ -262,6 +283,10 @@ public final class CronExpression {
 
     public static final Date MIN_DATE = MIN_CAL.getTime();
 
+    private static final long NONE = Long.MIN_VALUE;
+    private static final long TRANSITION = Long.MAX_VALUE;
+    private static final int[] DAY_OF_WEEK_OFFSETS = {0, 3, 2, 5, 0, 3, 5, 1, 4, 6, 2, 4};
+
     /**
      * Constructs a new <CODE>CronExpression</CODE> based on the specified
      * parameter.
@@ -279,6 +304,7 @@ public final class CronExpression {
         this.cronExpression = toRootUpperCase(cronExpression);
 
         buildExpression(this.cronExpression);
+        computeMasks();
     }
 
     /**
@@ -1156,7 +1182,220 @@ public final class CronExpression {
     //
     ////////////////////////////////////////////////////////////////////////////
 
-    public Date getTimeAfter(Date afterTime) {
+    /**
+     * Returns the first time after the given time that satisfies the expression.
+     * <p>
+     * The fields of the candidate local date-time are advanced using the bit masks of their values. Expressions that
+     * use 'L', 'W' or '#', and times close to daylight saving time transitions, use the {@link Calendar} based search.
+     * </p>
+     *
+     * @param afterTime the time to start from.
+     * @return the next fire time, or {@code null} if there is none.
+     */
+    public Date getTimeAfter(final Date afterTime) {
+        if (simpleDays) {
+            final ZoneRules rules = getZoneRules();
+            if (rules != null) {
+                final long fireTime = getTimeAfter(afterTime.getTime(), rules);
+                if (fireTime != TRANSITION) {
+                    return fireTime == NONE ? null : new Date(fireTime);
+                }
+            }
+        }
+        return getTimeAfterWithCalendar(afterTime);
+    }
+
+    /**
+     * Computes the next fire time.
+     *
+     * @return the fire time in milliseconds, {@link #NONE} if there is no next fire time or {@link #TRANSITION} if
+     * the search starts or ends in a daylight saving time transition.
+     */
+    private long getTimeAfter(final long afterMillis, final ZoneRules rules) {
+        // CronTrigger does not deal with milliseconds
+        final long startSecond = Math.floorDiv(afterMillis, 1000) + 1;
+        final LocalDateTime start =
+                LocalDateTime.ofEpochSecond(startSecond, 0, rules.getOffset(Instant.ofEpochSecond(startSecond)));
+        if (rules.getTransition(start) != null) {
+            return TRANSITION;
+        }
+        int year = start.getYear();
+        int month = start.getMonthValue();
+        int day = start.getDayOfMonth();
+        int hour = start.getHour();
+        int minute = start.getMinute();
+        int second = start.getSecond();
+        // each field is advanced to its next value, the lower fields being reset; overflows are carried over by
+        // the next iteration, since no field matches an out of range value
+        while (true) {
+            if (year > MAX_YEAR) {
+                return NONE;
+            }
+            if (!yearsMask.get(year)) {
+                year = yearsMask.nextSetBit(year);
+                if (year < 0) {
+                    return NONE;
+                }
+                month = day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            int next = nextValue(monthsMask, month);
+            if (next != month) {
+                if (next < 0) {
+                    year++;
+                    month = 1;
+                } else {
+                    month = next;
+                }
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            next = nextDay(year, month, day);
+            if (next != day) {
+                if (next < 0) {
+                    month++;
+                    day = 1;
+                } else {
+                    day = next;
+                }
+                hour = minute = second = 0;
+                continue;
+            }
+            next = nextValue(hoursMask, hour);
+            if (next != hour) {
+                if (next < 0) {
+                    day++;
+                    hour = 0;
+                } else {
+                    hour = next;
+                }
+                minute = second = 0;
+                continue;
+            }
+            next = nextValue(minutesMask, minute);
+            if (next != minute) {
+                if (next < 0) {
+                    hour++;
+                    minute = 0;
+                } else {
+                    minute = next;
+                }
+                second = 0;
+                continue;
+            }
+            next = nextValue(secondsMask, second);
+            if (next != second) {
+                if (next < 0) {
+                    minute++;
+                    second = 0;
+                } else {
+                    second = next;
+                }
+                continue;
+            }
+            final LocalDateTime fireTime = LocalDateTime.of(year, month, day, hour, minute, second);
+            if (rules.getTransition(fireTime) != null) {
+                return TRANSITION;
+            }
+            return fireTime.toEpochSecond(rules.getOffset(fireTime)) * 1000;
+        }
+    }
+
+    /**
+     * Returns the first value of a mask greater or equal to the given value, or -1.
+     */
+    private static int nextValue(final long mask, final int value) {
+        if (value >= Long.SIZE) {
+            return -1;
+        }
+        final long values = mask & (-1L << value);
+        return values == 0 ? -1 : Long.numberOfTrailingZeros(values);
+    }
+
+    /**
+     * Returns the first matching day of the month greater or equal to the given day, or -1.
+     */
+    private int nextDay(final int year, final int month, final int day) {
+        final int lastDay = getLastDayOfMonth(month, year);
+        if (day > lastDay) {
+            return -1;
+        }
+        if (!dayOfWeekRule) {
+            final int next = nextValue(daysOfMonthMask, day);
+            return next > lastDay ? -1 : next;
+        }
+        int dayOfWeek = getDayOfWeek(year, month, day);
+        for (int d = day; d <= lastDay; d++) {
+            if ((daysOfWeekMask & (1L << dayOfWeek)) != 0) {
+                return d;
+            }
+            dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the day of the week of a date of the Gregorian calendar, from 1 for Sunday to 7 for Saturday.
+     */
+    private static int getDayOfWeek(final int year, final int month, final int day) {
+        final int y = month < 3 ? year - 1 : year;
+        return (y + y / 4 - y / 100 + y / 400 + DAY_OF_WEEK_OFFSETS[month - 1] + day) % 7 + 1;
+    }
+
+    private ZoneRules getZoneRules() {
+        final TimeZone zone = getTimeZone();
+        TimeZoneRules cached = timeZoneRules;
+        if (cached == null || cached.timeZone != zone) {
+            ZoneRules rules;
+            try {
+                rules = zone.toZoneId().getRules();
+            } catch (final DateTimeException e) {
+                // e.g. a custom time zone
+                rules = null;
+            }
+            cached = new TimeZoneRules(zone, rules);
+            timeZoneRules = cached;
+        }
+        return cached.rules;
+    }
+
+    /**
+     * Computes the bit masks of the values of the fields.
+     */
+    private void computeMasks() {
+        secondsMask = toMask(seconds);
+        minutesMask = toMask(minutes);
+        hoursMask = toMask(hours);
+        daysOfMonthMask = toMask(daysOfMonth);
+        monthsMask = toMask(months);
+        daysOfWeekMask = toMask(daysOfWeek);
+        yearsMask = new BitSet();
+        for (final int year : years) {
+            if (year != ALL_SPEC_INT && year != NO_SPEC_INT) {
+                yearsMask.set(year);
+            }
+        }
+        dayOfWeekRule = !daysOfWeek.contains(NO_SPEC);
+        simpleDays = !lastdayOfWeek && nthdayOfWeek == 0 && !lastdayOfMonth && !nearestWeekday;
+    }
+
+    private static long toMask(final TreeSet<Integer> set) {
+        long mask = 0;
+        for (final int value : set) {
+            // the ALL_SPEC and NO_SPEC markers are out of range
+            if (value >= 0 && value < Long.SIZE) {
+                mask |= 1L << value;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the first time after the given time that satisfies the expression, using a {@link Calendar}.
+     */
+    Date getTimeAfterWithCalendar(Date afterTime) {
 
         // Computation is based on Gregorian year only.
         final Calendar cl = new java.util.GregorianCalendar(getTimeZone());
@@ -1682,4 +1921,16 @@ public final class CronExpression {
 
         public int pos;
     }
+
+    private static final class TimeZoneRules {
+
+        private final TimeZone timeZone;
+
+        private final ZoneRules rules;
+
+        TimeZoneRules(final TimeZone timeZone, final ZoneRules rules) {
+            this.timeZone = timeZone;
+            this.rules = rules;
+        }
+    }
 }
@@ -20,6 +20,7 @@ import aQute.bnd.annotation.Cardinality;
 import aQute.bnd.annotation.Resolution;
 import aQute.bnd.annotation.spi.ServiceConsumer;
 import java.io.File;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -133,6 +134,7 @@ public class WatchManager extends AbstractLifeCycle {
     private final ConcurrentMap<Source, ConfigurationMonitor> watchers = new ConcurrentHashMap<>();
     private int intervalSeconds = 0;
     private ScheduledFuture<?> future;
+    private WatchServiceMonitor watchServiceMonitor;
 
     private final ConfigurationScheduler scheduler;
 
@@ -293,8 +295,11 @@ public class WatchManager extends AbstractLifeCycle {
         super.start();
 
         if (intervalSeconds > 0) {
-            future = scheduler.scheduleWithFixedDelay(
-                    new WatchRunnable(), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+            // poll only the sources whose changes are not reported by the WatchService
+            watchServiceMonitor = WatchServiceMonitor.getInstance();
+            if (watchServiceMonitor == null || !watchServiceMonitor.register(this, watchers.keySet())) {
+                startPolling();
+            }
         }
         for (WatchEventService service : eventServiceList) {
             service.subscribe(this);
@@ -307,11 +312,22 @@ public class WatchManager extends AbstractLifeCycle {
         for (WatchEventService service : eventServiceList) {
             service.unsubscribe(this);
         }
+        if (watchServiceMonitor != null) {
+            watchServiceMonitor.unregister(this);
+            watchServiceMonitor = null;
+        }
         final boolean stopped = stop(future);
         setStopped();
         return stopped;
     }
 
+    private synchronized void startPolling() {
+        if (future == null || future.isDone()) {
+            future = scheduler.scheduleWithFixedDelay(
+                    new WatchRunnable(), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
     @Override
     public String toString() {
         return "WatchManager [intervalSeconds=" + intervalSeconds + ", watchers=" + watchers + ", scheduler="
@@ -358,6 +374,10 @@ public class WatchManager extends AbstractLifeCycle {
                     lastModified);
         }
         watchers.put(source, new ConfigurationMonitor(lastModified, watcher));
+        final WatchServiceMonitor monitor = watchServiceMonitor;
+        if (monitor != null && isStarted() && !monitor.register(this, Collections.singleton(source))) {
+            startPolling();
+        }
     }
 
     /**
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Notifies {@link WatchManager}s of changes to the files they watch using a {@link WatchService}, instead of polling
+ * the files.
+ * <p>
+ * A single daemon thread, blocked while no file changes, serves all the watch managers of the JVM. Events are
+ * debounced: the watch managers are notified once no event has been received for
+ * {@value #DEFAULT_DEBOUNCE_MILLIS} milliseconds by default, so that a file written in several steps causes a single
+ * check.
+ * </p>
+ * <p>
+ * Files that are not on the default file system, or on a file system that may not deliver events, such as network
+ * file systems, are not registered and must be polled.
+ * </p>
+ */
+final class WatchServiceMonitor implements Runnable {
+
+    static final String ENABLE_WATCH_SERVICE_PROPERTY = "log4j2.enableWatchService";
+
+    static final String DEBOUNCE_MILLIS_PROPERTY = "log4j2.watchServiceDebounceMillis";
+
+    static final long DEFAULT_DEBOUNCE_MILLIS = 100;
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final long MAX_DEBOUNCE_PERIODS = 10;
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * Prefixes of the file store types that do not reliably deliver events for changes made by other hosts.
+     */
+    private static final String[] UNSUPPORTED_FILE_STORE_TYPES = {"nfs", "cifs", "smb", "fuse", "9p", "vboxsf"};
+
+    private static volatile WatchServiceMonitor instance;
+
+    private final long debounceMillis;
+
+    private final Map<Path, WatchKey> keys = new HashMap<>();
+
+    private final Map<WatchKey, Set<WatchManager>> managers = new HashMap<>();
+
+    private WatchService watchService;
+
+    WatchServiceMonitor(final long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Returns the monitor shared by all watch managers, or {@code null} if it is disabled.
+     */
+    static WatchServiceMonitor getInstance() {
+        WatchServiceMonitor result = instance;
+        if (result == null) {
+            synchronized (WatchServiceMonitor.class) {
+                result = instance;
+                if (result == null) {
+                    final PropertiesUtil properties = PropertiesUtil.getProperties();
+                    if (!properties.getBooleanProperty(ENABLE_WATCH_SERVICE_PROPERTY, false)) {
+                        return null;
+                    }
+                    result = new WatchServiceMonitor(
+                            properties.getLongProperty(DEBOUNCE_MILLIS_PROPERTY, DEFAULT_DEBOUNCE_MILLIS));
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Registers the directories of the given sources for the watch manager.
+     *
+     * @param manager The watch manager to notify.
+     * @param sources The sources watched by the manager.
+     * @return {@code true} if all the sources are files whose changes are reported by events, {@code false} if the
+     * manager must still poll some of them.
+     */
+    synchronized boolean register(final WatchManager manager, final Collection<Source> sources) {
+        boolean complete = true;
+        for (final Source source : sources) {
+            final File file = source.getFile();
+            final Path directory =
+                    file != null ? file.getAbsoluteFile().toPath().getParent() : null;
+            if (directory == null || !register(manager, directory)) {
+                complete = false;
+            }
+        }
+        return complete;
+    }
+
+    private boolean register(final WatchManager manager, final Path directory) {
+        try {
+            WatchKey key = keys.get(directory);
+            if (key == null) {
+                if (!isSupported(directory)) {
+                    LOGGER.debug("File system of {} may not deliver events, polling it instead", directory);
+                    return false;
+                }
+                if (watchService == null) {
+                    watchService = directory.getFileSystem().newWatchService();
+                    final Thread thread = Log4jThreadFactory.createDaemonThreadFactory("WatchService")
+                            .newThread(this);
+                    thread.start();
+                }
+                key = directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                keys.put(directory, key);
+                LOGGER.debug("Watching directory {} for changes", directory);
+            }
+            managers.computeIfAbsent(key, k -> new HashSet<>()).add(manager);
+            return true;
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Unable to watch directory {} for changes, polling it instead", directory, e);
+            return false;
+        }
+    }
+
+    private static boolean isSupported(final Path directory) throws IOException {
+        if (directory.getFileSystem() != FileSystems.getDefault() || !Files.isDirectory(directory)) {
+            return false;
+        }
+        final String type = Files.getFileStore(directory).type().toLowerCase(Locale.ROOT);
+        for (final String unsupported : UNSUPPORTED_FILE_STORE_TYPES) {
+            if (type.startsWith(unsupported)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops notifying the watch manager.
+     *
+     * @param manager The watch manager.
+     */
+    synchronized void unregister(final WatchManager manager) {
+        for (final Map.Entry<Path, WatchKey> entry : new ArrayList<>(keys.entrySet())) {
+            final WatchKey key = entry.getValue();
+            final Set<WatchManager> set = managers.get(key);
+            if (set != null && set.remove(manager) && set.isEmpty()) {
+                managers.remove(key);
+                keys.remove(entry.getKey());
+                key.cancel();
+                LOGGER.debug("Stopped watching directory {}", entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        final WatchService service;
+        synchronized (this) {
+            service = watchService;
+        }
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final Set<WatchKey> changed = new HashSet<>();
+                WatchKey key = service.take();
+                // debounce: collect the events until the directories are quiet, for a bounded time
+                final long deadline = System.nanoTime() + MAX_DEBOUNCE_PERIODS * debounceMillis * NANOS_PER_MILLI;
+                while (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                    changed.add(key);
+                    key = System.nanoTime() - deadline < 0 ? service.poll(debounceMillis, TimeUnit.MILLISECONDS) : null;
+                }
+                notifyManagers(changed);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ClosedWatchServiceException e) {
+            // the JVM is shutting down
+        }
+    }
+
+    private void notifyManagers(final Set<WatchKey> changed) {
+        final Set<WatchManager> toCheck = new HashSet<>();
+        synchronized (this) {
+            for (final WatchKey key : changed) {
+                final Set<WatchManager> set = managers.get(key);
+                if (set != null) {
+                    toCheck.addAll(set);
+                }
+            }
+        }
+        for (final WatchManager manager : toCheck) {
+            if (manager.isStarted()) {
+                try {
+                    manager.checkFiles();
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Unable to check the files watched by {}", manager, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the watched directories, for tests.
+     */
+    synchronized List<Path> getDirectories() {
+        return new ArrayList<>(keys.keySet());
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.lookup.AbstractLookup;
+import org.apache.logging.log4j.core.lookup.CacheableLookup;
 import org.apache.logging.log4j.core.lookup.StrLookup;
 import org.apache.logging.log4j.core.util.NetUtils;
 import org.apache.logging.log4j.docker.model.Container;
@@ -36,6 +37,7 @@ import org.apache.logging.log4j.util.PropertiesUtil;
 /**
  * Lookups up keys for a Docker container.
  */
+@CacheableLookup
 @Plugin(name = "docker", category = StrLookup.CATEGORY)
 public class DockerLookup extends AbstractLookup {
 
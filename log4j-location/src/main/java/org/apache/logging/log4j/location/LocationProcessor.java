@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.location;
+
+import aQute.bnd.annotation.Resolution;
+import aQute.bnd.annotation.spi.ServiceProvider;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that adds the location of the caller to the {@link org.apache.logging.log4j.LogBuilder} calls
+ * of the compiled classes.
+ * <p>
+ * The processor does not process annotations: it registers a listener to {@code javac}, which rewrites each class file
+ * once it is written. Each {@code logger.atInfo()}, {@code atLevel()}, {@code always()}, etc. call is followed by a
+ * {@link org.apache.logging.log4j.LogBuilder#withLocation(StackTraceElement)} call, with a {@link StackTraceElement}
+ * created once by the static initializer of the class. The location of the log event is then known without walking
+ * the stack at runtime.
+ * </p>
+ * <p>
+ * The processor requires {@code javac} 11 or later, the classes can target any Java version. With other compilers
+ * it only prints a warning, the location is then computed at runtime.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+@ServiceProvider(value = Processor.class, resolution = Resolution.OPTIONAL)
+@SupportedAnnotationTypes("*")
+public class LocationProcessor extends AbstractProcessor {
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        final JavacTask task;
+        try {
+            task = JavacTask.instance(processingEnv);
+        } catch (final IllegalArgumentException e) {
+            processingEnv
+                    .getMessager()
+                    .printMessage(
+                            Kind.WARNING,
+                            "The Log4j location processor only supports javac, locations will be computed at runtime.");
+            return;
+        }
+        task.addTaskListener(new TaskListener() {
+            @Override
+            public void finished(final TaskEvent event) {
+                if (event.getKind() == TaskEvent.Kind.GENERATE) {
+                    addLocations(event.getTypeElement());
+                }
+            }
+        });
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        // the class files are rewritten once generated
+        return false;
+    }
+
+    private void addLocations(final TypeElement type) {
+        final Elements elements = processingEnv.getElementUtils();
+        final String packageName =
+                elements.getPackageOf(type).getQualifiedName().toString();
+        final String binaryName = elements.getBinaryName(type).toString();
+        final String relativeName =
+                (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + ".class";
+        try {
+            final FileObject classFile =
+                    processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, packageName, relativeName);
+            // the file objects of the filer are read-only
+            final Path path = Paths.get(classFile.toUri());
+            final byte[] transformed = LocationTransformer.transform(Files.readAllBytes(path));
+            if (transformed != null) {
+                Files.write(path, transformed);
+            }
+        } catch (final IOException | RuntimeException e) {
+            processingEnv
+                    .getMessager()
+                    .printMessage(
+                            Kind.WARNING,
+                            "Unable to add the locations of the log statements of " + binaryName + ": " + e,
+                            type);
+        }
+    }
+}
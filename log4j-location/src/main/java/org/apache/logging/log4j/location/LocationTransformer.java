@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.location;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Rewrites a class file to pass a precomputed location to the {@link org.apache.logging.log4j.LogBuilder}s it creates.
+ * <p>
+ * The class is read twice: the first pass collects the call sites, with the line of the {@code log()} call that
+ * completes each builder, the second pass inserts the {@code withLocation()} calls, one static field per call site
+ * and their initialization at the start of the static initializer.
+ * </p>
+ */
+final class LocationTransformer {
+
+    /**
+     * The prefix of the names of the fields holding the locations.
+     */
+    static final String FIELD_PREFIX = "log4j$location$";
+
+    private static final String LOG_BUILDER = "org/apache/logging/log4j/LogBuilder";
+
+    private static final String LOG_BUILDER_FACTORY_RETURN = ")L" + LOG_BUILDER + ";";
+
+    private static final String STACK_TRACE_ELEMENT = "java/lang/StackTraceElement";
+
+    private static final String STACK_TRACE_ELEMENT_DESCRIPTOR = "L" + STACK_TRACE_ELEMENT + ";";
+
+    private static final String WITH_LOCATION_DESCRIPTOR =
+            "(" + STACK_TRACE_ELEMENT_DESCRIPTOR + ")L" + LOG_BUILDER + ";";
+
+    private LocationTransformer() {}
+
+    /**
+     * Adds the locations to the log builders created by a class.
+     *
+     * @param classFile the content of a class file.
+     * @return the content of the transformed class file or {@code null} if there is nothing to transform.
+     */
+    static byte[] transform(final byte[] classFile) {
+        final ClassReader reader = new ClassReader(classFile);
+        final CallSiteScanner scanner = new CallSiteScanner();
+        reader.accept(scanner, ClassReader.SKIP_FRAMES);
+        if (scanner.transformed || scanner.callSites.isEmpty()) {
+            return null;
+        }
+        // the inserted instructions do not branch, so the existing stack map frames stay valid
+        final ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+        reader.accept(new LocationWeaver(writer, scanner), 0);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Returns whether a method call returns a new log builder, e.g. {@code Logger.atInfo()}.
+     */
+    private static boolean isLogBuilderFactory(final String owner, final String name, final String descriptor) {
+        return descriptor.endsWith(LOG_BUILDER_FACTORY_RETURN)
+                && !LOG_BUILDER.equals(owner)
+                && (name.startsWith("at") || "always".equals(name));
+    }
+
+    private static final class CallSite {
+
+        private final String methodName;
+
+        private int lineNumber;
+
+        private CallSite(final String methodName, final int lineNumber) {
+            this.methodName = methodName;
+            this.lineNumber = lineNumber;
+        }
+    }
+
+    private static final class CallSiteScanner extends ClassVisitor {
+
+        private final List<CallSite> callSites = new ArrayList<>();
+
+        private String className;
+
+        private boolean isInterface;
+
+        private String sourceFile;
+
+        private boolean transformed;
+
+        private CallSiteScanner() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visit(
+                final int version,
+                final int access,
+                final String name,
+                final String signature,
+                final String superName,
+                final String[] interfaces) {
+            className = name;
+            isInterface = (access & Opcodes.ACC_INTERFACE) != 0;
+        }
+
+        @Override
+        public void visitSource(final String source, final String debug) {
+            sourceFile = source;
+        }
+
+        @Override
+        public FieldVisitor visitField(
+                final int access,
+                final String name,
+                final String descriptor,
+                final String signature,
+                final Object value) {
+            if (name.startsWith(FIELD_PREFIX)) {
+                transformed = true;
+            }
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(
+                final int access,
+                final String name,
+                final String descriptor,
+                final String signature,
+                final String[] exceptions) {
+            return new MethodVisitor(Opcodes.ASM9) {
+
+                // the builders waiting for their log() call, usually one
+                private final Deque<CallSite> pending = new ArrayDeque<>();
+
+                private int lineNumber = -1;
+
+                @Override
+                public void visitLineNumber(final int line, final Label start) {
+                    lineNumber = line;
+                }
+
+                @Override
+                public void visitMethodInsn(
+                        final int opcode,
+                        final String owner,
+                        final String methodName,
+                        final String methodDescriptor,
+                        final boolean isInterface) {
+                    if (isLogBuilderFactory(owner, methodName, methodDescriptor)) {
+                        final CallSite callSite = new CallSite(name, lineNumber);
+                        callSites.add(callSite);
+                        pending.push(callSite);
+                    } else if (LOG_BUILDER.equals(owner) && "log".equals(methodName) && !pending.isEmpty()) {
+                        // a stack walk would return the line of the log() call
+                        pending.pop().lineNumber = lineNumber;
+                    }
+                }
+            };
+        }
+    }
+
+    private static final class LocationWeaver extends ClassVisitor {
+
+        private final CallSiteScanner scanner;
+
+        private int nextCallSite;
+
+        private boolean hasStaticInitializer;
+
+        private LocationWeaver(final ClassVisitor classVisitor, final CallSiteScanner scanner) {
+            super(Opcodes.ASM9, classVisitor);
+            this.scanner = scanner;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(
+                final int access,
+                final String name,
+                final String descriptor,
+                final String signature,
+                final String[] exceptions) {
+            MethodVisitor methodVisitor = super.visitMethod(access, name, descriptor, signature, exceptions);
+            if ("<clinit>".equals(name)) {
+                hasStaticInitializer = true;
+                methodVisitor = new MethodVisitor(Opcodes.ASM9, methodVisitor) {
+                    @Override
+                    public void visitCode() {
+                        super.visitCode();
+                        initializeLocations(mv);
+                    }
+                };
+            }
+            return new MethodVisitor(Opcodes.ASM9, methodVisitor) {
+                @Override
+                public void visitMethodInsn(
+                        final int opcode,
+                        final String owner,
+                        final String methodName,
+                        final String methodDescriptor,
+                        final boolean isInterface) {
+                    super.visitMethodInsn(opcode, owner, methodName, methodDescriptor, isInterface);
+                    if (isLogBuilderFactory(owner, methodName, methodDescriptor)) {
+                        super.visitFieldInsn(
+                                Opcodes.GETSTATIC,
+                                scanner.className,
+                                FIELD_PREFIX + nextCallSite++,
+                                STACK_TRACE_ELEMENT_DESCRIPTOR);
+                        super.visitMethodInsn(
+                                Opcodes.INVOKEINTERFACE, LOG_BUILDER, "withLocation", WITH_LOCATION_DESCRIPTOR, true);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void visitEnd() {
+            // the fields of interfaces must be public
+            final int access = Opcodes.ACC_STATIC
+                    | Opcodes.ACC_FINAL
+                    | Opcodes.ACC_SYNTHETIC
+                    | (scanner.isInterface ? Opcodes.ACC_PUBLIC : Opcodes.ACC_PRIVATE);
+            for (int i = 0; i < scanner.callSites.size(); i++) {
+                super.visitField(access, FIELD_PREFIX + i, STACK_TRACE_ELEMENT_DESCRIPTOR, null, null)
+                        .visitEnd();
+            }
+            if (!hasStaticInitializer) {
+                final MethodVisitor methodVisitor =
+                        super.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+                methodVisitor.visitCode();
+                initializeLocations(methodVisitor);
+                methodVisitor.visitInsn(Opcodes.RETURN);
+                methodVisitor.visitMaxs(0, 0);
+                methodVisitor.visitEnd();
+            }
+            super.visitEnd();
+        }
+
+        private void initializeLocations(final MethodVisitor methodVisitor) {
+            final String declaringClass = scanner.className.replace('/', '.');
+            for (int i = 0; i < scanner.callSites.size(); i++) {
+                final CallSite callSite = scanner.callSites.get(i);
+                methodVisitor.visitTypeInsn(Opcodes.NEW, STACK_TRACE_ELEMENT);
+                methodVisitor.visitInsn(Opcodes.DUP);
+                methodVisitor.visitLdcInsn(declaringClass);
+                methodVisitor.visitLdcInsn(callSite.methodName);
+                if (scanner.sourceFile != null) {
+                    methodVisitor.visitLdcInsn(scanner.sourceFile);
+                } else {
+                    methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+                }
+                methodVisitor.visitLdcInsn(callSite.lineNumber);
+                methodVisitor.visitMethodInsn(
+                        Opcodes.INVOKESPECIAL,
+                        STACK_TRACE_ELEMENT,
+                        "<init>",
+                        "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;I)V",
+                        false);
+                methodVisitor.visitFieldInsn(
+                        Opcodes.PUTSTATIC, scanner.className, FIELD_PREFIX + i, STACK_TRACE_ELEMENT_DESCRIPTOR);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.location;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@LoggerContextSource("LocationProcessorTest.xml")
+public class LocationProcessorTest {
+
+    private static final String SAMPLE = String.join(
+            "\n",
+            "package example;",
+            "",
+            "import java.util.function.Consumer;",
+            "import org.apache.logging.log4j.Level;",
+            "import org.apache.logging.log4j.Logger;",
+            "",
+            "public class Sample implements Consumer<Logger> {",
+            "",
+            "    @Override",
+            "    public void accept(final Logger logger) {",
+            "        logger.atInfo().log(\"first\");",
+            "        logger.atWarn()",
+            "                .withThrowable(null)",
+            "                .log(\"second\");",
+            "        final Runnable runnable = () -> logger.atLevel(Level.ERROR).log(\"third\");",
+            "        runnable.run();",
+            "    }",
+            "}",
+            "");
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testSameLocationsAsStackWalk(final LoggerContext context, @Named("List") final ListAppender app)
+            throws Exception {
+        final Logger logger = context.getLogger("LocationProcessorTest");
+
+        run(compile("walk", false), logger);
+        final List<String> expected = new ArrayList<>(app.getMessages());
+        app.clear();
+        run(compile("processed", true), logger);
+
+        assertEquals(
+                Arrays.asList(
+                        "example.Sample.accept(Sample.java:11) first",
+                        "example.Sample.accept(Sample.java:14) second",
+                        "example.Sample.lambda$accept$0(Sample.java:15) third"),
+                expected);
+        assertEquals(expected, app.getMessages());
+    }
+
+    @Test
+    public void testAddsLocationFields() throws Exception {
+        final Path classes = compile("processed", true);
+        try (final URLClassLoader loader = newClassLoader(classes)) {
+            final Class<?> sample = loader.loadClass("example.Sample");
+            final List<StackTraceElement> locations = new ArrayList<>();
+            for (final Field field : sample.getDeclaredFields()) {
+                if (field.getName().startsWith(LocationTransformer.FIELD_PREFIX)) {
+                    assertTrue(Modifier.isStatic(field.getModifiers()) && Modifier.isFinal(field.getModifiers()));
+                    field.setAccessible(true);
+                    locations.add((StackTraceElement) field.get(null));
+                }
+            }
+            assertEquals(3, locations.size());
+            assertTrue(locations.contains(new StackTraceElement("example.Sample", "accept", "Sample.java", 14)));
+        }
+        // already transformed
+        assertNull(LocationTransformer.transform(Files.readAllBytes(classes.resolve("example/Sample.class"))));
+    }
+
+    private Path compile(final String name, final boolean process) throws IOException {
+        final Path sources = Files.createDirectories(tempDir.resolve(name + "-src/example"));
+        final Path classes = Files.createDirectories(tempDir.resolve(name));
+        final Path source = Files.write(sources.resolve("Sample.java"), SAMPLE.getBytes(StandardCharsets.UTF_8));
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(source.toFile());
+            final List<String> options = new ArrayList<>(
+                    Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", classes.toString()));
+            if (!process) {
+                // the processor is on the class path
+                options.add("-proc:none");
+            }
+            final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            final JavaCompiler.CompilationTask task =
+                    compiler.getTask(null, fileManager, diagnostics, options, null, units);
+            if (process) {
+                task.setProcessors(Collections.singletonList(new LocationProcessor()));
+            }
+            assertTrue(task.call());
+            assertEquals(Collections.emptyList(), diagnostics.getDiagnostics());
+        }
+        return classes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void run(final Path classes, final Logger logger) throws Exception {
+        try (final URLClassLoader loader = newClassLoader(classes)) {
+            final Consumer<Logger> sample = (Consumer<Logger>)
+                    loader.loadClass("example.Sample").getConstructor().newInstance();
+            sample.accept(logger);
+        }
+    }
+
+    private static URLClassLoader newClassLoader(final Path classes) throws IOException {
+        return new URLClassLoader(new URL[] {classes.toUri().toURL()}, LocationProcessorTest.class.getClassLoader());
+    }
+}
@@ -27,13 +27,18 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 
 /**
- * Tests Log4j2 Async Loggers performance.
+ * Tests Log4j2 Async Loggers performance with location.
+ * <p>
+ * With {@code lazyLocation} the caller location is captured by the application thread, but only computed by the
+ * background thread.
+ * </p>
  */
 // ============================== HOW TO RUN THIS TEST: ====================================
 //
@@ -49,6 +54,9 @@ import org.openjdk.jmh.annotations.TearDown;
 @State(Scope.Thread)
 public class AsyncLoggersLocationBenchmark {
 
+    @Param({"false", "true"})
+    public boolean lazyLocation;
+
     Logger logger;
 
     @Setup(Level.Trial)
@@ -57,6 +65,7 @@ public class AsyncLoggersLocationBenchmark {
         System.setProperty("Log4jContextSelector", "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector");
         System.setProperty("AsyncLogger.RingBufferSize", "262144");
         System.setProperty("AsyncLogger.WaitStrategy", "Yield");
+        System.setProperty("AsyncLogger.LazyLocation", Boolean.toString(lazyLocation));
         // System.setProperty("log4j2.enable.threadlocals", "true");
         // System.setProperty("log4j.format.msg.async", "true");
 
@@ -76,4 +85,11 @@ public class AsyncLoggersLocationBenchmark {
     public void throughputSimple() {
         logger.info(BenchmarkMessageParams.TEST);
     }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughputLogBuilder() {
+        logger.atInfo().log(BenchmarkMessageParams.TEST);
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.filter.CompositeFilter;
+import org.apache.logging.log4j.core.filter.LevelRangeFilter;
+import org.apache.logging.log4j.core.filter.MarkerFilter;
+import org.apache.logging.log4j.core.filter.RegexFilter;
+import org.apache.logging.log4j.core.filter.StringMatchFilter;
+import org.apache.logging.log4j.core.filter.ThreadContextMapFilter;
+import org.apache.logging.log4j.core.filter.ThresholdFilter;
+import org.apache.logging.log4j.core.util.KeyValuePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the precompiled CompositeFilter with the sequential invocation of the same filters, for typical stacks of
+ * 5 and 10 filters combining markers, thread context, regular expressions and a level threshold. DEBUG events are
+ * denied by the threshold, INFO events go through every filter.
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*CompositeFilterBenchmark.*" -f 1 -i 5 -wi 5 -bm avgt -tu ns
+@State(Scope.Benchmark)
+public class CompositeFilterBenchmark {
+    private static final String MESSAGE = "Order {} shipped to {}";
+    private static final String ORDER = "12345";
+    private static final String CUSTOMER = "ACME";
+
+    @Param({"5", "10"})
+    public int size;
+
+    Filter[] filters;
+    CompositeFilter composite;
+
+    @Setup
+    public void setUp() throws Exception {
+        ThreadContext.put("tenant", "acme");
+        final Filter[] all = {
+            MarkerFilter.createFilter("AUDIT", Filter.Result.ACCEPT, Filter.Result.NEUTRAL),
+            ThreadContextMapFilter.createFilter(
+                    new KeyValuePair[] {new KeyValuePair("tenant", "acme")},
+                    "or",
+                    Filter.Result.NEUTRAL,
+                    Filter.Result.DENY),
+            RegexFilter.createFilter(".*shipped.*", null, true, Filter.Result.NEUTRAL, Filter.Result.DENY),
+            StringMatchFilter.newBuilder()
+                    .setMatchString("password")
+                    .setOnMatch(Filter.Result.DENY)
+                    .setOnMismatch(Filter.Result.NEUTRAL)
+                    .build(),
+            ThresholdFilter.createFilter(Level.INFO, Filter.Result.NEUTRAL, Filter.Result.DENY),
+            MarkerFilter.createFilter("SECRET", Filter.Result.DENY, Filter.Result.NEUTRAL),
+            RegexFilter.createFilter(".*secret.*", null, true, Filter.Result.DENY, Filter.Result.NEUTRAL),
+            StringMatchFilter.newBuilder()
+                    .setMatchString("token")
+                    .setOnMatch(Filter.Result.DENY)
+                    .setOnMismatch(Filter.Result.NEUTRAL)
+                    .build(),
+            LevelRangeFilter.createFilter(Level.FATAL, Level.TRACE, Filter.Result.NEUTRAL, Filter.Result.DENY),
+            MarkerFilter.createFilter("NOISE", Filter.Result.DENY, Filter.Result.NEUTRAL)
+        };
+        filters = new Filter[size];
+        System.arraycopy(all, 0, filters, 0, size);
+        composite = CompositeFilter.createFilters(filters);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ThreadContext.clearMap();
+    }
+
+    private Filter.Result sequential(final Level level) {
+        Filter.Result result = Filter.Result.NEUTRAL;
+        for (int i = 0; i < filters.length; i++) {
+            result = filters[i].filter(null, level, null, MESSAGE, ORDER, CUSTOMER);
+            if (result == Filter.Result.ACCEPT || result == Filter.Result.DENY) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Filter.Result sequentialDenied() {
+        return sequential(Level.DEBUG);
+    }
+
+    @Benchmark
+    public Filter.Result sequentialAccepted() {
+        return sequential(Level.INFO);
+    }
+
+    @Benchmark
+    public Filter.Result compositeDenied() {
+        return composite.filter(null, Level.DEBUG, null, MESSAGE, ORDER, CUSTOMER);
+    }
+
+    @Benchmark
+    public Filter.Result compositeAccepted() {
+        return composite.filter(null, Level.INFO, null, MESSAGE, ORDER, CUSTOMER);
+    }
+}
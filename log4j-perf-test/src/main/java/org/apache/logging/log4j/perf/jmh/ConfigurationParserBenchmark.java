@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.json.JsonConfiguration;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the parsing of a large generated configuration into a tree of {@link Node}s, with the streaming parsers
+ * and with the DOM and Jackson tree parsers.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocations of the parsers.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*ConfigurationParserBenchmark.*" -f 1 -i 5 -wi 5 -bm avgt -tu ms -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConfigurationParserBenchmark {
+
+    private static final String STREAMING_PARSER_PROPERTY = "log4j2.streamingConfigurationParser";
+
+    @Param({"true", "false"})
+    public boolean streaming;
+
+    /**
+     * The number of loggers of the configuration.
+     */
+    @Param({"5000"})
+    public int loggers;
+
+    private LoggerContext loggerContext;
+
+    private byte[] xml;
+
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // read by each configuration, the benchmark runs in a fork per parameter set
+        System.setProperty(STREAMING_PARSER_PROPERTY, Boolean.toString(streaming));
+        loggerContext = new LoggerContext("ConfigurationParserBenchmark");
+        xml = createXml(loggers);
+        json = createJson(loggers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.clearProperty(STREAMING_PARSER_PROPERTY);
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public Node parseXml() throws IOException {
+        final BenchmarkXmlConfiguration configuration = new BenchmarkXmlConfiguration(loggerContext, source(xml));
+        configuration.setup();
+        return configuration.getRootNode();
+    }
+
+    @Benchmark
+    public Node parseJson() throws IOException {
+        final BenchmarkJsonConfiguration configuration = new BenchmarkJsonConfiguration(loggerContext, source(json));
+        configuration.setup();
+        return configuration.getRootNode();
+    }
+
+    private static ConfigurationSource source(final byte[] content) throws IOException {
+        return new ConfigurationSource(new ByteArrayInputStream(content));
+    }
+
+    private static byte[] createXml(final int loggers) {
+        final StringBuilder sb = new StringBuilder("<Configuration name='ConfigurationParserBenchmark' status='off'>");
+        sb.append("<Appenders><Console name='STDOUT'><PatternLayout pattern='%d %-5p [%t] %c - %m%n'/></Console>");
+        sb.append("</Appenders><Loggers>");
+        for (int i = 0; i < loggers; i++) {
+            sb.append("<Logger name='org.example.package").append(i).append("' level='info' additivity='false'>");
+            sb.append("<AppenderRef ref='STDOUT'/></Logger>");
+        }
+        sb.append("<Root level='error'><AppenderRef ref='STDOUT'/></Root></Loggers></Configuration>");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] createJson(final int loggers) {
+        final StringBuilder sb =
+                new StringBuilder("{\"configuration\":{\"name\":\"ConfigurationParserBenchmark\",\"status\":\"off\",");
+        sb.append("\"appenders\":{\"Console\":{\"name\":\"STDOUT\",");
+        sb.append("\"PatternLayout\":{\"pattern\":\"%d %-5p [%t] %c - %m%n\"}}},");
+        sb.append("\"loggers\":{\"logger\":[");
+        for (int i = 0; i < loggers; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"name\":\"org.example.package").append(i).append("\",\"level\":\"info\",");
+            sb.append("\"additivity\":false,\"AppenderRef\":{\"ref\":\"STDOUT\"}}");
+        }
+        sb.append("],\"root\":{\"level\":\"error\",\"AppenderRef\":{\"ref\":\"STDOUT\"}}}}}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Collects the plugins, as {@code initialize()} does before {@code setup()}.
+     */
+    private static final class BenchmarkXmlConfiguration extends XmlConfiguration {
+
+        BenchmarkXmlConfiguration(final LoggerContext loggerContext, final ConfigurationSource source) {
+            super(loggerContext, source);
+            pluginManager.collectPlugins(pluginPackages);
+        }
+    }
+
+    private static final class BenchmarkJsonConfiguration extends JsonConfiguration {
+
+        BenchmarkJsonConfiguration(final LoggerContext loggerContext, final ConfigurationSource source) {
+            super(loggerContext, source);
+            pluginManager.collectPlugins(pluginPackages);
+        }
+    }
+}
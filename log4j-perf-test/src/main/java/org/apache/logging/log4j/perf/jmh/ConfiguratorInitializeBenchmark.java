@@ -17,9 +17,12 @@
 package org.apache.logging.log4j.perf.jmh;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -29,10 +32,15 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 
 /**
  * This benchmark demonstrates how long it takes for a simple XML configuration file to be parsed and initialize a new
  * {@link org.apache.logging.log4j.core.LoggerContext} using that configuration.
+ * <p>
+ * The {@code initializeLoggerContextFromSnapshot} case measures the same initialization when a configuration snapshot
+ * taken by a previous initialization is available.
+ * </p>
  */
 // TO RUN THIS TEST:
 // java -jar target/benchmarks.jar '.*ConfiguratorInitializeBenchmark.*'
@@ -52,6 +60,8 @@ public class ConfiguratorInitializeBenchmark {
                     + "</Root>"
                     + "</Loggers>" + "</Configuration>";
 
+    private static final String SNAPSHOT_DIRECTORY_PROPERTY = "log4j2.configurationSnapshotDirectory";
+
     private ConfigurationSource configurationSource;
 
     @Setup
@@ -65,4 +75,46 @@ public class ConfiguratorInitializeBenchmark {
     public LoggerContext initializeLoggerContext() {
         return Configurator.initialize(null, configurationSource);
     }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LoggerContext initializeLoggerContextFromSnapshot(final SnapshotState state) {
+        return Configurator.initialize(null, state.configurationSource);
+    }
+
+    @State(Scope.Thread)
+    public static class SnapshotState {
+
+        private File directory;
+
+        private ConfigurationSource configurationSource;
+
+        @Setup
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("log4j-snapshot").toFile();
+            System.setProperty(SNAPSHOT_DIRECTORY_PROPERTY, directory.getAbsolutePath());
+            // parsing the configuration once stores the snapshot
+            final LoggerContext loggerContext = new LoggerContext("ConfiguratorInitializeBenchmark");
+            loggerContext.start(ConfigurationFactory.getInstance().getConfiguration(loggerContext, createSource()));
+            loggerContext.stop();
+            configurationSource = createSource();
+        }
+
+        @TearDown
+        public void tearDown() {
+            System.clearProperty(SNAPSHOT_DIRECTORY_PROPERTY);
+            final File[] files = directory.listFiles();
+            if (files != null) {
+                for (final File file : files) {
+                    file.delete();
+                }
+            }
+            directory.delete();
+        }
+
+        private static ConfigurationSource createSource() throws IOException {
+            return new ConfigurationSource(new ByteArrayInputStream(inlineConfigurationXML.getBytes()));
+        }
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.util.CronExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the computation of the next fire time of the cron expressions used by {@code CronTriggeringPolicy}, as
+ * done each time a rollover is scheduled.
+ * <p>
+ * The {@code "0 0 0 ? * 2#1"} expression uses a nth day of week and is computed with a {@link java.util.Calendar}.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*CronExpressionBenchmark.*" -f 1 -i 5 -wi 5 -bm avgt -tu ns -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CronExpressionBenchmark {
+
+    @Param({"0 0 0 * * ?", "0 */5 * * * ?", "0 15 10 ? * MON-FRI", "0 0 12 1 1/3 ? *", "0 0 0 ? * 2#1"})
+    public String expression;
+
+    private CronExpression cronExpression;
+
+    private Date date;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ParseException {
+        cronExpression = new CronExpression(expression);
+        date = new Date();
+    }
+
+    @Benchmark
+    public Date getNextValidTimeAfter() {
+        return cronExpression.getNextValidTimeAfter(date);
+    }
+
+    @Benchmark
+    public Date getPrevFireTime() {
+        return cronExpression.getPrevFireTime(date);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.MessageFactory;
+import org.apache.logging.log4j.message.ParameterizedMessageFactory;
+import org.apache.logging.log4j.simple.SimpleLogger;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+import org.apache.logging.log4j.spi.LoggerRegistry;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of loggers in a {@link LoggerRegistry}, as done by {@code LoggerContext.getLogger()}.
+ * <p>
+ * Each iteration makes 1M lookups of 10k existing loggers across 32 threads. The {@code nestedMaps} case uses the
+ * nested maps created by a custom {@link LoggerRegistry.MapFactory}.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*LoggerRegistryBenchmark.*" -f 1 -i 10 -wi 5
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(LoggerRegistryBenchmark.THREADS)
+@Warmup(batchSize = LoggerRegistryBenchmark.LOOKUPS / LoggerRegistryBenchmark.THREADS)
+@Measurement(batchSize = LoggerRegistryBenchmark.LOOKUPS / LoggerRegistryBenchmark.THREADS)
+public class LoggerRegistryBenchmark {
+
+    static final int THREADS = 32;
+
+    static final int LOOKUPS = 1_000_000;
+
+    private static final MessageFactory MESSAGE_FACTORY = ParameterizedMessageFactory.INSTANCE;
+
+    @Param({"concurrent", "weak", "nestedMaps"})
+    public String mapFactory;
+
+    @Param({"10000"})
+    public int names;
+
+    private LoggerRegistry<ExtendedLogger> registry;
+
+    private String[] loggerNames;
+
+    // Strong references to the loggers of the weak registry, as held by the classes using them
+    private ExtendedLogger[] loggers;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int index = ThreadLocalRandom.current().nextInt();
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void setUp() {
+        registry = new LoggerRegistry<>(createMapFactory(mapFactory));
+        loggerNames = new String[names];
+        loggers = new ExtendedLogger[names];
+        for (int i = 0; i < names; i++) {
+            loggerNames[i] = "org.example.package" + (i % 100) + ".Class" + i;
+            loggers[i] = createLogger(loggerNames[i]);
+            registry.putIfAbsent(loggerNames[i], MESSAGE_FACTORY, loggers[i]);
+        }
+    }
+
+    private static ExtendedLogger createLogger(final String name) {
+        return new SimpleLogger(
+                name,
+                Level.ERROR,
+                false,
+                false,
+                false,
+                false,
+                null,
+                MESSAGE_FACTORY,
+                PropertiesUtil.getProperties(),
+                System.out);
+    }
+
+    private static LoggerRegistry.MapFactory<ExtendedLogger> createMapFactory(final String mapFactory) {
+        switch (mapFactory) {
+            case "concurrent":
+                return new LoggerRegistry.ConcurrentMapFactory<>();
+            case "weak":
+                return new LoggerRegistry.WeakMapFactory<>();
+            default:
+                // a subclass is not replaced by the registry index
+                return new LoggerRegistry.ConcurrentMapFactory<ExtendedLogger>() {};
+        }
+    }
+
+    @Benchmark
+    public ExtendedLogger getLogger(final ThreadState state) {
+        final String name = loggerNames[(state.index++ & Integer.MAX_VALUE) % loggerNames.length];
+        final ExtendedLogger logger = registry.getLogger(name, MESSAGE_FACTORY);
+        if (logger != null) {
+            return logger;
+        }
+        registry.putIfAbsent(name, MESSAGE_FACTORY, createLogger(name));
+        return registry.getLogger(name, MESSAGE_FACTORY);
+    }
+}
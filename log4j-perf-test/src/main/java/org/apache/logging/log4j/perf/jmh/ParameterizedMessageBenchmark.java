@@ -18,6 +18,7 @@ package org.apache.logging.log4j.perf.jmh;
 
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.message.ReusableParameterizedMessage;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -26,6 +27,11 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 
 /**
+ * Measures the formatting of parameterized messages.
+ * <p>
+ * The {@code *DistinctPatterns} benchmarks cycle through more patterns than the pattern analysis caches hold, to
+ * measure the cost of the cache misses.
+ * </p>
  */
 // ============================== HOW TO RUN THIS TEST: ====================================
 //
@@ -45,6 +51,23 @@ public class ParameterizedMessageBenchmark {
     @State(Scope.Thread)
     public static class ThreadState {
         StringBuilder buffer = new StringBuilder(256);
+        ReusableParameterizedMessage reusableMessage = new ReusableParameterizedMessage();
+    }
+
+    @State(Scope.Thread)
+    public static class DistinctPatterns {
+        private final String[] patterns = new String[4096];
+        private int index;
+
+        public DistinctPatterns() {
+            for (int i = 0; i < patterns.length; i++) {
+                patterns[i] = "pattern " + i + " {} with {} two parameters and some text";
+            }
+        }
+
+        String next() {
+            return patterns[index++ & (patterns.length - 1)];
+        }
     }
 
     @Benchmark
@@ -71,4 +94,35 @@ public class ParameterizedMessageBenchmark {
         new ParameterizedMessage("pattern {} with {} two parameters and some text", ARGS).formatTo(state.buffer);
         return state.buffer.length();
     }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int refactoredFormatToDistinctPatterns(final ThreadState state, final DistinctPatterns patterns) {
+        state.buffer.setLength(0);
+        new ParameterizedMessage(patterns.next(), ARGS).formatTo(state.buffer);
+        return state.buffer.length();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int reusableFormatTo(final ThreadState state) {
+        state.buffer.setLength(0);
+        state.reusableMessage
+                .set("pattern {} with {} two parameters and some text", "arg1", "arg2")
+                .formatTo(state.buffer);
+        state.reusableMessage.clear();
+        return state.buffer.length();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int reusableFormatToDistinctPatterns(final ThreadState state, final DistinctPatterns patterns) {
+        state.buffer.setLength(0);
+        state.reusableMessage.set(patterns.next(), "arg1", "arg2").formatTo(state.buffer);
+        state.reusableMessage.clear();
+        return state.buffer.length();
+    }
 }
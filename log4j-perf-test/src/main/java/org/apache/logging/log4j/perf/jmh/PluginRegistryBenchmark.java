@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginCache;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginIndex;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor;
+import org.apache.logging.log4j.core.config.plugins.util.PluginRegistry;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the discovery of the plugins of a class loader with many plugin cache files, as on a fat classpath.
+ * <p>
+ * The {@code decodeAll} case decodes all the cache files and creates a {@link PluginType} for each plugin, as the
+ * {@link PluginRegistry} did before plugin indexes. The {@code indexedCategory} case lets the registry read the plugin
+ * indexes and resolve the {@code Core} category only, which is what a configuration needs to start.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*PluginRegistryBenchmark.*" -f 1 -i 5 -wi 5 -bm avgt -tu us
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PluginRegistryBenchmark {
+
+    private static final long BUNDLE_ID = Long.MIN_VALUE;
+
+    /**
+     * The number of plugin cache files, each a copy of the cache file of {@code log4j-core}.
+     */
+    @Param({"1", "20"})
+    public int cacheFiles;
+
+    private Path directory;
+
+    private URLClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final PluginCache coreCache = new PluginCache();
+        coreCache.loadCacheFiles(PluginRegistry.class.getClassLoader().getResources(PluginProcessor.PLUGIN_CACHE_FILE));
+        directory = Files.createTempDirectory("log4j-plugins");
+        final List<URL> urls = new ArrayList<>();
+        for (int i = 0; i < cacheFiles; i++) {
+            final Path root = directory.resolve("jar" + i);
+            writeCacheFiles(root, copy(coreCache, i));
+            urls.add(root.toUri().toURL());
+        }
+        classLoader = new URLClassLoader(urls.toArray(new URL[0]), PluginRegistry.class.getClassLoader());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        classLoader.close();
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearRegistry() {
+        PluginRegistry.getInstance().clearBundlePlugins(BUNDLE_ID);
+    }
+
+    @Benchmark
+    public int decodeAll() throws IOException {
+        final PluginCache cache = new PluginCache();
+        cache.loadCacheFiles(classLoader.getResources(PluginProcessor.PLUGIN_CACHE_FILE));
+        int count = 0;
+        for (final Map<String, PluginEntry> category : cache.getAllCategories().values()) {
+            for (final PluginEntry entry : category.values()) {
+                try {
+                    final Class<?> clazz = classLoader.loadClass(entry.getClassName());
+                    count += new PluginType<>(entry, clazz, entry.getName()).hashCode() != 0 ? 1 : 0;
+                } catch (final ClassNotFoundException | LinkageError e) {
+                    // ignored, as the registry does
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int indexedCategory() {
+        final List<PluginType<?>> types = PluginRegistry.getInstance()
+                .loadFromBundle(BUNDLE_ID, classLoader)
+                .get("core");
+        return types.size();
+    }
+
+    private static PluginCache copy(final PluginCache cache, final int index) {
+        final PluginCache copy = new PluginCache();
+        for (final Map.Entry<String, Map<String, PluginEntry>> category :
+                cache.getAllCategories().entrySet()) {
+            final Map<String, PluginEntry> entries = copy.getCategory(category.getKey());
+            for (final PluginEntry entry : category.getValue().values()) {
+                // distinct keys, so that the plugins of all the copies are kept
+                final PluginEntry renamed = new PluginEntry();
+                renamed.setKey(entry.getKey() + index);
+                renamed.setName(entry.getName() + index);
+                renamed.setClassName(entry.getClassName());
+                renamed.setPrintable(entry.isPrintable());
+                renamed.setDefer(entry.isDefer());
+                renamed.setCategory(entry.getCategory());
+                entries.put(renamed.getKey(), renamed);
+            }
+        }
+        return copy;
+    }
+
+    private static void writeCacheFiles(final Path root, final PluginCache cache) throws IOException {
+        final Path cacheFile = root.resolve(PluginProcessor.PLUGIN_CACHE_FILE);
+        Files.createDirectories(cacheFile.getParent());
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        cache.writeCache(content);
+        Files.write(cacheFile, content.toByteArray());
+        try (final OutputStream out = Files.newOutputStream(root.resolve(PluginProcessor.PLUGIN_INDEX_FILE))) {
+            PluginIndex.write(cache, content.toByteArray(), out);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.message.ReusableArgumentsMessage;
+import org.apache.logging.log4j.message.ReusableMessageFactory;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+import org.apache.logging.log4j.util.Unbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the formatting of primitive arguments added through {@link org.apache.logging.log4j.LogBuilder#arg(int)}
+ * with boxing them or using {@link Unbox} (see {@link UnboxBenchmark}).
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// single thread:
+// java -jar log4j-perf/target/benchmarks.jar ".*PrimitiveArguments.*" -f 1 -wi 10 -i 15 -prof gc
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Thread)
+public class PrimitiveArgumentsBenchmark {
+
+    private static final String PATTERN = "count={}, total={}, ratio={}, ok={}";
+
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    private final ReusableArgumentsMessage arguments = new ReusableArgumentsMessage();
+
+    private int count = 12345;
+
+    private long total = 1234567890123L;
+
+    private double ratio = 12345.12345;
+
+    private boolean ok = true;
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public StringBuilder autoboxing() {
+        buffer.setLength(0);
+        final ParameterizedMessage message = new ParameterizedMessage(PATTERN, count, total, ratio, ok);
+        message.formatTo(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public StringBuilder unbox() {
+        buffer.setLength(0);
+        final Message message = ReusableMessageFactory.INSTANCE.newMessage(
+                PATTERN, Unbox.box(count), Unbox.box(total), Unbox.box(ratio), Unbox.box(ok));
+        ((StringBuilderFormattable) message).formatTo(buffer);
+        ReusableMessageFactory.release(message);
+        return buffer;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public StringBuilder primitiveArguments() {
+        buffer.setLength(0);
+        arguments.add(count).add(total).add(ratio).add(ok).setFormat(PATTERN);
+        arguments.formatTo(buffer);
+        arguments.clear();
+        return buffer;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures repeated lookups of properties in {@link PropertiesUtil}, as done by the components reading their
+ * configuration from system properties, environment variables and property files.
+ * <p>
+ * The {@code defined} cases read a property set as a system property with its normalized name or with a legacy
+ * name, the {@code undefined} cases read a property that no source defines, which is the most common case.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*PropertiesUtilBenchmark.*" -f 1 -i 5 -wi 5 -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PropertiesUtilBenchmark {
+
+    private static final String DEFINED_PROPERTY = "log4j2.propertiesUtilBenchmarkDefined";
+
+    private static final String LEGACY_PROPERTY = "Log4jPropertiesUtilBenchmarkDefined";
+
+    private static final String UNDEFINED_PROPERTY = "log4j2.propertiesUtilBenchmarkUndefined";
+
+    private static final String BOOLEAN_PROPERTY = "log4j2.propertiesUtilBenchmarkBoolean";
+
+    private PropertiesUtil properties;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty(DEFINED_PROPERTY, "value");
+        System.setProperty(BOOLEAN_PROPERTY, "true");
+        properties = new PropertiesUtil(new Properties());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.clearProperty(DEFINED_PROPERTY);
+        System.clearProperty(BOOLEAN_PROPERTY);
+    }
+
+    @Benchmark
+    public String getStringPropertyDefined() {
+        return properties.getStringProperty(DEFINED_PROPERTY);
+    }
+
+    @Benchmark
+    public String getStringPropertyLegacyName() {
+        return properties.getStringProperty(LEGACY_PROPERTY);
+    }
+
+    @Benchmark
+    public String getStringPropertyUndefined() {
+        return properties.getStringProperty(UNDEFINED_PROPERTY, "default");
+    }
+
+    @Benchmark
+    public boolean getBooleanPropertyDefined() {
+        return properties.getBooleanProperty(BOOLEAN_PROPERTY);
+    }
+
+    @Benchmark
+    public boolean getBooleanPropertyUndefined() {
+        return properties.getBooleanProperty(UNDEFINED_PROPERTY, true);
+    }
+}
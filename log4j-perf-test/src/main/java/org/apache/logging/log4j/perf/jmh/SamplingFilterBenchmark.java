@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.filter.BurstFilter;
+import org.apache.logging.log4j.core.filter.RateLimitFilter;
+import org.apache.logging.log4j.core.filter.SamplingFilter;
+import org.apache.logging.log4j.core.filter.TemplateSamplingFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the cost of the sampling and rate limiting filters with the BurstFilter. The filters are called directly
+ * with unrolled parameters, the way a logger calls the filters of its configuration.
+ */
+// HOW TO RUN THIS TEST
+// single thread:
+// java -jar target/benchmarks.jar ".*SamplingFilterBenchmark.*" -f 1 -i 5 -wi 5 -bm sample -tu ns
+// multiple threads (for example, 4 threads):
+// java -jar target/benchmarks.jar ".*SamplingFilterBenchmark.*" -f 1 -i 5 -wi 5 -t 4 -si true -bm sample -tu ns
+// allocation rate:
+// java -jar target/benchmarks.jar ".*SamplingFilterBenchmark.*" -f 1 -i 5 -wi 5 -prof gc
+@State(Scope.Benchmark)
+public class SamplingFilterBenchmark {
+    private static final String TEMPLATE = "Connection to {} failed after {} attempts";
+    private static final Marker MARKER = MarkerManager.getMarker("NETWORK");
+    private static final String HOST = "example.org";
+    private static final Integer ATTEMPTS = 3;
+
+    Filter burstFilter;
+    Filter samplingFilter;
+    Filter rateLimitFilter;
+    Filter templateSamplingFilter;
+
+    @Setup
+    public void setUp() {
+        burstFilter = BurstFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setRate(1000)
+                .setMaxBurst(1000)
+                .build();
+        samplingFilter =
+                SamplingFilter.newBuilder().setLevel(Level.INFO).setRate(0.01f).build();
+        rateLimitFilter = RateLimitFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setKey(RateLimitFilter.Key.MARKER)
+                .setRate(1000)
+                .setMaxBurst(1000)
+                .build();
+        templateSamplingFilter = TemplateSamplingFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setFirst(10)
+                .setEvery(100)
+                .build();
+    }
+
+    @Benchmark
+    public Filter.Result burstFilter() {
+        return burstFilter.filter(null, Level.INFO, MARKER, TEMPLATE, HOST, ATTEMPTS);
+    }
+
+    @Benchmark
+    public Filter.Result samplingFilter() {
+        return samplingFilter.filter(null, Level.INFO, MARKER, TEMPLATE, HOST, ATTEMPTS);
+    }
+
+    @Benchmark
+    public Filter.Result rateLimitFilter() {
+        return rateLimitFilter.filter(null, Level.INFO, MARKER, TEMPLATE, HOST, ATTEMPTS);
+    }
+
+    @Benchmark
+    public Filter.Result templateSamplingFilter() {
+        return templateSamplingFilter.filter(null, Level.INFO, MARKER, TEMPLATE, HOST, ATTEMPTS);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.lookup.Interpolator;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.lookup.StrTemplate;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@link StrSubstitutor#replace(LogEvent, String)} with the evaluation of a precompiled {@link StrTemplate},
+ * for the kind of patterns evaluated for each event by the RoutingAppender and the PatternLayout.
+ */
+// HOW TO RUN THIS TEST
+// java -jar target/benchmarks.jar ".*StrTemplateBenchmark.*" -f 1 -i 5 -wi 5 -bm avgt -tu ns
+@State(Scope.Benchmark)
+public class StrTemplateBenchmark {
+
+    @Param({"${ctx:tenant}", "logs/${ctx:tenant}/${env:USER:-app}-${sys:missing:-default}.log", "no variables"})
+    public String pattern;
+
+    StrSubstitutor substitutor;
+    StrTemplate template;
+    LogEvent event;
+
+    @Setup
+    public void setUp() {
+        substitutor = new StrSubstitutor(new Interpolator());
+        template = substitutor.compile(pattern);
+        final StringMap contextData = new SortedArrayStringMap();
+        contextData.putValue("tenant", "acme");
+        event = Log4jLogEvent.newBuilder()
+                .setLoggerName("StrTemplateBenchmark")
+                .setMessage(new SimpleMessage("Hello"))
+                .setContextData(contextData)
+                .build();
+    }
+
+    @Benchmark
+    public String replace() {
+        return substitutor.replace(event, pattern);
+    }
+
+    @Benchmark
+    public String template() {
+        return template.evaluate(event);
+    }
+}
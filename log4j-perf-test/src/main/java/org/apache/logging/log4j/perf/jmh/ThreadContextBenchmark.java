@@ -27,12 +27,12 @@ import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.ThreadContextBenchmarkAccess;
 import org.apache.logging.log4j.core.ContextDataInjector;
 import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.ContextData;
 import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
 import org.apache.logging.log4j.perf.nogc.OpenHashStringMap;
 import org.apache.logging.log4j.spi.CopyOnWriteOpenHashMapThreadContextMap;
 import org.apache.logging.log4j.spi.DefaultThreadContextMap;
 import org.apache.logging.log4j.spi.GarbageFreeOpenHashMapThreadContextMap;
-import org.apache.logging.log4j.spi.ThreadContextMap;
 import org.apache.logging.log4j.util.SortedArrayStringMap;
 import org.apache.logging.log4j.util.StringMap;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -40,6 +40,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
@@ -47,6 +48,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 
 /**
  * Compares performance of ThreadContextMap implementations.
@@ -75,21 +77,38 @@ public class ThreadContextBenchmark {
     private static final String COPY_ARRAY_MAP = "CopySortedArray";
     private static final String NO_GC_OPENHASH_MAP = "NoGcOpenHash";
     private static final String NO_GC_ARRAY_MAP = "NoGcSortedArray";
-    private static final Map<String, Class<? extends ThreadContextMap>> IMPLEMENTATIONS = new HashMap<>();
+    private static final String PERSISTENT_MAP = "Persistent";
+    private static final Map<String, String> IMPLEMENTATIONS = new HashMap<>();
 
     static {
-        IMPLEMENTATIONS.put(DEFAULT_CONTEXT_MAP, DefaultThreadContextMap.class);
-        IMPLEMENTATIONS.put(COPY_OPENHASH_MAP, CopyOnWriteOpenHashMapThreadContextMap.class);
+        IMPLEMENTATIONS.put(DEFAULT_CONTEXT_MAP, DefaultThreadContextMap.class.getName());
+        IMPLEMENTATIONS.put(COPY_OPENHASH_MAP, CopyOnWriteOpenHashMapThreadContextMap.class.getName());
         IMPLEMENTATIONS.put(
                 COPY_ARRAY_MAP,
-                CopyOnWriteOpenHashMapThreadContextMap.SUPER); // CopyOnWriteSortedArrayThreadContextMap.class);
-        IMPLEMENTATIONS.put(NO_GC_OPENHASH_MAP, GarbageFreeOpenHashMapThreadContextMap.class);
+                CopyOnWriteOpenHashMapThreadContextMap.SUPER.getName()); // CopyOnWriteSortedArrayThreadContextMap
+        IMPLEMENTATIONS.put(NO_GC_OPENHASH_MAP, GarbageFreeOpenHashMapThreadContextMap.class.getName());
         IMPLEMENTATIONS.put(
                 NO_GC_ARRAY_MAP,
-                GarbageFreeOpenHashMapThreadContextMap.SUPER); // GarbageFreeSortedArrayThreadContextMap.class);
+                GarbageFreeOpenHashMapThreadContextMap.SUPER.getName()); // GarbageFreeSortedArrayThreadContextMap
+        // package-private PersistentThreadContextMap
+        IMPLEMENTATIONS.put(PERSISTENT_MAP, PERSISTENT_MAP);
     }
 
-    @Param({"Default", "CopyOpenHash", "CopySortedArray", "NoGcOpenHash", "NoGcSortedArray"})
+    /**
+     * The number of log events per modification of the thread context in the {@code logHeavy} benchmark and the
+     * number of keys added and removed around each log event in the {@code putHeavy} benchmark.
+     */
+    private static final int MIX_RATIO = 10;
+
+    private static final String[] MIX_KEYS = new String[MIX_RATIO];
+
+    static {
+        for (int i = 0; i < MIX_RATIO; i++) {
+            MIX_KEYS[i] = "mixKey" + i;
+        }
+    }
+
+    @Param({"Default", "CopyOpenHash", "CopySortedArray", "NoGcOpenHash", "NoGcSortedArray", "Persistent"})
     // @Param({ "Default", }) // for legecyInject benchmarks
     public String threadContextMapAlias;
 
@@ -106,12 +125,10 @@ public class ThreadContextBenchmark {
 
     @Setup
     public void setup() {
-        System.setProperty(
-                "log4j2.threadContextMap",
-                IMPLEMENTATIONS.get(threadContextMapAlias).getName());
+        System.setProperty("log4j2.threadContextMap", IMPLEMENTATIONS.get(threadContextMapAlias));
         ThreadContextBenchmarkAccess.init();
 
-        injector = ContextDataInjectorFactory.createInjector();
+        injector = ContextDataInjectorFactory.createInjector(true);
         System.out.println(threadContextMapAlias + ": Injector = " + injector);
 
         reusableContextData =
@@ -165,6 +182,47 @@ public class ThreadContextBenchmark {
         ThreadContext.remove("someKey");
     }
 
+    /**
+     * Many modifications of the thread context for each log event, e.g. request attributes added one by one.
+     */
+    @Benchmark
+    public StringMap putHeavy() {
+        for (int i = 0; i < MIX_RATIO; i++) {
+            ThreadContext.put(MIX_KEYS[i], values[i % count]);
+        }
+        final StringMap contextData = captureContextData();
+        for (int i = 0; i < MIX_RATIO; i++) {
+            ThreadContext.remove(MIX_KEYS[i]);
+        }
+        return contextData;
+    }
+
+    /**
+     * Many log events for each modification of the thread context, e.g. a request identifier set once per request.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MIX_RATIO)
+    public void logHeavy(final Blackhole blackhole) {
+        ThreadContext.put(keys[0], values[count - 1]);
+        for (int i = 0; i < MIX_RATIO; i++) {
+            blackhole.consume(captureContextData());
+        }
+    }
+
+    /**
+     * The context data of a log event, as captured by {@code ReusableLogEventFactory}.
+     */
+    @Benchmark
+    public StringMap captureContextData() {
+        final StringMap snapshot = ContextData.getImmutableContextData();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        reusableContextData.clear();
+        ContextData.addAll(reusableContextData);
+        return reusableContextData;
+    }
+
     @Benchmark
     public StringMap injectWithoutProperties() {
         reusableContextData.clear();
@@ -21,6 +21,7 @@ import org.apache.logging.log4j.LogBuilder;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableArgumentsMessage;
 import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.spi.ExtendedLogger;
 import org.apache.logging.log4j.status.StatusLogger;
@@ -40,6 +41,7 @@ public class SLF4JLogBuilder implements LogBuilder {
     private Throwable throwable;
     private volatile boolean inUse;
     private final long threadId;
+    private ReusableArgumentsMessage arguments;
 
     public SLF4JLogBuilder(final SLF4JLogger logger, final Level level) {
         this.logger = logger;
@@ -57,6 +59,9 @@ public class SLF4JLogBuilder implements LogBuilder {
         this.level = level;
         this.marker = null;
         this.throwable = null;
+        if (arguments != null) {
+            arguments.clear();
+        }
         this.inUse = true;
         return this;
     }
@@ -78,6 +83,12 @@ public class SLF4JLogBuilder implements LogBuilder {
     }
 
     private void logMessage(Message message) {
+        if (arguments != null && message != arguments && arguments.getArgumentCount() > 0) {
+            LOGGER.warn(
+                    "Arguments added with LogBuilder.arg() were ignored, since the message was not logged with LogBuilder.log(String): {}",
+                    message.getFormat());
+            arguments.clear();
+        }
         try {
             logger.logMessage(FQCN, level, marker, message, throwable);
         } finally {
@@ -108,6 +119,55 @@ public class SLF4JLogBuilder implements LogBuilder {
         return withLocation();
     }
 
+    @Override
+    public LogBuilder arg(final boolean value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final char value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final int value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final long value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final float value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final double value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    @Override
+    public LogBuilder arg(final Object value) {
+        getArguments().add(value);
+        return this;
+    }
+
+    private ReusableArgumentsMessage getArguments() {
+        if (arguments == null) {
+            arguments = new ReusableArgumentsMessage();
+        }
+        return arguments;
+    }
+
     @Override
     public void log(CharSequence message) {
         if (isValid()) {
@@ -117,7 +177,13 @@ public class SLF4JLogBuilder implements LogBuilder {
 
     @Override
     public void log(String message) {
-        if (isValid()) {
+        if (arguments != null && arguments.getArgumentCount() > 0) {
+            try {
+                log(arguments.setFormat(message));
+            } finally {
+                arguments.clear();
+            }
+        } else if (isValid()) {
             logMessage(logger.getMessageFactory().newMessage(message));
         }
     }